@@ -44,6 +44,8 @@ public class SimpleAbstractState<H extends HeapDomain<H>,
 		BaseLattice<SimpleAbstractState<H, V, T>>,
 		AbstractState<SimpleAbstractState<H, V, T>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The key that should be used to store the instance of {@link HeapDomain}
 	 * inside the {@link StructuredRepresentation} returned by
@@ -593,6 +595,22 @@ public class SimpleAbstractState<H extends HeapDomain<H>,
 		return heapState.knowsIdentifier(id) || valueState.knowsIdentifier(id) || typeState.knowsIdentifier(id);
 	}
 
+	@Override
+	public boolean isNonRelational() {
+		return heapState.isNonRelational() && valueState.isNonRelational() && typeState.isNonRelational();
+	}
+
+	@Override
+	public SimpleAbstractState<H, V, T> replaceIdentifiersIf(
+			SimpleAbstractState<H, V, T> other,
+			Predicate<Identifier> test)
+			throws SemanticException {
+		return new SimpleAbstractState<>(
+				heapState.replaceIdentifiersIf(other.heapState, test),
+				valueState.replaceIdentifiersIf(other.valueState, test),
+				typeState.replaceIdentifiersIf(other.typeState, test));
+	}
+
 	@Override
 	public SimpleAbstractState<H, V, T> withTopMemory() {
 		return new SimpleAbstractState<>(heapState.top(), valueState, typeState);
@@ -39,6 +39,8 @@ public abstract class CartesianProduct<C extends CartesianProduct<C, T1, T2, E,
 		E extends SymbolicExpression,
 		I extends Identifier> implements SemanticDomain<C, E, I>, Lattice<C> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The left-hand side abstract domain.
 	 */
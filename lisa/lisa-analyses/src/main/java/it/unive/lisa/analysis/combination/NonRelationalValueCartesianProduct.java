@@ -34,6 +34,8 @@ public abstract class NonRelationalValueCartesianProduct<C extends NonRelational
 		implements
 		BaseNonRelationalValueDomain<C> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The left-hand side abstract domain.
 	 */
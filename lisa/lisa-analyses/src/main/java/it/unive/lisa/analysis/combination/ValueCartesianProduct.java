@@ -22,6 +22,8 @@ public class ValueCartesianProduct<T1 extends ValueDomain<T1>, T2 extends ValueD
 		implements
 		ValueDomain<ValueCartesianProduct<T1, T2>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the value Cartesian product.
 	 * 
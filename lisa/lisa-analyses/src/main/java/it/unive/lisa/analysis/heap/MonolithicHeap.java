@@ -34,6 +34,8 @@ import java.util.function.Predicate;
  */
 public class MonolithicHeap implements BaseHeapDomain<MonolithicHeap> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final MonolithicHeap TOP = new MonolithicHeap();
 
 	private static final MonolithicHeap BOTTOM = new MonolithicHeap();
@@ -254,6 +256,20 @@ public class MonolithicHeap implements BaseHeapDomain<MonolithicHeap> {
 		return false;
 	}
 
+	@Override
+	public boolean isNonRelational() {
+		// the monolith is not bound to any identifier
+		return true;
+	}
+
+	@Override
+	public MonolithicHeap replaceIdentifiersIf(
+			MonolithicHeap other,
+			Predicate<Identifier> test)
+			throws SemanticException {
+		return this;
+	}
+
 	@Override
 	public Satisfiability alias(
 			SymbolicExpression x,
@@ -38,6 +38,8 @@ import org.apache.commons.collections4.SetUtils;
  */
 public class TypeBasedHeap implements BaseHeapDomain<TypeBasedHeap> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final TypeBasedHeap TOP = new TypeBasedHeap();
 
 	private static final TypeBasedHeap BOTTOM = new TypeBasedHeap();
@@ -14,6 +14,8 @@ import it.unive.lisa.type.Type;
  */
 public abstract class AllocationSite extends HeapLocation {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String locationName;
 
 	private final String field;
@@ -48,6 +48,8 @@ public abstract class AllocationSiteBasedAnalysis<A extends AllocationSiteBasedA
 		implements
 		BaseHeapDomain<A> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * An heap environment tracking which allocation sites are associated to
 	 * each identifier.
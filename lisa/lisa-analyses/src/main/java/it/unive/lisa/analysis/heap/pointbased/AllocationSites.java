@@ -29,6 +29,8 @@ public class AllocationSites extends SetLattice<AllocationSites, AllocationSite>
 		implements
 		NonRelationalHeapDomain<AllocationSites> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final AllocationSites TOP = new AllocationSites(new HashSet<>(), true);
 	private static final AllocationSites BOTTOM = new AllocationSites(new HashSet<>(), false);
 
@@ -36,6 +36,8 @@ import java.util.function.Predicate;
  */
 public class FieldSensitivePointBasedHeap extends AllocationSiteBasedAnalysis<FieldSensitivePointBasedHeap> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Tracks the fields of each allocation site.
 	 */
@@ -12,6 +12,8 @@ import it.unive.lisa.type.Type;
  */
 public class HeapAllocationSite extends AllocationSite {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds a heap allocation site.
 	 * 
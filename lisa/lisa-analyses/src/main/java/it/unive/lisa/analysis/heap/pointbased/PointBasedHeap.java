@@ -20,6 +20,8 @@ import java.util.function.Predicate;
  */
 public class PointBasedHeap extends AllocationSiteBasedAnalysis<PointBasedHeap> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds a new instance of field-insensitive point-based heap.
 	 */
@@ -35,6 +35,8 @@ import java.util.Map.Entry;
  */
 public class NonInterference implements BaseInferredValue<NonInterference> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The annotation used to mark low confidentiality variables.
 	 */
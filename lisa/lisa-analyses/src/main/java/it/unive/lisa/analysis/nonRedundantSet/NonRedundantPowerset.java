@@ -39,6 +39,8 @@ public abstract class NonRedundantPowerset<C extends NonRedundantPowerset<C, T,
 		E extends SymbolicExpression,
 		I extends Identifier> extends SetLattice<C, T> implements SemanticDomain<C, E, I> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * An instance of the underlying lattice from which top and bottom can be
 	 * retrieved. It is necessary in certain basic lattice operation.
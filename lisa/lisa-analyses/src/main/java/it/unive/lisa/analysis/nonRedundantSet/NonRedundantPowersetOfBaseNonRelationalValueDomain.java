@@ -39,6 +39,8 @@ public abstract class NonRedundantPowersetOfBaseNonRelationalValueDomain<
 		implements
 		BaseNonRelationalValueDomain<C> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The set that containing the elements.
 	 */
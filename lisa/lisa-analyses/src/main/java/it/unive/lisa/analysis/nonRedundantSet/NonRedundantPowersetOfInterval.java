@@ -31,6 +31,8 @@ public class NonRedundantPowersetOfInterval
 		extends
 		NonRedundantPowersetOfBaseNonRelationalValueDomain<NonRedundantPowersetOfInterval, Interval> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Constructs an empty non redundant set of intervals.
 	 */
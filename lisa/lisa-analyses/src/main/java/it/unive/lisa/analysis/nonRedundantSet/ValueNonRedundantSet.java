@@ -18,6 +18,8 @@ public class ValueNonRedundantSet<T extends ValueDomain<T>>
 		extends
 		NonRedundantPowerset<ValueNonRedundantSet<T>, T, ValueExpression, Identifier> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the value non redundant set.
 	 *
@@ -44,6 +44,8 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  */
 public class IntegerConstantPropagation implements BaseNonRelationalValueDomain<IntegerConstantPropagation> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final IntegerConstantPropagation TOP = new IntegerConstantPropagation(true, false);
 	private static final IntegerConstantPropagation BOTTOM = new IntegerConstantPropagation(false, true);
 
@@ -46,6 +46,8 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  */
 public class Interval implements BaseNonRelationalValueDomain<Interval>, Comparable<Interval> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The abstract zero ({@code [0, 0]}) element.
 	 */
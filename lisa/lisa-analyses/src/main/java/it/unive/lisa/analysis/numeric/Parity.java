@@ -36,6 +36,8 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  */
 public class Parity implements BaseNonRelationalValueDomain<Parity> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The abstract even element.
 	 */
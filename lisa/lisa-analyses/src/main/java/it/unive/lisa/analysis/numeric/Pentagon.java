@@ -47,6 +47,8 @@ import org.apache.commons.collections4.CollectionUtils;
  */
 public class Pentagon implements ValueDomain<Pentagon>, BaseLattice<Pentagon> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The interval environment.
 	 */
@@ -44,6 +44,8 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  */
 public class Sign implements BaseNonRelationalValueDomain<Sign> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The abstract positive element.
 	 */
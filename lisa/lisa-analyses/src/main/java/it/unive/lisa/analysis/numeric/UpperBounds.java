@@ -33,6 +33,8 @@ import java.util.TreeSet;
  */
 public class UpperBounds implements BaseNonRelationalValueDomain<UpperBounds>, Iterable<Identifier> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The abstract top element.
 	 */
@@ -39,6 +39,8 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class CharInclusion implements BaseNonRelationalValueDomain<CharInclusion>, ContainsCharProvider {
 
+	private static final long serialVersionUID = 1L;
+
 	private final Set<Character> certainlyContained;
 
 	private final Set<Character> maybeContained;
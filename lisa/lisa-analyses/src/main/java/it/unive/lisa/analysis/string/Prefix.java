@@ -35,6 +35,8 @@ import java.util.Objects;
  */
 public class Prefix implements BaseNonRelationalValueDomain<Prefix>, ContainsCharProvider {
 
+	private static final long serialVersionUID = 1L;
+
 	private final static Prefix TOP = new Prefix();
 	private final static Prefix BOTTOM = new Prefix(null);
 	private final String prefix;
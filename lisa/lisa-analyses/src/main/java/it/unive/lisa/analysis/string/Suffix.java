@@ -35,6 +35,8 @@ import java.util.Objects;
  */
 public class Suffix implements BaseNonRelationalValueDomain<Suffix>, ContainsCharProvider {
 
+	private static final long serialVersionUID = 1L;
+
 	private final static Suffix TOP = new Suffix();
 	private final static Suffix BOTTOM = new Suffix(null);
 	private final String suffix;
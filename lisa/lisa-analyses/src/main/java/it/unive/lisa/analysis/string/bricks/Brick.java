@@ -26,6 +26,8 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class Brick implements BaseNonRelationalValueDomain<Brick> {
 
+	private static final long serialVersionUID = 1L;
+
 	private final Set<String> strings;
 	private final IntInterval interval;
 
@@ -39,6 +39,8 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class Bricks implements BaseNonRelationalValueDomain<Bricks>, ContainsCharProvider {
 
+	private static final long serialVersionUID = 1L;
+
 	private final List<Brick> bricks;
 
 	private final static Bricks TOP = new Bricks();
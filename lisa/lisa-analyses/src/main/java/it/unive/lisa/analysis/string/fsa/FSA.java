@@ -39,6 +39,8 @@ import java.util.TreeSet;
  */
 public class FSA implements BaseNonRelationalValueDomain<FSA>, ContainsCharProvider {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Top element of the domain
 	 */
@@ -40,6 +40,8 @@ import org.apache.commons.lang3.tuple.Pair;
  */
 public class Tarsis implements BaseNonRelationalValueDomain<Tarsis>, ContainsCharProvider {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Top element of the domain
 	 */
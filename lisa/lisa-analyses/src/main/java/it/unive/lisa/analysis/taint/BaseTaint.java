@@ -29,6 +29,8 @@ import it.unive.lisa.symbolic.value.operator.unary.UnaryOperator;
  */
 public abstract class BaseTaint<T extends BaseTaint<T>> implements BaseNonRelationalValueDomain<T> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The annotation used to mark tainted variables, that is, sources of
 	 * tainted information.
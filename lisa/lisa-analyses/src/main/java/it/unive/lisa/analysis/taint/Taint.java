@@ -14,6 +14,8 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  */
 public class Taint extends BaseTaint<Taint> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Taint TAINTED = new Taint(true);
 
 	private static final Taint CLEAN = new Taint(false);
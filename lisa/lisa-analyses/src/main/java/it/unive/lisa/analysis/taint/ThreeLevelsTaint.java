@@ -18,6 +18,8 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  */
 public class ThreeLevelsTaint extends BaseTaint<ThreeLevelsTaint> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final ThreeLevelsTaint TOP = new ThreeLevelsTaint((byte) 3);
 	private static final ThreeLevelsTaint TAINTED = new ThreeLevelsTaint((byte) 2);
 	private static final ThreeLevelsTaint CLEAN = new ThreeLevelsTaint((byte) 1);
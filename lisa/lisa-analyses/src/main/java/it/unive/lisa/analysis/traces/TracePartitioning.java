@@ -63,6 +63,8 @@ public class TracePartitioning<A extends AbstractState<A>>
 		implements
 		AbstractState<TracePartitioning<A>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The maximum number of {@link LoopIteration} tokens that a trace can
 	 * contain for each loop appearing in it, before collapsing the next ones in
@@ -44,6 +44,8 @@ import java.util.stream.Collectors;
  */
 public class InferredTypes implements BaseNonRelationalTypeDomain<InferredTypes> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final InferredTypes BOTTOM = new InferredTypes(null, Collections.emptySet());
 
 	private final Set<Type> elements;
@@ -35,6 +35,8 @@ import java.util.Set;
  */
 public class StaticTypes implements BaseNonRelationalTypeDomain<StaticTypes> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final StaticTypes BOTTOM = new StaticTypes(null, null);
 
 	private final Type type;
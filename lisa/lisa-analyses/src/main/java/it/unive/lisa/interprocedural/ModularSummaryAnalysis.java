@@ -0,0 +1,545 @@
+package it.unive.lisa.interprocedural;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.FixpointInfo;
+import it.unive.lisa.analysis.OptimizedAnalyzedCFG;
+import it.unive.lisa.analysis.ScopeToken;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.logging.IterationLogger;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.Parameter;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.symbolic.SymbolicExpression;
+import it.unive.lisa.symbolic.value.BinaryExpression;
+import it.unive.lisa.symbolic.value.Identifier;
+import it.unive.lisa.symbolic.value.PushAny;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.symbolic.value.operator.binary.ComparisonEq;
+import it.unive.lisa.type.BooleanType;
+import it.unive.lisa.util.StringUtilities;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A modular interprocedural analysis that computes one summary for each cfg of
+ * the program, bottom-up on the call graph. The summary of a cfg is the result
+ * of a single fixpoint computed starting from unknown values for its formal
+ * parameters, and it is thus valid for every call to that cfg. Summaries are
+ * parametric: before the fixpoint starts, the value of each formal parameter is
+ * copied into a dedicated variable that the cfg cannot modify, so that the
+ * exit state relates the values computed by the cfg to the ones its
+ * parameters had on entry. When a call is evaluated, the summaries of its
+ * targets are computed first (if they are not available yet), and are then
+ * instantiated at the call site by substituting their parameters with the
+ * actual ones: the exit state is placed on top of the state of the caller,
+ * where the variables of the caller are hidden behind the scope of the call,
+ * and each entry value is constrained to be equal to the corresponding actual
+ * parameter. Each fixpoint iteration visits the strongly connected components
+ * of the call graph in reverse topological order, solving each of them before
+ * moving to its callers, and each cfg is analyzed once regardless of the
+ * number of calls targeting it.<br>
+ * <br>
+ * Calls to a cfg whose summary is still being computed (that is, recursive
+ * calls) are evaluated using the summary of the previous iteration, or bottom
+ * if none exists. When the summary of such a cfg changes, its component is
+ * solved again together with all of its transitive callers, until no summary
+ * changes. Summaries that changed more than
+ * {@link FixpointConfiguration#wideningThreshold} times are widened to ensure
+ * termination. Since the call graph might be built during the analysis, the
+ * components are computed again at each iteration, and a new iteration starts
+ * if some summaries have been invalidated after being computed.<br>
+ * <br>
+ * This analysis is more precise than {@link ModularWorstCaseAnalysis}, as the
+ * effects and returned values of callees are not assumed to be unknown, but
+ * less precise than context-sensitive analyses, as callees are not analyzed
+ * with the actual values of their parameters: these only refine the values
+ * that the abstract state relates to the entry values of the parameters.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the {@link AbstractState} of the analysis
+ */
+public class ModularSummaryAnalysis<A extends AbstractState<A>> extends CallGraphBasedAnalysis<A> {
+
+	private static final Logger LOG = LogManager.getLogger(ModularSummaryAnalysis.class);
+
+	private static final ScopeId ID = new UniqueScope();
+
+	/**
+	 * The cache of the fixpoints' results, that are the summaries of the cfgs.
+	 */
+	private FixpointResults<A> results;
+
+	/**
+	 * The entry state of the whole analysis, used as starting point for
+	 * computing summaries.
+	 */
+	private AnalysisState<A> entryState;
+
+	/**
+	 * The working set to use for the fixpoints.
+	 */
+	private Class<? extends WorkingSet<Statement>> fixpointWorkingSet;
+
+	/**
+	 * The fixpoint configuration.
+	 */
+	private FixpointConfiguration conf;
+
+	/**
+	 * The cfgs whose summary is up-to-date in the current iteration.
+	 */
+	private final Set<CFG> done;
+
+	/**
+	 * The cfgs whose summary is being computed.
+	 */
+	private final Set<CFG> inProgress;
+
+	/**
+	 * The summaries that have been read while being computed, mapped to the
+	 * value that has been read ({@code null} if there was none).
+	 */
+	private final Map<CFG, AnalyzedCFG<A>> readInProgress;
+
+	/**
+	 * The cfgs whose summary has to be recomputed in the next iteration.
+	 */
+	private final Set<CFG> unstable;
+
+	/**
+	 * The number of times the summary of each cfg changed.
+	 */
+	private final Map<CFG, Integer> updates;
+
+	/**
+	 * The post-states of the calls evaluated while computing the summary of
+	 * each cfg. When results are optimized, these are stored into the summary
+	 * since they cannot be recomputed when it is unwound.
+	 */
+	private final Map<CFG, Map<Statement, AnalysisState<A>>> calls;
+
+	/**
+	 * Builds the interprocedural analysis.
+	 */
+	public ModularSummaryAnalysis() {
+		this.done = new HashSet<>();
+		this.inProgress = new LinkedHashSet<>();
+		this.readInProgress = new HashMap<>();
+		this.unstable = new HashSet<>();
+		this.updates = new HashMap<>();
+		this.calls = new HashMap<>();
+	}
+
+	@Override
+	public void init(
+			Application app,
+			CallGraph callgraph,
+			OpenCallPolicy policy)
+			throws InterproceduralAnalysisException {
+		super.init(app, callgraph, policy);
+		this.results = null;
+	}
+
+	@Override
+	public void fixpoint(
+			AnalysisState<A> entryState,
+			Class<? extends WorkingSet<Statement>> fixpointWorkingSet,
+			FixpointConfiguration conf)
+			throws FixpointException {
+		// new fixpoint iteration: restart
+		this.results = null;
+		this.entryState = entryState;
+		this.fixpointWorkingSet = fixpointWorkingSet;
+		this.conf = conf;
+		this.done.clear();
+		this.updates.clear();
+		this.calls.clear();
+
+		int iter = 0;
+		do {
+			LOG.info("Performing {} fixpoint iteration", StringUtilities.ordinal(iter + 1));
+			for (List<CFG> component : IterationLogger.iterate(LOG, bottomUp(), "Computing summaries", "components"))
+				solve(component);
+			iter++;
+		} while (!done.containsAll(app.getAllCFGs()));
+	}
+
+	/**
+	 * Computes the summaries of the given strongly connected component of the
+	 * call graph, until none of them changes while being read by a recursive
+	 * call. Each time this happens, the summaries of the changed cfgs and of
+	 * all their transitive callers are invalidated.
+	 * 
+	 * @param component the cfgs of the component
+	 * 
+	 * @throws FixpointException if an exception happens while computing the
+	 *                               summaries
+	 */
+	private void solve(
+			List<CFG> component)
+			throws FixpointException {
+		while (true) {
+			unstable.clear();
+			readInProgress.clear();
+			for (CFG cfg : component)
+				try {
+					summarize(cfg);
+				} catch (SemanticException e) {
+					throw new FixpointException("Error while computing the summary of " + cfg, e);
+				}
+
+			if (unstable.isEmpty())
+				return;
+
+			// only the unstable summaries and the ones that might have read
+			// them need to be recomputed
+			Set<CFG> invalid = new HashSet<>(unstable);
+			for (CodeMember caller : callgraph.getCallersTransitively(unstable))
+				if (caller instanceof CFG)
+					invalid.add((CFG) caller);
+			done.removeAll(invalid);
+			LOG.info("Recomputing {} summaries", invalid.size());
+		}
+	}
+
+	/**
+	 * Yields the strongly connected components of the call graph in reverse
+	 * topological order, that is, each component comes after all the ones it
+	 * calls. The cfgs that are not part of the call graph yet form a component
+	 * each. Components, and the cfgs inside each of them, are sorted by
+	 * location to make the order deterministic.
+	 * 
+	 * @return the ordered components
+	 */
+	private List<List<CFG>> bottomUp() {
+		Comparator<CFG> byLocation = (
+				c1,
+				c2) -> c1.getDescriptor().getLocation().compareTo(c2.getDescriptor().getLocation());
+		List<List<CFG>> components = new ArrayList<>();
+		Set<CFG> nodes = new HashSet<>();
+		for (Collection<CodeMember> component : callgraph.getComponents()) {
+			List<CFG> cfgs = new ArrayList<>();
+			for (CodeMember cm : component)
+				if (cm instanceof CFG)
+					cfgs.add((CFG) cm);
+			if (cfgs.isEmpty())
+				continue;
+			cfgs.sort(byLocation);
+			components.add(cfgs);
+			nodes.addAll(cfgs);
+		}
+		for (CFG cfg : app.getAllCFGs())
+			if (!nodes.contains(cfg))
+				components.add(new ArrayList<>(List.of(cfg)));
+		components.sort((
+				c1,
+				c2) -> byLocation.compare(c1.get(0), c2.get(0)));
+
+		Map<CodeMember, Integer> index = new HashMap<>();
+		for (int i = 0; i < components.size(); i++)
+			for (CFG cfg : components.get(i))
+				index.put(cfg, i);
+
+		List<Set<Integer>> deps = new ArrayList<>(components.size());
+		for (int i = 0; i < components.size(); i++) {
+			Set<Integer> callees = new TreeSet<>();
+			for (CFG cfg : components.get(i))
+				if (nodes.contains(cfg))
+					for (CodeMember callee : callgraph.getCallees(cfg)) {
+						Integer j = index.get(callee);
+						if (j != null && j != i)
+							callees.add(j);
+					}
+			deps.add(callees);
+		}
+
+		// the condensation is acyclic: a component is emitted once all the
+		// components it calls have been emitted
+		List<List<CFG>> order = new ArrayList<>(components.size());
+		boolean[] emitted = new boolean[components.size()];
+		Deque<Integer> stack = new ArrayDeque<>();
+		for (int root = 0; root < components.size(); root++) {
+			stack.push(root);
+			while (!stack.isEmpty()) {
+				int current = stack.peek();
+				if (emitted[current]) {
+					stack.pop();
+					continue;
+				}
+
+				boolean ready = true;
+				for (int dep : deps.get(current))
+					if (!emitted[dep]) {
+						stack.push(dep);
+						ready = false;
+					}
+
+				if (ready) {
+					stack.pop();
+					emitted[current] = true;
+					order.add(components.get(current));
+				}
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Yields the summary of the given cfg, computing it if it is not
+	 * up-to-date. If the summary of {@code cfg} is being computed, the one of
+	 * the previous iteration is returned instead, and {@code cfg} is marked
+	 * for being recomputed if its summary changes.
+	 * 
+	 * @param cfg the cfg
+	 * 
+	 * @return the summary, or {@code null} if it is being computed and no
+	 *             previous summary exists
+	 * 
+	 * @throws SemanticException if an exception happens while computing the
+	 *                               summary
+	 */
+	private AnalyzedCFG<A> summarize(
+			CFG cfg)
+			throws SemanticException {
+		if (done.contains(cfg))
+			return results.get(cfg).get(ID);
+
+		if (inProgress.contains(cfg)) {
+			// recursive call
+			AnalyzedCFG<A> previous = results == null || !results.contains(cfg) ? null : results.get(cfg).get(ID);
+			readInProgress.putIfAbsent(cfg, previous);
+			return previous;
+		}
+
+		inProgress.add(cfg);
+		calls.remove(cfg);
+		AnalyzedCFG<A> summary;
+		try {
+			AnalysisState<A> prepared = bindEntryValues(cfg, prepareEntryStateOfEntryPoint(entryState, cfg));
+			summary = cfg.fixpoint(prepared, this, WorkingSet.of(fixpointWorkingSet), conf, ID);
+		} catch (FixpointException e) {
+			throw new SemanticException("Exception while computing the summary of " + cfg, e);
+		} finally {
+			inProgress.remove(cfg);
+		}
+
+		if (results == null) {
+			AnalyzedCFG<A> graph = conf.optimize
+					? new OptimizedAnalyzedCFG<>(cfg, ID, entryState.bottom(), this)
+					: new AnalyzedCFG<>(cfg, ID, entryState);
+			CFGResults<A> value = new CFGResults<>(graph);
+			this.results = new FixpointResults<>(value.top());
+		}
+
+		Map<Statement, AnalysisState<A>> posts = calls.remove(cfg);
+		if (summary instanceof OptimizedAnalyzedCFG && posts != null)
+			for (Entry<Statement, AnalysisState<A>> post : posts.entrySet())
+				((OptimizedAnalyzedCFG<A>) summary).storePostStateOf(post.getKey(), post.getValue());
+
+		AnalyzedCFG<A> previous = results.contains(cfg) ? results.get(cfg).get(ID) : null;
+		if (previous != null && !summary.lessOrEqual(previous)
+				&& updates.merge(cfg, 1, Integer::sum) > conf.wideningThreshold)
+			summary = previous.widening(summary);
+		summary = results.putResult(cfg, ID, summary).getRight();
+		done.add(cfg);
+
+		if (readInProgress.containsKey(cfg)) {
+			AnalyzedCFG<A> read = readInProgress.remove(cfg);
+			if (read == null || !summary.lessOrEqual(read))
+				// the summary used for recursive calls was not correct
+				unstable.add(cfg);
+		}
+
+		return summary;
+	}
+
+	/**
+	 * Yields the variable holding the value that the given formal parameter
+	 * had when the cfg it belongs to was entered.
+	 * 
+	 * @param formal the formal parameter
+	 * 
+	 * @return the variable
+	 */
+	private static Variable entryValueOf(
+			Parameter formal) {
+		return new Variable(formal.getStaticType(), "entry_value@" + formal.getName(), formal.getLocation());
+	}
+
+	/**
+	 * Copies the value of each formal parameter of {@code cfg} into the
+	 * variable returned by {@link #entryValueOf(Parameter)}, making the summary
+	 * parametric w.r.t. the values of the parameters on entry.
+	 * 
+	 * @param cfg   the cfg whose summary is being computed
+	 * @param state the entry state of the summary
+	 * 
+	 * @return the entry state with the entry values of the parameters
+	 * 
+	 * @throws SemanticException if an exception happens while assigning the
+	 *                               entry values
+	 */
+	private AnalysisState<A> bindEntryValues(
+			CFG cfg,
+			AnalysisState<A> state)
+			throws SemanticException {
+		AnalysisState<A> bound = state;
+		for (Parameter formal : cfg.getDescriptor().getFormals()) {
+			VariableRef ref = new VariableRef(cfg, formal.getLocation(), formal.getName(), formal.getStaticType());
+			bound = bound.assign(entryValueOf(formal), formal.toSymbolicVariable(), ref);
+		}
+
+		// the stack has to be empty
+		return new AnalysisState<>(bound.getState(), new ExpressionSet());
+	}
+
+	/**
+	 * Instantiates a summary of {@code cfg} by substituting its parameters
+	 * with the actual ones of {@code call}: each entry value is constrained to
+	 * be equal to the corresponding actual parameter, and it is then
+	 * forgotten. Actual parameters are matched with formal ones by position:
+	 * if their number differs (e.g., due to default values), the entry values
+	 * are forgotten without being constrained.
+	 * 
+	 * @param call    the call to instantiate the summary for
+	 * @param cfg     the cfg whose summary is being instantiated
+	 * @param state   the exit state of the summary, placed on top of the
+	 *                    state of the caller
+	 * @param actuals the actual parameters, already scoped
+	 * 
+	 * @return the instantiated state
+	 * 
+	 * @throws SemanticException if an exception happens while substituting
+	 *                               the parameters
+	 */
+	private AnalysisState<A> substitute(
+			CFGCall call,
+			CFG cfg,
+			AnalysisState<A> state,
+			ExpressionSet[] actuals)
+			throws SemanticException {
+		Parameter[] formals = cfg.getDescriptor().getFormals();
+		BooleanType bool = call.getProgram().getTypes().getBooleanType();
+		Collection<Identifier> entryValues = new ArrayList<>(formals.length);
+		AnalysisState<A> result = state;
+		for (int i = 0; i < formals.length; i++) {
+			Variable entry = entryValueOf(formals[i]);
+			entryValues.add(entry);
+			if (formals.length != actuals.length || actuals[i].isEmpty())
+				continue;
+
+			AnalysisState<A> bound = result.bottom();
+			for (SymbolicExpression actual : actuals[i]) {
+				BinaryExpression eq = new BinaryExpression(bool, entry, actual, ComparisonEq.INSTANCE,
+						call.getLocation());
+				bound = bound.lub(result.assume(eq, call, call));
+			}
+			result = bound;
+		}
+
+		return result.forgetIdentifiers(entryValues);
+	}
+
+	@Override
+	public Collection<AnalyzedCFG<A>> getAnalysisResultsOf(
+			CFG cfg) {
+		if (results != null && results.contains(cfg))
+			return results.getState(cfg).getAll();
+		else
+			return Collections.emptySet();
+	}
+
+	@Override
+	public AnalysisState<A> getAbstractResultOf(
+			CFGCall call,
+			AnalysisState<A> entryState,
+			ExpressionSet[] parameters,
+			StatementStore<A> expressions)
+			throws SemanticException {
+		callgraph.registerCall(call);
+
+		ScopeToken scope = new ScopeToken(call);
+		AnalysisState<A> result = entryState.bottom();
+		for (CFG cfg : call.getTargetedCFGs()) {
+			AnalyzedCFG<A> summary = summarize(cfg);
+			AnalysisState<A> exitState = summary == null ? null : summary.getExitState();
+			if (exitState == null || exitState.getState().isBottom()) {
+				// either the cfg never returns, or this is a recursive call
+				// with no summary available: in the latter case, we use
+				// bottom for now and a new summary will be computed later on
+				if (!returnsVoid(call, null))
+					result = result.lub(new AnalysisState<>(
+							entryState.getState().bottom(),
+							call.getMetaVariable(),
+							FixpointInfo.BOTTOM));
+				continue;
+			}
+
+			// prepare the state for the call: hide the visible variables
+			Pair<AnalysisState<A>, ExpressionSet[]> scoped = scope(entryState, scope, parameters);
+			AnalysisState<A> callState = scoped.getLeft();
+			if (!returnsVoid(call, null)) {
+				// callers with no information about their variables can be
+				// represented by the top state, that would absorb the summary
+				// when joined with it: the meta variable of the call, that is
+				// assigned after the summary has been instantiated anyway, is
+				// made explicit to avoid this
+				Identifier meta = (Identifier) call.getMetaVariable().pushScope(scope);
+				callState = callState.assign(meta, new PushAny(meta.getStaticType(), call.getLocation()), call);
+			}
+
+			// instantiate the summary: the variables of the caller are only
+			// in the call state, the ones of the callee are only in the
+			// summary, while the memory is joined as the callee might have
+			// modified it. The parameters of the summary are then
+			// substituted with the actual ones
+			AnalysisState<A> instantiated = new AnalysisState<>(
+					callState.getState().lub(exitState.getState()),
+					exitState.getComputedExpressions(),
+					callState.getFixpointInformation());
+			instantiated = substitute(call, cfg, instantiated, scoped.getRight());
+
+			// save the resulting state
+			result = result.lub(unscope(call, scope, instantiated));
+		}
+
+		if (conf.optimize)
+			// the last evaluation is the one of the fixpoint's result
+			calls.computeIfAbsent(call.getCFG(), c -> new HashMap<>())
+					.put(call.getSource() == null ? call : call.getSource(), result);
+		return result;
+	}
+
+	@Override
+	public FixpointResults<A> getFixpointResults() {
+		return results;
+	}
+}
@@ -0,0 +1,374 @@
+package it.unive.lisa.interprocedural.context;
+
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.util.collections.CollectionUtilities;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A context sensitive token whose depth is chosen separately for each call
+ * site, depending on the precision that the analysis loses there. Tokens are
+ * call chains, as {@link KDepthToken}s, but the calls that are kept when a
+ * call is pushed depend on the depth of its call site: all call sites start
+ * with depth 0, where every call to the same cfg yields the empty chain (as
+ * with {@link ContextInsensitiveToken}s), while a call site with depth
+ * {@code d > 0} yields the last {@code d - 1} calls of the chain it is pushed
+ * on, followed by the call itself.<br>
+ * <br>
+ * The {@link ContextBasedAnalysis} reports to the tokens each context reached
+ * by a call. A merge happens whenever a call site changes the entry state of
+ * a context that is also reached by other calls, or by the same call from
+ * other contexts, forcing the re-analysis of the callee starting from the lub
+ * of their entry states. Once the analysis converges, the call sites that
+ * caused at least {@code threshold} merges have their depth increased by one,
+ * up to {@code maxDepth}, and the analysis restarts with the new depths. The
+ * total number of increments is bounded by {@code budget}, and call sites
+ * causing more merges are refined first: the cost of deeper contexts is thus
+ * paid only where merging lost precision, and the analysis restarts at most
+ * {@code budget} times.<br>
+ * <br>
+ * All tokens obtained from the same invocation of
+ * {@link #getSingleton(int, int, int)} share the depths of the call sites, that
+ * are kept across executions of the analysis. Tokens are interned: there is a
+ * unique instance for each call chain and invocation of
+ * {@link #getSingleton(int, int, int)}, and equality is thus reference
+ * equality.<br>
+ * <br>
+ * Invocations of {@link #getSingleton(int, int, int)} are numbered in order.
+ * A deserialized token (e.g., one read from a checkpoint) is resolved against
+ * the live tokens obtained from the invocation with the same number, if any,
+ * whose call sites are deepened to the depths stored with the token. A
+ * checkpoint written by an analysis is thus resumed by the same analysis in
+ * the same contexts, even from a different execution of the same program.
+ */
+public class AdaptiveToken implements ContextSensitivityToken {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<CFGCall> calls;
+
+	private final Policy policy;
+
+	private final transient int hash;
+
+	private AdaptiveToken(
+			Policy policy,
+			List<CFGCall> calls) {
+		this.policy = policy;
+		this.calls = calls;
+
+		final int prime = 31;
+		int result = 1;
+		for (CFGCall call : calls)
+			// we use the hashcode of the location as the hashcode of the
+			// call is based on the ones of its targets, and a CFG hashcode
+			// is not consistent between executions - this is a problem as
+			// this object's hashcode is used as suffix in some filenames
+			result = prime * result + call.getLocation().hashCode();
+		this.hash = result;
+	}
+
+	/**
+	 * Return an empty token, whose call sites have all depth 0.
+	 * 
+	 * @param threshold the number of merges that a call site must cause for
+	 *                      its depth to be increased
+	 * @param maxDepth  the maximum depth of a call site
+	 * @param budget    the maximum number of depth increments, over all call
+	 *                      sites
+	 * 
+	 * @return an empty token
+	 */
+	public static AdaptiveToken getSingleton(
+			int threshold,
+			int maxDepth,
+			int budget) {
+		return Policy.create(threshold, maxDepth, budget).intern(Collections.emptyList());
+	}
+
+	@Override
+	public String toString() {
+		if (calls.isEmpty())
+			return "<empty>";
+		return "[" + calls.stream().map(call -> call.getLocation())
+				.collect(new CollectionUtilities.StringCollector<>(", ")) + "]";
+	}
+
+	@Override
+	public boolean equals(
+			Object obj) {
+		// instances are unique
+		return this == obj;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public ContextSensitivityToken startingId() {
+		return policy.intern(Collections.emptyList());
+	}
+
+	@Override
+	public boolean isStartingId() {
+		return calls.isEmpty();
+	}
+
+	@Override
+	public ContextSensitivityToken push(
+			CFGCall c) {
+		int depth = policy.depthOf(c);
+		if (depth == 0)
+			return startingId();
+
+		int oldlen = calls.size();
+		List<CFGCall> chain = new ArrayList<>(Math.min(oldlen, depth - 1) + 1);
+		// we only keep the last depth-1 elements
+		chain.addAll(calls.subList(Math.max(0, oldlen - depth + 1), oldlen));
+		chain.add(c);
+		return policy.intern(chain);
+	}
+
+	/**
+	 * Records that {@code call}, evaluated in the context of {@code caller},
+	 * reached this context of {@code cfg}.
+	 * 
+	 * @param cfg    the cfg that has been called
+	 * @param call   the call
+	 * @param caller the context of the caller
+	 * @param grown  whether or not the call changed the entry state of this
+	 *                   context, requiring a new fixpoint over {@code cfg}
+	 */
+	void reached(
+			CFG cfg,
+			CFGCall call,
+			ContextSensitivityToken caller,
+			boolean grown) {
+		policy.reached(cfg, this, call, caller, grown);
+	}
+
+	/**
+	 * Increases the depth of the call sites that caused enough merges since
+	 * the last refinement, within the budget, and forgets all merges.
+	 * 
+	 * @return the number of call sites whose depth has been increased
+	 */
+	int refine() {
+		return policy.refine();
+	}
+
+	/**
+	 * Yields statistics about the refinements of the call sites, in the form
+	 * of a property bag.
+	 * 
+	 * @return the statistics
+	 */
+	Map<String, String> getStatistics() {
+		return policy.getStatistics();
+	}
+
+	/**
+	 * Replaces deserialized tokens with their unique instance.
+	 * 
+	 * @return the unique instance equivalent to this token
+	 */
+	private Object readResolve() {
+		return policy.intern(calls);
+	}
+
+	/**
+	 * The depths of the call sites shared by a family of tokens, together with
+	 * the merges they caused and the canonicalization table of the tokens.
+	 */
+	private static class Policy implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The live policies, indexed by their identifiers.
+		 */
+		private static final Map<Integer, WeakReference<Policy>> POLICIES = new HashMap<>();
+
+		/**
+		 * The identifier of the next policy to be created.
+		 */
+		private static int nextId;
+
+		private final int id;
+
+		private final int threshold;
+
+		private final int maxDepth;
+
+		private final int budget;
+
+		private final Map<CFGCall, Integer> depths = new HashMap<>();
+
+		private int refinements;
+
+		private int restarts;
+
+		private transient TokenTable<List<CFGCall>, AdaptiveToken> table = new TokenTable<>();
+
+		/**
+		 * The number of merges caused by each call site since the last
+		 * refinement.
+		 */
+		private transient Map<CFGCall, Integer> merges = new HashMap<>();
+
+		/**
+		 * The calls, with the contexts of their callers, that reached each
+		 * context of each cfg since the last refinement.
+		 */
+		private transient Map<Pair<CFG, AdaptiveToken>,
+				Set<Pair<CFGCall, ContextSensitivityToken>>> users = new HashMap<>();
+
+		private Policy(
+				int id,
+				int threshold,
+				int maxDepth,
+				int budget) {
+			this.id = id;
+			this.threshold = Math.max(1, threshold);
+			this.maxDepth = maxDepth;
+			this.budget = budget;
+		}
+
+		private static Policy create(
+				int threshold,
+				int maxDepth,
+				int budget) {
+			synchronized (POLICIES) {
+				POLICIES.values().removeIf(ref -> ref.get() == null);
+				Policy policy = new Policy(nextId++, threshold, maxDepth, budget);
+				POLICIES.put(policy.id, new WeakReference<>(policy));
+				return policy;
+			}
+		}
+
+		private AdaptiveToken intern(
+				List<CFGCall> calls) {
+			return table.intern(calls, c -> new AdaptiveToken(this, c));
+		}
+
+		private synchronized int depthOf(
+				CFGCall call) {
+			return depths.getOrDefault(call, 0);
+		}
+
+		private synchronized void reached(
+				CFG cfg,
+				AdaptiveToken context,
+				CFGCall call,
+				ContextSensitivityToken caller,
+				boolean grown) {
+			Set<Pair<CFGCall, ContextSensitivityToken>> reaching = users.computeIfAbsent(Pair.of(cfg, context),
+					k -> new HashSet<>());
+			reaching.add(Pair.of(call, caller));
+			if (grown && reaching.size() > 1)
+				merges.merge(call, 1, Integer::sum);
+		}
+
+		private synchronized int refine() {
+			List<Entry<CFGCall, Integer>> candidates = new ArrayList<>();
+			for (Entry<CFGCall, Integer> merge : merges.entrySet())
+				if (merge.getValue() >= threshold && depths.getOrDefault(merge.getKey(), 0) < maxDepth)
+					candidates.add(merge);
+			// call sites causing more merges come first, ties are broken by
+			// location to make refinements deterministic
+			candidates.sort((
+					e1,
+					e2) -> e1.getValue().equals(e2.getValue())
+							? e1.getKey().getLocation().compareTo(e2.getKey().getLocation())
+							: Integer.compare(e2.getValue(), e1.getValue()));
+
+			int refined = 0;
+			for (Entry<CFGCall, Integer> candidate : candidates) {
+				if (refinements >= budget)
+					break;
+				depths.merge(candidate.getKey(), 1, Integer::sum);
+				refinements++;
+				refined++;
+			}
+
+			merges.clear();
+			users.clear();
+			if (refined > 0)
+				restarts++;
+			return refined;
+		}
+
+		private synchronized Map<String, String> getStatistics() {
+			int deepest = 0;
+			for (int depth : depths.values())
+				deepest = Math.max(deepest, depth);
+			Map<String, String> bag = new TreeMap<>();
+			bag.put("threshold", String.valueOf(threshold));
+			bag.put("maxDepth", String.valueOf(maxDepth));
+			bag.put("budget", String.valueOf(budget));
+			bag.put("refinements", String.valueOf(refinements));
+			bag.put("refinedCallSites", String.valueOf(depths.size()));
+			bag.put("deepestCallSite", String.valueOf(deepest));
+			bag.put("restarts", String.valueOf(restarts));
+			return bag;
+		}
+
+		private void readObject(
+				ObjectInputStream in)
+				throws IOException,
+				ClassNotFoundException {
+			in.defaultReadObject();
+			table = new TokenTable<>();
+			merges = new HashMap<>();
+			users = new HashMap<>();
+		}
+
+		/**
+		 * Replaces deserialized policies with the live one having the same
+		 * identifier and parameters, that is deepened to the depths of this
+		 * policy. If no such policy exists, this one becomes the live policy
+		 * for its identifier.
+		 * 
+		 * @return the live policy equivalent to this one
+		 */
+		private Object readResolve() {
+			Policy live;
+			synchronized (POLICIES) {
+				WeakReference<Policy> ref = POLICIES.get(id);
+				live = ref == null ? null : ref.get();
+				if (live == null) {
+					POLICIES.put(id, new WeakReference<>(this));
+					nextId = Math.max(nextId, id + 1);
+					return this;
+				}
+			}
+
+			if (live.threshold != threshold || live.maxDepth != maxDepth || live.budget != budget)
+				// a different analysis: its tokens cannot be shared
+				return this;
+
+			synchronized (live) {
+				for (Entry<CFGCall, Integer> depth : depths.entrySet())
+					live.depths.merge(depth.getKey(), depth.getValue(), Math::max);
+				live.refinements = Math.max(live.refinements, refinements);
+				live.restarts = Math.max(live.restarts, restarts);
+			}
+			return live;
+		}
+	}
+}
@@ -19,6 +19,9 @@ import it.unive.lisa.interprocedural.NoEntryPointException;
 import it.unive.lisa.interprocedural.OpenCallPolicy;
 import it.unive.lisa.interprocedural.ScopeId;
 import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.CompactCallGraph;
+import it.unive.lisa.interprocedural.checkpoint.Checkpoint;
+import it.unive.lisa.interprocedural.checkpoint.SummaryCache;
 import it.unive.lisa.interprocedural.context.recursion.Recursion;
 import it.unive.lisa.interprocedural.context.recursion.RecursionSolver;
 import it.unive.lisa.logging.IterationLogger;
@@ -35,14 +38,28 @@ import it.unive.lisa.program.language.parameterassignment.ParameterAssigningStra
 import it.unive.lisa.util.StringUtilities;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
@@ -52,7 +69,20 @@ import org.apache.logging.log4j.Logger;
  * A context sensitive interprocedural analysis. The context sensitivity is
  * tuned by the kind of {@link ContextSensitivityToken} used. Recursions are
  * approximated applying the iterates of the recursion starting from bottom and
- * using the same widening threshold of cfg fixpoints.
+ * using the same widening threshold of cfg fixpoints. If
+ * {@link FixpointConfiguration#interproceduralParallelism} is greater than 1,
+ * the contexts invalidated by a fixpoint iteration are re-analyzed bottom-up
+ * and concurrently at the beginning of the next one (see
+ * {@link it.unive.lisa.conf.LiSAConfiguration#interproceduralParallelism}).
+ * If {@link FixpointConfiguration#useInterproceduralWorklist} is set, only the
+ * contexts that read a result that changed are re-analyzed instead (see
+ * {@link it.unive.lisa.conf.LiSAConfiguration#useInterproceduralWorklist}).
+ * If {@link FixpointConfiguration#getSummaryCache()} is available, results
+ * stored by previous runs are used in place of fixpoint computations, and the
+ * results of this run are stored at the end of the analysis (see
+ * {@link it.unive.lisa.conf.LiSAConfiguration#summaryCacheDirectory}).
+ * When using {@link AdaptiveToken}s, the analysis restarts after converging
+ * as long as the depth of some call site is increased.
  * 
  * @param <A> the {@link AbstractState} of the analysis
  */
@@ -78,6 +108,62 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 	 */
 	protected FixpointResults<A> results;
 
+	/**
+	 * The contexts whose results have been forgotten at the end of the latest
+	 * fixpoint iteration, together with the entry states they were computed
+	 * from. These are re-analyzed bottom-up at the beginning of the next
+	 * iteration if the analysis is parallel.
+	 */
+	private final Map<CFG, Map<ContextSensitivityToken, AnalysisState<A>>> pending;
+
+	/**
+	 * The results computed by the bottom-up re-analysis of {@link #pending}
+	 * contexts during the current fixpoint iteration, used as summaries when
+	 * evaluating calls. This is {@code null} if no such re-analysis happened.
+	 */
+	private FixpointResults<A> summaries;
+
+	/**
+	 * Whether or not this analysis is re-analyzing a pending context, storing
+	 * its results into {@link #summaries}.
+	 */
+	private boolean summarizing;
+
+	/**
+	 * The contexts whose results have been read while analyzing other
+	 * contexts, mapped to the contexts that read them. This is populated only
+	 * if {@link FixpointConfiguration#useInterproceduralWorklist} is set.
+	 */
+	private final Map<Pair<CFG, ContextSensitivityToken>, Set<Pair<CFG, ContextSensitivityToken>>> dependents;
+
+	/**
+	 * The contexts whose results changed, and whose dependents have not been
+	 * re-analyzed yet. This is populated only if
+	 * {@link FixpointConfiguration#useInterproceduralWorklist} is set.
+	 */
+	private final Set<Pair<CFG, ContextSensitivityToken>> changed;
+
+	/**
+	 * The description of the configuration of this analysis used to index the
+	 * results stored in the {@link SummaryCache}, if any.
+	 */
+	private String summaryConfiguration;
+
+	/**
+	 * The results memoized by cfg and entry state, regardless of their
+	 * context, or {@code null} if
+	 * {@link FixpointConfiguration#entryStateMemoSize} is not positive or if
+	 * {@link FixpointConfiguration#useInterproceduralWorklist} is set.
+	 */
+	private EntryStateMemo<A> memo;
+
+	/**
+	 * The view of the call graph used to detect recursions when this analysis
+	 * processes an entrypoint concurrently with others, or {@code null} if
+	 * recursions are detected through the shared call graph.
+	 */
+	private final TaskCallGraph calls;
+
 	/**
 	 * The kind of {@link WorkingSet} to use during this analysis.
 	 */
@@ -109,7 +195,12 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 	public ContextBasedAnalysis(
 			ContextSensitivityToken token) {
 		this.token = token;
-		triggers = new HashSet<>();
+		// recursion solvers might add triggers concurrently
+		triggers = ConcurrentHashMap.newKeySet();
+		pending = new HashMap<>();
+		dependents = new ConcurrentHashMap<>();
+		changed = ConcurrentHashMap.newKeySet();
+		calls = null;
 	}
 
 	/**
@@ -126,6 +217,48 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		this.triggers = other.triggers;
 		this.workingSet = other.workingSet;
 		this.pendingRecursions = false;
+		this.pending = other.pending;
+		this.summaries = other.summaries;
+		this.summarizing = false;
+		this.dependents = other.dependents;
+		this.changed = other.changed;
+		this.summaryConfiguration = other.summaryConfiguration;
+		this.memo = other.memo;
+		this.calls = other.calls;
+	}
+
+	/**
+	 * Builds an analysis that shares the configuration, the call graph and the
+	 * dependencies between contexts of the given one, but that stores its
+	 * results, its triggers and its changed contexts separately. This is used
+	 * for processing entrypoints concurrently.
+	 * 
+	 * @param other    the original analysis
+	 * @param triggers the collection where the new analysis stores its
+	 *                     triggers
+	 * @param calls    the view of the call graph used by the new analysis to
+	 *                     detect recursions
+	 */
+	private ContextBasedAnalysis(
+			ContextBasedAnalysis<A> other,
+			Collection<CodeMember> triggers,
+			TaskCallGraph calls) {
+		super(other);
+		this.conf = other.conf;
+		this.results = null;
+		this.token = other.token;
+		this.triggers = triggers;
+		this.workingSet = other.workingSet;
+		this.pendingRecursions = false;
+		this.pending = other.pending;
+		this.summaries = other.summaries;
+		this.summarizing = false;
+		this.dependents = other.dependents;
+		this.changed = ConcurrentHashMap.newKeySet();
+		this.summaryConfiguration = other.summaryConfiguration;
+		// memoized results depend on the order of the analysis
+		this.memo = other.memo == null ? null : new EntryStateMemo<>(other.memo);
+		this.calls = calls;
 	}
 
 	@Override
@@ -141,6 +274,12 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		this.workingSet = null;
 		this.pendingRecursions = false;
 		this.triggers.clear();
+		this.pending.clear();
+		this.summaries = null;
+		this.summarizing = false;
+		this.dependents.clear();
+		this.changed.clear();
+		this.memo = null;
 	}
 
 	@Override
@@ -153,6 +292,21 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		this.conf = conf;
 		// new fixpoint execution: reset
 		this.results = null;
+		this.pending.clear();
+		this.summaries = null;
+		this.dependents.clear();
+		this.changed.clear();
+		this.summaryConfiguration = getClass().getName() + ":" + token.getClass().getName() + ":"
+				+ policy.getClass().getName() + ":" + conf.wideningThreshold + ":" + conf.glbThreshold + ":"
+				+ conf.descendingPhaseType + ":" + conf.optimize + ":" + conf.useWideningPoints;
+		// a memoized result is copied to a new context without analyzing the
+		// callees in the contexts derived from it: the dependencies that the
+		// worklist needs to re-analyze it would be missing
+		this.memo = conf.entryStateMemoSize > 0 && !conf.useInterproceduralWorklist
+				? new EntryStateMemo<>(conf.entryStateMemoSize)
+				: null;
+		if (conf.getResultsStore() != null)
+			conf.getResultsStore().bind(app, this);
 
 		if (app.getEntryPoints().isEmpty())
 			throw new NoEntryPointException();
@@ -166,12 +320,41 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 						c2) -> c1.getDescriptor().getLocation().compareTo(c2.getDescriptor().getLocation()));
 		entryPoints.addAll(app.getEntryPoints());
 
+		if (conf.resumeFromCheckpoint) {
+			Checkpoint<A> checkpoint = readCheckpoint();
+			if (checkpoint != null) {
+				iter = checkpoint.getIteration();
+				results = checkpoint.getResults();
+				checkpoint.restoreCallSites(callgraph);
+				if (checkpoint.getTriggers().isEmpty()) {
+					LOG.info("The checkpoint was taken after reaching the fixpoint: no further iteration is needed");
+					return;
+				}
+			}
+		}
+
+		boolean first = true;
+		boolean restart = false;
 		do {
 			LOG.info("Performing {} fixpoint iteration", StringUtilities.ordinal(iter + 1));
 			triggers.clear();
 			pendingRecursions = false;
 
-			processEntrypoints(entryState, empty, entryPoints);
+			// summaries are valid only within the iteration computing them
+			summaries = null;
+			if (memo != null)
+				// memoized results might have read forgotten ones
+				memo.clear();
+			if (!pending.isEmpty())
+				processPending(entryPoints);
+			if (conf.useInterproceduralWorklist && !first)
+				// dependencies are known only after a complete iteration
+				processDependents();
+			else if (first && results == null && conf.analyzeEntrypointsConcurrently)
+				processEntrypointsConcurrently(entryState, empty, entryPoints);
+			else
+				processEntrypoints(entryState, empty, entryPoints);
+			first = false;
 
 			if (pendingRecursions) {
 				Set<Recursion<A>> recursions = new HashSet<>();
@@ -182,15 +365,359 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 				solveRecursions(recursions);
 			}
 
-			// starting from the callers of the cfgs that needed a lub,
-			// find out the complete set of cfgs that might need to be
-			// processed again
-			Collection<CodeMember> toRemove = callgraph.getCallersTransitively(triggers);
-			toRemove.removeAll(triggers);
-			toRemove.stream().filter(CFG.class::isInstance).map(CFG.class::cast).forEach(results::forget);
+			if (conf.useInterproceduralWorklist) {
+				// only contexts whose dependents still need to be
+				// re-analyzed cause a new iteration
+				triggers.clear();
+				changed.forEach(context -> triggers.add(context.getLeft()));
+			} else {
+				// starting from the callers of the cfgs that needed a lub,
+				// find out the complete set of cfgs that might need to be
+				// processed again
+				Collection<CodeMember> toRemove = callgraph.getCallersTransitively(triggers);
+				toRemove.removeAll(triggers);
+				for (CodeMember cm : toRemove)
+					if (cm instanceof CFG) {
+						if (conf.interproceduralParallelism > 1)
+							remember((CFG) cm);
+						results.forget((CFG) cm);
+					}
+			}
 
 			iter++;
-		} while (!triggers.isEmpty());
+
+			// once converged, adaptive contexts might require a new analysis
+			// with deeper contexts: its checkpoints would be outdated
+			restart = triggers.isEmpty() && refineContexts();
+			first = restart;
+			if (!restart && conf.checkpointFrequency > 0
+					&& (triggers.isEmpty() || iter % conf.checkpointFrequency == 0))
+				writeCheckpoint(iter);
+		} while (restart || !triggers.isEmpty());
+
+		if (memo != null)
+			LOG.info("Entry state memo: {} hits, {} misses", memo.getHits(), memo.getMisses());
+
+		if (conf.getSummaryCache() != null)
+			storeSummaries(entryPoints);
+	}
+
+	/**
+	 * Increases the depth of the call sites that caused merges of contexts, if
+	 * {@link #token} is an {@link AdaptiveToken}. If the depth of some call
+	 * site has been increased, all results are forgotten so that the analysis
+	 * restarts from the entrypoints with the new contexts.
+	 * 
+	 * @return whether or not the analysis has to restart
+	 */
+	private boolean refineContexts() {
+		if (!(token instanceof AdaptiveToken))
+			return false;
+		int refined = ((AdaptiveToken) token).refine();
+		if (refined == 0)
+			return false;
+
+		LOG.info("Increased the depth of {} call sites: restarting the analysis", refined);
+		for (CFG cfg : new ArrayList<>(results.getKeys()))
+			// forgetting the results releases their storage
+			results.forget(cfg);
+		results = null;
+		pending.clear();
+		summaries = null;
+		dependents.clear();
+		changed.clear();
+		return true;
+	}
+
+	@Override
+	public Map<String, String> getStatistics() {
+		Map<String, String> bag = new TreeMap<>();
+		if (memo != null) {
+			bag.put("entryStateMemoHits", String.valueOf(memo.getHits()));
+			bag.put("entryStateMemoMisses", String.valueOf(memo.getMisses()));
+		}
+		if (!(token instanceof AdaptiveToken))
+			return bag;
+
+		bag.putAll(((AdaptiveToken) token).getStatistics());
+		int contexts = 0;
+		if (results != null)
+			for (Entry<CFG, CFGResults<A>> res : results)
+				contexts += res.getValue().getKeys().size();
+		bag.put("contexts", String.valueOf(contexts));
+		return bag;
+	}
+
+	/**
+	 * Stores the results of the cfgs that are not entrypoints and that are not
+	 * part of a recursion into the {@link SummaryCache}.
+	 * 
+	 * @param entryPoints the entrypoints of the application
+	 */
+	private void storeSummaries(
+			Collection<CFG> entryPoints) {
+		SummaryCache cache = conf.getSummaryCache();
+		Set<CodeMember> recursive = new HashSet<>();
+		callgraph.getRecursions().forEach(recursive::addAll);
+
+		int count = 0;
+		try {
+			for (Entry<CFG, CFGResults<A>> res : results) {
+				CFG cfg = res.getKey();
+				if (entryPoints.contains(cfg) || recursive.contains(cfg))
+					continue;
+				Collection<CodeMember> callees = callgraph.getCalleesTransitively(cfg);
+				for (Entry<ScopeId, AnalyzedCFG<A>> context : res.getValue())
+					if (cache.store(cfg, context.getValue(), callees, summaryConfiguration, app))
+						count++;
+			}
+		} catch (SemanticException e) {
+			throw new AnalysisExecutionException("Unable to retrieve the entry states of the results to cache", e);
+		}
+
+		LOG.info("{} results stored in the summary cache at '{}'", count, cache.getDirectory());
+	}
+
+	private void depend(
+			CFG callee,
+			ContextSensitivityToken calleeToken,
+			CFG caller,
+			ContextSensitivityToken callerToken) {
+		dependents.computeIfAbsent(Pair.of(callee, calleeToken), c -> ConcurrentHashMap.newKeySet())
+				.add(Pair.of(caller, callerToken));
+	}
+
+	/**
+	 * Re-analyzes the contexts that read a result that {@link #changed},
+	 * starting from the entry states they have been last analyzed with. The
+	 * new results replace the previous ones, and whenever the result of a
+	 * re-analyzed context changes, the contexts that read it are scheduled for
+	 * re-analysis as well, until no result changes. Changes
+	 * caused by recursions are instead propagated in the next iteration, after
+	 * the recursions have been solved.
+	 */
+	private void processDependents() {
+		Deque<Pair<CFG, ContextSensitivityToken>> worklist = new ArrayDeque<>();
+		Set<Pair<CFG, ContextSensitivityToken>> scheduled = new HashSet<>();
+		schedule(worklist, scheduled);
+		LOG.info("Re-analyzing {} contexts depending on changed results", worklist.size());
+
+		int count = 0;
+		// the token is moved to each re-analyzed context: it is restored
+		// afterwards for the code that follows (e.g., recursion solving)
+		ContextSensitivityToken original = token;
+		try {
+			while (!worklist.isEmpty()) {
+				Pair<CFG, ContextSensitivityToken> context = worklist.removeFirst();
+				scheduled.remove(context);
+				CFG cfg = context.getLeft();
+				CFGResults<A> localResults = results.get(cfg);
+				AnalyzedCFG<A> previous = localResults == null ? null : localResults.get(context.getRight());
+				if (previous == null)
+					continue;
+
+				try {
+					// the previous result read outdated results: as when
+					// callers are forgotten, the new one replaces it instead
+					// of being joined with it
+					localResults.forget(context.getRight());
+					token = context.getRight();
+					AnalyzedCFG<A> current = computeFixpoint(cfg, token, previous.getEntryState());
+					if (!current.lessOrEqual(previous) || !previous.lessOrEqual(current)) {
+						changed.add(context);
+						if (memo != null)
+							memo.clear();
+					}
+					count++;
+				} catch (SemanticException e) {
+					throw new AnalysisExecutionException("Error while re-analyzing " + cfg, e);
+				} catch (FixpointException e) {
+					throw new AnalysisExecutionException("Error while computing fixpoint for " + cfg, e);
+				}
+
+				schedule(worklist, scheduled);
+			}
+		} finally {
+			token = original;
+		}
+
+		LOG.info("{} contexts have been re-analyzed", count);
+	}
+
+	private void schedule(
+			Deque<Pair<CFG, ContextSensitivityToken>> worklist,
+			Set<Pair<CFG, ContextSensitivityToken>> scheduled) {
+		for (Pair<CFG, ContextSensitivityToken> context : changed)
+			for (Pair<CFG, ContextSensitivityToken> dependent : dependents.getOrDefault(context, Set.of()))
+				if (scheduled.add(dependent))
+					worklist.addLast(dependent);
+		changed.clear();
+	}
+
+	private void remember(
+			CFG cfg) {
+		CFGResults<A> res = results.get(cfg);
+		if (res == null)
+			return;
+		Map<ContextSensitivityToken, AnalysisState<A>> contexts = pending.computeIfAbsent(cfg, c -> new HashMap<>());
+		try {
+			for (Entry<ScopeId, AnalyzedCFG<A>> context : res)
+				contexts.put((ContextSensitivityToken) context.getKey(), context.getValue().getEntryState());
+		} catch (SemanticException e) {
+			throw new AnalysisExecutionException("Unable to retrieve the entry states of " + cfg, e);
+		}
+	}
+
+	/**
+	 * Re-analyzes the {@link #pending} contexts, storing their results into
+	 * {@link #summaries}. The call graph is condensed into its strongly
+	 * connected components, and each component is processed on
+	 * {@link FixpointConfiguration#getInterproceduralPool()} as soon as all
+	 * the components it calls have been processed. Components containing
+	 * recursions and entrypoints are skipped, as they are re-analyzed by the
+	 * top-down iteration anyway.
+	 * 
+	 * @param entryPoints the entrypoints of the application
+	 */
+	private void processPending(
+			Collection<CFG> entryPoints) {
+		List<Collection<CodeMember>> components = new ArrayList<>(callgraph.getComponents());
+		Map<CodeMember, Integer> index = new HashMap<>();
+		for (int i = 0; i < components.size(); i++)
+			for (CodeMember cm : components.get(i))
+				index.put(cm, i);
+
+		List<Set<Integer>> deps = new ArrayList<>(components.size());
+		for (int i = 0; i < components.size(); i++) {
+			Set<Integer> callees = new HashSet<>();
+			for (CodeMember cm : components.get(i))
+				for (CodeMember callee : callgraph.getCallees(cm)) {
+					Integer j = index.get(callee);
+					if (j != null && j != i)
+						callees.add(j);
+				}
+			deps.add(callees);
+		}
+
+		LOG.info("Re-analyzing {} invalidated cfgs bottom-up", pending.size());
+		Map<CFG, Map<ContextSensitivityToken, AnalysisState<A>>> contexts = new HashMap<>(pending);
+		pending.clear();
+		summaries = results.top();
+		AtomicBoolean recursions = new AtomicBoolean(false);
+		ForkJoinPool pool = conf.getInterproceduralPool();
+
+		// the condensation is acyclic: a component is scheduled once all the
+		// components it calls have been scheduled
+		@SuppressWarnings("unchecked")
+		CompletableFuture<Void>[] futures = new CompletableFuture[components.size()];
+		Deque<Integer> stack = new ArrayDeque<>();
+		for (int root = 0; root < components.size(); root++) {
+			stack.push(root);
+			while (!stack.isEmpty()) {
+				int current = stack.peek();
+				if (futures[current] != null) {
+					stack.pop();
+					continue;
+				}
+
+				boolean ready = true;
+				for (int dep : deps.get(current))
+					if (futures[dep] == null) {
+						stack.push(dep);
+						ready = false;
+					}
+
+				if (ready) {
+					stack.pop();
+					Collection<CodeMember> component = components.get(current);
+					CompletableFuture<?>[] callees = deps.get(current).stream()
+							.map(dep -> futures[dep])
+							.toArray(CompletableFuture[]::new);
+					futures[current] = CompletableFuture.allOf(callees)
+							.thenRunAsync(() -> summarize(component, contexts, entryPoints, recursions), pool);
+				}
+			}
+		}
+
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof AnalysisExecutionException)
+				throw (AnalysisExecutionException) e.getCause();
+			throw new AnalysisExecutionException("Error while re-analyzing invalidated cfgs", e.getCause());
+		}
+
+		if (recursions.get())
+			pendingRecursions = true;
+	}
+
+	private void summarize(
+			Collection<CodeMember> component,
+			Map<CFG, Map<ContextSensitivityToken, AnalysisState<A>>> contexts,
+			Collection<CFG> entryPoints,
+			AtomicBoolean recursions) {
+		if (component.size() > 1 || callgraph.getCallees(component.iterator().next()).containsAll(component))
+			// recursive component
+			return;
+
+		for (CodeMember cm : component) {
+			if (!(cm instanceof CFG) || entryPoints.contains(cm) || !contexts.containsKey(cm))
+				continue;
+
+			CFG cfg = (CFG) cm;
+			for (Entry<ContextSensitivityToken, AnalysisState<A>> context : contexts.get(cfg).entrySet()) {
+				// each task has its own copy, tracking its own token
+				ContextBasedAnalysis<A> task = new ContextBasedAnalysis<>(this);
+				task.summarizing = true;
+				task.token = context.getKey();
+				try {
+					task.computeFixpoint(cfg, context.getKey(), context.getValue());
+				} catch (SemanticException | FixpointException e) {
+					throw new AnalysisExecutionException("Error while re-analyzing " + cfg, e);
+				}
+
+				if (task.pendingRecursions)
+					recursions.set(true);
+			}
+		}
+	}
+
+	private Checkpoint<A> readCheckpoint() {
+		Path file = Paths.get(conf.workdir, Checkpoint.FILE_NAME);
+		if (!Files.exists(file)) {
+			LOG.warn("No checkpoint found at '{}', starting the analysis from scratch", file);
+			return null;
+		}
+
+		try {
+			Checkpoint<A> checkpoint = Checkpoint.read(file, app, this, checkpointConfiguration(),
+					conf.getResultsStore());
+			LOG.info("Resuming the analysis after the {} fixpoint iteration",
+					StringUtilities.ordinal(checkpoint.getIteration()));
+			return checkpoint;
+		} catch (IOException e) {
+			LOG.warn("Unable to read the checkpoint at '" + file + "', starting the analysis from scratch", e);
+			return null;
+		}
+	}
+
+	private String checkpointConfiguration() {
+		// besides the options that summaries depend on, the ones changing
+		// the results of the single fixpoints, or the meaning of the triggers
+		// stored in the checkpoint, prevent resuming the analysis
+		return summaryConfiguration + ":" + conf.recursionWideningThreshold + ":" + workingSet.getName() + ":"
+				+ conf.useSparseFixpoint + ":" + conf.useInterproceduralWorklist;
+	}
+
+	private void writeCheckpoint(
+			int iter) {
+		Path file = Paths.get(conf.workdir, Checkpoint.FILE_NAME);
+		try {
+			new Checkpoint<>(checkpointConfiguration(), iter, triggers, results, callgraph, app).write(file, app);
+			LOG.info("Checkpoint of the {} fixpoint iteration written to '{}'", StringUtilities.ordinal(iter), file);
+		} catch (IOException e) {
+			LOG.warn("Unable to write the checkpoint of the " + StringUtilities.ordinal(iter) + " fixpoint iteration", e);
+		}
 	}
 
 	private void solveRecursions(
@@ -210,16 +737,88 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			orderedRecursions.add(pos, rec);
 		}
 
+		if (conf.solveRecursionsConcurrently && orderedRecursions.size() > 1) {
+			solveConcurrently(orderedRecursions);
+			orderedRecursions.forEach(this::solved);
+			return;
+		}
+
 		try {
 			for (Recursion<A> rec : orderedRecursions) {
 				new RecursionSolver<>(this, rec).solve();
-				triggers.addAll(rec.getMembers());
+				solved(rec);
 			}
 		} catch (SemanticException e) {
 			throw new AnalysisExecutionException("Unable to solve one or more recursions", e);
 		}
 	}
 
+	private void solved(
+			Recursion<A> rec) {
+		triggers.addAll(rec.getMembers());
+		if (conf.useInterproceduralWorklist)
+			// the results of all the members changed w.r.t. the
+			// bottom approximation used before solving the recursion
+			for (CodeMember member : rec.getMembers())
+				if (member instanceof CFG && results.contains((CFG) member))
+					for (Entry<ScopeId, AnalyzedCFG<A>> res : results.get((CFG) member))
+						changed.add(Pair.of((CFG) member, (ContextSensitivityToken) res.getKey()));
+	}
+
+	/**
+	 * Solves the given recursions on
+	 * {@link FixpointConfiguration#getInterproceduralPool()}, each with its
+	 * own {@link RecursionSolver}. A recursion depends on the ones preceding
+	 * it in {@code orderedRecursions} that are not independent from it, that
+	 * is, whose members or transitive callees intersect its own members or
+	 * transitive callees. Each recursion is solved as soon as all the ones it
+	 * depends on have been solved, storing its results into the shared
+	 * {@link #results}.
+	 * 
+	 * @param orderedRecursions the recursions to solve, in the order they
+	 *                              would be solved sequentially
+	 */
+	private void solveConcurrently(
+			List<Recursion<A>> orderedRecursions) {
+		int size = orderedRecursions.size();
+		List<Set<CodeMember>> reached = new ArrayList<>(size);
+		for (Recursion<A> rec : orderedRecursions) {
+			Set<CodeMember> members = new HashSet<>(rec.getMembers());
+			members.addAll(callgraph.getCalleesTransitively(rec.getMembers()));
+			reached.add(members);
+		}
+
+		LOG.info("Solving {} recursions concurrently", size);
+		ForkJoinPool pool = conf.getInterproceduralPool();
+		@SuppressWarnings("unchecked")
+		CompletableFuture<Void>[] futures = new CompletableFuture[size];
+		for (int i = 0; i < size; i++) {
+			List<CompletableFuture<Void>> deps = new ArrayList<>();
+			for (int j = 0; j < i; j++)
+				if (!Collections.disjoint(reached.get(i), reached.get(j)))
+					deps.add(futures[j]);
+
+			Recursion<A> rec = orderedRecursions.get(i);
+			futures[i] = CompletableFuture.allOf(deps.toArray(new CompletableFuture[deps.size()]))
+					.thenRunAsync(() -> {
+						try {
+							new RecursionSolver<>(this, rec).solve();
+						} catch (SemanticException e) {
+							throw new AnalysisExecutionException("Unable to solve the recursion at "
+									+ rec.getInvocation().getLocation(), e);
+						}
+					}, pool);
+		}
+
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof AnalysisExecutionException)
+				throw (AnalysisExecutionException) e.getCause();
+			throw new AnalysisExecutionException("Unable to solve one or more recursions", e.getCause());
+		}
+	}
+
 	private void buildRecursion(
 			AnalysisState<A> entryState,
 			Set<Recursion<A>> recursions,
@@ -272,24 +871,97 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			ContextSensitivityToken empty,
 			Collection<CFG> entryPoints) {
 		for (CFG cfg : IterationLogger.iterate(LOG, entryPoints, "Processing entrypoints", "entries"))
-			try {
-				if (results == null) {
-					AnalyzedCFG<A> graph = conf.optimize
-							? new OptimizedAnalyzedCFG<>(cfg, empty, entryState.bottom(), this)
-							: new AnalyzedCFG<>(cfg, empty, entryState);
-					CFGResults<A> value = new CFGResults<>(graph);
-					this.results = new FixpointResults<>(value.top());
-				}
+			processEntrypoint(entryState, empty, cfg);
+	}
 
-				token = empty;
-				AnalysisState<A> entryStateCFG = prepareEntryStateOfEntryPoint(entryState, cfg);
-				results.putResult(cfg, empty,
-						cfg.fixpoint(entryStateCFG, this, WorkingSet.of(workingSet), conf, empty));
-			} catch (SemanticException e) {
-				throw new AnalysisExecutionException("Error while creating the entrystate for " + cfg, e);
-			} catch (FixpointException e) {
-				throw new AnalysisExecutionException("Error while computing fixpoint for entrypoint " + cfg, e);
+	private void processEntrypoint(
+			AnalysisState<A> entryState,
+			ContextSensitivityToken empty,
+			CFG cfg) {
+		try {
+			if (results == null) {
+				AnalyzedCFG<A> graph = conf.optimize
+						? new OptimizedAnalyzedCFG<>(cfg, empty, entryState.bottom(), this)
+						: new AnalyzedCFG<>(cfg, empty, entryState);
+				CFGResults<A> value = new CFGResults<>(graph);
+				this.results = new FixpointResults<>(value.top(), conf.getResultsStore());
 			}
+
+			token = empty;
+			AnalysisState<A> entryStateCFG = prepareEntryStateOfEntryPoint(entryState, cfg);
+			results.putResult(cfg, empty, cfg.fixpoint(entryStateCFG, this, WorkingSet.of(workingSet), conf, empty));
+		} catch (SemanticException e) {
+			throw new AnalysisExecutionException("Error while creating the entrystate for " + cfg, e);
+		} catch (FixpointException e) {
+			throw new AnalysisExecutionException("Error while computing fixpoint for entrypoint " + cfg, e);
+		}
+	}
+
+	/**
+	 * Processes each entrypoint on
+	 * {@link FixpointConfiguration#getInterproceduralPool()}, with a separate
+	 * analysis that stores its results on its own. Once all entrypoints have
+	 * been processed, the results of each analysis are joined into
+	 * {@link #results} following the order of the entrypoints, and the cfgs
+	 * whose results needed a lub become triggers of a new iteration. Since the
+	 * analyses do not read each other's results, the joined results do not
+	 * depend on how the analyses have been scheduled. All analyses register
+	 * their calls in the shared call graph, but each of them detects
+	 * recursions on its own {@link TaskCallGraph}, made of a snapshot of the
+	 * call graph taken before any analysis starts and of the calls that the
+	 * analysis registered: a cycle is thus never closed by the calls of
+	 * another analysis, and the detected recursions do not depend on the
+	 * scheduling either. The recursions found are solved after the join.
+	 * 
+	 * @param entryState  the entry state of the whole analysis
+	 * @param empty       the token of the entrypoints
+	 * @param entryPoints the entrypoints of the application
+	 */
+	private void processEntrypointsConcurrently(
+			AnalysisState<A> entryState,
+			ContextSensitivityToken empty,
+			Collection<CFG> entryPoints) {
+		LOG.info("Processing {} entrypoints concurrently", entryPoints.size());
+		ForkJoinPool pool = conf.getInterproceduralPool();
+		List<ContextBasedAnalysis<A>> tasks = new ArrayList<>(entryPoints.size());
+		@SuppressWarnings("unchecked")
+		CompletableFuture<Void>[] futures = new CompletableFuture[entryPoints.size()];
+		CompactCallGraph snapshot = callgraph.freeze();
+		for (CFG cfg : entryPoints) {
+			ContextBasedAnalysis<A> task = new ContextBasedAnalysis<>(this, new HashSet<>(),
+					new TaskCallGraph(snapshot));
+			futures[tasks.size()] = CompletableFuture.runAsync(
+					() -> task.processEntrypoint(entryState, empty, cfg),
+					pool);
+			tasks.add(task);
+		}
+
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof AnalysisExecutionException)
+				throw (AnalysisExecutionException) e.getCause();
+			throw new AnalysisExecutionException("Error while processing entrypoints", e.getCause());
+		}
+
+		for (ContextBasedAnalysis<A> task : tasks) {
+			if (results == null)
+				results = task.results.top();
+			if (task.pendingRecursions)
+				pendingRecursions = true;
+			triggers.addAll(task.triggers);
+			changed.addAll(task.changed);
+			for (CFG cfg : task.results.getKeys())
+				for (Entry<ScopeId, AnalyzedCFG<A>> context : task.results.get(cfg)) {
+					ContextSensitivityToken id = (ContextSensitivityToken) context.getKey();
+					try {
+						// results are bound to this analysis before being joined
+						storeResult(cfg, id, relabel(cfg, id, context.getValue()));
+					} catch (SemanticException e) {
+						throw new AnalysisExecutionException("Error while joining the results of " + cfg, e);
+					}
+				}
+		}
 	}
 
 	@Override
@@ -320,21 +992,98 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			AnalysisState<A> entryState)
 			throws FixpointException,
 			SemanticException {
-		AnalyzedCFG<A> fixpointResult = cfg.fixpoint(
-				entryState,
-				this,
-				WorkingSet.of(workingSet),
-				conf,
-				token);
-		if (shouldStoreFixpointResults()) {
-			Pair<Boolean, AnalyzedCFG<A>> res = results.putResult(cfg, token, fixpointResult);
-			if (shouldStoreFixpointResults() && Boolean.TRUE.equals(res.getLeft()))
-				triggers.add(cfg);
-			fixpointResult = res.getRight();
-		}
+		return storeResult(cfg, token, runFixpoint(cfg, token, entryState));
+	}
+
+	/**
+	 * Runs a fixpoint over {@code cfg} starting from {@code entryState},
+	 * unless its result can be found in the {@link SummaryCache}, without
+	 * storing the result.
+	 * 
+	 * @param cfg        the target of the fixpoint
+	 * @param token      the scope identifier that identifies the computation
+	 * @param entryState the entry state for the fixpoint
+	 * 
+	 * @return the result of the fixpoint computation
+	 * 
+	 * @throws FixpointException if the fixpoint terminates abruptly
+	 */
+	private AnalyzedCFG<A> runFixpoint(
+			CFG cfg,
+			ContextSensitivityToken token,
+			AnalysisState<A> entryState)
+			throws FixpointException {
+		SummaryCache cache = conf.getSummaryCache();
+		AnalyzedCFG<A> fixpointResult = cache == null ? null
+				: cache.lookup(cfg, token, entryState, summaryConfiguration, this, app);
+		if (fixpointResult == null)
+			fixpointResult = cfg.fixpoint(
+					entryState,
+					this,
+					WorkingSet.of(workingSet),
+					conf,
+					token);
 		return fixpointResult;
 	}
 
+	/**
+	 * Stores the given result of a fixpoint over {@code cfg}, if this
+	 * analysis stores its results.
+	 * 
+	 * @param cfg    the cfg
+	 * @param token  the scope identifier that identifies the computation
+	 * @param result the result to store
+	 * 
+	 * @return the stored result, that is the lub of {@code result} and of the
+	 *             one previously stored for {@code token}, if any
+	 * 
+	 * @throws SemanticException if an exception happens while storing the
+	 *                               result
+	 */
+	private AnalyzedCFG<A> storeResult(
+			CFG cfg,
+			ContextSensitivityToken token,
+			AnalyzedCFG<A> result)
+			throws SemanticException {
+		if (summarizing)
+			return summaries.putResult(cfg, token, result).getRight();
+		if (!shouldStoreFixpointResults())
+			return result;
+
+		Pair<Boolean, AnalyzedCFG<A>> res = results.putResult(cfg, token, result);
+		if (Boolean.TRUE.equals(res.getLeft())) {
+			triggers.add(cfg);
+			if (conf.useInterproceduralWorklist)
+				changed.add(Pair.of(cfg, token));
+			if (memo != null)
+				// memoized results might have read the previous one
+				memo.clear();
+		}
+		return res.getRight();
+	}
+
+	/**
+	 * Yields a copy of the given result of a fixpoint over {@code cfg},
+	 * identified by the given token.
+	 * 
+	 * @param cfg    the cfg
+	 * @param token  the scope identifier to assign to the copy
+	 * @param result the result to copy
+	 * 
+	 * @return the copy
+	 */
+	private AnalyzedCFG<A> relabel(
+			CFG cfg,
+			ContextSensitivityToken token,
+			AnalyzedCFG<A> result) {
+		AnalyzedCFG<A> copy = result instanceof OptimizedAnalyzedCFG
+				? new OptimizedAnalyzedCFG<>(cfg, token, result.getEntryStates(), result.getResults(), this)
+				: new AnalyzedCFG<>(cfg, token, result.getEntryStates(), result.getResults());
+		if (result.isDegraded())
+			copy.markDegraded();
+		return copy;
+	}
+
 	/**
 	 * Whether or not this analysis can avoid computing a fixpoint for the given
 	 * cfg when it is invoked by a call, and shortcut to the result for the same
@@ -405,6 +1154,16 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		return prepared;
 	}
 
+	private boolean isRecursive(
+			CFGCall call,
+			CFG target) {
+		// the call has just been registered, so it closes a cycle in the call
+		// graph iff the target is in the same component as the caller
+		if (calls == null)
+			return callgraph.sameComponent(call.getCFG(), target);
+		return calls.reaches(target, call.getCFG());
+	}
+
 	@Override
 	public AnalysisState<A> getAbstractResultOf(
 			CFGCall call,
@@ -413,9 +1172,11 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			StatementStore<A> expressions)
 			throws SemanticException {
 		callgraph.registerCall(call);
+		if (calls != null)
+			for (CFG target : call.getTargetedCFGs())
+				calls.addCall(call.getCFG(), target);
 
-		if (shouldCheckForRecursions() && (call.getTargetedCFGs().stream().anyMatch(call.getCFG()::equals)
-				|| callgraph.getCalleesTransitively(call.getTargets()).contains(call.getCFG()))) {
+		if (shouldCheckForRecursions() && call.getTargetedCFGs().stream().anyMatch(cfg -> isRecursive(call, cfg))) {
 			// this calls introduces a loop in the call graph -> recursion
 			// we need a special fixpoint to compute its result
 			// we compute that at the end of each fixpoint iteration
@@ -442,6 +1203,12 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		for (CFG cfg : call.getTargetedCFGs()) {
 			CFGResults<A> localResults = results.get(cfg);
 			AnalyzedCFG<A> states = localResults == null ? null : localResults.get(token);
+			boolean summary = false;
+			if (states == null && summaries != null) {
+				localResults = summaries.get(cfg);
+				states = localResults == null ? null : localResults.get(token);
+				summary = states != null;
+			}
 			Pair<AnalysisState<A>, ExpressionSet[]> prepared = prepareEntryState(
 					call,
 					entryState,
@@ -451,23 +1218,50 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 					cfg);
 
 			AnalysisState<A> exitState;
-			if (canShortcut(cfg) && states != null && prepared.getLeft().lessOrEqual(states.getEntryState()))
+			boolean shortcut = canShortcut(cfg) && states != null
+					&& prepared.getLeft().lessOrEqual(states.getEntryState());
+			if (shortcut) {
 				// no need to compute the fixpoint: we already have an
 				// (over-)approximation of the result computed starting from
 				// an over-approximation of the entry state
 				exitState = states.getExitState();
-			else {
-				// compute the result with a fixpoint iteration
-				AnalyzedCFG<A> fixpointResult = null;
-				try {
-					fixpointResult = computeFixpoint(cfg, token, prepared.getLeft());
-				} catch (FixpointException e) {
-					throw new SemanticException("Exception during the interprocedural analysis", e);
+				if (summary && !summarizing && shouldStoreFixpointResults())
+					// the summary becomes the result for this context
+					results.putResult(cfg, token, states);
+			} else {
+				AnalyzedCFG<A> fixpointResult = memo == null || !canShortcut(cfg) ? null
+						: memo.get(cfg, prepared.getLeft());
+				if (fixpointResult != null)
+					// the same entry state has been analyzed in another
+					// context: its result is valid for this one as well
+					fixpointResult = storeResult(cfg, token, relabel(cfg, token, fixpointResult));
+				else {
+					// compute the result with a fixpoint iteration
+					AnalyzedCFG<A> computed;
+					try {
+						computed = runFixpoint(cfg, token, prepared.getLeft());
+					} catch (FixpointException e) {
+						throw new SemanticException("Exception during the interprocedural analysis", e);
+					}
+					fixpointResult = storeResult(cfg, token, computed);
+					if (memo != null)
+						// the stored result might be the lub with previous
+						// ones: only the computed one is valid for other
+						// contexts with the same entry state
+						memo.put(cfg, prepared.getLeft(), computed);
 				}
 
 				exitState = fixpointResult.getExitState();
 			}
 
+			if (token instanceof AdaptiveToken && !summarizing)
+				// the entry state of an existing result grew: it has been
+				// merged with the one of this call
+				((AdaptiveToken) token).reached(cfg, call, callerToken, !shortcut && states != null && !summary);
+
+			if (conf.useInterproceduralWorklist)
+				depend(cfg, token, call.getCFG(), callerToken);
+
 			// save the resulting state
 			result = result.lub(unscope(call, scope, exitState));
 		}
@@ -10,6 +10,8 @@ import it.unive.lisa.program.cfg.statement.call.CFGCall;
  */
 public class ContextInsensitiveToken implements ContextSensitivityToken {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final ContextInsensitiveToken SINGLETON = new ContextInsensitiveToken();
 
 	private ContextInsensitiveToken() {
@@ -59,4 +61,13 @@ public class ContextInsensitiveToken implements ContextSensitivityToken {
 			CFGCall c) {
 		return this;
 	}
+
+	/**
+	 * Replaces deserialized tokens with the unique instance.
+	 * 
+	 * @return the unique instance
+	 */
+	private Object readResolve() {
+		return SINGLETON;
+	}
 }
@@ -0,0 +1,175 @@
+package it.unive.lisa.interprocedural.context;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.program.cfg.CFG;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded memo of the results of fixpoints over {@link CFG}s, used by
+ * {@link ContextBasedAnalysis} to avoid computing a new fixpoint when a cfg is
+ * reached with an entry state equal to one it has already been analyzed from,
+ * even if in a different context. The memo is keyed by the cfg and by its
+ * entry state, and evicts the least recently used entries once its capacity
+ * is exceeded. It is safe to use from concurrent analyses.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the type of {@link AbstractState} contained into the analysis
+ *                state
+ */
+class EntryStateMemo<A extends AbstractState<A>> {
+
+	private final Map<Key<A>, AnalyzedCFG<A>> entries;
+
+	private final int capacity;
+
+	private final AtomicLong hits;
+
+	private final AtomicLong misses;
+
+	/**
+	 * Builds the memo.
+	 * 
+	 * @param capacity the maximum number of results to keep
+	 */
+	EntryStateMemo(
+			int capacity) {
+		this(capacity, new AtomicLong(), new AtomicLong());
+	}
+
+	/**
+	 * Builds an empty memo with the same capacity of the given one, that
+	 * counts its hits and misses together with it.
+	 * 
+	 * @param other the memo to share the counters with
+	 */
+	EntryStateMemo(
+			EntryStateMemo<A> other) {
+		this(other.capacity, other.hits, other.misses);
+	}
+
+	private EntryStateMemo(
+			int capacity,
+			AtomicLong hits,
+			AtomicLong misses) {
+		this.capacity = capacity;
+		this.hits = hits;
+		this.misses = misses;
+		// access order for lru eviction
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Key<A>, AnalyzedCFG<A>> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Yields the result of {@code cfg} computed from {@code entryState}, if
+	 * it has been memoized.
+	 * 
+	 * @param cfg        the cfg
+	 * @param entryState the entry state of the cfg
+	 * 
+	 * @return the result, or {@code null} if it is not memoized
+	 */
+	synchronized AnalyzedCFG<A> get(
+			CFG cfg,
+			AnalysisState<A> entryState) {
+		AnalyzedCFG<A> result = entries.get(new Key<>(cfg, entryState));
+		if (result == null)
+			misses.incrementAndGet();
+		else
+			hits.incrementAndGet();
+		return result;
+	}
+
+	/**
+	 * Memoizes the result of {@code cfg} computed from {@code entryState}.
+	 * 
+	 * @param cfg        the cfg
+	 * @param entryState the entry state of the cfg
+	 * @param result     the result
+	 */
+	synchronized void put(
+			CFG cfg,
+			AnalysisState<A> entryState,
+			AnalyzedCFG<A> result) {
+		entries.put(new Key<>(cfg, entryState), result);
+	}
+
+	/**
+	 * Removes all memoized results.
+	 */
+	synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Yields the number of results currently memoized.
+	 * 
+	 * @return the number of results
+	 */
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Yields the number of lookups that found a memoized result, including
+	 * the ones of the memos sharing the counters with this one.
+	 * 
+	 * @return the number of hits
+	 */
+	long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Yields the number of lookups that did not find a memoized result,
+	 * including the ones of the memos sharing the counters with this one.
+	 * 
+	 * @return the number of misses
+	 */
+	long getMisses() {
+		return misses.get();
+	}
+
+	private static final class Key<A extends AbstractState<A>> {
+
+		private final CFG cfg;
+
+		private final AnalysisState<A> entryState;
+
+		private Key(
+				CFG cfg,
+				AnalysisState<A> entryState) {
+			this.cfg = cfg;
+			this.entryState = entryState;
+		}
+
+		@Override
+		public int hashCode() {
+			// cfgs are compared by identity
+			return 31 * System.identityHashCode(cfg) + entryState.hashCode();
+		}
+
+		@Override
+		public boolean equals(
+				Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Key<?> other = (Key<?>) obj;
+			return cfg == other.cfg && entryState.equals(other.entryState);
+		}
+	}
+}
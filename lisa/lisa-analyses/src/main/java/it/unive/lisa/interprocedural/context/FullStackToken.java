@@ -10,24 +10,41 @@ import java.util.List;
  * A context sensitive token representing an entire call chain, regardless of
  * its length. This corresponds to having an unlimited {@link KDepthToken}, that
  * will thus never merge results for of different calls due to matching
- * contexts.
+ * contexts.<br>
+ * <br>
+ * Tokens are interned: there is a unique instance for each call chain, and
+ * pushing the same call on the same token always yields the same instance.
+ * Equality is thus reference equality.
  */
 public class FullStackToken implements ContextSensitivityToken {
 
-	private static final FullStackToken SINGLETON = new FullStackToken();
+	private static final long serialVersionUID = 1L;
+
+	private static final FullStackToken SINGLETON = new FullStackToken(Collections.emptyList());
 
 	private final List<CFGCall> calls;
 
-	private FullStackToken() {
-		calls = Collections.emptyList();
-	}
+	private final transient int hash;
+
+	/**
+	 * The tokens obtained by pushing calls on this one.
+	 */
+	private final transient TokenTable<CFGCall, FullStackToken> pushes;
 
 	private FullStackToken(
-			FullStackToken source,
-			CFGCall newToken) {
-		this.calls = new ArrayList<>(source.calls.size() + 1);
-		source.calls.forEach(this.calls::add);
-		this.calls.add(newToken);
+			List<CFGCall> calls) {
+		this.calls = calls;
+		this.pushes = new TokenTable<>();
+
+		final int prime = 31;
+		int result = 1;
+		for (CFGCall call : calls)
+			// we use the hashcode of the location as the hashcode of the
+			// call is based on the ones of its targets, and a CFG hashcode
+			// is not consistent between executions - this is a problem as
+			// this object's hashcode is used as suffix in some filenames
+			result = prime * result + call.getLocation().hashCode();
+		this.hash = result;
 	}
 
 	/**
@@ -49,36 +66,14 @@ public class FullStackToken implements ContextSensitivityToken {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		if (calls == null)
-			result = prime * result;
-		else
-			for (CFGCall call : calls)
-				// we use the hashcode of the location as the hashcode of the
-				// call is based on the ones of its targets, and a CFG hashcode
-				// is not consistent between executions - this is a problem as
-				// this object's hashcode is used as suffix in some filenames
-				result = prime * result + call.getLocation().hashCode();
-		return result;
+		return hash;
 	}
 
 	@Override
 	public boolean equals(
 			Object obj) {
-		if (this == obj)
-			return true;
-		if (obj == null)
-			return false;
-		if (getClass() != obj.getClass())
-			return false;
-		FullStackToken other = (FullStackToken) obj;
-		if (calls == null) {
-			if (other.calls != null)
-				return false;
-		} else if (!calls.equals(other.calls))
-			return false;
-		return true;
+		// instances are unique
+		return this == obj;
 	}
 
 	@Override
@@ -94,6 +89,25 @@ public class FullStackToken implements ContextSensitivityToken {
 	@Override
 	public ContextSensitivityToken push(
 			CFGCall c) {
-		return new FullStackToken(this, c);
+		// since this token is unique, the chains obtained by pushing on it
+		// are unique as well
+		return pushes.intern(c, call -> {
+			List<CFGCall> chain = new ArrayList<>(calls.size() + 1);
+			chain.addAll(calls);
+			chain.add(call);
+			return new FullStackToken(chain);
+		});
+	}
+
+	/**
+	 * Replaces deserialized tokens with their unique instance.
+	 * 
+	 * @return the unique instance equivalent to this token
+	 */
+	private Object readResolve() {
+		FullStackToken token = SINGLETON;
+		for (CFGCall call : calls)
+			token = (FullStackToken) token.push(call);
+		return token;
 	}
 }
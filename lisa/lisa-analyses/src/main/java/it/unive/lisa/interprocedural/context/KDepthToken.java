@@ -5,40 +5,60 @@ import it.unive.lisa.util.collections.CollectionUtilities;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A context sensitive token representing an entire call chain up to a fixed
  * length {@code k}, specified in the singleton creation
- * ({@link #getSingleton(int)}).
+ * ({@link #getSingleton(int)}).<br>
+ * <br>
+ * Tokens are interned: there is a unique instance for each call chain and
+ * value of {@code k}, and pushing the same call on the same token always
+ * yields the same instance. Equality is thus reference equality.
  */
 public class KDepthToken implements ContextSensitivityToken {
 
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The canonicalization tables, one for each value of {@code k}.
+	 */
+	private static final Map<Integer, TokenTable<List<CFGCall>, KDepthToken>> TABLES = new ConcurrentHashMap<>();
+
 	private final List<CFGCall> calls;
 
 	private final int k;
 
+	private final transient int hash;
+
+	/**
+	 * The tokens obtained by pushing calls on this one.
+	 */
+	private final transient TokenTable<CFGCall, KDepthToken> pushes;
+
 	private KDepthToken(
-			int k) {
+			int k,
+			List<CFGCall> calls) {
 		this.k = k;
-		this.calls = Collections.emptyList();
+		this.calls = calls;
+		this.pushes = new TokenTable<>();
+
+		final int prime = 31;
+		int result = 1;
+		for (CFGCall call : calls)
+			// we use the hashcode of the location as the hashcode of the
+			// call is based on the ones of its targets, and a CFG hashcode
+			// is not consistent between executions - this is a problem as
+			// this object's hashcode is used as suffix in some filenames
+			result = prime * result + call.getLocation().hashCode();
+		this.hash = result;
 	}
 
-	private KDepthToken(
+	private static KDepthToken intern(
 			int k,
-			KDepthToken source,
-			CFGCall newToken) {
-		this.k = k;
-		int oldlen = source.calls.size();
-		if (oldlen < k) {
-			this.calls = new ArrayList<>(oldlen + 1);
-			source.calls.forEach(this.calls::add);
-			this.calls.add(newToken);
-		} else {
-			this.calls = new ArrayList<>(k);
-			// we only keep the last k-1 elements
-			source.calls.stream().skip(oldlen - k + 1).forEach(this.calls::add);
-			this.calls.add(newToken);
-		}
+			List<CFGCall> calls) {
+		return TABLES.computeIfAbsent(k, key -> new TokenTable<>()).intern(calls, c -> new KDepthToken(k, c));
 	}
 
 	/**
@@ -50,7 +70,7 @@ public class KDepthToken implements ContextSensitivityToken {
 	 */
 	public static KDepthToken getSingleton(
 			int k) {
-		return new KDepthToken(k);
+		return intern(k, Collections.emptyList());
 	}
 
 	@Override
@@ -64,38 +84,13 @@ public class KDepthToken implements ContextSensitivityToken {
 	@Override
 	public boolean equals(
 			Object obj) {
-		if (this == obj)
-			return true;
-		if (obj == null)
-			return false;
-		if (getClass() != obj.getClass())
-			return false;
-		KDepthToken other = (KDepthToken) obj;
-		// we ignore k as it does not matter for equality
-		if (calls == null) {
-			if (other.calls != null)
-				return false;
-		} else if (!calls.equals(other.calls))
-			return false;
-		return true;
+		// instances are unique
+		return this == obj;
 	}
 
 	@Override
 	public int hashCode() {
-		// we ignore k as it does not matter for equality
-		final int prime = 31;
-		int result = 1;
-
-		if (calls == null)
-			result = prime * result;
-		else
-			for (CFGCall call : calls)
-				// we use the hashcode of the location as the hashcode of the
-				// call is based on the ones of its targets, and a CFG hashcode
-				// is not consistent between executions - this is a problem as
-				// this object's hashcode is used as suffix in some filenames
-				result = prime * result + call.getLocation().hashCode();
-		return result;
+		return hash;
 	}
 
 	@Override
@@ -111,6 +106,28 @@ public class KDepthToken implements ContextSensitivityToken {
 	@Override
 	public ContextSensitivityToken push(
 			CFGCall c) {
-		return new KDepthToken(k, this, c);
+		return pushes.intern(c, call -> {
+			int oldlen = calls.size();
+			List<CFGCall> chain;
+			if (oldlen < k) {
+				chain = new ArrayList<>(oldlen + 1);
+				chain.addAll(calls);
+			} else {
+				chain = new ArrayList<>(k);
+				// we only keep the last k-1 elements
+				chain.addAll(calls.subList(oldlen - k + 1, oldlen));
+			}
+			chain.add(call);
+			return intern(k, chain);
+		});
+	}
+
+	/**
+	 * Replaces deserialized tokens with their unique instance.
+	 * 
+	 * @return the unique instance equivalent to this token
+	 */
+	private Object readResolve() {
+		return intern(k, calls);
 	}
 }
@@ -8,15 +8,41 @@ import it.unive.lisa.program.cfg.statement.call.CFGCall;
  * that is kept is always the last pushed one, enabling the analysis of infinite
  * call chains by lubbing results obtained starting from the same call site,
  * regardless of the call stack. This corresponds to having a
- * {@link KDepthToken} with {@code k = 1}.
+ * {@link KDepthToken} with {@code k = 1}.<br>
+ * <br>
+ * Tokens are interned: there is a unique instance for each call, and equality
+ * is thus reference equality.
  */
 public class LastCallToken implements ContextSensitivityToken {
 
+	private static final long serialVersionUID = 1L;
+
+	private static final LastCallToken SINGLETON = new LastCallToken(null);
+
+	/**
+	 * The canonicalization table.
+	 */
+	private static final TokenTable<CFGCall, LastCallToken> TABLE = new TokenTable<>();
+
 	private final CFGCall call;
 
+	private final transient int hash;
+
 	private LastCallToken(
 			CFGCall call) {
 		this.call = call;
+
+		final int prime = 31;
+		int result = 1;
+		if (call == null)
+			result = prime * result;
+		else
+			// we use the hashcode of the location as the hashcode of the
+			// call is based on the ones of its targets, and a CFG hashcode
+			// is not consistent between executions - this is a problem as
+			// this object's hashcode is used as suffix in some filenames
+			result = prime * result + call.getLocation().hashCode();
+		this.hash = result;
 	}
 
 	/**
@@ -25,7 +51,7 @@ public class LastCallToken implements ContextSensitivityToken {
 	 * @return an empty token
 	 */
 	public static LastCallToken getSingleton() {
-		return new LastCallToken(null);
+		return SINGLETON;
 	}
 
 	@Override
@@ -36,34 +62,13 @@ public class LastCallToken implements ContextSensitivityToken {
 	@Override
 	public boolean equals(
 			Object obj) {
-		if (this == obj)
-			return true;
-		if (obj == null)
-			return false;
-		if (getClass() != obj.getClass())
-			return false;
-		LastCallToken other = (LastCallToken) obj;
-		if (call == null) {
-			if (other.call != null)
-				return false;
-		} else if (!call.equals(other.call))
-			return false;
-		return true;
+		// instances are unique
+		return this == obj;
 	}
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		if (call == null)
-			result = prime * result;
-		else
-			// we use the hashcode of the location as the hashcode of the
-			// call is based on the ones of its targets, and a CFG hashcode
-			// is not consistent between executions - this is a problem as
-			// this object's hashcode is used as suffix in some filenames
-			result = prime * result + call.getLocation().hashCode();
-		return result;
+		return hash;
 	}
 
 	@Override
@@ -79,6 +84,15 @@ public class LastCallToken implements ContextSensitivityToken {
 	@Override
 	public ContextSensitivityToken push(
 			CFGCall c) {
-		return new LastCallToken(c);
+		return TABLE.intern(c, LastCallToken::new);
+	}
+
+	/**
+	 * Replaces deserialized tokens with their unique instance.
+	 * 
+	 * @return the unique instance equivalent to this token
+	 */
+	private Object readResolve() {
+		return call == null ? SINGLETON : push(call);
 	}
 }
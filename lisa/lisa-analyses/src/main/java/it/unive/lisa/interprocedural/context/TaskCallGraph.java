@@ -0,0 +1,109 @@
+package it.unive.lisa.interprocedural.context;
+
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.CompactCallGraph;
+import it.unive.lisa.program.cfg.CodeMember;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The view of the call graph of a single task that processes an entrypoint
+ * concurrently with others. The view is made of an immutable snapshot of the
+ * shared {@link CallGraph}, taken before any task starts, and of the calls
+ * registered by the task itself. Since calls registered by other tasks are not
+ * part of the view, the recursions detected through it do not depend on how
+ * the tasks are scheduled. Instances of this class are not thread-safe, as
+ * each of them is used by a single task.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+final class TaskCallGraph {
+
+	private final CompactCallGraph snapshot;
+
+	/**
+	 * The calls registered by the task, from callers to callees.
+	 */
+	private final Map<CodeMember, Set<CodeMember>> calls;
+
+	/**
+	 * The answers given by {@link #reaches(CodeMember, CodeMember)} since the
+	 * last call that changed this view.
+	 */
+	private final Map<CodeMember, Map<CodeMember, Boolean>> answers;
+
+	/**
+	 * Builds the view.
+	 *
+	 * @param snapshot the snapshot of the shared call graph
+	 */
+	TaskCallGraph(
+			CompactCallGraph snapshot) {
+		this.snapshot = snapshot;
+		this.calls = new HashMap<>();
+		this.answers = new HashMap<>();
+	}
+
+	/**
+	 * Registers a call in this view.
+	 *
+	 * @param caller the caller
+	 * @param callee the callee
+	 */
+	void addCall(
+			CodeMember caller,
+			CodeMember callee) {
+		if (snapshot.contains(caller) && snapshot.getCallees(caller).contains(callee))
+			return;
+		if (calls.computeIfAbsent(caller, cm -> new HashSet<>()).add(callee))
+			answers.clear();
+	}
+
+	/**
+	 * Yields whether or not {@code target} is reachable from {@code source}
+	 * through the calls of this view. A code member reaches itself only if
+	 * it is part of a cycle.
+	 *
+	 * @param source the code member where the visit starts
+	 * @param target the code member to reach
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	boolean reaches(
+			CodeMember source,
+			CodeMember target) {
+		Map<CodeMember, Boolean> known = answers.computeIfAbsent(source, cm -> new HashMap<>());
+		Boolean answer = known.get(target);
+		if (answer == null) {
+			answer = visit(source, target);
+			known.put(target, answer);
+		}
+		return answer;
+	}
+
+	private boolean visit(
+			CodeMember source,
+			CodeMember target) {
+		Set<CodeMember> seen = new HashSet<>();
+		Deque<CodeMember> ws = new ArrayDeque<>();
+		ws.push(source);
+		while (!ws.isEmpty()) {
+			CodeMember current = ws.pop();
+			for (CodeMember callee : snapshot.getCallees(current))
+				if (callee.equals(target))
+					return true;
+				else if (seen.add(callee))
+					ws.push(callee);
+			for (CodeMember callee : calls.getOrDefault(current, Set.of()))
+				if (callee.equals(target))
+					return true;
+				else if (seen.add(callee))
+					ws.push(callee);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,49 @@
+package it.unive.lisa.interprocedural.context;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * A weak canonicalization table for {@link ContextSensitivityToken}s, mapping
+ * keys (that are the structural identity of a token) to the unique instance
+ * of the token built for that key. Neither keys nor tokens are kept alive by
+ * the table: an entry disappears once its token is no longer used, as long as
+ * the token is the only one holding a strong reference to its key. It is safe
+ * to use from concurrent analyses.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <K> the type of the keys
+ * @param <T> the type of the tokens
+ */
+class TokenTable<K, T extends ContextSensitivityToken> {
+
+	private final Map<K, WeakReference<T>> table = new WeakHashMap<>();
+
+	/**
+	 * Yields the unique token for the given key, building it with
+	 * {@code factory} if no such token exists. The token built by
+	 * {@code factory} must hold a strong reference to the key it receives.
+	 * 
+	 * @param key     the key
+	 * @param factory the function building a new token from its key
+	 * 
+	 * @return the unique token for {@code key}
+	 */
+	synchronized T intern(
+			K key,
+			Function<K, T> factory) {
+		WeakReference<T> ref = table.get(key);
+		T token = ref == null ? null : ref.get();
+		if (token == null) {
+			token = factory.apply(key);
+			// a stale entry would keep its old key, that the new token does
+			// not reference
+			table.remove(key);
+			table.put(key, new WeakReference<>(token));
+		}
+		return token;
+	}
+}
@@ -67,6 +67,8 @@ public abstract class AnalysisTestExecutor {
 			expectedPath = Paths.get(expectedPath.toString(), conf.testSubDir);
 			actualPath = Paths.get(actualPath.toString(), conf.testSubDir);
 		}
+		if (conf.expectedSubDir != null)
+			expectedPath = Paths.get(EXPECTED_RESULTS_DIR, conf.testDir, conf.expectedSubDir);
 
 		Program program = readProgram(target);
 
@@ -83,6 +85,8 @@ public abstract class AnalysisTestExecutor {
 		File actFile = Paths.get(actualPath.toString(), LiSA.REPORT_NAME).toFile();
 
 		if (!expFile.exists()) {
+			if (conf.expectedSubDir != null)
+				fail("No '" + LiSA.REPORT_NAME + "' found in the expected folder " + expectedPath);
 			boolean update = "true".equals(System.getProperty("lisa.cron.update")) || conf.forceUpdate;
 			if (!update) {
 				System.out.println("No '" + LiSA.REPORT_NAME + "' found in the expected folder, exiting...");
@@ -121,7 +125,9 @@ public abstract class AnalysisTestExecutor {
 			File expFile,
 			File actFile,
 			boolean optimized) {
-		boolean update = "true".equals(System.getProperty("lisa.cron.update")) || conf.forceUpdate;
+		// results of other tests are never updated
+		boolean update = conf.expectedSubDir == null
+				&& ("true".equals(System.getProperty("lisa.cron.update")) || conf.forceUpdate);
 		try (FileReader l = new FileReader(expFile); FileReader r = new FileReader(actFile)) {
 			JsonReport expected = JsonReport.read(l);
 			JsonReport actual = JsonReport.read(r);
@@ -134,6 +140,14 @@ public abstract class AnalysisTestExecutor {
 								expectedPath.toFile(),
 								actualPath.toFile(),
 								new OptimizedRunDiff()));
+			else if (conf.expectedSubDir != null)
+				assertTrue("Results are different from the ones of " + conf.expectedSubDir,
+						JsonReportComparer.compare(
+								expected,
+								actual,
+								expectedPath.toFile(),
+								actualPath.toFile(),
+								new OptimizedRunDiff()));
 			else if (!update)
 				assertTrue("Results are different",
 						JsonReportComparer.compare(
@@ -358,7 +372,9 @@ public abstract class AnalysisTestExecutor {
 		public boolean shouldCompareConfigurations() {
 			// optimized runs use the same configuration except for
 			// optimize and workdir. Is fine to skip these as they
-			// have already been checked in the regular test execution
+			// have already been checked in the regular test execution.
+			// the same holds for runs compared with the results of
+			// other tests, that differ in the tested options
 			return false;
 		}
 	}
@@ -25,6 +25,16 @@ public class CronConfiguration extends DefaultConfiguration {
 	 */
 	public String testSubDir;
 
+	/**
+	 * An additional folder that is appended to {@link #testDir} when searching
+	 * for the expected results, overriding {@link #testSubDir}. This enables
+	 * checking that a configuration produces the same results as the one used
+	 * to generate the expected results of another test (e.g., when only the
+	 * iteration strategy changes): configurations are thus not compared, and
+	 * the expected results are never updated.
+	 */
+	public String expectedSubDir;
+
 	/**
 	 * The name of the imp source file to be searched in {@link #testDir}.
 	 */
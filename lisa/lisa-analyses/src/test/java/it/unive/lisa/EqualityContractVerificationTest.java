@@ -35,9 +35,7 @@ import it.unive.lisa.interprocedural.CFGResults;
 import it.unive.lisa.interprocedural.FixpointResults;
 import it.unive.lisa.interprocedural.callgraph.CallGraphEdge;
 import it.unive.lisa.interprocedural.callgraph.CallGraphNode;
-import it.unive.lisa.interprocedural.context.ContextInsensitiveToken;
 import it.unive.lisa.interprocedural.context.ContextSensitivityToken;
-import it.unive.lisa.interprocedural.context.KDepthToken;
 import it.unive.lisa.interprocedural.context.recursion.Recursion;
 import it.unive.lisa.outputs.json.JsonReport;
 import it.unive.lisa.outputs.json.JsonReport.JsonWarning;
@@ -70,6 +68,7 @@ import it.unive.lisa.program.cfg.controlFlow.ControlFlowStructure;
 import it.unive.lisa.program.cfg.edge.Edge;
 import it.unive.lisa.program.cfg.edge.SequentialEdge;
 import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.fixpoints.DefUseChains;
 import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.program.cfg.statement.NaryExpression;
 import it.unive.lisa.program.cfg.statement.NaryStatement;
@@ -103,6 +102,9 @@ import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
 import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix;
 import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix.NodeEdges;
+import it.unive.lisa.util.datastructures.graph.algorithms.IncrementalSCCs;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Component;
 import it.unive.lisa.util.datastructures.graph.code.NodeList;
 import it.unive.lisa.util.datastructures.regex.Atom;
 import it.unive.lisa.util.datastructures.regex.Comp;
@@ -126,6 +128,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
@@ -161,6 +164,10 @@ public class EqualityContractVerificationTest {
 	private static final AbstractCodeMember signCfg2 = new AbstractCodeMember(signDescr2);
 	private static final NodeList<CFG, Statement, Edge> adj1 = new NodeList<>(new SequentialEdge());
 	private static final NodeList<CFG, Statement, Edge> adj2 = new NodeList<>(new SequentialEdge());
+	private static final Component<Statement> wto1 = new WeakTopologicalOrder<CFG, Statement, Edge>()
+			.build(Collections.singleton(new Ret(cfg1, loc)), st -> Collections.emptyList()).get(0);
+	private static final Component<Statement> wto2 = new WeakTopologicalOrder<CFG, Statement, Edge>()
+			.build(Collections.singleton(new Ret(cfg2, loc)), st -> Collections.emptyList()).get(0);
 
 	private static final RegularExpression re1 = new Atom("a");
 	private static final RegularExpression re2 = new Atom("b");
@@ -203,10 +210,11 @@ public class EqualityContractVerificationTest {
 					&& !Modifier.isInterface(clazz.getModifiers())
 					&& !tested.contains(clazz)
 					&& definesEqualsHashcode(clazz)
-					// ContextInsensitiveToken is designed for reference
+					// context sensitivity tokens are designed for reference
 					// equality, but we fix the hashcode as it is still used in
-					// some filenames
-					&& clazz != ContextInsensitiveToken.class
+					// some filenames: their interning is tested in
+					// ContextSensitivityTokensTest
+					&& !ContextSensitivityToken.class.isAssignableFrom(clazz)
 					// some testing classes that we do not care about end up
 					// here
 					&& !clazz.getName().contains("Test"))
@@ -269,6 +277,8 @@ public class EqualityContractVerificationTest {
 				.withPrefabValues(InterfaceUnit.class, interface1, interface2)
 				.withPrefabValues(InterfaceUnit.class, interface1, interface2)
 				.withPrefabValues(NodeList.class, adj1, adj2)
+				.withPrefabValues(Component.class, wto1, wto2)
+				.withPrefabValues(IncrementalSCCs.class, new IncrementalSCCs<>(), new IncrementalSCCs<>())
 				.withPrefabValues(StructuredRepresentation.class, dr1, dr2)
 				.withPrefabValues(RegularExpression.class, re1, re2)
 				.withPrefabValues(Pair.class, Pair.of(1, 2), Pair.of(3, 4))
@@ -292,7 +302,12 @@ public class EqualityContractVerificationTest {
 	public void testConfiguration() {
 		verify(LiSAConfiguration.class, Warning.NONFINAL_FIELDS);
 		verify(DefaultConfiguration.class, Warning.NONFINAL_FIELDS);
-		verify(FixpointConfiguration.class);
+		// only the holders of the options are part of the configuration,
+		// the objects used by the fixpoints are not
+		verify(FixpointConfiguration.class,
+				verifier -> verifier.withPrefabValues(ForkJoinPool.class, new ForkJoinPool(1), new ForkJoinPool(1))
+						.withIgnoredFields("telemetry", "budget", "summaryCache", "resultsStore", "pool",
+								"interproceduralPool"));
 		verify(ConfigurableComponent.class);
 		verify(CronConfiguration.class, Warning.NONFINAL_FIELDS);
 	}
@@ -458,6 +473,9 @@ public class EqualityContractVerificationTest {
 			if (subject.getName().contains("Test"))
 				// some testing domain that we do not care about end up here
 				continue;
+			else if (subject == CFGResults.class || subject == FixpointResults.class)
+				// we test the interprocedural results separately
+				continue;
 			else if (FunctionalLattice.class.isAssignableFrom(subject)
 					|| SetLattice.class.isAssignableFrom(subject)
 					|| InverseSetLattice.class.isAssignableFrom(subject)
@@ -476,7 +494,7 @@ public class EqualityContractVerificationTest {
 	}
 
 	@Test
-	public void testAnalysisObjects() {
+	public void testAnalysisObjects() throws ClassNotFoundException {
 		verify(HeapReplacement.class);
 		verify(ScopeToken.class);
 		verify(CompoundState.class);
@@ -493,6 +511,12 @@ public class EqualityContractVerificationTest {
 		verify(BackwardOptimizedAnalyzedCFG.class,
 				verifier -> verifier.withOnlyTheseFields("id", "results", "exitStates"),
 				Warning.NONFINAL_FIELDS);
+		// cached entry states are never null, and leaders are compared by
+		// identity
+		verify(Class.forName("it.unive.lisa.program.cfg.fixpoints.BlockTransferCache$Key"), Warning.NULL_FIELDS,
+				Warning.REFERENCE_EQUALITY);
+		verify(DefUseChains.Site.class, verifier -> verifier.withPrefabValues(Statement.class, new Ret(cfg1, loc),
+				new Ret(cfg2, new SourceCodeLocation("fake", 1, 0))));
 
 		verify(ExecutionTrace.class);
 		Reflections scanner = mkReflections();
@@ -512,20 +536,17 @@ public class EqualityContractVerificationTest {
 	}
 
 	@Test
-	public void testInterproceduralObjects() {
+	public void testInterproceduralObjects() throws ClassNotFoundException {
 		verify(CallGraphEdge.class);
 		verify(CallGraphNode.class, verifier -> verifier.withIgnoredFields("graph"));
-		verify(CFGResults.class, Warning.NONFINAL_FIELDS);
-		verify(FixpointResults.class, Warning.NONFINAL_FIELDS);
+		// the store managing the memory of the results is not part of them
+		verify(CFGResults.class, verifier -> verifier.withIgnoredFields("cfg", "store"), Warning.NONFINAL_FIELDS);
+		verify(FixpointResults.class, verifier -> verifier.withIgnoredFields("store"), Warning.NONFINAL_FIELDS);
 		verify(Recursion.class);
-		Reflections scanner = mkReflections();
-		for (Class<? extends ContextSensitivityToken> token : scanner.getSubTypesOf(ContextSensitivityToken.class))
-			if (token == KDepthToken.class)
-				// k is just a bound on the maximum length, it does not matter
-				verify(token, verifier -> verifier.withIgnoredFields("k"));
-			else if (token != ContextInsensitiveToken.class)
-				// there always is a unique instance of ContextInsensitiveToken
-				verify(token);
+		// context sensitivity tokens are interned, and their equality is
+		// reference equality
+		// memoized entry states are never null
+		verify(Class.forName("it.unive.lisa.interprocedural.context.EntryStateMemo$Key"), Warning.NULL_FIELDS);
 	}
 
 	@Test
@@ -7,6 +7,7 @@ import it.unive.lisa.analysis.heap.pointbased.PointBasedHeap;
 import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
 import it.unive.lisa.analysis.numeric.Interval;
 import it.unive.lisa.analysis.numeric.Sign;
+import it.unive.lisa.interprocedural.ModularSummaryAnalysis;
 import it.unive.lisa.interprocedural.ModularWorstCaseAnalysis;
 import it.unive.lisa.interprocedural.callgraph.CHACallGraph;
 import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
@@ -48,6 +49,22 @@ public class InterproceduralAnalysesTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testModularSummaryRTA() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Sign()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ModularSummaryAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "summary";
+		conf.programFile = "context.imp";
+		perform(conf);
+	}
+
 	@Test
 	public void testContextSensitiveRTA() {
 		CronConfiguration conf = new CronConfiguration();
@@ -64,6 +81,98 @@ public class InterproceduralAnalysesTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testContextSensitiveRTAParallel() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Sign()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "context-parallel";
+		conf.expectedSubDir = "context";
+		conf.programFile = "context.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testContextSensitiveRTAWorklist() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Sign()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.useInterproceduralWorklist = true;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "context-worklist";
+		conf.expectedSubDir = "context";
+		conf.programFile = "context.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testContextSensitiveRTAMemo() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Sign()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.entryStateMemoSize = 16;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "context-memo";
+		conf.expectedSubDir = "context";
+		conf.programFile = "context.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testContextSensitiveRTAConcurrent() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Sign()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.analyzeEntrypointsConcurrently = true;
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "context-concurrent";
+		conf.expectedSubDir = "context";
+		conf.programFile = "context.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testContextSensitiveRTAConcurrentRecursions() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Sign()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.solveRecursionsConcurrently = true;
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "context-concurrentRecursions";
+		conf.expectedSubDir = "context";
+		conf.programFile = "context.imp";
+		perform(conf);
+	}
+
 	@Test
 	public void testContextSensitiveRTAHelper() {
 		CronConfiguration conf = new CronConfiguration();
@@ -57,6 +57,22 @@ public class NumericAnalysesTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testIntervalWeakTopologicalOrder() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.useWeakTopologicalOrder = true;
+		conf.testDir = "numeric";
+		conf.testSubDir = "interval-wto";
+		conf.expectedSubDir = "interval";
+		conf.programFile = "numeric.imp";
+		perform(conf);
+	}
+
 	@Test
 	public void testIntegerConstantPropagation() {
 		CronConfiguration conf = new CronConfiguration();
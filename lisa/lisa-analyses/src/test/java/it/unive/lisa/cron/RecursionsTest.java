@@ -5,6 +5,7 @@ import it.unive.lisa.CronConfiguration;
 import it.unive.lisa.DefaultConfiguration;
 import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
 import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.interprocedural.ModularSummaryAnalysis;
 import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
 import it.unive.lisa.interprocedural.context.ContextBasedAnalysis;
 import it.unive.lisa.interprocedural.context.ContextInsensitiveToken;
@@ -314,6 +315,98 @@ public class RecursionsTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testFactorialKDepthParallel() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>(KDepthToken.getSingleton(5));
+		conf.callGraph = new RTACallGraph();
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "factorial/kdepth-parallel";
+		conf.expectedSubDir = "factorial/kdepth";
+		conf.programFile = "factorial.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testFactorialKDepthWorklist() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>(KDepthToken.getSingleton(5));
+		conf.callGraph = new RTACallGraph();
+		conf.useInterproceduralWorklist = true;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "factorial/kdepth-worklist";
+		conf.expectedSubDir = "factorial/kdepth";
+		conf.programFile = "factorial.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testFactorialKDepthMemo() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>(KDepthToken.getSingleton(5));
+		conf.callGraph = new RTACallGraph();
+		conf.entryStateMemoSize = 16;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "factorial/kdepth-memo";
+		conf.expectedSubDir = "factorial/kdepth";
+		conf.programFile = "factorial.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testFactorialKDepthConcurrent() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>(KDepthToken.getSingleton(5));
+		conf.callGraph = new RTACallGraph();
+		conf.analyzeEntrypointsConcurrently = true;
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "factorial/kdepth-concurrent";
+		conf.expectedSubDir = "factorial/kdepth";
+		conf.programFile = "factorial.imp";
+		perform(conf);
+	}
+
+	@Test
+	public void testFactorialKDepthConcurrentRecursions() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>(KDepthToken.getSingleton(5));
+		conf.callGraph = new RTACallGraph();
+		conf.solveRecursionsConcurrently = true;
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "factorial/kdepth-concurrentRecursions";
+		conf.expectedSubDir = "factorial/kdepth";
+		conf.programFile = "factorial.imp";
+		perform(conf);
+	}
+
 	@Test
 	public void testFactorialLast() {
 		CronConfiguration conf = new CronConfiguration();
@@ -346,6 +439,22 @@ public class RecursionsTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testFactorialSummary() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ModularSummaryAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "factorial/summary";
+		conf.programFile = "factorial.imp";
+		perform(conf);
+	}
+
 	@Test
 	public void testFactorialInterleavedFullStack() {
 		CronConfiguration conf = new CronConfiguration();
@@ -442,6 +551,25 @@ public class RecursionsTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testTwoRecursionsKDepthConcurrentRecursions() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>(KDepthToken.getSingleton(5));
+		conf.callGraph = new RTACallGraph();
+		conf.solveRecursionsConcurrently = true;
+		conf.interproceduralParallelism = 4;
+		conf.testDir = "interprocedural";
+		conf.testSubDir = "twoRecursions/kdepth-concurrentRecursions";
+		conf.expectedSubDir = "twoRecursions/kdepth";
+		conf.programFile = "twoRecursions.imp";
+		perform(conf);
+	}
+
 	@Test
 	public void testTwoRecursionsLast() {
 		CronConfiguration conf = new CronConfiguration();
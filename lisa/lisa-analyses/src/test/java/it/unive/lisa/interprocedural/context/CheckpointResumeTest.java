@@ -0,0 +1,213 @@
+package it.unive.lisa.interprocedural.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.imp.IMPFeatures;
+import it.unive.lisa.imp.types.IMPTypeSystem;
+import it.unive.lisa.interprocedural.ReturnTopPolicy;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.interprocedural.checkpoint.Checkpoint;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.Parameter;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Assignment;
+import it.unive.lisa.program.cfg.statement.Expression;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Return;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.program.cfg.statement.call.Call.CallType;
+import it.unive.lisa.program.cfg.statement.literal.Int32Literal;
+import it.unive.lisa.program.cfg.statement.numeric.Addition;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class CheckpointResumeTest {
+
+	private static final AnalysisState<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>> STATE = new AnalysisState<>(
+					new SimpleAbstractState<>(
+							new MonolithicHeap(),
+							new ValueEnvironment<>(new Interval()),
+							new TypeEnvironment<>(new InferredTypes())),
+					new ExpressionSet());
+
+	/**
+	 * A call graph that interrupts the analysis as soon as the first
+	 * checkpoint has been written, simulating a crash.
+	 */
+	private static class InterruptingCallGraph extends RTACallGraph {
+
+		private final Path checkpoint;
+
+		private InterruptingCallGraph(
+				Path checkpoint) {
+			this.checkpoint = checkpoint;
+		}
+
+		@Override
+		public Collection<CodeMember> getCallersTransitively(
+				Collection<? extends CodeMember> cms) {
+			if (Files.exists(checkpoint))
+				throw new IllegalStateException("Interrupted");
+			return super.getCallersTransitively(cms);
+		}
+	}
+
+	private static int line;
+
+	private static SourceCodeLocation loc() {
+		return new SourceCodeLocation("checkpoint", ++line, 0);
+	}
+
+	private static CFGCall call(
+			CFG cfg,
+			CFG target,
+			Expression... params) {
+		return new CFGCall(cfg, loc(), CallType.STATIC, "unit", target.getDescriptor().getName(), List.of(target),
+				params);
+	}
+
+	private static Program program() {
+		line = 0;
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		program.addUnit(unit);
+
+		// inc(y) = y + 1
+		CFG inc = new CFG(new CodeMemberDescriptor(loc(), unit, false, "inc", new Parameter(loc(), "y")));
+		inc.addNode(new Return(inc, loc(), new Addition(inc, loc(), new VariableRef(inc, loc(), "y"),
+				new Int32Literal(inc, loc(), 1))), true);
+		unit.addCodeMember(inc);
+
+		// main() { a = inc(1); b = inc(2); }
+		CFG main = new CFG(new CodeMemberDescriptor(loc(), unit, false, "main"));
+		Statement a = new Assignment(main, loc(), new VariableRef(main, loc(), "a"),
+				call(main, inc, new Int32Literal(main, loc(), 1)));
+		Statement b = new Assignment(main, loc(), new VariableRef(main, loc(), "b"),
+				call(main, inc, new Int32Literal(main, loc(), 2)));
+		Statement ret = new Ret(main, loc());
+		main.addNode(a, true);
+		main.addNode(b);
+		main.addNode(ret);
+		main.addEdge(new SequentialEdge(a, b));
+		main.addEdge(new SequentialEdge(b, ret));
+		unit.addCodeMember(main);
+		program.addEntryPoint(main);
+		return program;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Collection<?>> run(
+			Program program,
+			CallGraph callgraph,
+			Path workdir,
+			boolean resume)
+			throws Exception {
+		Application app = new Application(program);
+		callgraph.init(app);
+		// a single context per cfg, so that the second call to inc joins the
+		// entry states, requiring a second iteration
+		ContextBasedAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = new ContextBasedAnalysis<>(
+								ContextInsensitiveToken.getSingleton());
+		analysis.init(app, callgraph, ReturnTopPolicy.INSTANCE);
+
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.workdir = workdir.toString();
+		base.checkpointFrequency = 1;
+		base.resumeFromCheckpoint = resume;
+		analysis.fixpoint(STATE, (Class<? extends WorkingSet<Statement>>) (Class<?>) FIFOWorkingSet.class,
+				new FixpointConfiguration(base));
+
+		Map<String, Collection<?>> results = new HashMap<>();
+		for (CFG cfg : program.getAllCFGs())
+			results.put(cfg.getDescriptor().getName(), new HashSet<>(analysis.getAnalysisResultsOf(cfg)));
+		return results;
+	}
+
+	@Test
+	public void testResumeFromInterruptedAnalysis() throws Exception {
+		Path uninterrupted = Files.createTempDirectory("lisa");
+		Path interrupted = Files.createTempDirectory("lisa");
+		try {
+			Map<String, Collection<?>> expected = run(program(), new RTACallGraph(), uninterrupted, false);
+
+			Program program = program();
+			Path checkpoint = interrupted.resolve(Checkpoint.FILE_NAME);
+			try {
+				run(program, new InterruptingCallGraph(checkpoint), interrupted, false);
+				fail("The analysis has not been interrupted");
+			} catch (IllegalStateException e) {
+				assertEquals("Interrupted", e.getMessage());
+			}
+			assertTrue("No checkpoint has been written", Files.exists(checkpoint));
+			assertEquals("The checkpoint was not taken mid-analysis", 1,
+					Checkpoint.read(checkpoint, new Application(program), null, null, null).getIteration());
+
+			Map<String, Collection<?>> resumed = run(program, new RTACallGraph(), interrupted, true);
+			assertEquals("Resumed analysis returned wrong results", toStrings(expected), toStrings(resumed));
+		} finally {
+			delete(uninterrupted);
+			delete(interrupted);
+		}
+	}
+
+	private static Map<String, String> toStrings(
+			Map<String, Collection<?>> results) {
+		// the two runs analyze different programs: results are compared
+		// through their representations
+		Map<String, String> strings = new HashMap<>();
+		for (Map.Entry<String, Collection<?>> entry : results.entrySet())
+			for (Object result : entry.getValue()) {
+				AnalyzedCFG<?> cfg = (AnalyzedCFG<?>) result;
+				for (Statement st : cfg.getNodes())
+					strings.put(entry.getKey() + "@" + st.getLocation(),
+							cfg.getAnalysisStateAfter(st).representation().toString());
+			}
+		return strings;
+	}
+
+	private static void delete(
+			Path dir)
+			throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+				Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package it.unive.lisa.interprocedural.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.interprocedural.ReturnTopPolicy;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ConcurrentEntrypointsTest {
+
+	private static final AnalysisState<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>> STATE = new AnalysisState<>(
+					new SimpleAbstractState<>(
+							new MonolithicHeap(),
+							new ValueEnvironment<>(new Interval()),
+							new TypeEnvironment<>(new InferredTypes())),
+					new ExpressionSet());
+
+	// the two mutually recursive cfgs are reached from two entrypoints, each
+	// entering the recursion from a different member
+	private static final String PROGRAM = "class tests {"
+			+ " even(n) { if (n <= 0) return 1; else { def m = n - 1; return this.odd(m); } }"
+			+ " odd(n) { if (n <= 0) return 0; else { def m = n - 1; return this.even(m); } }"
+			+ " first() { def x = this.even(10); }"
+			+ " second() { def y = this.odd(5); }"
+			+ " }";
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, String> run(
+			boolean concurrent)
+			throws Exception {
+		Program program = IMPFrontend.processText(PROGRAM, true);
+		for (CFG cfg : program.getAllCFGs())
+			if (cfg.getDescriptor().getName().equals("first") || cfg.getDescriptor().getName().equals("second"))
+				program.addEntryPoint(cfg);
+		Application app = new Application(program);
+		CallGraph callgraph = new RTACallGraph();
+		callgraph.init(app);
+		ContextBasedAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = new ContextBasedAnalysis<>();
+		analysis.init(app, callgraph, ReturnTopPolicy.INSTANCE);
+
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.analyzeEntrypointsConcurrently = concurrent;
+		base.interproceduralParallelism = 4;
+		analysis.fixpoint(STATE, (Class<? extends WorkingSet<Statement>>) (Class<?>) FIFOWorkingSet.class,
+				new FixpointConfiguration(base));
+
+		// the recursion is found regardless of the entrypoint closing it
+		Set<Set<String>> recursions = new HashSet<>();
+		for (Collection<CodeMember> recursion : callgraph.getRecursions())
+			recursions.add(recursion.stream().map(cm -> cm.getDescriptor().getName()).collect(Collectors.toSet()));
+		assertEquals(Set.of(Set.of("even", "odd")), recursions);
+
+		// the two runs analyze different programs: results are compared
+		// through their representations
+		Map<String, String> results = new HashMap<>();
+		for (CFG cfg : program.getAllCFGs())
+			for (AnalyzedCFG<?> result : analysis.getAnalysisResultsOf(cfg))
+				for (Statement st : result.getNodes())
+					results.put(cfg.getDescriptor().getName() + "@" + st.getLocation() + "@" + result.getId(),
+							result.getAnalysisStateAfter(st).representation().toString());
+		return results;
+	}
+
+	@Test
+	public void testRecursionReachedFromConcurrentEntrypoints() throws Exception {
+		Map<String, String> sequential = run(false);
+		assertTrue("No results have been computed", !sequential.isEmpty());
+		for (int i = 0; i < 10; i++)
+			// each analysis closes the recursion within its own view of the
+			// call graph, regardless of how the analyses are scheduled
+			assertEquals("Concurrent analysis returned wrong results", sequential, run(true));
+	}
+}
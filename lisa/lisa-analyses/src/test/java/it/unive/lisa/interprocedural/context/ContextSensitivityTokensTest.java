@@ -0,0 +1,309 @@
+package it.unive.lisa.interprocedural.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.imp.IMPFeatures;
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.types.IMPTypeSystem;
+import it.unive.lisa.interprocedural.checkpoint.CheckpointInputStream;
+import it.unive.lisa.interprocedural.checkpoint.CheckpointOutputStream;
+import it.unive.lisa.interprocedural.ReturnTopPolicy;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.Parameter;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Assignment;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Return;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.program.cfg.statement.call.Call.CallType;
+import it.unive.lisa.program.cfg.statement.literal.Int32Literal;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ContextSensitivityTokensTest {
+
+	private static final int THREADS = 8;
+
+	private static final AnalysisState<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>> STATE = new AnalysisState<>(
+					new SimpleAbstractState<>(
+							new MonolithicHeap(),
+							new ValueEnvironment<>(new Interval()),
+							new TypeEnvironment<>(new InferredTypes())),
+					new ExpressionSet());
+
+	// the second call to id reaches the context of the first one, and the
+	// result of both calls is the lub of their arguments unless the second
+	// call site is refined
+	private static final String PROGRAM = "class tests {"
+			+ " id(x) { return x; }"
+			+ " main() { def a = this.id(1); def b = this.id(2); }"
+			+ " }";
+
+	private static Application app;
+
+	private static CFG callee;
+
+	private static CFGCall first;
+
+	private static CFGCall second;
+
+	private static int line;
+
+	private static SourceCodeLocation loc() {
+		return new SourceCodeLocation("tokens", ++line, 0);
+	}
+
+	@BeforeClass
+	public static void init() {
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		program.addUnit(unit);
+
+		CFG id = new CFG(new CodeMemberDescriptor(loc(), unit, false, "id", new Parameter(loc(), "y")));
+		id.addNode(new Return(id, loc(), new VariableRef(id, loc(), "y")), true);
+		unit.addCodeMember(id);
+		callee = id;
+
+		// main() { a = id(1); b = id(2); }: the calls are nested in the
+		// assignments
+		CFG main = new CFG(new CodeMemberDescriptor(loc(), unit, false, "main"));
+		first = new CFGCall(main, loc(), CallType.STATIC, "unit", "id", List.of(id), new Int32Literal(main, loc(), 1));
+		second = new CFGCall(main, loc(), CallType.STATIC, "unit", "id", List.of(id), new Int32Literal(main, loc(), 2));
+		Statement a = new Assignment(main, loc(), new VariableRef(main, loc(), "a"), first);
+		Statement b = new Assignment(main, loc(), new VariableRef(main, loc(), "b"), second);
+		Statement ret = new Ret(main, loc());
+		main.addNode(a, true);
+		main.addNode(b);
+		main.addNode(ret);
+		main.addEdge(new SequentialEdge(a, b));
+		main.addEdge(new SequentialEdge(b, ret));
+		unit.addCodeMember(main);
+		program.addEntryPoint(main);
+
+		app = new Application(program);
+	}
+
+	private static List<ContextSensitivityToken> tokens() {
+		return List.of(KDepthToken.getSingleton(2), FullStackToken.getSingleton(), LastCallToken.getSingleton());
+	}
+
+	@Test
+	public void testPushYieldsUniqueInstances() {
+		for (ContextSensitivityToken token : tokens()) {
+			assertSame(token, token.startingId());
+			assertSame(token.push(first), token.push(first));
+			assertSame(token.push(first).push(second), token.push(first).push(second));
+			assertNotSame(token.push(first), token.push(second));
+			assertNotEquals(token.push(first), token.push(second));
+		}
+
+		// tokens pushing the same calls on different chains collapse when
+		// the chains are truncated
+		assertSame(LastCallToken.getSingleton().push(second), LastCallToken.getSingleton().push(first).push(second));
+		assertSame(KDepthToken.getSingleton(1).push(second), KDepthToken.getSingleton(1).push(first).push(second));
+		assertNotSame(FullStackToken.getSingleton().push(second),
+				FullStackToken.getSingleton().push(first).push(second));
+	}
+
+	@Test
+	public void testDifferentDepthsYieldDistinctTokens() {
+		assertSame(KDepthToken.getSingleton(3), KDepthToken.getSingleton(3));
+		assertNotSame(KDepthToken.getSingleton(2), KDepthToken.getSingleton(3));
+
+		// same chain, but the two tokens push differently
+		ContextSensitivityToken two = KDepthToken.getSingleton(2).push(first);
+		ContextSensitivityToken three = KDepthToken.getSingleton(3).push(first);
+		assertEquals(two.toString(), three.toString());
+		assertNotSame(two, three);
+		assertNotEquals(two, three);
+		assertNotEquals(two.push(second).push(first).toString(), three.push(second).push(first).toString());
+	}
+
+	@Test
+	public void testDeserializationYieldsUniqueInstances() throws Exception {
+		List<ContextSensitivityToken> tokens = new ArrayList<>();
+		tokens.add(ContextInsensitiveToken.getSingleton());
+		for (ContextSensitivityToken token : tokens()) {
+			tokens.add(token);
+			tokens.add(token.push(first));
+			tokens.add(token.push(first).push(second).push(first));
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CheckpointOutputStream out = new CheckpointOutputStream(bytes, app)) {
+			out.writeObject(tokens);
+		}
+
+		List<?> read;
+		try (CheckpointInputStream in = new CheckpointInputStream(new ByteArrayInputStream(bytes.toByteArray()),
+				app)) {
+			read = (List<?>) in.readObject();
+		}
+
+		assertEquals(tokens.size(), read.size());
+		for (int i = 0; i < tokens.size(); i++)
+			assertSame("Token " + tokens.get(i) + " was not resolved to its unique instance", tokens.get(i),
+					read.get(i));
+	}
+
+	@Test
+	public void testAdaptiveDeserializationYieldsUniqueInstances() throws Exception {
+		AdaptiveToken token = AdaptiveToken.getSingleton(1, 2, 5);
+		// the second call reaches the context already reached by the first
+		// one, merging the entry states
+		token.reached(callee, first, token, true);
+		token.reached(callee, second, token, true);
+		assertEquals(1, token.refine());
+		assertSame(token, token.push(first));
+		assertNotSame(token, token.push(second));
+
+		List<ContextSensitivityToken> tokens = List.of(token, token.push(second));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CheckpointOutputStream out = new CheckpointOutputStream(bytes, app)) {
+			out.writeObject(tokens);
+		}
+
+		List<?> read;
+		try (CheckpointInputStream in = new CheckpointInputStream(new ByteArrayInputStream(bytes.toByteArray()),
+				app)) {
+			read = (List<?>) in.readObject();
+		}
+
+		// tokens are resolved against the live ones, sharing their depths
+		assertEquals(tokens, read);
+		AdaptiveToken resolved = (AdaptiveToken) read.get(0);
+		assertSame(token.push(second), resolved.push(second));
+		assertEquals(token.getStatistics(), resolved.getStatistics());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, String> analyze(
+			ContextSensitivityToken token,
+			Map<String, String> statistics)
+			throws Exception {
+		Program program = IMPFrontend.processText(PROGRAM, true);
+		CFG main = null;
+		for (CFG cfg : program.getAllCFGs())
+			if (cfg.getDescriptor().getName().equals("main"))
+				program.addEntryPoint(main = cfg);
+		Application app = new Application(program);
+		CallGraph callgraph = new RTACallGraph();
+		callgraph.init(app);
+		ContextBasedAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = new ContextBasedAnalysis<>(token);
+		analysis.init(app, callgraph, ReturnTopPolicy.INSTANCE);
+		analysis.fixpoint(STATE, (Class<? extends WorkingSet<Statement>>) (Class<?>) FIFOWorkingSet.class,
+				new FixpointConfiguration(new LiSAConfiguration()));
+		statistics.putAll(analysis.getStatistics());
+
+		// the runs analyze different programs: results are compared through
+		// their representations
+		Map<String, String> results = new HashMap<>();
+		for (AnalyzedCFG<?> result : analysis.getAnalysisResultsOf(main))
+			for (Statement st : result.getNodes())
+				results.put(st.getLocation().toString(), result.getAnalysisStateAfter(st).representation().toString());
+		return results;
+	}
+
+	@Test
+	public void testAdaptiveRefinementRestartsTheAnalysis() throws Exception {
+		Map<String, String> statistics = new HashMap<>();
+		Map<String, String> results = analyze(AdaptiveToken.getSingleton(1, 1, 5), statistics);
+		assertEquals("1", statistics.get("refinements"));
+		assertEquals("1", statistics.get("restarts"));
+		// one context for main, two for id
+		assertEquals("3", statistics.get("contexts"));
+
+		// refining the merging call site is enough to be as precise as
+		// distinguishing all call sites
+		assertEquals(analyze(KDepthToken.getSingleton(1), new HashMap<>()), results);
+		assertNotEquals(analyze(ContextInsensitiveToken.getSingleton(), new HashMap<>()), results);
+	}
+
+	@Test
+	public void testAdaptiveRefinementIsBoundedByTheBudget() throws Exception {
+		Map<String, String> statistics = new HashMap<>();
+		Map<String, String> results = analyze(AdaptiveToken.getSingleton(1, 1, 0), statistics);
+		assertEquals("0", statistics.get("refinements"));
+		assertEquals("0", statistics.get("restarts"));
+		// one context for main, one for id
+		assertEquals("2", statistics.get("contexts"));
+		assertEquals(analyze(ContextInsensitiveToken.getSingleton(), new HashMap<>()), results);
+	}
+
+	@Test
+	public void testConcurrentInterning() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int round = 0; round < 50; round++) {
+				// a fresh depth for each round, so that no chain has been
+				// interned before the threads race to build it
+				int k = 100 + round;
+				CyclicBarrier barrier = new CyclicBarrier(THREADS);
+				List<Callable<List<ContextSensitivityToken>>> tasks = new ArrayList<>();
+				for (int t = 0; t < THREADS; t++)
+					tasks.add(() -> {
+						barrier.await();
+						List<ContextSensitivityToken> chain = new ArrayList<>();
+						for (ContextSensitivityToken token : List.of(KDepthToken.getSingleton(k),
+								FullStackToken.getSingleton(), LastCallToken.getSingleton())) {
+							for (int i = 0; i < 10; i++) {
+								token = token.push(i % 2 == 0 ? first : second);
+								chain.add(token);
+							}
+						}
+						return chain;
+					});
+
+				List<Future<List<ContextSensitivityToken>>> results = executor.invokeAll(tasks);
+				List<ContextSensitivityToken> expected = results.get(0).get();
+				for (Future<List<ContextSensitivityToken>> result : results) {
+					List<ContextSensitivityToken> chain = result.get();
+					for (int i = 0; i < expected.size(); i++)
+						assertSame("Concurrent pushes built different instances", expected.get(i), chain.get(i));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
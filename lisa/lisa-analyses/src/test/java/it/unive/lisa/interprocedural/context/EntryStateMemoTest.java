@@ -0,0 +1,146 @@
+package it.unive.lisa.interprocedural.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.imp.IMPFeatures;
+import it.unive.lisa.imp.types.IMPTypeSystem;
+import it.unive.lisa.interprocedural.ReturnTopPolicy;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Assignment;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.program.cfg.statement.call.Call.CallType;
+import it.unive.lisa.program.cfg.statement.literal.Int32Literal;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class EntryStateMemoTest {
+
+	private static final AnalysisState<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>> STATE = new AnalysisState<>(
+					new SimpleAbstractState<>(
+							// calls yield the top heap: starting from it,
+							// both calls reach init with the same state
+							new MonolithicHeap().top(),
+							new ValueEnvironment<>(new Interval()),
+							new TypeEnvironment<>(new InferredTypes())),
+					new ExpressionSet());
+
+	private static int line;
+
+	private static SourceCodeLocation loc() {
+		return new SourceCodeLocation("memo", ++line, 0);
+	}
+
+	private static Program program() {
+		line = 0;
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		program.addUnit(unit);
+
+		// init() { x = 1; }
+		CFG init = new CFG(new CodeMemberDescriptor(loc(), unit, false, "init"));
+		Statement assign = new Assignment(init, loc(), new VariableRef(init, loc(), "x"),
+				new Int32Literal(init, loc(), 1));
+		Statement ret = new Ret(init, loc());
+		init.addNode(assign, true);
+		init.addNode(ret);
+		init.addEdge(new SequentialEdge(assign, ret));
+		unit.addCodeMember(init);
+
+		// main() { init(); init(); }: the two calls reach init in different
+		// contexts, but with the same entry state
+		CFG main = new CFG(new CodeMemberDescriptor(loc(), unit, false, "main"));
+		Statement first = new CFGCall(main, loc(), CallType.STATIC, "unit", "init", List.of(init));
+		Statement second = new CFGCall(main, loc(), CallType.STATIC, "unit", "init", List.of(init));
+		ret = new Ret(main, loc());
+		main.addNode(first, true);
+		main.addNode(second);
+		main.addNode(ret);
+		main.addEdge(new SequentialEdge(first, second));
+		main.addEdge(new SequentialEdge(second, ret));
+		unit.addCodeMember(main);
+		program.addEntryPoint(main);
+		return program;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, String> analyze(
+			int memoSize,
+			boolean worklist,
+			Map<String, String> statistics)
+			throws Exception {
+		Program program = program();
+		Application app = new Application(program);
+		CallGraph callgraph = new RTACallGraph();
+		callgraph.init(app);
+		ContextBasedAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = new ContextBasedAnalysis<>(
+								KDepthToken.getSingleton(1));
+		analysis.init(app, callgraph, ReturnTopPolicy.INSTANCE);
+
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.entryStateMemoSize = memoSize;
+		base.useInterproceduralWorklist = worklist;
+		analysis.fixpoint(STATE, (Class<? extends WorkingSet<Statement>>) (Class<?>) FIFOWorkingSet.class,
+				new FixpointConfiguration(base));
+		statistics.putAll(analysis.getStatistics());
+
+		// the runs analyze different programs: results are compared through
+		// their representations
+		Map<String, String> results = new HashMap<>();
+		for (CFG cfg : program.getAllCFGs())
+			for (AnalyzedCFG<?> result : analysis.getAnalysisResultsOf(cfg))
+				for (Statement st : result.getNodes())
+					results.put(cfg.getDescriptor().getName() + "@" + st.getLocation() + "@" + result.getId(),
+							result.getAnalysisStateAfter(st).representation().toString());
+		return results;
+	}
+
+	@Test
+	public void testMemoizedResultsAreReused() throws Exception {
+		Map<String, String> statistics = new HashMap<>();
+		Map<String, String> results = analyze(16, false, statistics);
+		assertTrue("The memoized result has not been reused",
+				Long.parseLong(statistics.get("entryStateMemoHits")) > 0);
+		assertTrue("No lookup missed the memo", Long.parseLong(statistics.get("entryStateMemoMisses")) > 0);
+		assertEquals("Memoization changed the results", analyze(0, false, new HashMap<>()), results);
+	}
+
+	@Test
+	public void testMemoIsDisabledWithWorklist() throws Exception {
+		Map<String, String> statistics = new HashMap<>();
+		Map<String, String> results = analyze(16, true, statistics);
+		assertFalse("The memo has been used with the worklist", statistics.containsKey("entryStateMemoHits"));
+		assertEquals("Memoization changed the results", analyze(0, true, new HashMap<>()), results);
+	}
+}
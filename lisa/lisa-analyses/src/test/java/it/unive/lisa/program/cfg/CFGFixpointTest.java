@@ -1,5 +1,6 @@
 package it.unive.lisa.program.cfg;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -10,6 +11,7 @@ import it.unive.lisa.analysis.heap.MonolithicHeap;
 import it.unive.lisa.analysis.lattices.ExpressionSet;
 import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
 import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
 import it.unive.lisa.analysis.numeric.Sign;
 import it.unive.lisa.analysis.types.InferredTypes;
 import it.unive.lisa.conf.FixpointConfiguration;
@@ -27,11 +29,28 @@ import it.unive.lisa.interprocedural.callgraph.CallGraphConstructionException;
 import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
 import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.controlFlow.IfThenElse;
+import it.unive.lisa.program.cfg.controlFlow.Loop;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.statement.Assignment;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
 import it.unive.lisa.program.cfg.statement.call.Call.CallType;
 import it.unive.lisa.program.cfg.statement.call.OpenCall;
+import it.unive.lisa.program.cfg.statement.comparison.LessThan;
+import it.unive.lisa.program.cfg.statement.literal.Int32Literal;
+import it.unive.lisa.program.cfg.statement.numeric.Addition;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.type.Untyped;
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import it.unive.lisa.util.numeric.MathNumber;
+import java.util.List;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -139,4 +158,156 @@ public class CFGFixpointTest {
 
 		assertTrue(result.getAnalysisStateAfter(call).getState().getValueState().getKeys().isEmpty());
 	}
+
+	@Test
+	public void testWideningOnIrreducibleLoopWithWeakTopologicalOrder()
+			throws FixpointException,
+			InterproceduralAnalysisException,
+			CallGraphConstructionException {
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		CFG cfg = new CFG(new CodeMemberDescriptor(SyntheticLocation.INSTANCE, program, false, "cfg"));
+		SourceCodeLocation[] locs = new SourceCodeLocation[11];
+		for (int i = 0; i < locs.length; i++)
+			locs[i] = new SourceCodeLocation("irreducible", i, 0);
+		Assignment init = new Assignment(cfg, locs[0], new VariableRef(cfg, locs[1], "x"),
+				new Int32Literal(cfg, locs[2], 0));
+		Assignment first = new Assignment(cfg, locs[3], new VariableRef(cfg, locs[4], "x"),
+				new Addition(cfg, locs[5], new VariableRef(cfg, locs[6], "x"), new Int32Literal(cfg, locs[7], 1)));
+		Assignment second = new Assignment(cfg, locs[8], new VariableRef(cfg, locs[9], "x"),
+				new VariableRef(cfg, locs[10], "x"));
+		Ret ret = new Ret(cfg, SyntheticLocation.INSTANCE);
+		cfg.addNode(init, true);
+		cfg.addNode(first);
+		cfg.addNode(second);
+		cfg.addNode(ret);
+		// the loop between first and second can be entered from both: the
+		// cfg has no cycle entries, and the head of the ordering is not a loop
+		// guard
+		cfg.addEdge(new SequentialEdge(init, first));
+		cfg.addEdge(new SequentialEdge(init, second));
+		cfg.addEdge(new SequentialEdge(first, second));
+		cfg.addEdge(new SequentialEdge(second, first));
+		cfg.addEdge(new SequentialEdge(second, ret));
+
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.descendingPhaseType = DescendingPhaseType.NONE;
+		base.wideningThreshold = 5;
+		base.useWideningPoints = true;
+		base.useWeakTopologicalOrder = true;
+		AnalysisState<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> state = new AnalysisState<>(
+								new SimpleAbstractState<>(
+										new MonolithicHeap(),
+										new ValueEnvironment<>(new Interval()),
+										new TypeEnvironment<>(new InferredTypes())),
+								new ExpressionSet());
+		ModularWorstCaseAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = new ModularWorstCaseAnalysis<>();
+		RTACallGraph callgraph = new RTACallGraph();
+		Application app = new Application(program);
+		callgraph.init(app);
+		analysis.init(app, callgraph, WorstCasePolicy.INSTANCE);
+
+		// without widening on the head, this would never terminate
+		AnalyzedCFG<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> result = cfg.fixpoint(state, analysis, FIFOWorkingSet.mk(),
+								new FixpointConfiguration(base), new UniqueScope());
+		Variable x = new Variable(Untyped.INSTANCE, "x", SyntheticLocation.INSTANCE);
+		assertEquals(new Interval(new MathNumber(0), MathNumber.PLUS_INFINITY),
+				result.getAnalysisStateAfter(ret).getState().getValueState().getState(x));
+	}
+
+	@Test
+	public void testSparseFixpointMatchesDenseOne()
+			throws FixpointException,
+			InterproceduralAnalysisException,
+			CallGraphConstructionException {
+		// x = 0; y = 10; while (x < y) { if (x < 5) z = x; else z = y; x = x + 1; }
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		CFG cfg = new CFG(new CodeMemberDescriptor(SyntheticLocation.INSTANCE, program, false, "cfg"));
+		SourceCodeLocation[] locs = new SourceCodeLocation[9];
+		for (int i = 0; i < locs.length; i++)
+			locs[i] = new SourceCodeLocation("sparse", i, 0);
+		Statement initX = new Assignment(cfg, locs[0], new VariableRef(cfg, locs[0], "x"),
+				new Int32Literal(cfg, locs[0], 0));
+		Statement initY = new Assignment(cfg, locs[1], new VariableRef(cfg, locs[1], "y"),
+				new Int32Literal(cfg, locs[1], 10));
+		Statement loop = new LessThan(cfg, locs[2], new VariableRef(cfg, locs[2], "x"),
+				new VariableRef(cfg, locs[2], "y"));
+		Statement branch = new LessThan(cfg, locs[3], new VariableRef(cfg, locs[3], "x"),
+				new Int32Literal(cfg, locs[3], 5));
+		Statement left = new Assignment(cfg, locs[4], new VariableRef(cfg, locs[4], "z"),
+				new VariableRef(cfg, locs[4], "x"));
+		Statement right = new Assignment(cfg, locs[5], new VariableRef(cfg, locs[5], "z"),
+				new VariableRef(cfg, locs[5], "y"));
+		Statement inc = new Assignment(cfg, locs[6], new VariableRef(cfg, locs[6], "x"),
+				new Addition(cfg, locs[6], new VariableRef(cfg, locs[6], "x"), new Int32Literal(cfg, locs[6], 1)));
+		Statement ret = new Ret(cfg, locs[7]);
+		cfg.addNode(initX, true);
+		cfg.addNode(initY);
+		cfg.addNode(loop);
+		cfg.addNode(branch);
+		cfg.addNode(left);
+		cfg.addNode(right);
+		cfg.addNode(inc);
+		cfg.addNode(ret);
+		cfg.addEdge(new SequentialEdge(initX, initY));
+		cfg.addEdge(new SequentialEdge(initY, loop));
+		cfg.addEdge(new TrueEdge(loop, branch));
+		cfg.addEdge(new TrueEdge(branch, left));
+		cfg.addEdge(new FalseEdge(branch, right));
+		cfg.addEdge(new SequentialEdge(left, inc));
+		cfg.addEdge(new SequentialEdge(right, inc));
+		cfg.addEdge(new SequentialEdge(inc, loop));
+		cfg.addEdge(new FalseEdge(loop, ret));
+		cfg.addControlFlowStructure(new Loop(cfg.getNodeList(), loop, ret, List.of(branch, left, right, inc)));
+		cfg.addControlFlowStructure(new IfThenElse(cfg.getNodeList(), branch, inc, List.of(left), List.of(right)));
+
+		AnalysisState<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> state = new AnalysisState<>(
+								new SimpleAbstractState<>(
+										new MonolithicHeap(),
+										new ValueEnvironment<>(new Interval()),
+										new TypeEnvironment<>(new InferredTypes())),
+								new ExpressionSet());
+		ModularWorstCaseAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = new ModularWorstCaseAnalysis<>();
+		RTACallGraph callgraph = new RTACallGraph();
+		Application app = new Application(program);
+		callgraph.init(app);
+		analysis.init(app, callgraph, WorstCasePolicy.INSTANCE);
+
+		// the loop converges before widening, so that both iterations
+		// compute the same results
+		LiSAConfiguration dense = new LiSAConfiguration();
+		dense.descendingPhaseType = DescendingPhaseType.NONE;
+		dense.wideningThreshold = 20;
+		dense.useWideningPoints = true;
+		LiSAConfiguration sparse = new LiSAConfiguration();
+		sparse.descendingPhaseType = DescendingPhaseType.NONE;
+		sparse.wideningThreshold = 20;
+		sparse.useWideningPoints = true;
+		sparse.useSparseFixpoint = true;
+		assertTrue("The state is not non-relational", state.getState().isNonRelational());
+
+		AnalyzedCFG<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> expected = cfg.fixpoint(state, analysis,
+								FIFOWorkingSet.mk(), new FixpointConfiguration(dense), new UniqueScope());
+		AnalyzedCFG<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> actual = cfg.fixpoint(state, analysis,
+								FIFOWorkingSet.mk(), new FixpointConfiguration(sparse), new UniqueScope());
+		for (Statement st : cfg.getNodes())
+			assertEquals("Sparse fixpoint returned wrong result for " + st, expected.getAnalysisStateAfter(st),
+					actual.getAnalysisStateAfter(st));
+		Variable x = new Variable(Untyped.INSTANCE, "x", SyntheticLocation.INSTANCE);
+		assertEquals(new Interval(new MathNumber(10), new MathNumber(10)),
+				actual.getAnalysisStateAfter(ret).getState().getValueState().getState(x));
+	}
 }
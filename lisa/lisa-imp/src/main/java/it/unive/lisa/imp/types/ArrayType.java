@@ -39,6 +39,8 @@ import org.apache.commons.lang3.tuple.Pair;
  */
 public final class ArrayType implements it.unive.lisa.type.ArrayType {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Map<Pair<Type, Integer>, ArrayType> types = new HashMap<>();
 
 	/**
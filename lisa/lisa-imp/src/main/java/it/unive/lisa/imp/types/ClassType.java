@@ -28,6 +28,8 @@ import java.util.Set;
  */
 public final class ClassType implements InMemoryType, UnitType {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Map<String, ClassType> types = new HashMap<>();
 
 	/**
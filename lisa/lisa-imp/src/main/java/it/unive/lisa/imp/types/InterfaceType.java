@@ -26,6 +26,8 @@ import java.util.Set;
  */
 public final class InterfaceType implements UnitType {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Map<String, InterfaceType> types = new HashMap<>();
 
 	/**
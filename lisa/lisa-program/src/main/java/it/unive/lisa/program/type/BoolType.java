@@ -18,6 +18,8 @@ import java.util.Set;
  */
 public class BoolType implements BooleanType {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
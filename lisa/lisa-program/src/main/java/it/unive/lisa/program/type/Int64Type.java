@@ -29,6 +29,8 @@ import java.util.Set;
  */
 public class Int64Type implements NumericType {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The unique singleton instance of this type.
 	 */
@@ -18,6 +18,8 @@ import java.util.Set;
  */
 public class StringType implements it.unive.lisa.type.StringType {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
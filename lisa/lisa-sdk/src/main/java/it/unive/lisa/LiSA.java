@@ -84,10 +84,12 @@ public class LiSA {
 			throw new AnalysisException("LiSA has encountered an exception while executing the analysis", e);
 		}
 
-		LiSARunInfo stats = new LiSARunInfo(warnings, fileManager.createdFiles(), app, start, new DateTime());
+		LiSARunInfo stats = new LiSARunInfo(warnings, fileManager.createdFiles(), app, start, new DateTime(),
+				runner.getResultsStore());
 		LOG.info("LiSA statistics:\n" + stats);
 
-		LiSAReport report = new LiSAReport(conf, stats, warnings, fileManager.createdFiles());
+		LiSAReport report = new LiSAReport(conf, stats, warnings, fileManager.createdFiles(),
+				runner.getTelemetry(), runner.getBudget(), runner.getSummaryCache(), runner.getStatistics());
 		if (conf.jsonOutput) {
 			LOG.info("Dumping analysis report to '" + REPORT_NAME + "'");
 			try {
@@ -2,8 +2,12 @@ package it.unive.lisa;
 
 import it.unive.lisa.checks.warnings.Warning;
 import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.checkpoint.SummaryCache;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget;
+import it.unive.lisa.program.cfg.fixpoints.FixpointTelemetry;
 import it.unive.lisa.util.file.FileManager;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * A structured report containing the information about an analysis that has
@@ -21,6 +25,14 @@ public class LiSAReport {
 
 	private final Collection<String> createdFiles;
 
+	private final FixpointTelemetry telemetry;
+
+	private final FixpointBudget budget;
+
+	private final SummaryCache summaryCache;
+
+	private final Map<String, String> interproceduralStatistics;
+
 	/**
 	 * Builds the report.
 	 * 
@@ -34,10 +46,111 @@ public class LiSAReport {
 			LiSARunInfo info,
 			Collection<Warning> warnings,
 			Collection<String> createdFiles) {
+		this(configuration, info, warnings, createdFiles, null);
+	}
+
+	/**
+	 * Builds the report.
+	 * 
+	 * @param configuration the configuration used for the analysis
+	 * @param info          the information of the analysis run
+	 * @param warnings      the warnings generated by the analysis
+	 * @param createdFiles  the files generated by the analysis
+	 * @param telemetry     the statistics about the fixpoints executed by the
+	 *                          analysis (might be {@code null})
+	 */
+	public LiSAReport(
+			LiSAConfiguration configuration,
+			LiSARunInfo info,
+			Collection<Warning> warnings,
+			Collection<String> createdFiles,
+			FixpointTelemetry telemetry) {
+		this(configuration, info, warnings, createdFiles, telemetry, null);
+	}
+
+	/**
+	 * Builds the report.
+	 * 
+	 * @param configuration the configuration used for the analysis
+	 * @param info          the information of the analysis run
+	 * @param warnings      the warnings generated by the analysis
+	 * @param createdFiles  the files generated by the analysis
+	 * @param telemetry     the statistics about the fixpoints executed by the
+	 *                          analysis (might be {@code null})
+	 * @param budget        the budget that limited the fixpoints executed by
+	 *                          the analysis (might be {@code null})
+	 */
+	public LiSAReport(
+			LiSAConfiguration configuration,
+			LiSARunInfo info,
+			Collection<Warning> warnings,
+			Collection<String> createdFiles,
+			FixpointTelemetry telemetry,
+			FixpointBudget budget) {
+		this(configuration, info, warnings, createdFiles, telemetry, budget, null);
+	}
+
+	/**
+	 * Builds the report.
+	 * 
+	 * @param configuration the configuration used for the analysis
+	 * @param info          the information of the analysis run
+	 * @param warnings      the warnings generated by the analysis
+	 * @param createdFiles  the files generated by the analysis
+	 * @param telemetry     the statistics about the fixpoints executed by the
+	 *                          analysis (might be {@code null})
+	 * @param budget        the budget that limited the fixpoints executed by
+	 *                          the analysis (might be {@code null})
+	 * @param summaryCache  the cache of results used by the analysis (might
+	 *                          be {@code null})
+	 */
+	public LiSAReport(
+			LiSAConfiguration configuration,
+			LiSARunInfo info,
+			Collection<Warning> warnings,
+			Collection<String> createdFiles,
+			FixpointTelemetry telemetry,
+			FixpointBudget budget,
+			SummaryCache summaryCache) {
+		this(configuration, info, warnings, createdFiles, telemetry, budget, summaryCache, Map.of());
+	}
+
+	/**
+	 * Builds the report.
+	 * 
+	 * @param configuration             the configuration used for the
+	 *                                      analysis
+	 * @param info                      the information of the analysis run
+	 * @param warnings                  the warnings generated by the analysis
+	 * @param createdFiles              the files generated by the analysis
+	 * @param telemetry                 the statistics about the fixpoints
+	 *                                      executed by the analysis (might be
+	 *                                      {@code null})
+	 * @param budget                    the budget that limited the fixpoints
+	 *                                      executed by the analysis (might be
+	 *                                      {@code null})
+	 * @param summaryCache              the cache of results used by the
+	 *                                      analysis (might be {@code null})
+	 * @param interproceduralStatistics the statistics of the interprocedural
+	 *                                      analysis
+	 */
+	public LiSAReport(
+			LiSAConfiguration configuration,
+			LiSARunInfo info,
+			Collection<Warning> warnings,
+			Collection<String> createdFiles,
+			FixpointTelemetry telemetry,
+			FixpointBudget budget,
+			SummaryCache summaryCache,
+			Map<String, String> interproceduralStatistics) {
 		this.info = info;
 		this.configuration = configuration;
 		this.warnings = warnings;
 		this.createdFiles = createdFiles;
+		this.telemetry = telemetry;
+		this.budget = budget;
+		this.summaryCache = summaryCache;
+		this.interproceduralStatistics = interproceduralStatistics;
 	}
 
 	/**
@@ -77,6 +190,50 @@ public class LiSAReport {
 		return createdFiles;
 	}
 
+	/**
+	 * Yields the {@link FixpointTelemetry} collected during the analysis. This
+	 * is only available if
+	 * {@link LiSAConfiguration#collectFixpointTelemetry} was set.
+	 * 
+	 * @return the telemetry, or {@code null} if it was not collected
+	 */
+	public FixpointTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * Yields the {@link FixpointBudget} that limited the fixpoints executed
+	 * during the analysis, that also holds the cfgs whose results have been
+	 * degraded. This is only available if at least one of the budgets has
+	 * been set in the {@link LiSAConfiguration}.
+	 * 
+	 * @return the budget, or {@code null} if no budget was set
+	 */
+	public FixpointBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Yields the {@link SummaryCache} used by the analysis to reuse results
+	 * across analysis runs, that also holds its hits and misses. This is only
+	 * available if {@link LiSAConfiguration#summaryCacheDirectory} was set.
+	 * 
+	 * @return the cache, or {@code null} if no cache was used
+	 */
+	public SummaryCache getSummaryCache() {
+		return summaryCache;
+	}
+
+	/**
+	 * Yields the statistics of the interprocedural analysis, as reported by
+	 * {@link it.unive.lisa.interprocedural.InterproceduralAnalysis#getStatistics()}.
+	 * 
+	 * @return the statistics (empty if none were provided)
+	 */
+	public Map<String, String> getInterproceduralStatistics() {
+		return interproceduralStatistics;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -85,6 +242,11 @@ public class LiSAReport {
 		result = prime * result + ((createdFiles == null) ? 0 : createdFiles.hashCode());
 		result = prime * result + ((info == null) ? 0 : info.hashCode());
 		result = prime * result + ((warnings == null) ? 0 : warnings.hashCode());
+		result = prime * result + ((telemetry == null) ? 0 : telemetry.hashCode());
+		result = prime * result + ((budget == null) ? 0 : budget.hashCode());
+		result = prime * result + ((summaryCache == null) ? 0 : summaryCache.hashCode());
+		result = prime * result
+				+ ((interproceduralStatistics == null) ? 0 : interproceduralStatistics.hashCode());
 		return result;
 	}
 
@@ -118,6 +280,26 @@ public class LiSAReport {
 				return false;
 		} else if (!warnings.equals(other.warnings))
 			return false;
+		if (telemetry == null) {
+			if (other.telemetry != null)
+				return false;
+		} else if (!telemetry.equals(other.telemetry))
+			return false;
+		if (budget == null) {
+			if (other.budget != null)
+				return false;
+		} else if (!budget.equals(other.budget))
+			return false;
+		if (summaryCache == null) {
+			if (other.summaryCache != null)
+				return false;
+		} else if (!summaryCache.equals(other.summaryCache))
+			return false;
+		if (interproceduralStatistics == null) {
+			if (other.interproceduralStatistics != null)
+				return false;
+		} else if (!interproceduralStatistics.equals(other.interproceduralStatistics))
+			return false;
 		return true;
 	}
 
@@ -3,6 +3,8 @@ package it.unive.lisa;
 import it.unive.lisa.checks.semantic.SemanticCheck;
 import it.unive.lisa.checks.syntactic.SyntacticCheck;
 import it.unive.lisa.checks.warnings.Warning;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.checkpoint.ResultsStore;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.Global;
 import it.unive.lisa.program.Program;
@@ -127,6 +129,18 @@ public class LiSARunInfo {
 	 */
 	public final int programs;
 
+	/**
+	 * The number of times that the results of a cfg have been spilled to disk
+	 * since they exceeded {@link LiSAConfiguration#resultsMemoryBound}.
+	 */
+	public final long spilledResults;
+
+	/**
+	 * The number of times that the spilled results of a cfg have been
+	 * reloaded in memory.
+	 */
+	public final long reloadedResults;
+
 	/**
 	 * The timestamp of the analysis start, formatted through
 	 * {@link #PERIOD_FORMAT}.
@@ -159,6 +173,27 @@ public class LiSARunInfo {
 			Application app,
 			DateTime start,
 			DateTime end) {
+		this(warnings, files, app, start, end, null);
+	}
+
+	/**
+	 * Builds the run info.
+	 * 
+	 * @param warnings the warnings generated by the analysis
+	 * @param files    the files generated by the analysis
+	 * @param app      the {@link Application} under analysis
+	 * @param start    the start time
+	 * @param end      the end time
+	 * @param store    the {@link ResultsStore} that bounded the memory of the
+	 *                     results (can be {@code null})
+	 */
+	public LiSARunInfo(
+			Collection<Warning> warnings,
+			Collection<String> files,
+			Application app,
+			DateTime start,
+			DateTime end,
+			ResultsStore store) {
 		this.version = VersionInfo.VERSION;
 		this.warnings = warnings.size();
 		this.files = files.size();
@@ -180,6 +215,8 @@ public class LiSARunInfo {
 		app.getAllCFGs().forEach(c -> c.accept(counter, null));
 		this.statements = counter.statements;
 		this.expressions = counter.expressions;
+		this.spilledResults = store == null ? 0 : store.getSpills();
+		this.reloadedResults = store == null ? 0 : store.getReloads();
 	}
 
 	@Override
@@ -224,7 +261,8 @@ public class LiSARunInfo {
 	 * Checks whether the given run information match this one in terms of
 	 * analyzed code and analysis results. This corresponds to calling
 	 * {@link #equals(Object)}, but ignoring {@link #version},
-	 * {@link #duration}, {@link #end}, and {@link #start}.
+	 * {@link #duration}, {@link #end}, {@link #start}, {@link #spilledResults},
+	 * and {@link #reloadedResults}.
 	 * 
 	 * @param other the other run info
 	 * 
@@ -270,7 +308,9 @@ public class LiSARunInfo {
 				"\nStatements: " + statements +
 				"\nExpressions: " + expressions +
 				"\nGenerated Warnings: " + warnings +
-				"\nGenerated Files: " + files;
+				"\nGenerated Files: " + files +
+				"\nSpilled Results: " + spilledResults +
+				"\nReloaded Results: " + reloadedResults;
 	}
 
 	/**
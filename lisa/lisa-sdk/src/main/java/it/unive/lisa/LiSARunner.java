@@ -16,6 +16,8 @@ import it.unive.lisa.interprocedural.InterproceduralAnalysis;
 import it.unive.lisa.interprocedural.InterproceduralAnalysisException;
 import it.unive.lisa.interprocedural.callgraph.CallGraph;
 import it.unive.lisa.interprocedural.callgraph.CallGraphConstructionException;
+import it.unive.lisa.interprocedural.checkpoint.ResultsStore;
+import it.unive.lisa.interprocedural.checkpoint.SummaryCache;
 import it.unive.lisa.logging.IterationLogger;
 import it.unive.lisa.logging.TimerLogger;
 import it.unive.lisa.outputs.serializableGraph.SerializableGraph;
@@ -25,6 +27,8 @@ import it.unive.lisa.program.Program;
 import it.unive.lisa.program.ProgramValidationException;
 import it.unive.lisa.program.SyntheticLocation;
 import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget;
+import it.unive.lisa.program.cfg.fixpoints.FixpointTelemetry;
 import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.symbolic.value.Skip;
 import it.unive.lisa.type.ReferenceType;
@@ -36,6 +40,7 @@ import it.unive.lisa.util.file.FileManager;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.IdentityHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.BiFunction;
 import org.apache.logging.log4j.LogManager;
@@ -63,6 +68,14 @@ public class LiSARunner<A extends AbstractState<A>> {
 
 	private final A state;
 
+	private FixpointTelemetry telemetry;
+
+	private FixpointBudget budget;
+
+	private SummaryCache summaryCache;
+
+	private ResultsStore resultsStore;
+
 	/**
 	 * Builds the runner.
 	 * 
@@ -98,6 +111,10 @@ public class LiSARunner<A extends AbstractState<A>> {
 
 		Collection<CFG> allCFGs = app.getAllCFGs();
 		FixpointConfiguration fixconf = new FixpointConfiguration(conf);
+		telemetry = fixconf.getTelemetry();
+		budget = fixconf.getBudget();
+		summaryCache = fixconf.getSummaryCache();
+		resultsStore = fixconf.getResultsStore();
 		CheckTool tool = new CheckTool(conf, fileManager);
 
 		if (conf.optimize)
@@ -116,6 +133,13 @@ public class LiSARunner<A extends AbstractState<A>> {
 
 			analyze(fixconf);
 
+			if (budget != null && !budget.getDegraded().isEmpty())
+				LOG.warn("Results of " + budget.getDegraded().size()
+						+ " cfgs have been degraded since their fixpoints exceeded the budget");
+
+			if (summaryCache != null)
+				evictSummaries();
+
 			if (conf.serializeResults || conf.analysisGraphs != GraphType.NONE)
 				dumpResults(allCFGs, fixconf);
 
@@ -125,6 +149,9 @@ public class LiSARunner<A extends AbstractState<A>> {
 				tool = runSemanticChecks(app, allCFGs, tool, semanticChecks);
 			else
 				LOG.warn("Skipping semantic checks execution since none have been provided");
+
+			if (resultsStore != null)
+				closeResultsStore();
 		}
 
 		dumpSupportFiles();
@@ -132,6 +159,89 @@ public class LiSARunner<A extends AbstractState<A>> {
 		return tool.getWarnings();
 	}
 
+	/**
+	 * Yields the {@link FixpointTelemetry} collected during the last execution
+	 * of {@link #run(Application)}.
+	 * 
+	 * @return the telemetry, or {@code null} if
+	 *             {@link LiSAConfiguration#collectFixpointTelemetry} is
+	 *             {@code false} or if the runner has not been executed yet
+	 */
+	FixpointTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * Yields the {@link FixpointBudget} that limited the fixpoints executed
+	 * during the last execution of {@link #run(Application)}.
+	 * 
+	 * @return the budget, or {@code null} if no budget has been set in the
+	 *             {@link LiSAConfiguration} or if the runner has not been
+	 *             executed yet
+	 */
+	FixpointBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Yields the {@link SummaryCache} used during the last execution of
+	 * {@link #run(Application)}.
+	 * 
+	 * @return the cache, or {@code null} if
+	 *             {@link LiSAConfiguration#summaryCacheDirectory} is not set or
+	 *             if the runner has not been executed yet
+	 */
+	SummaryCache getSummaryCache() {
+		return summaryCache;
+	}
+
+	/**
+	 * Yields the {@link ResultsStore} that bounded the memory of the results
+	 * during the last execution of {@link #run(Application)}.
+	 * 
+	 * @return the store, or {@code null} if
+	 *             {@link LiSAConfiguration#resultsMemoryBound} is not positive
+	 *             or if the runner has not been executed yet
+	 */
+	ResultsStore getResultsStore() {
+		return resultsStore;
+	}
+
+	/**
+	 * Yields the statistics of the interprocedural analysis executed during
+	 * the last execution of {@link #run(Application)}.
+	 * 
+	 * @return the statistics, as reported by
+	 *             {@link InterproceduralAnalysis#getStatistics()}, or an empty
+	 *             map if no interprocedural analysis has been executed
+	 */
+	Map<String, String> getStatistics() {
+		return interproc == null ? Map.of() : interproc.getStatistics();
+	}
+
+	private void closeResultsStore() {
+		LOG.info("Results store: " + resultsStore.getSpills() + " spills, " + resultsStore.getReloads()
+				+ " reloads, " + resultsStore.getWrittenBytes() + " bytes written");
+		try {
+			resultsStore.close();
+		} catch (IOException e) {
+			LOG.warn("Unable to close the results store", e);
+		}
+	}
+
+	private void evictSummaries() {
+		LOG.info(String.format(Locale.ROOT, "Summary cache: %d hits, %d misses (hit rate %.2f%%), %d results stored",
+				summaryCache.getHits(), summaryCache.getMisses(), summaryCache.getHitRate() * 100,
+				summaryCache.getStored()));
+		try {
+			int evicted = summaryCache.evict();
+			if (evicted > 0)
+				LOG.info("Evicted " + evicted + " results from the summary cache");
+		} catch (IOException e) {
+			LOG.warn("Unable to evict results from the summary cache at '" + summaryCache.getDirectory() + "'", e);
+		}
+	}
+
 	private void finalize(
 			Application app) {
 		for (Program p : app.getPrograms()) {
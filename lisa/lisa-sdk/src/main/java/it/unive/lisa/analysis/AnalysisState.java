@@ -30,6 +30,8 @@ public class AnalysisState<A extends AbstractState<A>>
 		StructuredObject,
 		ScopedObject<AnalysisState<A>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The abstract state of program variables and memory locations
 	 */
@@ -481,6 +483,27 @@ public class AnalysisState<A extends AbstractState<A>>
 		return new AnalysisState<>(state.forgetIdentifiersIf(test), computedExpressions, info);
 	}
 
+	/**
+	 * Yields a copy of this analysis state where the information about the
+	 * {@link Identifier}s that match the given predicate is replaced with the
+	 * one contained in {@code other} (see
+	 * {@link SemanticDomain#replaceIdentifiersIf(SemanticDomain, Predicate)}).
+	 * Computed expressions and fixpoint information are left untouched.
+	 * 
+	 * @param other the abstract state to take the information from
+	 * @param test  the test to identify the identifiers to replace
+	 * 
+	 * @return the analysis state with the replaced information
+	 * 
+	 * @throws SemanticException if an error occurs during the computation
+	 */
+	public AnalysisState<A> replaceIdentifiersIf(
+			A other,
+			Predicate<Identifier> test)
+			throws SemanticException {
+		return new AnalysisState<>(state.replaceIdentifiersIf(other, test), computedExpressions, info);
+	}
+
 	/**
 	 * Forgets all the given {@link Identifier}s by invoking
 	 * {@link #forgetIdentifier(Identifier)} on each given identifier.
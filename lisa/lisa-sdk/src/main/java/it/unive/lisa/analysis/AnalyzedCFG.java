@@ -28,6 +28,8 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		implements
 		BaseLattice<AnalyzedCFG<A>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Error message for the inability to lub two graphs.
 	 */
@@ -69,6 +71,12 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 	 */
 	protected final ScopeId id;
 
+	/**
+	 * Whether or not the results have been degraded since the fixpoint
+	 * computing them exceeded its budget.
+	 */
+	private boolean degraded;
+
 	/**
 	 * Builds the control flow graph, storing the given mapping between nodes
 	 * and fixpoint computation results.
@@ -145,6 +153,67 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		return id;
 	}
 
+	/**
+	 * Yields whether or not the results stored in this graph have been
+	 * degraded, since the fixpoint computing them exceeded one of the budgets
+	 * set in the {@link it.unive.lisa.conf.LiSAConfiguration}. Degraded
+	 * results are sound, but less precise than the ones of a complete
+	 * fixpoint computation. Results obtained by combining degraded ones are
+	 * degraded as well.
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isDegraded() {
+		return degraded;
+	}
+
+	/**
+	 * Marks the results stored in this graph as degraded (see
+	 * {@link #isDegraded()}).
+	 */
+	public void markDegraded() {
+		degraded = true;
+	}
+
+	/**
+	 * Marks the given graph, obtained by combining this graph with
+	 * {@code other}, as degraded if at least one of the two is degraded.
+	 * 
+	 * @param <T>    the type of the combined graph
+	 * @param other  the other graph
+	 * @param result the combined graph
+	 * 
+	 * @return {@code result}
+	 */
+	protected <T extends AnalyzedCFG<A>> T propagateDegradation(
+			AnalyzedCFG<A> other,
+			T result) {
+		if (degraded || other.degraded)
+			result.markDegraded();
+		return result;
+	}
+
+	/**
+	 * Yields the {@link StatementStore} holding the entry states of the
+	 * entrypoints of this cfg, as they were used to compute this result.
+	 * 
+	 * @return the store of the entry states
+	 */
+	public StatementStore<A> getEntryStates() {
+		return entryStates;
+	}
+
+	/**
+	 * Yields the {@link StatementStore} holding the post-states of the
+	 * statements of this cfg, as they were stored by the fixpoint computation
+	 * that produced this result.
+	 * 
+	 * @return the store of the post-states
+	 */
+	public StatementStore<A> getResults() {
+		return results;
+	}
+
 	/**
 	 * Yields the computed result before a given statement (entry state).
 	 *
@@ -243,11 +312,11 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_LUB_ERROR);
 
-		return new AnalyzedCFG<>(
+		return propagateDegradation(other, new AnalyzedCFG<>(
 				this,
 				id,
 				entryStates.lub(other.entryStates),
-				results.lub(other.results));
+				results.lub(other.results)));
 	}
 
 	@Override
@@ -257,11 +326,11 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_GLB_ERROR);
 
-		return new AnalyzedCFG<>(
+		return propagateDegradation(other, new AnalyzedCFG<>(
 				this,
 				id,
 				entryStates.glb(other.entryStates),
-				results.glb(other.results));
+				results.glb(other.results)));
 	}
 
 	@Override
@@ -271,11 +340,11 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_WIDEN_ERROR);
 
-		return new AnalyzedCFG<>(
+		return propagateDegradation(other, new AnalyzedCFG<>(
 				this,
 				id,
 				entryStates.widening(other.entryStates),
-				results.widening(other.results));
+				results.widening(other.results)));
 	}
 
 	@Override
@@ -285,11 +354,11 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_NARROW_ERROR);
 
-		return new AnalyzedCFG<>(
+		return propagateDegradation(other, new AnalyzedCFG<>(
 				this,
 				id,
 				entryStates.narrowing(other.entryStates),
-				results.narrowing(other.results));
+				results.narrowing(other.results)));
 	}
 
 	@Override
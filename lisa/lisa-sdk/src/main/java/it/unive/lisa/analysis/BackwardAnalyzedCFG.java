@@ -28,6 +28,8 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 		implements
 		BaseLattice<BackwardAnalyzedCFG<A>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Error message for the inability to lub two graphs.
 	 */
@@ -69,6 +71,12 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 	 */
 	protected final ScopeId id;
 
+	/**
+	 * Whether or not the results have been degraded since the fixpoint
+	 * computing them exceeded its budget.
+	 */
+	private boolean degraded;
+
 	/**
 	 * Builds the control flow graph, storing the given mapping between nodes
 	 * and fixpoint computation results.
@@ -135,6 +143,46 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 		this.id = id;
 	}
 
+	/**
+	 * Yields whether or not the results stored in this graph have been
+	 * degraded, since the fixpoint computing them exceeded one of the budgets
+	 * set in the {@link it.unive.lisa.conf.LiSAConfiguration}. Degraded
+	 * results are sound, but less precise than the ones of a complete
+	 * fixpoint computation. Results obtained by combining degraded ones are
+	 * degraded as well.
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isDegraded() {
+		return degraded;
+	}
+
+	/**
+	 * Marks the results stored in this graph as degraded (see
+	 * {@link #isDegraded()}).
+	 */
+	public void markDegraded() {
+		degraded = true;
+	}
+
+	/**
+	 * Marks the given graph, obtained by combining this graph with
+	 * {@code other}, as degraded if at least one of the two is degraded.
+	 * 
+	 * @param <T>    the type of the combined graph
+	 * @param other  the other graph
+	 * @param result the combined graph
+	 * 
+	 * @return {@code result}
+	 */
+	protected <T extends BackwardAnalyzedCFG<A>> T propagateDegradation(
+			BackwardAnalyzedCFG<A> other,
+			T result) {
+		if (degraded || other.degraded)
+			result.markDegraded();
+		return result;
+	}
+
 	/**
 	 * Yields an id meant to identify this specific result, based on how it has
 	 * been produced. This method might return {@code null}.
@@ -243,11 +291,11 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_LUB_ERROR);
 
-		return new BackwardAnalyzedCFG<>(
+		return propagateDegradation(other, new BackwardAnalyzedCFG<>(
 				this,
 				id,
 				exitStates.lub(other.exitStates),
-				results.lub(other.results));
+				results.lub(other.results)));
 	}
 
 	@Override
@@ -257,11 +305,11 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_GLB_ERROR);
 
-		return new BackwardAnalyzedCFG<>(
+		return propagateDegradation(other, new BackwardAnalyzedCFG<>(
 				this,
 				id,
 				exitStates.glb(other.exitStates),
-				results.glb(other.results));
+				results.glb(other.results)));
 	}
 
 	@Override
@@ -271,11 +319,11 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_WIDEN_ERROR);
 
-		return new BackwardAnalyzedCFG<>(
+		return propagateDegradation(other, new BackwardAnalyzedCFG<>(
 				this,
 				id,
 				exitStates.widening(other.exitStates),
-				results.widening(other.results));
+				results.widening(other.results)));
 	}
 
 	@Override
@@ -285,11 +333,11 @@ public class BackwardAnalyzedCFG<A extends AbstractState<A>>
 		if (!getDescriptor().equals(other.getDescriptor()) || !sameIDs(other))
 			throw new SemanticException(CANNOT_NARROW_ERROR);
 
-		return new BackwardAnalyzedCFG<>(
+		return propagateDegradation(other, new BackwardAnalyzedCFG<>(
 				this,
 				id,
 				exitStates.narrowing(other.exitStates),
-				results.narrowing(other.results));
+				results.narrowing(other.results)));
 	}
 
 	@Override
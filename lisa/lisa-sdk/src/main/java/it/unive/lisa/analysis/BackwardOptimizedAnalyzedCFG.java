@@ -17,6 +17,7 @@ import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.edge.Edge;
 import it.unive.lisa.program.cfg.fixpoints.BackwardAscendingFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.fixpoints.InstrumentedFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.OptimizedBackwardFixpoint;
 import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.program.cfg.statement.Statement;
@@ -28,6 +29,7 @@ import it.unive.lisa.type.Type;
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.BackwardFixpoint;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
 import java.util.Collection;
 import java.util.HashMap;
@@ -56,6 +58,8 @@ import org.apache.logging.log4j.Logger;
  */
 public class BackwardOptimizedAnalyzedCFG<A extends AbstractState<A>> extends BackwardAnalyzedCFG<A> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Logger LOG = LogManager.getLogger(BackwardOptimizedAnalyzedCFG.class);
 
 	private final InterproceduralAnalysis<A> interprocedural;
@@ -208,7 +212,8 @@ public class BackwardOptimizedAnalyzedCFG<A extends AbstractState<A>> extends Ba
 			}
 		}
 
-		BackwardAscendingFixpoint<A> asc = new BackwardAscendingFixpoint<>(this, new PrecomputedAnalysis(), conf);
+		FixpointImplementation<Statement, Edge, CompoundState<A>> asc = InstrumentedFixpoint.instrument(this,
+				new BackwardAscendingFixpoint<>(this, new PrecomputedAnalysis(), conf), conf);
 		BackwardFixpoint<CFG, Statement, Edge, CompoundState<A>> fix = new BackwardFixpoint<>(this, true);
 		TimerLogger.execAction(LOG, "Unwinding optimizied results of " + this, () -> {
 			try {
@@ -343,13 +348,13 @@ public class BackwardOptimizedAnalyzedCFG<A extends AbstractState<A>> extends Ba
 			throw new SemanticException(CANNOT_LUB_ERROR);
 
 		BackwardOptimizedAnalyzedCFG<A> o = (BackwardOptimizedAnalyzedCFG<A>) other;
-		return new BackwardOptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new BackwardOptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				exitStates.lub(other.exitStates),
 				results.lub(other.results),
 				expanded == null ? o.expanded : expanded.lub(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -361,13 +366,13 @@ public class BackwardOptimizedAnalyzedCFG<A extends AbstractState<A>> extends Ba
 			throw new SemanticException(CANNOT_GLB_ERROR);
 
 		BackwardOptimizedAnalyzedCFG<A> o = (BackwardOptimizedAnalyzedCFG<A>) other;
-		return new BackwardOptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new BackwardOptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				exitStates.glb(other.exitStates),
 				results.glb(other.results),
 				expanded == null ? o.expanded : expanded.glb(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -379,13 +384,13 @@ public class BackwardOptimizedAnalyzedCFG<A extends AbstractState<A>> extends Ba
 			throw new SemanticException(CANNOT_WIDEN_ERROR);
 
 		BackwardOptimizedAnalyzedCFG<A> o = (BackwardOptimizedAnalyzedCFG<A>) other;
-		return new BackwardOptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new BackwardOptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				exitStates.widening(other.exitStates),
 				results.widening(other.results),
 				expanded == null ? o.expanded : expanded.widening(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -397,13 +402,13 @@ public class BackwardOptimizedAnalyzedCFG<A extends AbstractState<A>> extends Ba
 			throw new SemanticException(CANNOT_NARROW_ERROR);
 
 		BackwardOptimizedAnalyzedCFG<A> o = (BackwardOptimizedAnalyzedCFG<A>) other;
-		return new BackwardOptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new BackwardOptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				exitStates.narrowing(other.exitStates),
 				results.narrowing(other.results),
 				expanded == null ? o.expanded : expanded.narrowing(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -23,6 +23,8 @@ import org.apache.commons.collections4.SetUtils;
  */
 public class FixpointInfo implements BaseLattice<FixpointInfo>, Iterable<Map.Entry<String, Lattice<?>>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The unique bottom instance of this class.
 	 */
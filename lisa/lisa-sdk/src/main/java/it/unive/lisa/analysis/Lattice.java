@@ -3,6 +3,7 @@ package it.unive.lisa.analysis;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredObject;
 import it.unive.lisa.util.representation.StructuredRepresentation;
+import java.io.Serializable;
 
 /**
  * An interface for elements that follow a lattice structure. Implementers of
@@ -13,7 +14,7 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
  * 
  * @param <L> the concrete {@link Lattice} instance
  */
-public interface Lattice<L extends Lattice<L>> extends StructuredObject {
+public interface Lattice<L extends Lattice<L>> extends StructuredObject, Serializable {
 
 	/**
 	 * A string constant that can be used to represent top values.
@@ -17,6 +17,7 @@ import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.edge.Edge;
 import it.unive.lisa.program.cfg.fixpoints.AscendingFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.fixpoints.InstrumentedFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.OptimizedFixpoint;
 import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.program.cfg.statement.Statement;
@@ -28,9 +29,14 @@ import it.unive.lisa.type.Type;
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -47,7 +53,9 @@ import org.apache.logging.log4j.Logger;
  * Approximations for other statements can be retrieved through
  * {@link #getUnwindedAnalysisStateAfter(Statement, FixpointConfiguration)},
  * that will first expand the results using
- * {@link #unwind(FixpointConfiguration)}.
+ * {@link #unwind(FixpointConfiguration)}, or that will only recompute the
+ * basic blocks needed to compute the requested state if
+ * {@link FixpointConfiguration#unwindLazily} is set.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -56,12 +64,36 @@ import org.apache.logging.log4j.Logger;
  */
 public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCFG<A> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Logger LOG = LogManager.getLogger(OptimizedAnalyzedCFG.class);
 
 	private final InterproceduralAnalysis<A> interprocedural;
 
 	private StatementStore<A> expanded;
 
+	/**
+	 * The leader of the basic block containing each statement, used for lazy
+	 * unwinding. This is {@code null} if no block has been unwound lazily.
+	 */
+	private Map<Statement, Statement> leaders;
+
+	/**
+	 * The states computed by lazily unwinding basic blocks.
+	 */
+	private StatementStore<A> partial;
+
+	/**
+	 * The leaders of the basic blocks that have been unwound lazily.
+	 */
+	private Set<Statement> unwound;
+
+	/**
+	 * The leaders of the basic blocks that have been found unreachable while
+	 * unwinding lazily.
+	 */
+	private Set<Statement> unreached;
+
 	/**
 	 * Builds the control flow graph, storing the given mapping between nodes
 	 * and fixpoint computation results.
@@ -153,7 +185,10 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 	 * Yields the computed result at a given statement (exit state). If such a
 	 * state is not available as it was discarded due to optimization, and
 	 * fixpoint's results have not been unwinded yet, a fixpoint iteration is
-	 * executed in-place through {@link #unwind(FixpointConfiguration)}.
+	 * executed in-place through {@link #unwind(FixpointConfiguration)}. If
+	 * {@link FixpointConfiguration#unwindLazily} is set, only the basic block
+	 * containing the statement is recomputed instead, together with the ones
+	 * preceding it whose results are not available.
 	 *
 	 * @param st   the statement
 	 * @param conf the {@link FixpointConfiguration} to use for running the fast
@@ -170,11 +205,131 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 		if (expanded != null)
 			return expanded.getState(st);
 
+		if (conf.unwindLazily) {
+			AnalysisState<A> state = unwindLazily(st, conf);
+			if (state != null)
+				return state;
+		}
+
 		unwind(conf);
 
 		return expanded.getState(st);
 	}
 
+	/**
+	 * Recomputes the basic block containing the given statement, starting from
+	 * the post-states of the statements preceding it. Such states are either
+	 * available in the results, or computed by recomputing the blocks
+	 * containing them in the same way. Blocks are recomputed at most once.
+	 * 
+	 * @param st   the statement
+	 * @param conf the {@link FixpointConfiguration} to use for running the fast
+	 *                 fixpoint computation
+	 * 
+	 * @return the result computed at the given statement, or {@code null} if
+	 *             the block containing it cannot be recomputed on its own
+	 */
+	private synchronized AnalysisState<A> unwindLazily(
+			Statement st,
+			FixpointConfiguration conf) {
+		if (leaders == null) {
+			Map<Statement, Statement[]> bbs;
+			try {
+				bbs = getBasicBlocks();
+			} catch (IllegalStateException e) {
+				return null;
+			}
+
+			leaders = new HashMap<>();
+			for (Entry<Statement, Statement[]> bb : bbs.entrySet())
+				for (Statement member : bb.getValue())
+					leaders.put(member, bb.getKey());
+			partial = new StatementStore<>(results.lattice.bottom());
+			unwound = new HashSet<>();
+			unreached = new HashSet<>();
+		}
+
+		Statement root = st instanceof Expression ? ((Expression) st).getRootStatement() : st;
+		Statement leader = leaders.get(root);
+		if (leader == null)
+			return null;
+
+		FixpointImplementation<Statement, Edge, CompoundState<A>> asc = InstrumentedFixpoint.instrument(this,
+				new AscendingFixpoint<>(this, new PrecomputedAnalysis(), conf), conf);
+		// blocks are unwound after the ones preceding them: a block that is
+		// found again before being unwound is part of a cycle that does not
+		// contain any stored result
+		Deque<Statement> ws = new ArrayDeque<>();
+		Set<Statement> visiting = new HashSet<>();
+		ws.push(leader);
+		while (!ws.isEmpty()) {
+			Statement current = ws.peek();
+			if (unwound.contains(current)) {
+				ws.pop();
+				continue;
+			}
+
+			Collection<Statement> missing = new LinkedList<>();
+			for (Statement pred : predecessorsOf(current)) {
+				Statement block = leaders.get(pred);
+				if (!results.getKeys().contains(pred) && block != null && !unwound.contains(block))
+					missing.add(block);
+			}
+
+			if (missing.isEmpty())
+				try {
+					unwindBlock(current, asc);
+					ws.pop();
+				} catch (Exception e) {
+					LOG.error("Unable to unwind optimized results of " + this, e);
+					return null;
+				}
+			else if (!visiting.add(current))
+				return null;
+			else
+				missing.forEach(ws::push);
+		}
+
+		return partial.getState(st);
+	}
+
+	private void unwindBlock(
+			Statement leader,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> asc)
+			throws Exception {
+		StatementStore<A> bot = partial.bottom();
+		CompoundState<A> entry = entryStates.getKeys().contains(leader)
+				? CompoundState.of(entryStates.getState(leader), bot)
+				: null;
+		for (Statement pred : predecessorsOf(leader)) {
+			AnalysisState<A> post;
+			if (results.getKeys().contains(pred))
+				post = results.getState(pred);
+			else if (leaders.get(pred) == null || unreached.contains(leaders.get(pred)))
+				// the fixpoint never reached this statement
+				continue;
+			else
+				post = partial.getState(pred);
+
+			CompoundState<A> state = asc.traverse(getEdgeConnecting(pred, leader), CompoundState.of(post, bot));
+			entry = entry == null ? state : asc.union(leader, entry, state);
+		}
+
+		unwound.add(leader);
+		if (entry == null) {
+			unreached.add(leader);
+			return;
+		}
+
+		for (Statement cursor : getBasicBlocks().get(leader)) {
+			CompoundState<A> post = asc.semantics(cursor, entry);
+			partial.put(cursor, post.postState);
+			for (Entry<Statement, AnalysisState<A>> inner : post.intermediateStates)
+				partial.put(inner.getKey(), inner.getValue());
+			entry = post;
+		}
+	}
+
 	/**
 	 * Runs an ascending fixpoint computation starting with the results
 	 * available in this graph, with the purpose of propagating the
@@ -208,7 +363,8 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 			}
 		}
 
-		AscendingFixpoint<A> asc = new AscendingFixpoint<>(this, new PrecomputedAnalysis(), conf);
+		FixpointImplementation<Statement, Edge, CompoundState<A>> asc = InstrumentedFixpoint.instrument(this,
+				new AscendingFixpoint<>(this, new PrecomputedAnalysis(), conf), conf);
 		Fixpoint<CFG, Statement, Edge, CompoundState<A>> fix = new Fixpoint<>(this, true);
 		TimerLogger.execAction(LOG, "Unwinding optimizied results of " + this, () -> {
 			try {
@@ -229,6 +385,17 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 		});
 	}
 
+	/**
+	 * Yields whether or not the results of this cfg have been unwinded through
+	 * {@link #unwind(FixpointConfiguration)}, making the approximations of all
+	 * statements available without further computations.
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isUnwinded() {
+		return expanded != null;
+	}
+
 	/**
 	 * Yields whether or not the non-unwinded results of this cfg contain the
 	 * poststate of the given statement.
@@ -343,13 +510,13 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 			throw new SemanticException(CANNOT_LUB_ERROR);
 
 		OptimizedAnalyzedCFG<A> o = (OptimizedAnalyzedCFG<A>) other;
-		return new OptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new OptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				entryStates.lub(other.entryStates),
 				results.lub(other.results),
 				expanded == null ? o.expanded : expanded.lub(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -361,13 +528,13 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 			throw new SemanticException(CANNOT_GLB_ERROR);
 
 		OptimizedAnalyzedCFG<A> o = (OptimizedAnalyzedCFG<A>) other;
-		return new OptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new OptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				entryStates.glb(other.entryStates),
 				results.glb(other.results),
 				expanded == null ? o.expanded : expanded.glb(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -379,13 +546,13 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 			throw new SemanticException(CANNOT_WIDEN_ERROR);
 
 		OptimizedAnalyzedCFG<A> o = (OptimizedAnalyzedCFG<A>) other;
-		return new OptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new OptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				entryStates.widening(other.entryStates),
 				results.widening(other.results),
 				expanded == null ? o.expanded : expanded.widening(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -397,13 +564,13 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 			throw new SemanticException(CANNOT_NARROW_ERROR);
 
 		OptimizedAnalyzedCFG<A> o = (OptimizedAnalyzedCFG<A>) other;
-		return new OptimizedAnalyzedCFG<A>(
+		return propagateDegradation(other, new OptimizedAnalyzedCFG<A>(
 				this,
 				id,
 				entryStates.narrowing(other.entryStates),
 				results.narrowing(other.results),
 				expanded == null ? o.expanded : expanded.narrowing(o.expanded),
-				interprocedural);
+				interprocedural));
 	}
 
 	@Override
@@ -2,6 +2,7 @@ package it.unive.lisa.analysis;
 
 import it.unive.lisa.program.CodeElement;
 import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.Serializable;
 
 /**
  * A token that can be used for pushing and popping scopes on local variables
@@ -11,7 +12,9 @@ import it.unive.lisa.program.cfg.statement.Statement;
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
-public class ScopeToken {
+public class ScopeToken implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final CodeElement scoper;
 
@@ -236,4 +236,47 @@ public interface SemanticDomain<D extends SemanticDomain<D, E, I>, E extends Sym
 
 		return result;
 	}
+
+	/**
+	 * Yields whether or not this domain is non-relational, that is, if the
+	 * information it tracks about each {@link Identifier} is independent from
+	 * the one tracked about other identifiers. Non-relational domains must
+	 * implement {@link #replaceIdentifiersIf(SemanticDomain, Predicate)},
+	 * enabling fixpoint algorithms that propagate the information about each
+	 * identifier separately.<br>
+	 * <br>
+	 * The default implementation of this method returns {@code false}.
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	default boolean isNonRelational() {
+		return false;
+	}
+
+	/**
+	 * Yields a copy of this domain where the information about the
+	 * {@link Identifier}s that match the given predicate is replaced with the
+	 * one contained in {@code other}: identifiers that match the predicate
+	 * and that are not known by {@code other} are forgotten, while the
+	 * information about all other identifiers is left untouched. This
+	 * operation is well-defined only for non-relational domains (see
+	 * {@link #isNonRelational()}).<br>
+	 * <br>
+	 * The default implementation of this method throws a
+	 * {@link SemanticException}.
+	 * 
+	 * @param other the domain instance to take the information from
+	 * @param test  the test to identify the identifiers to replace
+	 * 
+	 * @return the semantic domain with the replaced information
+	 * 
+	 * @throws SemanticException if an error occurs during the computation, or
+	 *                               if this domain is relational
+	 */
+	default D replaceIdentifiersIf(
+			D other,
+			Predicate<Identifier> test)
+			throws SemanticException {
+		throw new SemanticException("Cannot replace identifiers in the relational domain " + getClass().getName());
+	}
 }
@@ -17,6 +17,8 @@ public class StatementStore<A extends AbstractState<A>>
 		extends
 		FunctionalLattice<StatementStore<A>, Statement, AnalysisState<A>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the store.
 	 * 
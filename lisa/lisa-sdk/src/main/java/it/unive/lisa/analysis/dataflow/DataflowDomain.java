@@ -34,6 +34,8 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		BaseLattice<D>,
 		ValueDomain<D> {
 
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isTop;
 
 	private final boolean isBottom;
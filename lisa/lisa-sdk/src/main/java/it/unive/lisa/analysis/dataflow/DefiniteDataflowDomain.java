@@ -19,6 +19,8 @@ public class DefiniteDataflowDomain<E extends DataflowElement<DefiniteDataflowDo
 		extends
 		DataflowDomain<DefiniteDataflowDomain<E>, E> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty domain.
 	 * 
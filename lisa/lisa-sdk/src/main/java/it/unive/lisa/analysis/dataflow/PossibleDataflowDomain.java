@@ -19,6 +19,8 @@ public class PossibleDataflowDomain<E extends DataflowElement<PossibleDataflowDo
 		extends
 		DataflowDomain<PossibleDataflowDomain<E>, E> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty domain.
 	 * 
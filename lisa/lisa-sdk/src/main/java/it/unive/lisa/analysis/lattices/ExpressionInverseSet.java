@@ -23,6 +23,8 @@ public class ExpressionInverseSet extends InverseSetLattice<ExpressionInverseSet
 		implements
 		ScopedObject<ExpressionInverseSet> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the empty set lattice element.
 	 */
@@ -23,6 +23,8 @@ public class ExpressionSet extends SetLattice<ExpressionSet, SymbolicExpression>
 		implements
 		ScopedObject<ExpressionSet> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the empty set lattice element.
 	 */
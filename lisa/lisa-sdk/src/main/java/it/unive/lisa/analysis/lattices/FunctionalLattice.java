@@ -30,6 +30,8 @@ public abstract class FunctionalLattice<F extends FunctionalLattice<F, K, V>, K,
 		BaseLattice<F>,
 		Iterable<Map.Entry<K, V>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The function implemented by this lattice.
 	 */
@@ -14,6 +14,8 @@ import java.util.Set;
  */
 public class GenericInverseSetLattice<E> extends InverseSetLattice<GenericInverseSetLattice<E>, E> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty set representing the top element.
 	 */
@@ -17,6 +17,8 @@ public class GenericMapLattice<K, V extends Lattice<V>>
 		extends
 		FunctionalLattice<GenericMapLattice<K, V>, K, V> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the map.
 	 * 
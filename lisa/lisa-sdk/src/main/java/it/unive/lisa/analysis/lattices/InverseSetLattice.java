@@ -29,6 +29,8 @@ import java.util.Set;
  */
 public abstract class InverseSetLattice<S extends InverseSetLattice<S, E>, E> implements BaseLattice<S>, Iterable<E> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The set of elements contained in the lattice.
 	 */
@@ -30,6 +30,8 @@ import java.util.Set;
  */
 public abstract class SetLattice<S extends SetLattice<S, E>, E> implements BaseLattice<S>, Iterable<E> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The set of elements contained in the lattice.
 	 */
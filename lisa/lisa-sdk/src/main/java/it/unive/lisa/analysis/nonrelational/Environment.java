@@ -7,6 +7,8 @@ import it.unive.lisa.program.cfg.ProgramPoint;
 import it.unive.lisa.symbolic.SymbolicExpression;
 import it.unive.lisa.symbolic.value.Identifier;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
 
 /**
  * An environment for a {@link NonRelationalDomain}, that maps
@@ -29,6 +31,8 @@ public abstract class Environment<M extends Environment<M, E, T>,
 		extends
 		VariableLift<M, E, T> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty environment.
 	 * 
@@ -129,4 +133,30 @@ public abstract class Environment<M extends Environment<M, E, T>,
 			return (M) this;
 		return lattice.assume((M) this, expression, src, dest, oracle);
 	}
+
+	@Override
+	public boolean isNonRelational() {
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public M replaceIdentifiersIf(
+			M other,
+			Predicate<Identifier> test)
+			throws SemanticException {
+		// bottom environments stay bottom, while top environments are the
+		// ones with an empty mapping (see the constructor), so they can
+		// receive new values as in assign
+		if (isBottom())
+			return (M) this;
+
+		Map<Identifier, T> func = mkNewFunction(function, false);
+		func.keySet().removeIf(test);
+		if (other.function != null)
+			for (Entry<Identifier, T> entry : other.function.entrySet())
+				if (test.test(entry.getKey()))
+					func.put(entry.getKey(), entry.getValue());
+		return mk(lattice, func);
+	}
 }
@@ -43,6 +43,8 @@ public abstract class VariableLift<M extends VariableLift<M, E, T>,
 		implements
 		SemanticDomain<M, E, Identifier> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty lift.
 	 * 
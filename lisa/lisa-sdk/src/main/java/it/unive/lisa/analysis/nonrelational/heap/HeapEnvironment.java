@@ -33,6 +33,8 @@ public class HeapEnvironment<T extends NonRelationalHeapDomain<T>>
 		implements
 		HeapDomain<HeapEnvironment<T>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The substitution
 	 */
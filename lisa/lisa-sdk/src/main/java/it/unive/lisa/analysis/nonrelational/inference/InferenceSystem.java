@@ -28,6 +28,8 @@ public class InferenceSystem<T extends InferredValue<T>>
 		implements
 		ValueDomain<InferenceSystem<T>> {
 
+	private static final long serialVersionUID = 1L;
+
 	private final T state;
 
 	/**
@@ -63,6 +63,8 @@ public interface InferredValue<T extends InferredValue<T>>
 	 */
 	class InferredPair<T extends InferredValue<T>> implements BaseLattice<InferredPair<T>> {
 
+		private static final long serialVersionUID = 1L;
+
 		private final T domain;
 
 		private final T inferred;
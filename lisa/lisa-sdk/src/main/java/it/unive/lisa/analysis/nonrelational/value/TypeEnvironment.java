@@ -39,6 +39,8 @@ public class TypeEnvironment<T extends NonRelationalTypeDomain<T>>
 		implements
 		TypeDomain<TypeEnvironment<T>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty environment.
 	 * 
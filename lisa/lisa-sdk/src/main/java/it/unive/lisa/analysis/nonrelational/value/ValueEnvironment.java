@@ -26,6 +26,8 @@ public class ValueEnvironment<T extends NonRelationalValueDomain<T>>
 		implements
 		ValueDomain<ValueEnvironment<T>> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds an empty environment.
 	 * 
@@ -12,6 +12,8 @@ import java.util.Set;
  */
 public class Aliases extends SetLattice<Aliases, Symbol> {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Aliases TOP = new Aliases();
 	private static final Aliases BOTTOM = new Aliases(Collections.emptySet(), false);
 
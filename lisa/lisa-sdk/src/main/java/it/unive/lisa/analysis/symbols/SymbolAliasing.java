@@ -16,6 +16,8 @@ import java.util.Map;
  */
 public class SymbolAliasing extends FunctionalLattice<SymbolAliasing, Symbol, Aliases> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The key to use for accessing instances of this class within a
 	 * {@link FixpointInfo} instance.
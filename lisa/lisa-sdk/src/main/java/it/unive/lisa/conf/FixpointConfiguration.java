@@ -1,7 +1,13 @@
 package it.unive.lisa.conf;
 
 import it.unive.lisa.conf.LiSAConfiguration.DescendingPhaseType;
+import it.unive.lisa.interprocedural.checkpoint.ResultsStore;
+import it.unive.lisa.interprocedural.checkpoint.SummaryCache;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget;
+import it.unive.lisa.program.cfg.fixpoints.FixpointTelemetry;
 import it.unive.lisa.program.cfg.statement.Statement;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 /**
@@ -41,6 +47,157 @@ public class FixpointConfiguration extends BaseConfiguration {
 	 */
 	public final boolean useWideningPoints;
 
+	/**
+	 * Holder of {@link LiSAConfiguration#useWeakTopologicalOrder}.
+	 */
+	public final boolean useWeakTopologicalOrder;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#useIndexedFixpoint}.
+	 */
+	public final boolean useIndexedFixpoint;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#useIncrementalEntryStates}.
+	 */
+	public final boolean useIncrementalEntryStates;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#fixpointParallelism}.
+	 */
+	public final int fixpointParallelism;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#useSparseFixpoint}.
+	 */
+	public final boolean useSparseFixpoint;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#blockTransferCacheSize}.
+	 */
+	public final int blockTransferCacheSize;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#unwindLazily}.
+	 */
+	public final boolean unwindLazily;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#fixpointTimeBudget}.
+	 */
+	public final long fixpointTimeBudget;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#fixpointVisitBudget}.
+	 */
+	public final long fixpointVisitBudget;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#globalFixpointTimeBudget}.
+	 */
+	public final long globalFixpointTimeBudget;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#globalFixpointVisitBudget}.
+	 */
+	public final long globalFixpointVisitBudget;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#interproceduralParallelism}.
+	 */
+	public final int interproceduralParallelism;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#useInterproceduralWorklist}.
+	 */
+	public final boolean useInterproceduralWorklist;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#entryStateMemoSize}.
+	 */
+	public final int entryStateMemoSize;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#analyzeEntrypointsConcurrently}.
+	 */
+	public final boolean analyzeEntrypointsConcurrently;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#solveRecursionsConcurrently}.
+	 */
+	public final boolean solveRecursionsConcurrently;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#checkpointFrequency}.
+	 */
+	public final int checkpointFrequency;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#resumeFromCheckpoint}.
+	 */
+	public final boolean resumeFromCheckpoint;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#summaryCacheDirectory}.
+	 */
+	public final String summaryCacheDirectory;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#summaryCacheSize}.
+	 */
+	public final int summaryCacheSize;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#resultsMemoryBound}.
+	 */
+	public final int resultsMemoryBound;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#workdir}.
+	 */
+	public final String workdir;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#collectFixpointTelemetry}.
+	 */
+	public final boolean collectFixpointTelemetry;
+
+	/**
+	 * The telemetry collected by fixpoints using this configuration, or
+	 * {@code null} if {@link #collectFixpointTelemetry} is {@code false}.
+	 */
+	private final FixpointTelemetry telemetry;
+
+	/**
+	 * The budgets of fixpoints using this configuration, or {@code null} if
+	 * no budget has been set.
+	 */
+	private final FixpointBudget budget;
+
+	/**
+	 * The cache of results shared across analysis runs, or {@code null} if
+	 * {@link #summaryCacheDirectory} is not set.
+	 */
+	private final SummaryCache summaryCache;
+
+	/**
+	 * The store bounding the memory used by the results of the analysis, or
+	 * {@code null} if {@link #resultsMemoryBound} is not positive.
+	 */
+	private final ResultsStore resultsStore;
+
+	/**
+	 * The pool used for parallel fixpoints, lazily created by
+	 * {@link #getFixpointPool()}.
+	 */
+	private ForkJoinPool pool;
+
+	/**
+	 * The pool used for parallel interprocedural analyses, lazily created by
+	 * {@link #getInterproceduralPool()}.
+	 */
+	private ForkJoinPool interproceduralPool;
+
 	/**
 	 * Holder of {@link LiSAConfiguration#hotspots}.
 	 */
@@ -60,5 +217,109 @@ public class FixpointConfiguration extends BaseConfiguration {
 		this.optimize = parent.optimize;
 		this.hotspots = parent.hotspots;
 		this.useWideningPoints = parent.useWideningPoints;
+		this.useWeakTopologicalOrder = parent.useWeakTopologicalOrder;
+		this.useIndexedFixpoint = parent.useIndexedFixpoint;
+		this.useIncrementalEntryStates = parent.useIncrementalEntryStates;
+		this.fixpointParallelism = parent.fixpointParallelism;
+		this.useSparseFixpoint = parent.useSparseFixpoint;
+		this.blockTransferCacheSize = parent.blockTransferCacheSize;
+		this.unwindLazily = parent.unwindLazily;
+		this.fixpointTimeBudget = parent.fixpointTimeBudget;
+		this.fixpointVisitBudget = parent.fixpointVisitBudget;
+		this.globalFixpointTimeBudget = parent.globalFixpointTimeBudget;
+		this.globalFixpointVisitBudget = parent.globalFixpointVisitBudget;
+		this.interproceduralParallelism = parent.interproceduralParallelism;
+		this.useInterproceduralWorklist = parent.useInterproceduralWorklist;
+		this.entryStateMemoSize = parent.entryStateMemoSize;
+		this.analyzeEntrypointsConcurrently = parent.analyzeEntrypointsConcurrently;
+		this.solveRecursionsConcurrently = parent.solveRecursionsConcurrently;
+		this.checkpointFrequency = parent.checkpointFrequency;
+		this.resumeFromCheckpoint = parent.resumeFromCheckpoint;
+		this.summaryCacheDirectory = parent.summaryCacheDirectory;
+		this.summaryCacheSize = parent.summaryCacheSize;
+		this.resultsMemoryBound = parent.resultsMemoryBound;
+		this.workdir = parent.workdir;
+		this.collectFixpointTelemetry = parent.collectFixpointTelemetry;
+		this.telemetry = collectFixpointTelemetry ? new FixpointTelemetry() : null;
+		this.budget = fixpointTimeBudget > 0 || fixpointVisitBudget > 0 || globalFixpointTimeBudget > 0
+				|| globalFixpointVisitBudget > 0
+						? new FixpointBudget(fixpointTimeBudget, fixpointVisitBudget, globalFixpointTimeBudget,
+								globalFixpointVisitBudget)
+						: null;
+		this.summaryCache = summaryCacheDirectory == null ? null
+				: new SummaryCache(Paths.get(summaryCacheDirectory), summaryCacheSize);
+		this.resultsStore = resultsMemoryBound > 0 ? new ResultsStore(resultsMemoryBound) : null;
+	}
+
+	/**
+	 * Yields the {@link ForkJoinPool} to use for parallel fixpoints, having
+	 * {@link #fixpointParallelism} as parallelism level. The pool is created
+	 * on the first invocation and shared by all fixpoints using this
+	 * configuration.
+	 * 
+	 * @return the pool
+	 */
+	public synchronized ForkJoinPool getFixpointPool() {
+		if (pool == null)
+			pool = new ForkJoinPool(Math.max(1, fixpointParallelism));
+		return pool;
+	}
+
+	/**
+	 * Yields the {@link ForkJoinPool} to use for parallel interprocedural
+	 * analyses, having {@link #interproceduralParallelism} as parallelism
+	 * level. The pool is created on the first invocation and it is distinct
+	 * from the one returned by {@link #getFixpointPool()}.
+	 * 
+	 * @return the pool
+	 */
+	public synchronized ForkJoinPool getInterproceduralPool() {
+		if (interproceduralPool == null)
+			interproceduralPool = new ForkJoinPool(Math.max(1, interproceduralParallelism));
+		return interproceduralPool;
+	}
+
+	/**
+	 * Yields the {@link FixpointTelemetry} where fixpoints using this
+	 * configuration record their statistics.
+	 * 
+	 * @return the telemetry, or {@code null} if
+	 *             {@link #collectFixpointTelemetry} is {@code false}
+	 */
+	public FixpointTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * Yields the {@link FixpointBudget} limiting fixpoints using this
+	 * configuration. The global budgets start running when this configuration
+	 * is created.
+	 * 
+	 * @return the budget, or {@code null} if no budget has been set
+	 */
+	public FixpointBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Yields the {@link SummaryCache} where interprocedural analyses using
+	 * this configuration store and look up results across analysis runs.
+	 * 
+	 * @return the cache, or {@code null} if {@link #summaryCacheDirectory} is
+	 *             not set
+	 */
+	public SummaryCache getSummaryCache() {
+		return summaryCache;
+	}
+
+	/**
+	 * Yields the {@link ResultsStore} that interprocedural analyses using this
+	 * configuration use to bound the memory of their results.
+	 * 
+	 * @return the store, or {@code null} if {@link #resultsMemoryBound} is not
+	 *             positive
+	 */
+	public ResultsStore getResultsStore() {
+		return resultsStore;
 	}
 }
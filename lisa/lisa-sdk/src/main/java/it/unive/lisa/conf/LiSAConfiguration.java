@@ -285,6 +285,343 @@ public class LiSAConfiguration extends BaseConfiguration {
 	 */
 	public boolean useWideningPoints = true;
 
+	/**
+	 * If {@code true}, will cause the ascending phase of forward fixpoint
+	 * iterations to follow the weak topological ordering of each {@link CFG}
+	 * (see {@link CFG#getWeakTopologicalOrder()}) instead of draining a
+	 * {@link WorkingSet} of type {@link #fixpointWorkingSet}. The ordering is
+	 * computed once per cfg, and each loop is stabilized (innermost first)
+	 * before moving to the statements that follow it, joining results only on
+	 * the heads of loops: this reduces the number of times the bodies of
+	 * nested loops are re-evaluated. Note that the heads of the ordering
+	 * coincide with the widening points (see {@link #useWideningPoints}) for
+	 * cfgs with structured loops: since results are joined only on heads,
+	 * widenings are applied on all of them, including the ones that are not
+	 * cycle entries (e.g., in irreducible loops). Descending phases and
+	 * backward fixpoints are not affected by this option. Defaults to
+	 * {@code false}.
+	 */
+	public boolean useWeakTopologicalOrder = false;
+
+	/**
+	 * Whether or not fixpoints over cfgs should run on a frozen, indexed view
+	 * of each cfg (see {@link CFG#getIndexedView()}), storing approximations
+	 * in arrays and tracking the nodes to process with a bitset instead of
+	 * {@link #fixpointWorkingSet}. Pending nodes are processed in reverse
+	 * postorder, and no hashing of statements and edges takes place during the
+	 * iterations. This option affects both ascending and descending phases of
+	 * forward fixpoints, but it is ignored for the ascending phase if
+	 * {@link #useWeakTopologicalOrder} is {@code true}. Backward fixpoints are
+	 * not affected by this option. Defaults to {@code false}.
+	 */
+	public boolean useIndexedFixpoint = false;
+
+	/**
+	 * Whether or not fixpoints over cfgs should compute the entry state of
+	 * each node incrementally, caching the contribution of each ingoing edge
+	 * and recomputing only the ones of predecessors whose approximation
+	 * changed since the last visit. Results are identical to the ones computed
+	 * without this option, at the price of keeping one additional state per
+	 * edge in memory for the duration of each fixpoint. This is beneficial for
+	 * cfgs with join points having many predecessors. Backward fixpoints are
+	 * not affected by this option. Defaults to {@code false}.
+	 */
+	public boolean useIncrementalEntryStates = false;
+
+	/**
+	 * The number of threads to use for computing the ascending phase of a
+	 * single forward fixpoint over a cfg. If greater than 1, such phase
+	 * follows the weak topological ordering of the cfg (as if
+	 * {@link #useWeakTopologicalOrder} was {@code true}), and its top-level
+	 * components (i.e., the strongly connected components of the cfg) are
+	 * stabilized concurrently as soon as all the components they depend on
+	 * have been stabilized. Components containing calls are still stabilized
+	 * one at a time and in order, so that interprocedural analyses observe
+	 * the same sequence of calls as in the sequential iteration: results are
+	 * thus identical to the ones obtained with
+	 * {@link #useWeakTopologicalOrder}. Use 1 or less to disable parallel
+	 * fixpoints. Defaults to 1.
+	 */
+	public int fixpointParallelism = 1;
+
+	/**
+	 * Whether or not the ascending phase of forward fixpoints over cfgs should
+	 * be sparse when the abstract state of the analysis is non-relational (see
+	 * {@link it.unive.lisa.analysis.SemanticDomain#isNonRelational()}). A
+	 * sparse fixpoint computes the def-use chains of the local variables of
+	 * each cfg, and propagates the abstract value of each variable only from
+	 * the statements defining it to the ones using it, while edges only carry
+	 * the information that is not bound to local variables: when a statement's
+	 * approximation changes, only the statements reading the variables it
+	 * defines are re-evaluated. Complete results are reconstructed once the
+	 * fixpoint converges. Since statements are visited fewer times, widenings
+	 * might be applied at different iterations, and results might thus be
+	 * more precise than the ones of the dense iteration. If the state is
+	 * relational, or if a descending phase has been requested, or if the
+	 * semantics of a statement involves variables that it does not refer to or
+	 * loses all the information of its entry state, the fixpoint falls back to
+	 * the dense iteration. When this option is
+	 * active, it takes precedence over {@link #useWeakTopologicalOrder},
+	 * {@link #useIndexedFixpoint}, {@link #useIncrementalEntryStates} and
+	 * {@link #fixpointParallelism}. Backward fixpoints are not affected by this
+	 * option. Defaults to {@code false}.
+	 */
+	public boolean useSparseFixpoint = false;
+
+	/**
+	 * The maximum number of transfers of basic blocks that optimized fixpoints
+	 * (see {@link #optimize}) cache. Each transfer is keyed by the leader of a
+	 * basic block and by the entry state it has been computed from: whenever
+	 * a block is reached again with an equal entry state, its post-state is
+	 * taken from the cache instead of re-executing its statements. Blocks
+	 * containing calls are never cached, as the results of calls might change
+	 * while the fixpoint is running. Least recently used transfers are evicted
+	 * once the cache is full. Caching does not change the results of the
+	 * analysis. Use 0 or less to disable caching. Defaults to 0.
+	 */
+	public int blockTransferCacheSize = 0;
+
+	/**
+	 * Whether or not results produced by optimized fixpoints (see
+	 * {@link #optimize}) should be unwound lazily. When this is {@code true}
+	 * and the state of a statement whose result has been discarded is
+	 * queried, only the basic block containing it is recomputed, starting
+	 * from the stored post-states of the statements preceding the block or,
+	 * if those have been discarded as well, by unwinding the blocks that
+	 * contain them in the same way. Recomputed blocks are cached, so that
+	 * further queries on them do not trigger any computation. When this is
+	 * {@code false}, the first query of a discarded state recomputes the
+	 * states of all statements of the cfg. Lazy unwinding produces the same
+	 * states, but its cost is proportional to the number of statements that
+	 * are actually queried (e.g., by semantic checks). If the blocks cannot be
+	 * recomputed on their own, all states are recomputed instead. Defaults to
+	 * {@code false}.
+	 */
+	public boolean unwindLazily = false;
+
+	/**
+	 * The maximum time, in milliseconds, that a single fixpoint computation
+	 * over a cfg can take before its results are degraded. Once this budget
+	 * (or any of {@link #fixpointVisitBudget},
+	 * {@link #globalFixpointTimeBudget} and {@link #globalFixpointVisitBudget})
+	 * is exceeded, the ascending phase of the fixpoint applies widenings at all
+	 * cycle entries, regardless of {@link #wideningThreshold}. Once twice the
+	 * budget has been consumed, the semantics of the remaining statements is
+	 * no longer computed, and top states are used instead. Degraded fixpoints
+	 * skip the descending phase, and the cfgs they target are listed in the
+	 * report of the analysis. Results are still sound, but less precise. Use 0
+	 * or less to disable this budget. Defaults to 0.
+	 */
+	public long fixpointTimeBudget = 0;
+
+	/**
+	 * The maximum number of statements that a single fixpoint computation over
+	 * a cfg can visit before its results are degraded, as described in
+	 * {@link #fixpointTimeBudget}. Use 0 or less to disable this budget.
+	 * Defaults to 0.
+	 */
+	public long fixpointVisitBudget = 0;
+
+	/**
+	 * The maximum time, in milliseconds, that all fixpoint computations can
+	 * take before their results are degraded, as described in
+	 * {@link #fixpointTimeBudget}. The time is measured from the start of the
+	 * analysis. Use 0 or less to disable this budget. Defaults to 0.
+	 */
+	public long globalFixpointTimeBudget = 0;
+
+	/**
+	 * The maximum number of statements that all fixpoint computations can
+	 * visit before their results are degraded, as described in
+	 * {@link #fixpointTimeBudget}. Use 0 or less to disable this budget.
+	 * Defaults to 0.
+	 */
+	public long globalFixpointVisitBudget = 0;
+
+	/**
+	 * The number of threads that interprocedural analyses supporting it
+	 * (e.g., the context-based one) use to re-analyze the code members whose
+	 * results have been invalidated by a fixpoint iteration. When this is
+	 * greater than 1, the call graph is condensed into its strongly connected
+	 * components at the beginning of each fixpoint iteration after the first
+	 * one, and the contexts of the invalidated members are re-analyzed from
+	 * the entry states they had in the previous iteration, processing
+	 * components bottom-up: each component is processed as soon as all the
+	 * components it calls have been processed, and independent components are
+	 * processed concurrently. Components containing recursions are skipped.
+	 * The results computed this way are used as summaries by the top-down
+	 * iteration that follows, that avoids re-analyzing callees invoked with
+	 * entry states covered by a summary. Results are sound, but they might be
+	 * less precise than the ones of the sequential analysis, as summaries
+	 * might have been computed from larger entry states. Use 1 or less to
+	 * disable the parallel re-analysis. Defaults to 1.
+	 */
+	public int interproceduralParallelism = 1;
+
+	/**
+	 * Whether or not interprocedural analyses supporting it (e.g., the
+	 * context-based one) should track which results are read while analyzing
+	 * each context, and use this information to drive their fixpoint
+	 * iterations. When this is {@code true}, the first fixpoint iteration
+	 * analyzes the whole program starting from its entrypoints, recording
+	 * which contexts read the results of which other contexts. Further
+	 * iterations do not re-analyze the program from its entrypoints: instead,
+	 * only the contexts that read a result that changed are re-analyzed,
+	 * starting from the entry states they have been last analyzed with, and
+	 * the contexts reading their results are re-analyzed in turn only if
+	 * such results change. Results are sound, but they might be less precise
+	 * than the ones obtained without this option, as each context keeps being
+	 * analyzed from the join of all the entry states it has been reached with,
+	 * even if some of them are no longer produced. When this option is active,
+	 * {@link #interproceduralParallelism} has no effect. Defaults to
+	 * {@code false}.
+	 */
+	public boolean useInterproceduralWorklist = false;
+
+	/**
+	 * The maximum number of results that interprocedural analyses supporting
+	 * it (e.g., the context-based one) memoize by cfg and entry state,
+	 * regardless of the context they have been computed in. When this is
+	 * greater than 0 and a call reaches a cfg in a context that has no result
+	 * covering its entry state, a result computed in another context from an
+	 * equal entry state is reused instead of computing a new fixpoint. This
+	 * avoids analyzing the same cfg from the same entry state once for each
+	 * call chain reaching it, that is common with context sensitivity tokens
+	 * tracking long call chains. Memoized results are discarded whenever a
+	 * stored result changes and at the beginning of each fixpoint iteration,
+	 * and the least recently used ones are evicted when the memo is full. The
+	 * number of lookups that found (or not) a memoized result is reported in
+	 * the statistics of the interprocedural analysis. Since a reused result is
+	 * not computed again, the callees of the cfg are not analyzed in the
+	 * contexts derived from the one reusing it: memoization is thus disabled
+	 * when {@link #useInterproceduralWorklist} is set, as the worklist would
+	 * miss the dependencies of such contexts. Defaults to 0 (that is, no
+	 * memoization).
+	 */
+	public int entryStateMemoSize = 0;
+
+	/**
+	 * Whether or not interprocedural analyses supporting it (e.g., the
+	 * context-based one) should process the entrypoints of the program
+	 * concurrently during their first fixpoint iteration, using
+	 * {@link #interproceduralParallelism} threads. Each entrypoint is analyzed
+	 * separately, without reading the results computed for the other ones,
+	 * and all results are then joined, triggering the usual further
+	 * iterations for the cfgs whose results needed a lub. Results do not
+	 * depend on how entrypoints are scheduled, but they might differ from the
+	 * ones obtained when entrypoints are processed sequentially, as the
+	 * results of cfgs reached from more than one entrypoint are computed
+	 * separately and then joined. This is beneficial for programs with many
+	 * entrypoints that mostly reach disjoint portions of the program. Defaults
+	 * to {@code false}.
+	 */
+	public boolean analyzeEntrypointsConcurrently = false;
+
+	/**
+	 * Whether or not interprocedural analyses supporting it (e.g., the
+	 * context-based one) should solve independent recursions concurrently,
+	 * using {@link #interproceduralParallelism} threads. Two recursions are
+	 * independent if the code members they contain and the ones they can
+	 * transitively call are disjoint: in this case, solving one cannot affect
+	 * the results of the other, and results do not depend on how recursions
+	 * are scheduled. Recursions that are not independent are solved in the
+	 * same order used when this option is disabled. This is beneficial for
+	 * programs with many small recursive helpers. Defaults to {@code false}.
+	 */
+	public boolean solveRecursionsConcurrently = false;
+
+	/**
+	 * The number of fixpoint iterations of the interprocedural analysis
+	 * between two consecutive checkpoints of its state. When this is greater
+	 * than 0, interprocedural analyses that support checkpointing (e.g., the
+	 * context-based one) write their state to the file named
+	 * {@link it.unive.lisa.interprocedural.checkpoint.Checkpoint#FILE_NAME}
+	 * inside {@link #workdir} every {@code checkpointFrequency} iterations, and
+	 * once more when they reach their fixpoint. Checkpoints can be used to
+	 * resume an interrupted analysis by setting {@link #resumeFromCheckpoint}.
+	 * Checkpointing requires the abstract states of the analysis to be
+	 * serializable: if this is not the case, a warning is logged and the
+	 * analysis proceeds without checkpoints. Classes that are not part of
+	 * LiSA or of the standard library must also be allowed through the
+	 * {@code jdk.serialFilter} system property to be read back (see
+	 * {@link it.unive.lisa.interprocedural.checkpoint.CheckpointInputStream}).
+	 * Defaults to 0 (that is, no checkpoints are written).
+	 */
+	public int checkpointFrequency = 0;
+
+	/**
+	 * Whether or not interprocedural analyses that support checkpointing
+	 * should resume from the checkpoint found in {@link #workdir} (see
+	 * {@link #checkpointFrequency}), if any, instead of starting from scratch.
+	 * The checkpoint must have been produced by analyzing the same program
+	 * with the same configuration: checkpoints taken with a configuration
+	 * that leads to different results are ignored with a warning, and the
+	 * analysis starts from scratch. If the checkpoint was taken after the
+	 * analysis reached its fixpoint, its results are used as they are, without
+	 * further iterations. Defaults to {@code false}.
+	 */
+	public boolean resumeFromCheckpoint = false;
+
+	/**
+	 * The directory where interprocedural analyses that support it (e.g., the
+	 * context-based one) cache the results of the cfgs they analyze, so that
+	 * further analysis runs (also of different applications sharing the same
+	 * code, e.g., the same libraries) can reuse them. When this is set, each
+	 * result computed for a cfg that is not part of a recursion is stored at
+	 * the end of the analysis, indexed by a hash of the body of the cfg, of
+	 * the configuration of the analysis and of the entry state the result has
+	 * been computed from. Whenever a call would require a new fixpoint over a
+	 * cfg, a result stored for the same key is used instead, provided that
+	 * the bodies of all the cfgs it depends on did not change. Caching
+	 * requires the abstract states of the analysis to be serializable (with
+	 * the same restrictions on their classes of {@link #checkpointFrequency}),
+	 * and results might differ in precision from the ones of an analysis
+	 * without the cache, as stored results might have been computed with
+	 * different approximations of the cfgs they call. The number of stored
+	 * results is bounded by {@link #summaryCacheSize}, and the cache hits and
+	 * misses are reported in the json report. Defaults to {@code null} (that
+	 * is, no results are cached).
+	 */
+	public String summaryCacheDirectory = null;
+
+	/**
+	 * The maximum number of results kept in {@link #summaryCacheDirectory}.
+	 * When this is exceeded at the end of an analysis, the least recently
+	 * used results are removed from the directory. Use 0 or less to never
+	 * remove results. Defaults to {@code 10000}.
+	 */
+	public int summaryCacheSize = 10000;
+
+	/**
+	 * The maximum number of abstract states that the results of the
+	 * interprocedural analysis can keep in memory, counting both the entry
+	 * states and the post-states stored for each context of each cfg. When
+	 * this is exceeded, the results of the least recently used cfgs are
+	 * written to a temporary file and removed from memory, and they are
+	 * transparently reloaded when the analysis or the semantic checks access
+	 * them again. Spilling requires the abstract states of the analysis to be
+	 * serializable (results that cannot be serialized are kept in memory),
+	 * and the number of spills and reloads is reported in the
+	 * {@link it.unive.lisa.LiSARunInfo}. Since the temporary file is deleted
+	 * at the end of the analysis, spilled results are no longer available
+	 * once the analysis terminates. Use 0 or less to keep all results in
+	 * memory. Defaults to {@code 0}.
+	 */
+	public int resultsMemoryBound = 0;
+
+	/**
+	 * Whether or not statistics about the fixpoint computations executed over
+	 * each cfg should be collected. When this is {@code true}, each fixpoint
+	 * (ascending, descending, or the unwinding of optimized results) records,
+	 * for each statement, the number of times its semantics has been computed,
+	 * the number of unions, operations, widenings and equality checks applied
+	 * to it, and the time spent computing its semantics. The collected data is
+	 * accessible through {@link it.unive.lisa.LiSAReport#getTelemetry()} and is dumped in the
+	 * json report, if one is generated. Note that collecting telemetry slows
+	 * down the analysis. Defaults to {@code false}.
+	 */
+	public boolean collectFixpointTelemetry = false;
+
 	/**
 	 * When {@link #optimize} is {@code true}, this predicate will be used to
 	 * determine additional statements (also considering intermediate ones) for
@@ -345,7 +682,9 @@ public class LiSAConfiguration extends BaseConfiguration {
 	/**
 	 * Converts this configuration to a property bag, that is, a map from keys
 	 * (fields of this class) to values (their values). {@link #abstractState},
-	 * {@link #callGraph}, and {@link #interproceduralAnalysis} are omitted.
+	 * {@link #callGraph}, and {@link #interproceduralAnalysis} are omitted,
+	 * together with the options that have not been set (i.e., whose value is
+	 * {@code null}).
 	 * 
 	 * @return the property bag
 	 */
@@ -373,6 +712,9 @@ public class LiSAConfiguration extends BaseConfiguration {
 					else if (Predicate.class.isAssignableFrom(field.getType()))
 						// not sure how we can get more details reliably
 						val = value == null ? "unset" : "set";
+					else if (value == null)
+						// options that have not been set are omitted
+						continue;
 					else
 						val = String.valueOf(value);
 					bag.put(key, val);
@@ -5,6 +5,8 @@ import it.unive.lisa.analysis.AnalyzedCFG;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.lattices.FunctionalLattice;
+import it.unive.lisa.interprocedural.checkpoint.ResultsStore;
+import it.unive.lisa.program.cfg.CFG;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -13,7 +15,8 @@ import org.apache.commons.lang3.tuple.Pair;
 /**
  * A {@link FunctionalLattice} from {@link ScopeId}s to {@link AnalyzedCFG}s.
  * This class is meant to store fixpoint results on each token generated during
- * the interprocedural analysis.
+ * the interprocedural analysis. Results can be stored and retrieved by
+ * concurrent fixpoints.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -24,6 +27,18 @@ public class CFGResults<A extends AbstractState<A>>
 		extends
 		FunctionalLattice<CFGResults<A>, ScopeId, AnalyzedCFG<A>> {
 
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The cfg whose results are stored in this object, if known.
+	 */
+	private final CFG cfg;
+
+	/**
+	 * The store managing the memory of the results, if any.
+	 */
+	private final ResultsStore store;
+
 	/**
 	 * Builds a new result.
 	 * 
@@ -32,13 +47,33 @@ public class CFGResults<A extends AbstractState<A>>
 	 */
 	public CFGResults(
 			AnalyzedCFG<A> lattice) {
+		this(lattice, null, null);
+	}
+
+	/**
+	 * Builds a new result, whose memory is managed by the given store.
+	 * 
+	 * @param lattice a singleton instance used for retrieving top and bottom
+	 *                    values
+	 * @param cfg     the cfg whose results will be stored in this object
+	 * @param store   the {@link ResultsStore} that might spill the results
+	 *                    (can be {@code null})
+	 */
+	public CFGResults(
+			AnalyzedCFG<A> lattice,
+			CFG cfg,
+			ResultsStore store) {
 		super(lattice);
+		this.cfg = cfg;
+		this.store = store;
 	}
 
 	private CFGResults(
 			AnalyzedCFG<A> lattice,
 			Map<ScopeId, AnalyzedCFG<A>> function) {
 		super(lattice, function);
+		this.cfg = null;
+		this.store = null;
 	}
 
 	/**
@@ -67,13 +102,13 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @throws SemanticException if something goes wrong during the update
 	 */
-	public Pair<Boolean, AnalyzedCFG<A>> putResult(
+	public synchronized Pair<Boolean, AnalyzedCFG<A>> putResult(
 			ScopeId token,
 			AnalyzedCFG<A> result)
 			throws SemanticException {
 		if (function == null) {
 			// no previous result
-			function = mkNewFunction(null, false);
+			function = store == null ? mkNewFunction(null, false) : store.newFunction(cfg);
 			function.put(token, result);
 			return Pair.of(false, result);
 		}
@@ -111,7 +146,7 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @return {@code true} if that condition holds
 	 */
-	public boolean contains(
+	public synchronized boolean contains(
 			ScopeId token) {
 		return function != null && function.containsKey(token);
 	}
@@ -126,11 +161,25 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @return the result, or {@code null}
 	 */
-	public AnalyzedCFG<A> get(
+	public synchronized AnalyzedCFG<A> get(
 			ScopeId token) {
 		return function == null ? null : function.get(token);
 	}
 
+	/**
+	 * Forgets the result recorded for the given {@code token}, if any.
+	 * 
+	 * @param token the {@link ScopeId} that identifying the result
+	 */
+	public synchronized void forget(
+			ScopeId token) {
+		if (function == null)
+			return;
+		function.remove(token);
+		if (function.isEmpty())
+			function = null;
+	}
+
 	/**
 	 * Yields all the results stored in this object, for any possible
 	 * {@link ScopeId} used.
@@ -143,12 +192,12 @@ public class CFGResults<A extends AbstractState<A>>
 
 	@Override
 	public CFGResults<A> top() {
-		return new CFGResults<>(lattice.top());
+		return new CFGResults<>(lattice.top(), cfg, store);
 	}
 
 	@Override
 	public CFGResults<A> bottom() {
-		return new CFGResults<>(lattice.bottom());
+		return new CFGResults<>(lattice.bottom(), cfg, store);
 	}
 
 	@Override
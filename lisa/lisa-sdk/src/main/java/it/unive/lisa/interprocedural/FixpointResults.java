@@ -5,6 +5,7 @@ import it.unive.lisa.analysis.AnalyzedCFG;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.lattices.FunctionalLattice;
+import it.unive.lisa.interprocedural.checkpoint.ResultsStore;
 import it.unive.lisa.program.cfg.CFG;
 import java.util.Map;
 import org.apache.commons.lang3.tuple.Pair;
@@ -12,7 +13,10 @@ import org.apache.commons.lang3.tuple.Pair;
 /**
  * A {@link FunctionalLattice} from {@link CFG}s to {@link CFGResults}s. This
  * class is meant to store all fixpoint results on all token generated during
- * the interprocedural analysis for each cfg under analysis.
+ * the interprocedural analysis for each cfg under analysis. Results can be
+ * stored and retrieved by concurrent fixpoints. If a {@link ResultsStore} is
+ * given, the results of each cfg are held by functions built by the store,
+ * that might spill them to disk.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -23,6 +27,13 @@ public class FixpointResults<A extends AbstractState<A>>
 		extends
 		FunctionalLattice<FixpointResults<A>, CFG, CFGResults<A>> {
 
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The store managing the memory of the results, if any.
+	 */
+	private final ResultsStore store;
+
 	/**
 	 * Builds a new result.
 	 * 
@@ -31,13 +42,30 @@ public class FixpointResults<A extends AbstractState<A>>
 	 */
 	public FixpointResults(
 			CFGResults<A> lattice) {
+		this(lattice, null);
+	}
+
+	/**
+	 * Builds a new result, whose memory is managed by the given store.
+	 * 
+	 * @param lattice a singleton instance used for retrieving top and bottom
+	 *                    values
+	 * @param store   the {@link ResultsStore} that might spill the results
+	 *                    (can be {@code null})
+	 */
+	public FixpointResults(
+			CFGResults<A> lattice,
+			ResultsStore store) {
 		super(lattice);
+		this.store = store;
 	}
 
 	private FixpointResults(
 			CFGResults<A> lattice,
-			Map<CFG, CFGResults<A>> function) {
+			Map<CFG, CFGResults<A>> function,
+			ResultsStore store) {
 		super(lattice, function);
+		this.store = store;
 	}
 
 	/**
@@ -59,9 +87,13 @@ public class FixpointResults<A extends AbstractState<A>>
 			ScopeId token,
 			AnalyzedCFG<A> result)
 			throws SemanticException {
-		if (function == null)
-			function = mkNewFunction(null, false);
-		CFGResults<A> res = function.computeIfAbsent(cfg, c -> new CFGResults<>(result.top()));
+		CFGResults<A> res;
+		synchronized (this) {
+			if (function == null)
+				function = mkNewFunction(null, false);
+			res = function.computeIfAbsent(cfg, c -> new CFGResults<>(result.top(), c, store));
+		}
+		// the update is synchronized on the results of the single cfg
 		return res.putResult(token, result);
 	}
 
@@ -72,7 +104,7 @@ public class FixpointResults<A extends AbstractState<A>>
 	 * 
 	 * @return {@code true} if that condition holds
 	 */
-	public boolean contains(
+	public synchronized boolean contains(
 			CFG cfg) {
 		return function != null && function.containsKey(cfg);
 	}
@@ -87,19 +119,19 @@ public class FixpointResults<A extends AbstractState<A>>
 	 * 
 	 * @return the result, or {@code null}
 	 */
-	public CFGResults<A> get(
+	public synchronized CFGResults<A> get(
 			CFG cfg) {
 		return function == null ? null : function.get(cfg);
 	}
 
 	@Override
 	public FixpointResults<A> top() {
-		return new FixpointResults<>(lattice.top());
+		return new FixpointResults<>(lattice.top(), store);
 	}
 
 	@Override
 	public FixpointResults<A> bottom() {
-		return new FixpointResults<>(lattice.bottom());
+		return new FixpointResults<>(lattice.bottom(), store);
 	}
 
 	/**
@@ -107,11 +139,13 @@ public class FixpointResults<A extends AbstractState<A>>
 	 * 
 	 * @param cfg the cfg to forget
 	 */
-	public void forget(
+	public synchronized void forget(
 			CFG cfg) {
 		if (function == null)
 			return;
-		function.remove(cfg);
+		CFGResults<A> res = function.remove(cfg);
+		if (res != null && store != null)
+			store.discard(res.function);
 		if (function.isEmpty())
 			function = null;
 	}
@@ -120,7 +154,7 @@ public class FixpointResults<A extends AbstractState<A>>
 	public FixpointResults<A> mk(
 			CFGResults<A> lattice,
 			Map<CFG, CFGResults<A>> function) {
-		return new FixpointResults<>(lattice, function);
+		return new FixpointResults<>(lattice, function, store);
 	}
 
 	@Override
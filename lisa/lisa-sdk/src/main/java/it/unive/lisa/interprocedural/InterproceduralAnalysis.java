@@ -32,6 +32,7 @@ import it.unive.lisa.type.VoidType;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -112,6 +113,17 @@ public interface InterproceduralAnalysis<A extends AbstractState<A>> {
 	Collection<AnalyzedCFG<A>> getAnalysisResultsOf(
 			CFG cfg);
 
+	/**
+	 * Yields statistics about the last execution of
+	 * {@link #fixpoint(AnalysisState, Class, FixpointConfiguration)}, in the
+	 * form of a property bag that is dumped in the json report.
+	 * 
+	 * @return the statistics (empty by default)
+	 */
+	default Map<String, String> getStatistics() {
+		return Map.of();
+	}
+
 	/**
 	 * Computes an analysis state that abstracts the execution of the possible
 	 * targets considering that they were given {@code parameters} as actual
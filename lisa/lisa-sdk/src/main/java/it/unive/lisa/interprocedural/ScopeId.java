@@ -2,6 +2,7 @@ package it.unive.lisa.interprocedural;
 
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import java.io.Serializable;
 
 /**
  * An identifier for an {@link InterproceduralAnalysis} to distinguish different
@@ -9,7 +10,7 @@ import it.unive.lisa.program.cfg.statement.call.CFGCall;
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
-public interface ScopeId {
+public interface ScopeId extends Serializable {
 
 	/**
 	 * Yields the id to use at the start of the analysis, for entrypoints.
@@ -10,6 +10,8 @@ import it.unive.lisa.program.cfg.statement.call.CFGCall;
  */
 public class UniqueScope implements ScopeId {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public ScopeId startingId() {
 		return this;
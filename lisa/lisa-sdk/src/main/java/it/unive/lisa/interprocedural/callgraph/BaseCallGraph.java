@@ -45,7 +45,8 @@ import org.apache.logging.log4j.Logger;
  * <br>
  * The graph underlying this call graph is built lazily through each call to
  * resolve: querying for information about the graph before the completion of
- * the analysis might lead to wrong results.
+ * the analysis might lead to wrong results. Calls can be registered and
+ * resolved by concurrent fixpoints.
  *
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a> and
  *             <a href="mailto:pietro.ferrara@unive.it">Pietro Ferrara</a>
@@ -71,7 +72,7 @@ public abstract class BaseCallGraph extends CallGraph {
 	}
 
 	@Override
-	public void registerCall(
+	public synchronized void registerCall(
 			CFGCall call) {
 		if (call.getSource() != null)
 			// this call has been generated through the resolution of an
@@ -92,9 +93,24 @@ public abstract class BaseCallGraph extends CallGraph {
 		}
 	}
 
+	@Override
+	public synchronized void registerCallSite(
+			Call call,
+			CodeMember target) {
+		CallGraphNode source = new CallGraphNode(this, call.getCFG());
+		if (!adjacencyMatrix.containsNode(source))
+			addNode(source, app.getEntryPoints().contains(call.getCFG()));
+
+		CallGraphNode t = new CallGraphNode(this, target);
+		if (!adjacencyMatrix.containsNode(t))
+			addNode(t, target instanceof CFG && app.getEntryPoints().contains(call.getCFG()));
+		addEdge(new CallGraphEdge(source, t));
+		callsites.computeIfAbsent(target, cm -> new HashSet<>()).add(call);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
-	public Call resolve(
+	public synchronized Call resolve(
 			UnresolvedCall call,
 			Set<Type>[] types,
 			SymbolAliasing aliasing)
@@ -340,7 +356,8 @@ public abstract class BaseCallGraph extends CallGraph {
 			Collection<NativeCFG> natives,
 			SymbolAliasing aliasing)
 			throws CallResolutionException {
-		for (CodeMember cm : app.getAllCodeCodeMembers())
+		for (CodeMember cm : onlyByName(aliasing) ? app.getCodeMembersByName(call.getTargetName())
+				: app.getAllCodeCodeMembers())
 			checkMember(call, types, targets, natives, aliasing, cm, false);
 	}
 
@@ -371,6 +388,7 @@ public abstract class BaseCallGraph extends CallGraph {
 			throw new CallResolutionException(
 					"An instance call should have at least one parameter to be used as the receiver of the call");
 		Expression receiver = call.getParameters()[0];
+		boolean byName = onlyByName(aliasing);
 		for (Type recType : getPossibleTypesOfReceiver(receiver, types[0])) {
 			CompilationUnit unit;
 			if (recType.isUnitType())
@@ -385,11 +403,27 @@ public abstract class BaseCallGraph extends CallGraph {
 			for (CompilationUnit cu : strategy.traverse(call, unit))
 				if (seen.add(cu))
 					// we inspect only the ones of the current unit
-					for (CodeMember cm : cu.getInstanceCodeMembers(false))
+					for (CodeMember cm : byName ? cu.getInstanceCodeMembersByName(call.getTargetName(), false)
+							: cu.getInstanceCodeMembers(false))
 						checkMember(call, types, targets, natives, aliasing, cm, true);
 		}
 	}
 
+	/**
+	 * Yields whether or not the only code members that can be targeted by a
+	 * call are the ones whose name is the target name of the call, that is, if
+	 * no symbol is aliased. In this case, call resolution only inspects such
+	 * members through the dispatch tables of the program.
+	 * 
+	 * @param aliasing the symbol aliasing information, might be {@code null}
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	private static boolean onlyByName(
+			SymbolAliasing aliasing) {
+		return aliasing == null || aliasing.getKeys().isEmpty();
+	}
+
 	/**
 	 * Checks if the given code member {@code cm} is a candidate target for the
 	 * given call, and proceeds to add it to the set of targets if it is.
@@ -511,7 +545,7 @@ public abstract class BaseCallGraph extends CallGraph {
 			throws CallResolutionException;
 
 	@Override
-	public Collection<Call> getCallSites(
+	public synchronized Collection<Call> getCallSites(
 			CodeMember cm) {
 		return callsites.getOrDefault(cm, Collections.emptyList());
 	}
@@ -10,10 +10,13 @@ import it.unive.lisa.type.Type;
 import it.unive.lisa.util.collections.workset.VisitOnceFIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.VisitOnceWorkingSet;
 import it.unive.lisa.util.datastructures.graph.BaseGraph;
-import it.unive.lisa.util.datastructures.graph.algorithms.SCCs;
+import it.unive.lisa.util.datastructures.graph.algorithms.IncrementalSCCs;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,13 +27,36 @@ import java.util.stream.Collectors;
  */
 public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, CallGraphEdge> {
 
+	/**
+	 * The strongly connected components of this graph, kept up-to-date as
+	 * edges are added to it.
+	 */
+	private final IncrementalSCCs<CallGraph, CallGraphNode, CallGraphEdge> components = new IncrementalSCCs<>();
+
+	/**
+	 * The compact snapshot of this graph answering queries, or {@code null}
+	 * if this graph changed since it has been taken.
+	 */
+	private CompactCallGraph compact;
+
+	/**
+	 * The number of changes made to this graph.
+	 */
+	private long changes;
+
+	/**
+	 * The value of {@link #changes} at the last query that could have been
+	 * answered by {@link #compact}.
+	 */
+	private long lastQuery = -1;
+
 	/**
 	 * Initializes the call graph of the given program. A call to this method
 	 * should effectively re-initialize the call graph as if it is yet to be
 	 * used. This is useful when the same instance is used in multiple analyses.
-	 *
+	 * 
 	 * @param app the application to analyze
-	 *
+	 * 
 	 * @throws CallGraphConstructionException if an exception happens while
 	 *                                            building the call graph
 	 */
@@ -39,6 +65,109 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 			throws CallGraphConstructionException {
 		entrypoints.clear();
 		adjacencyMatrix.clear();
+		components.clear();
+		changed();
+	}
+
+	@Override
+	public synchronized void addNode(
+			CallGraphNode node,
+			boolean entrypoint) {
+		if (!adjacencyMatrix.containsNode(node))
+			changed();
+		super.addNode(node, entrypoint);
+	}
+
+	@Override
+	public synchronized void addEdge(
+			CallGraphEdge edge) {
+		if (adjacencyMatrix.containsEdge(edge))
+			// calls are registered every time they are evaluated
+			return;
+		changed();
+		super.addEdge(edge);
+		components.edgeAdded(this, edge);
+	}
+
+	private void changed() {
+		compact = null;
+		changes++;
+	}
+
+	/**
+	 * Yields a compact and immutable snapshot of this call graph, that answers
+	 * (transitive) caller and callee queries without locking this graph. The
+	 * snapshot is taken at the first invocation of this method after this
+	 * graph changed, and it is then shared by all invocations until the next
+	 * change. Queries on this graph are automatically answered by the snapshot
+	 * once this graph stops changing.
+	 * 
+	 * @return the snapshot
+	 */
+	public synchronized CompactCallGraph freeze() {
+		if (compact == null)
+			compact = new CompactCallGraph(this, components);
+		return compact;
+	}
+
+	/**
+	 * Yields the snapshot of this graph that should answer a query, if any.
+	 * A snapshot is taken when two consecutive queries are not separated by
+	 * a change to this graph, that is, when the resolution of calls
+	 * stabilized: building it costs as much as answering a transitive query
+	 * by visiting this graph.
+	 * 
+	 * @return the snapshot, or {@code null} if queries have to visit this
+	 *             graph
+	 */
+	private synchronized CompactCallGraph snapshot() {
+		if (compact == null && lastQuery == changes)
+			compact = new CompactCallGraph(this, components);
+		lastQuery = changes;
+		return compact;
+	}
+
+	/**
+	 * Visits this graph from the given code members, following the given
+	 * relation.
+	 * 
+	 * @param cms  the code members to start from
+	 * @param next the relation to follow, yielding the successors of a code
+	 *                 member
+	 * 
+	 * @return the code members reached by the visit, excluding the starting
+	 *             ones unless they are reachable from other starting ones
+	 */
+	private static Collection<CodeMember> visit(
+			Collection<? extends CodeMember> cms,
+			Function<CodeMember, Collection<CodeMember>> next) {
+		VisitOnceWorkingSet<CodeMember> ws = VisitOnceFIFOWorkingSet.mk();
+		cms.forEach(cm -> next.apply(cm).stream().forEach(ws::push));
+		while (!ws.isEmpty())
+			next.apply(ws.pop()).stream().forEach(ws::push);
+		return ws.getSeen();
+	}
+
+	/**
+	 * Yields whether or not the given code members are part of the same
+	 * strongly connected component of this call graph, that is, if each of
+	 * them calls the other one, either directly or transitively. A code member
+	 * is always part of the same component as itself. This is a constant-time
+	 * lookup, as components are kept up-to-date while edges are added to this
+	 * call graph. The returned value might not be definitive if this call
+	 * graph is not fully built.
+	 * 
+	 * @param cm1 the first code member
+	 * @param cm2 the second code member
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public synchronized boolean sameComponent(
+			CodeMember cm1,
+			CodeMember cm2) {
+		if (cm1.equals(cm2))
+			return true;
+		return components.sameComponent(new CallGraphNode(this, cm1), new CallGraphNode(this, cm2));
 	}
 
 	/**
@@ -68,6 +197,30 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	public abstract void registerCall(
 			CFGCall call);
 
+	/**
+	 * Registers that the given {@link Call} targets the given
+	 * {@link CodeMember}, without resolving it. This is useful for restoring a
+	 * call graph whose call sites have been recorded through
+	 * {@link #getCallSites(CodeMember)} (e.g., from a checkpoint of a previous
+	 * analysis run). The default implementation only adds the corresponding
+	 * edge to this graph: subclasses that keep track of call sites should
+	 * override it.
+	 * 
+	 * @param call   the call
+	 * @param target the code member targeted by the call
+	 */
+	public synchronized void registerCallSite(
+			Call call,
+			CodeMember target) {
+		CallGraphNode source = new CallGraphNode(this, call.getCFG());
+		if (!adjacencyMatrix.containsNode(source))
+			addNode(source);
+		CallGraphNode t = new CallGraphNode(this, target);
+		if (!adjacencyMatrix.containsNode(t))
+			addNode(t);
+		addEdge(new CallGraphEdge(source, t));
+	}
+
 	/**
 	 * Yields all the {@link Call}s that target the given {@link CodeMember}.
 	 * The returned collection might contain partial results if this call graph
@@ -123,11 +276,7 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 */
 	public Collection<CodeMember> getCallersTransitively(
 			CodeMember cm) {
-		VisitOnceWorkingSet<CodeMember> ws = VisitOnceFIFOWorkingSet.mk();
-		getCallers(cm).stream().forEach(ws::push);
-		while (!ws.isEmpty())
-			getCallers(ws.pop()).stream().forEach(ws::push);
-		return ws.getSeen();
+		return getCallersTransitively(Collections.singleton(cm));
 	}
 
 	/**
@@ -141,11 +290,10 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 */
 	public Collection<CodeMember> getCallersTransitively(
 			Collection<? extends CodeMember> cms) {
-		VisitOnceWorkingSet<CodeMember> ws = VisitOnceFIFOWorkingSet.mk();
-		cms.forEach(cm -> getCallers(cm).stream().forEach(ws::push));
-		while (!ws.isEmpty())
-			getCallers(ws.pop()).stream().forEach(ws::push);
-		return ws.getSeen();
+		CompactCallGraph snapshot = snapshot();
+		if (snapshot != null)
+			return snapshot.getCallersTransitively(cms);
+		return visit(cms, this::getCallers);
 	}
 
 	/**
@@ -175,11 +323,7 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 */
 	public Collection<CodeMember> getCalleesTransitively(
 			CodeMember cm) {
-		VisitOnceWorkingSet<CodeMember> ws = VisitOnceFIFOWorkingSet.mk();
-		getCallees(cm).stream().forEach(ws::push);
-		while (!ws.isEmpty())
-			getCallees(ws.pop()).stream().forEach(ws::push);
-		return ws.getSeen();
+		return getCalleesTransitively(Collections.singleton(cm));
 	}
 
 	/**
@@ -193,11 +337,10 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 */
 	public Collection<CodeMember> getCalleesTransitively(
 			Collection<? extends CodeMember> cms) {
-		VisitOnceWorkingSet<CodeMember> ws = VisitOnceFIFOWorkingSet.mk();
-		cms.forEach(cm -> getCallees(cm).stream().forEach(ws::push));
-		while (!ws.isEmpty())
-			getCallees(ws.pop()).stream().forEach(ws::push);
-		return ws.getSeen();
+		CompactCallGraph snapshot = snapshot();
+		if (snapshot != null)
+			return snapshot.getCalleesTransitively(cms);
+		return visit(cms, this::getCallees);
 	}
 
 	/**
@@ -209,8 +352,10 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 * 
 	 * @return the collection of called code members
 	 */
-	public Collection<CodeMember> getCallees(
+	public synchronized Collection<CodeMember> getCallees(
 			CodeMember cm) {
+		if (compact != null)
+			return compact.getCallees(cm);
 		return followersOf(new CallGraphNode(this, cm)).stream()
 				.map(CallGraphNode::getCodeMember)
 				.collect(Collectors.toList());
@@ -225,29 +370,49 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 * 
 	 * @return the collection of callers code members
 	 */
-	public Collection<CodeMember> getCallers(
+	public synchronized Collection<CodeMember> getCallers(
 			CodeMember cm) {
+		if (compact != null)
+			return compact.getCallers(cm);
 		return predecessorsOf(new CallGraphNode(this, cm)).stream()
 				.map(CallGraphNode::getCodeMember)
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * Yields the strongly connected components of this call graph, in the form
+	 * of collections of the {@link CodeMember}s composing them. Differently
+	 * from {@link #getRecursions()}, the returned value also contains trivial
+	 * components made of a single code member that does not call itself.
+	 * 
+	 * @return the components
+	 */
+	public synchronized Collection<Collection<CodeMember>> getComponents() {
+		Collection<Collection<CodeMember>> result = new ArrayList<>();
+		Set<CodeMember> seen = new HashSet<>();
+		for (CallGraphNode node : getNodes()) {
+			CodeMember cm = node.getCodeMember();
+			if (seen.contains(cm))
+				continue;
+			Set<CallGraphNode> component = components.getComponent(node);
+			Set<CodeMember> members = component == null ? Collections.singleton(cm) : membersOf(component);
+			seen.addAll(members);
+			result.add(new HashSet<>(members));
+		}
+		return result;
+	}
+
 	/**
 	 * Yields all the recursions that happens in the program, in the form of
 	 * collections of the {@link CodeMember}s composing them.
 	 * 
 	 * @return the recursions
 	 */
-	public Collection<Collection<CodeMember>> getRecursions() {
-		Collection<Collection<CallGraphNode>> sccs = new SCCs<
-				CallGraph,
-				CallGraphNode,
-				CallGraphEdge>().buildNonTrivial(this);
-		return sccs.stream()
-				.map(nodes -> nodes.stream()
-						.map(node -> node.getCodeMember())
-						.collect(Collectors.toSet()))
-				.collect(Collectors.toSet());
+	public synchronized Collection<Collection<CodeMember>> getRecursions() {
+		Set<Collection<CodeMember>> result = new HashSet<>();
+		for (Collection<CallGraphNode> component : components.getNonTrivial())
+			result.add(membersOf(component));
+		return result;
 	}
 
 	/**
@@ -259,17 +424,23 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 * 
 	 * @return the recursions
 	 */
-	public Collection<Collection<CodeMember>> getRecursionsContaining(
+	public synchronized Collection<Collection<CodeMember>> getRecursionsContaining(
 			CodeMember cm) {
-		Collection<Collection<CallGraphNode>> sccs = new SCCs<
-				CallGraph,
-				CallGraphNode,
-				CallGraphEdge>().buildNonTrivial(this);
-		return sccs.stream()
-				.map(nodes -> nodes.stream()
-						.map(node -> node.getCodeMember())
-						.collect(Collectors.toSet()))
-				.filter(members -> members.contains(cm))
-				.collect(Collectors.toSet());
+		Set<Collection<CodeMember>> result = new HashSet<>();
+		CallGraphNode node = new CallGraphNode(this, cm);
+		Set<CallGraphNode> component = components.getComponent(node);
+		if (component != null)
+			result.add(membersOf(component));
+		else if (components.hasSelfLoop(node))
+			result.add(new HashSet<>(Collections.singleton(cm)));
+		return result;
+	}
+
+	private static Set<CodeMember> membersOf(
+			Collection<CallGraphNode> nodes) {
+		Set<CodeMember> result = new HashSet<>(nodes.size() * 2);
+		for (CallGraphNode node : nodes)
+			result.add(node.getCodeMember());
+		return result;
 	}
 }
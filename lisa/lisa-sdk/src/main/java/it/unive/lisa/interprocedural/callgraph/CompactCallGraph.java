@@ -0,0 +1,291 @@
+package it.unive.lisa.interprocedural.callgraph;
+
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.util.datastructures.graph.algorithms.IncrementalSCCs;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An immutable snapshot of a {@link CallGraph}, optimized for answering
+ * (transitive) caller and callee queries. Code members are numbered with
+ * consecutive integers, and both the callees and the callers of each code
+ * member are stored in compressed sparse row format: the callees of the code
+ * member with id {@code i} are the ids in
+ * {@code callees[calleesOffsets[i] .. calleesOffsets[i + 1])}, and similarly
+ * for callers. Transitive queries are thus plain visits over integer arrays,
+ * tracking visited code members in a {@link BitSet}.<br>
+ * <br>
+ * The result of a transitive query from a single code member is the same for
+ * all members of its strongly connected component: such results are memoized
+ * per component, and visits stop at the code members whose component has a
+ * memoized result, merging it instead. Memoization stops once the memoized
+ * bitsets exceed a fixed amount of memory, proportional to the size of the
+ * call graph. Instances of this class are safe to use from concurrent
+ * threads.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public final class CompactCallGraph {
+
+	/**
+	 * The number of bitsets, each as large as the number of code members,
+	 * that can be memoized for each direction.
+	 */
+	private static final int MEMO_BITSETS = 256;
+
+	private final CodeMember[] members;
+
+	private final Map<CodeMember, Integer> ids;
+
+	private final int[] calleesOffsets;
+
+	private final int[] callees;
+
+	private final int[] callersOffsets;
+
+	private final int[] callers;
+
+	/**
+	 * The id of the strongly connected component of each code member.
+	 */
+	private final int[] components;
+
+	/**
+	 * The code members transitively called by the members of each component,
+	 * indexed by component id.
+	 */
+	private final AtomicReferenceArray<BitSet> calleesMemo;
+
+	/**
+	 * The code members transitively calling the members of each component,
+	 * indexed by component id.
+	 */
+	private final AtomicReferenceArray<BitSet> callersMemo;
+
+	/**
+	 * The number of bits that can still be memoized, in both directions.
+	 */
+	private final AtomicLong memoBudget;
+
+	/**
+	 * Builds the snapshot of the given call graph.
+	 * 
+	 * @param graph      the call graph
+	 * @param components the strongly connected components of the graph
+	 */
+	CompactCallGraph(
+			CallGraph graph,
+			IncrementalSCCs<CallGraph, CallGraphNode, CallGraphEdge> components) {
+		Collection<CallGraphNode> nodes = graph.getNodes();
+		int n = nodes.size();
+		this.members = new CodeMember[n];
+		this.ids = new HashMap<>(n * 2);
+		CallGraphNode[] graphNodes = nodes.toArray(new CallGraphNode[n]);
+		for (int i = 0; i < n; i++) {
+			members[i] = graphNodes[i].getCodeMember();
+			ids.put(members[i], i);
+		}
+
+		this.components = new int[n];
+		for (int i = 0; i < n; i++) {
+			Set<CallGraphNode> component = components.getComponent(graphNodes[i]);
+			// members of the same component share the id of the first one
+			this.components[i] = i;
+			if (component != null)
+				for (CallGraphNode other : component) {
+					Integer id = ids.get(other.getCodeMember());
+					if (id != null && id < i) {
+						this.components[i] = this.components[id];
+						break;
+					}
+				}
+		}
+
+		this.calleesOffsets = new int[n + 1];
+		this.callersOffsets = new int[n + 1];
+		List<int[]> edges = new ArrayList<>();
+		for (int i = 0; i < n; i++)
+			for (CallGraphNode follower : graph.followersOf(graphNodes[i])) {
+				int dest = ids.get(follower.getCodeMember());
+				edges.add(new int[] { i, dest });
+				calleesOffsets[i + 1]++;
+				callersOffsets[dest + 1]++;
+			}
+		for (int i = 0; i < n; i++) {
+			calleesOffsets[i + 1] += calleesOffsets[i];
+			callersOffsets[i + 1] += callersOffsets[i];
+		}
+
+		this.callees = new int[edges.size()];
+		this.callers = new int[edges.size()];
+		int[] calleesNext = new int[n];
+		int[] callersNext = new int[n];
+		// edges are sorted by source, so callees keep the order of the
+		// original graph
+		for (int[] edge : edges) {
+			callees[calleesOffsets[edge[0]] + calleesNext[edge[0]]++] = edge[1];
+			callers[callersOffsets[edge[1]] + callersNext[edge[1]]++] = edge[0];
+		}
+
+		this.calleesMemo = new AtomicReferenceArray<>(n);
+		this.callersMemo = new AtomicReferenceArray<>(n);
+		this.memoBudget = new AtomicLong(2L * MEMO_BITSETS * Math.max(n, 64));
+	}
+
+	/**
+	 * Yields the number of code members in this call graph.
+	 * 
+	 * @return the number of code members
+	 */
+	public int getMembersCount() {
+		return members.length;
+	}
+
+	/**
+	 * Yields the number of calling relations in this call graph.
+	 * 
+	 * @return the number of edges
+	 */
+	public int getEdgesCount() {
+		return callees.length;
+	}
+
+	/**
+	 * Yields whether or not the given code member is part of this call graph.
+	 * 
+	 * @param cm the code member
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean contains(
+			CodeMember cm) {
+		return ids.containsKey(cm);
+	}
+
+	/**
+	 * Yields all the {@link CodeMember}s that are called by the given one.
+	 * 
+	 * @param cm the target code member
+	 * 
+	 * @return the collection of called code members
+	 */
+	public Collection<CodeMember> getCallees(
+			CodeMember cm) {
+		return neighbors(cm, calleesOffsets, callees);
+	}
+
+	/**
+	 * Yields all the {@link CodeMember}s that call the given one.
+	 * 
+	 * @param cm the target code member
+	 * 
+	 * @return the collection of callers code members
+	 */
+	public Collection<CodeMember> getCallers(
+			CodeMember cm) {
+		return neighbors(cm, callersOffsets, callers);
+	}
+
+	/**
+	 * Yields the transitive closure of {@link #getCallees(CodeMember)} over
+	 * each given code member.
+	 * 
+	 * @param cms the target code members
+	 * 
+	 * @return the collection of callees code members computed transitively
+	 */
+	public Collection<CodeMember> getCalleesTransitively(
+			Collection<? extends CodeMember> cms) {
+		return toMembers(reach(cms, calleesOffsets, callees, calleesMemo));
+	}
+
+	/**
+	 * Yields the transitive closure of {@link #getCallers(CodeMember)} over
+	 * each given code member.
+	 * 
+	 * @param cms the target code members
+	 * 
+	 * @return the collection of callers code members computed transitively
+	 */
+	public Collection<CodeMember> getCallersTransitively(
+			Collection<? extends CodeMember> cms) {
+		return toMembers(reach(cms, callersOffsets, callers, callersMemo));
+	}
+
+	private Collection<CodeMember> neighbors(
+			CodeMember cm,
+			int[] offsets,
+			int[] edges) {
+		Integer id = ids.get(cm);
+		if (id == null)
+			return new ArrayList<>();
+		List<CodeMember> result = new ArrayList<>(offsets[id + 1] - offsets[id]);
+		for (int e = offsets[id]; e < offsets[id + 1]; e++)
+			result.add(members[edges[e]]);
+		return result;
+	}
+
+	private Collection<CodeMember> toMembers(
+			BitSet bits) {
+		Set<CodeMember> result = new HashSet<>(bits.cardinality() * 2);
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+			result.add(members[i]);
+		return result;
+	}
+
+	private BitSet reach(
+			Collection<? extends CodeMember> cms,
+			int[] offsets,
+			int[] edges,
+			AtomicReferenceArray<BitSet> memo) {
+		BitSet reached = new BitSet(members.length);
+		int[] stack = new int[members.length];
+		int top = 0;
+		Integer single = null;
+		for (CodeMember cm : cms) {
+			Integer id = ids.get(cm);
+			if (id == null)
+				continue;
+			if (cms.size() == 1) {
+				BitSet memoized = memo.get(components[id]);
+				if (memoized != null)
+					return (BitSet) memoized.clone();
+				single = id;
+			}
+			for (int e = offsets[id]; e < offsets[id + 1]; e++)
+				if (!reached.get(edges[e])) {
+					reached.set(edges[e]);
+					stack[top++] = edges[e];
+				}
+		}
+
+		while (top > 0) {
+			int current = stack[--top];
+			BitSet memoized = memo.get(components[current]);
+			if (memoized != null) {
+				// all members reachable from current have been already
+				// computed: they are marked as reached without visiting them
+				reached.or(memoized);
+				continue;
+			}
+			for (int e = offsets[current]; e < offsets[current + 1]; e++)
+				if (!reached.get(edges[e])) {
+					reached.set(edges[e]);
+					stack[top++] = edges[e];
+				}
+		}
+
+		if (single != null && memoBudget.addAndGet(-reached.size()) >= 0)
+			// all members of a component reach the same code members
+			memo.compareAndSet(components[single], null, (BitSet) reached.clone());
+		return reached;
+	}
+}
@@ -0,0 +1,313 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.OptimizedAnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.interprocedural.CFGResults;
+import it.unive.lisa.interprocedural.FixpointResults;
+import it.unive.lisa.interprocedural.InterproceduralAnalysis;
+import it.unive.lisa.interprocedural.ScopeId;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.statement.call.Call;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A snapshot of the state of an {@link InterproceduralAnalysis} taken between
+ * two of its fixpoint iterations, that can be written to a file and read back
+ * to resume the analysis from where it was interrupted. A checkpoint contains:
+ * <ul>
+ * <li>the configuration of the analysis that took the checkpoint, as a
+ * fingerprint chosen by the analysis itself;</li>
+ * <li>the number of fixpoint iterations that were completed when the
+ * checkpoint was taken;</li>
+ * <li>the code members whose results changed during the last completed
+ * iteration, and that thus triggered a new one;</li>
+ * <li>the {@link FixpointResults} computed so far, that is, the
+ * {@link AnalyzedCFG}s of each cfg indexed by their {@link ScopeId}, together
+ * with whether or not they are degraded (see
+ * {@link AnalyzedCFG#isDegraded()});</li>
+ * <li>the call sites registered in the {@link CallGraph} during the
+ * analysis.</li>
+ * </ul>
+ * Checkpoints are written in a compressed binary format through
+ * {@link CheckpointOutputStream}s, that only write references to the elements
+ * of the program under analysis. Reading a checkpoint thus requires the same
+ * program that was used to write it, and an analysis with the same
+ * configuration. Moreover, all the abstract states contained in the results
+ * must be {@link java.io.Serializable}.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the type of {@link AbstractState} contained in the results
+ */
+public class Checkpoint<A extends AbstractState<A>> {
+
+	/**
+	 * The name of the file, inside the working directory of the analysis,
+	 * where checkpoints are written.
+	 */
+	public static final String FILE_NAME = "lisa-checkpoint.bin";
+
+	private static final int FORMAT_VERSION = 2;
+
+	private final String configuration;
+
+	private final int iteration;
+
+	private final Collection<CodeMember> triggers;
+
+	private final FixpointResults<A> results;
+
+	private final Map<CodeMember, Collection<Call>> callSites;
+
+	/**
+	 * Builds a checkpoint, recording all the call sites that are currently
+	 * registered in the given call graph.
+	 * 
+	 * @param configuration the fingerprint of the configuration of the
+	 *                          analysis, that must match the one of the
+	 *                          analysis reading the checkpoint
+	 * @param iteration     the number of completed fixpoint iterations
+	 * @param triggers      the code members that triggered a new fixpoint
+	 *                          iteration
+	 * @param results       the results computed so far (might be
+	 *                          {@code null})
+	 * @param callgraph     the call graph used by the analysis
+	 * @param app           the application under analysis
+	 */
+	public Checkpoint(
+			String configuration,
+			int iteration,
+			Collection<? extends CodeMember> triggers,
+			FixpointResults<A> results,
+			CallGraph callgraph,
+			Application app) {
+		this.configuration = configuration;
+		this.iteration = iteration;
+		this.triggers = new ArrayList<>(triggers);
+		this.results = results;
+		this.callSites = new HashMap<>();
+		for (CodeMember cm : app.getAllCodeCodeMembers()) {
+			Collection<Call> sites = callgraph.getCallSites(cm);
+			if (!sites.isEmpty())
+				callSites.put(cm, new ArrayList<>(sites));
+		}
+	}
+
+	private Checkpoint(
+			String configuration,
+			int iteration,
+			Collection<CodeMember> triggers,
+			FixpointResults<A> results,
+			Map<CodeMember, Collection<Call>> callSites) {
+		this.configuration = configuration;
+		this.iteration = iteration;
+		this.triggers = triggers;
+		this.results = results;
+		this.callSites = callSites;
+	}
+
+	/**
+	 * Yields the fingerprint of the configuration of the analysis that took
+	 * this checkpoint.
+	 * 
+	 * @return the fingerprint
+	 */
+	public String getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Yields the number of fixpoint iterations that were completed when this
+	 * checkpoint was taken.
+	 * 
+	 * @return the number of iterations
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * Yields the code members whose results changed during the last fixpoint
+	 * iteration completed before this checkpoint was taken. If this collection
+	 * is empty, the checkpoint was taken after the analysis reached its
+	 * fixpoint.
+	 * 
+	 * @return the triggers
+	 */
+	public Collection<CodeMember> getTriggers() {
+		return Collections.unmodifiableCollection(triggers);
+	}
+
+	/**
+	 * Yields the results stored in this checkpoint.
+	 * 
+	 * @return the results (might be {@code null})
+	 */
+	public FixpointResults<A> getResults() {
+		return results;
+	}
+
+	/**
+	 * Registers all the call sites stored in this checkpoint into the given
+	 * call graph.
+	 * 
+	 * @param callgraph the call graph to restore
+	 */
+	public void restoreCallSites(
+			CallGraph callgraph) {
+		for (Entry<CodeMember, Collection<Call>> sites : callSites.entrySet())
+			for (Call call : sites.getValue())
+				callgraph.registerCallSite(call, sites.getKey());
+	}
+
+	/**
+	 * Writes this checkpoint to the given file. The checkpoint is first
+	 * written to a temporary file that then replaces {@code file}, so that a
+	 * failure while writing does not corrupt a previous checkpoint.
+	 * 
+	 * @param file the file to write
+	 * @param app  the application under analysis
+	 * 
+	 * @throws IOException if something goes wrong while writing the file
+	 *                         (e.g., if some of the abstract states are not
+	 *                         serializable)
+	 */
+	public void write(
+			Path file,
+			Application app)
+			throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+		try (CheckpointOutputStream out = new CheckpointOutputStream(
+				new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp))), app)) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(configuration);
+			out.writeInt(iteration);
+			out.writeObject(triggers);
+			out.writeObject(callSites);
+
+			if (results == null)
+				out.writeInt(0);
+			else {
+				out.writeInt(results.getKeys().size());
+				for (Entry<CFG, CFGResults<A>> cfg : results) {
+					out.writeObject(cfg.getKey());
+					out.writeInt(cfg.getValue().getKeys().size());
+					for (Entry<ScopeId, AnalyzedCFG<A>> res : cfg.getValue()) {
+						out.writeObject(res.getKey());
+						out.writeBoolean(res.getValue() instanceof OptimizedAnalyzedCFG);
+						out.writeBoolean(res.getValue().isDegraded());
+						out.writeObject(res.getValue().getEntryStates());
+						out.writeObject(res.getValue().getResults());
+					}
+				}
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads a checkpoint from the given file. The results stored in the
+	 * checkpoint are restored into {@link FixpointResults} whose memory is
+	 * managed by the given store, if any.
+	 * 
+	 * @param <A>             the type of {@link AbstractState} contained in
+	 *                            the results
+	 * @param file            the file to read
+	 * @param app             the application under analysis, that must be
+	 *                            the same one used to write the checkpoint
+	 * @param interprocedural the analysis that the results will be given to,
+	 *                            used to unwind the results of optimized
+	 *                            analyses
+	 * @param configuration   the fingerprint of the configuration of the
+	 *                            analysis reading the checkpoint, that must
+	 *                            be the same one used to write it (can be
+	 *                            {@code null} to read checkpoints regardless
+	 *                            of their configuration, e.g. to inspect
+	 *                            them)
+	 * @param store           the {@link ResultsStore} that might spill the
+	 *                            restored results (can be {@code null})
+	 * 
+	 * @return the checkpoint
+	 * 
+	 * @throws IOException if something goes wrong while reading the file, or
+	 *                         if the file does not contain a valid checkpoint
+	 *                         for {@code app} and {@code configuration}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <A extends AbstractState<A>> Checkpoint<A> read(
+			Path file,
+			Application app,
+			InterproceduralAnalysis<A> interprocedural,
+			String configuration,
+			ResultsStore store)
+			throws IOException {
+		try (CheckpointInputStream in = new CheckpointInputStream(
+				new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))), app)) {
+			int version = in.readInt();
+			if (version != FORMAT_VERSION)
+				throw new InvalidObjectException("Unsupported checkpoint format: " + version);
+			String written = in.readUTF();
+			if (configuration != null && !written.equals(configuration))
+				throw new InvalidObjectException("The checkpoint has been taken by an analysis with a different "
+						+ "configuration: expected '" + configuration + "', found '" + written + "'");
+			int iteration = in.readInt();
+			List<CodeMember> triggers = (List<CodeMember>) in.readObject();
+			Map<CodeMember, Collection<Call>> callSites = (Map<CodeMember, Collection<Call>>) in.readObject();
+
+			FixpointResults<A> results = null;
+			int cfgs = in.readInt();
+			for (int i = 0; i < cfgs; i++) {
+				CFG cfg = (CFG) in.readObject();
+				int ids = in.readInt();
+				for (int j = 0; j < ids; j++) {
+					ScopeId id = (ScopeId) in.readObject();
+					boolean optimized = in.readBoolean();
+					boolean degraded = in.readBoolean();
+					StatementStore<A> entryStates = (StatementStore<A>) in.readObject();
+					StatementStore<A> states = (StatementStore<A>) in.readObject();
+					AnalyzedCFG<A> graph = optimized
+							? new OptimizedAnalyzedCFG<>(cfg, id, entryStates, states, interprocedural)
+							: new AnalyzedCFG<>(cfg, id, entryStates, states);
+					if (degraded)
+						graph.markDegraded();
+					if (results == null)
+						results = new FixpointResults<>(new CFGResults<>(graph).top(), store);
+					results.putResult(cfg, id, graph);
+				}
+			}
+
+			return new Checkpoint<>(written, iteration, triggers, results, callSites);
+		} catch (ClassNotFoundException | ClassCastException | SemanticException e) {
+			throw new IOException("The checkpoint stored in " + file + " is not valid", e);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.program.Application;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+
+/**
+ * An {@link ObjectInputStream} that reads objects written by a
+ * {@link CheckpointOutputStream}, resolving the handles found in the stream
+ * against the elements of an {@link Application}. The application must be
+ * the same one (or an identical copy of the one) used to write the stream.<br>
+ * <br>
+ * Since checkpoints and cached summaries are read from files that other
+ * processes might have written, streams only accept the classes of LiSA and
+ * the ones of the standard library that abstract states are commonly made of
+ * (see {@link #ALLOWED_CLASSES}). Other classes, e.g. the ones of abstract
+ * domains defined outside of LiSA, must be allowed through the process-wide
+ * filter (see {@link ObjectInputFilter.Config#getSerialFilter()}), that can be
+ * set with the {@code jdk.serialFilter} system property. All remaining classes
+ * are rejected, making the stream fail with an
+ * {@link java.io.InvalidClassException}.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class CheckpointInputStream extends ObjectInputStream {
+
+	/**
+	 * The classes that streams accept regardless of the process-wide filter,
+	 * in the syntax of {@link ObjectInputFilter.Config#createFilter(String)}.
+	 * Arrays are accepted if their component type is either primitive or
+	 * accepted.
+	 */
+	public static final String ALLOWED_CLASSES = "it.unive.lisa.**;java.lang.*;java.lang.invoke.SerializedLambda;"
+			+ "java.math.*;java.util.*;java.util.concurrent.*;java.util.concurrent.atomic.*;"
+			+ "org.apache.commons.lang3.tuple.*";
+
+	private static final ObjectInputFilter ALLOWED = ObjectInputFilter.Config.createFilter(ALLOWED_CLASSES);
+
+	private final ProgramIndex index;
+
+	/**
+	 * Builds the stream.
+	 * 
+	 * @param in  the underlying stream to read from
+	 * @param app the application used to resolve handles
+	 * 
+	 * @throws IOException if an I/O error occurs while reading the stream
+	 *                         header
+	 */
+	public CheckpointInputStream(
+			InputStream in,
+			Application app)
+			throws IOException {
+		this(in, new ProgramIndex(app));
+	}
+
+	/**
+	 * Builds the stream, sharing an existing index of the application.
+	 * 
+	 * @param in    the underlying stream to read from
+	 * @param index the index of the application
+	 * 
+	 * @throws IOException if an I/O error occurs while reading the stream
+	 *                         header
+	 */
+	CheckpointInputStream(
+			InputStream in,
+			ProgramIndex index)
+			throws IOException {
+		super(in);
+		this.index = index;
+		enableResolveObject(true);
+		setObjectInputFilter(new Allowlist(ObjectInputFilter.Config.getSerialFilter()));
+	}
+
+	@Override
+	protected Object resolveObject(
+			Object obj)
+			throws IOException {
+		if (obj instanceof Handle)
+			return ((Handle) obj).resolve(index);
+		return obj;
+	}
+
+	/**
+	 * The filter accepting {@link CheckpointInputStream#ALLOWED_CLASSES},
+	 * together with the classes accepted by the process-wide filter.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	private static class Allowlist implements ObjectInputFilter {
+
+		private final ObjectInputFilter global;
+
+		private Allowlist(
+				ObjectInputFilter global) {
+			this.global = global;
+		}
+
+		@Override
+		public Status checkInput(
+				FilterInfo info) {
+			Status status = global == null ? Status.UNDECIDED : global.checkInput(info);
+			Class<?> type = info.serialClass();
+			if (status != Status.UNDECIDED || type == null)
+				// limits on depth and size are left to the process-wide
+				// filter, if any
+				return status;
+
+			while (type.isArray())
+				type = type.getComponentType();
+			if (type.isPrimitive() || ALLOWED.checkInput(info) == Status.ALLOWED)
+				return Status.ALLOWED;
+			return Status.REJECTED;
+		}
+	}
+}
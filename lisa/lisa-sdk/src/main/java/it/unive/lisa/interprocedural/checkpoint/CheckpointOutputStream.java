@@ -0,0 +1,181 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.Unit;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.type.Type;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * An {@link ObjectOutputStream} that writes the objects produced by an
+ * analysis without writing the program they refer to. Whenever one of the
+ * following objects is found, a handle to it is written in its place:
+ * <ul>
+ * <li>constants, that is, objects stored in a {@code static final} field of
+ * their own class or of one of its superclasses (e.g., singleton instances of
+ * operators, types and lattice elements, whose identity must be preserved
+ * when the checkpoint is read back);</li>
+ * <li>{@link Program}s, {@link Unit}s and {@link CodeMember}s of the
+ * application;</li>
+ * <li>{@link Statement}s of the cfgs of the application, together with the
+ * {@link CFGCall}s obtained by resolving them;</li>
+ * <li>{@link Type}s registered in the type system of a program of the
+ * application.</li>
+ * </ul>
+ * All other objects are written using standard Java serialization, and must
+ * thus be {@link java.io.Serializable}.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class CheckpointOutputStream extends ObjectOutputStream {
+
+	private static final Map<Class<?>, Map<Object, Field>> CONSTANTS = new HashMap<>();
+
+	private final ProgramIndex index;
+
+	/**
+	 * Builds the stream.
+	 * 
+	 * @param out the underlying stream to write to
+	 * @param app the application whose elements are written as handles
+	 * 
+	 * @throws IOException if an I/O error occurs while writing the stream
+	 *                         header
+	 */
+	public CheckpointOutputStream(
+			OutputStream out,
+			Application app)
+			throws IOException {
+		this(out, new ProgramIndex(app));
+	}
+
+	/**
+	 * Builds the stream, sharing an existing index of the application.
+	 * 
+	 * @param out    the underlying stream to write to
+	 * @param index the index of the application
+	 * 
+	 * @throws IOException if an I/O error occurs while writing the stream
+	 *                         header
+	 */
+	CheckpointOutputStream(
+			OutputStream out,
+			ProgramIndex index)
+			throws IOException {
+		super(out);
+		this.index = index;
+		enableReplaceObject(true);
+	}
+
+	@Override
+	protected Object replaceObject(
+			Object obj)
+			throws IOException {
+		if (obj == null || obj instanceof Handle || obj instanceof Enum || obj.getClass().isArray()
+				|| obj.getClass().getName().startsWith("java."))
+			return obj;
+
+		Field constant = constants(obj.getClass()).get(obj);
+		if (constant != null)
+			return new Handle.Constant(constant);
+
+		if (obj instanceof Program) {
+			int program = index.indexOf((Program) obj);
+			if (program < 0)
+				throw new NotSerializableException(obj + " is not part of the application");
+			return new Handle.ProgramRef(program);
+		}
+
+		if (obj instanceof Unit) {
+			Unit unit = (Unit) obj;
+			int program = index.indexOf(unit.getProgram());
+			if (program < 0 || unit.getProgram().getUnit(unit.getName()) != unit)
+				throw new NotSerializableException(obj + " is not part of the application");
+			return new Handle.UnitRef(program, unit.getName());
+		}
+
+		if (obj instanceof CodeMember) {
+			String key = ProgramIndex.key((CodeMember) obj);
+			if (index.member(key) == null)
+				throw new NotSerializableException(obj + " is not part of the application");
+			return new Handle.MemberRef(key);
+		}
+
+		if (obj instanceof Statement)
+			return statement((Statement) obj);
+
+		if (obj instanceof Type) {
+			String name = obj.toString();
+			Program program;
+			for (int i = 0; (program = index.program(i)) != null; i++)
+				if (program.getTypes().getType(name) == obj)
+					return new Handle.TypeRef(i, name);
+		}
+
+		return obj;
+	}
+
+	private Handle statement(
+			Statement st)
+			throws IOException {
+		String cfg = ProgramIndex.key(st.getCFG());
+		int position = index.indexOf(st);
+		if (position >= 0)
+			return new Handle.StatementRef(cfg, position);
+
+		if (st instanceof CFGCall && ((CFGCall) st).getSource() != null) {
+			CFGCall call = (CFGCall) st;
+			int source = index.indexOf(call.getSource());
+			if (source >= 0) {
+				String[] targets = new String[call.getTargetedCFGs().size()];
+				int i = 0;
+				for (CFG target : call.getTargetedCFGs())
+					targets[i++] = ProgramIndex.key(target);
+				return new Handle.ResolvedCallRef(cfg, source, targets);
+			}
+		}
+
+		throw new NotSerializableException(st + " at " + st.getLocation() + " is not part of the application");
+	}
+
+	private static Map<Object, Field> constants(
+			Class<?> type) {
+		synchronized (CONSTANTS) {
+			Map<Object, Field> result = CONSTANTS.get(type);
+			if (result != null)
+				return result;
+
+			result = new IdentityHashMap<>();
+			for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass())
+				for (Field field : cls.getDeclaredFields()) {
+					int mod = field.getModifiers();
+					if (!Modifier.isStatic(mod) || !Modifier.isFinal(mod) || field.getType().isPrimitive())
+						continue;
+					try {
+						field.setAccessible(true);
+						Object value = field.get(null);
+						if (value != null && type.isInstance(value))
+							result.putIfAbsent(value, field);
+					} catch (ReflectiveOperationException | RuntimeException e) {
+						// inaccessible fields cannot hold constants we are
+						// interested in
+					}
+				}
+
+			CONSTANTS.put(type, result);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,328 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * A serializable reference to an object that is not written into a
+ * {@link Checkpoint}, as it is either part of the program under analysis or a
+ * constant of the running application. Handles are written by
+ * {@link CheckpointOutputStream} in place of the objects they refer to, and
+ * they are resolved back to such objects by {@link CheckpointInputStream}.
+ * Since handles are resolved as soon as they are read, they cannot refer to
+ * each other and must only contain primitive values, strings and classes.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+interface Handle extends Serializable {
+
+	/**
+	 * Resolves this handle.
+	 * 
+	 * @param index the index of the program under analysis
+	 * 
+	 * @return the object referred to by this handle
+	 * 
+	 * @throws InvalidObjectException if the object cannot be found
+	 */
+	Object resolve(
+			ProgramIndex index)
+			throws InvalidObjectException;
+
+	/**
+	 * A handle to a {@code static final} field holding a constant value.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class Constant implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Class<?> owner;
+
+		private final String field;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param field the field holding the constant
+		 */
+		Constant(
+				Field field) {
+			this.owner = field.getDeclaringClass();
+			this.field = field.getName();
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			try {
+				Field f = owner.getDeclaredField(field);
+				f.setAccessible(true);
+				return f.get(null);
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				InvalidObjectException ex = new InvalidObjectException(
+						"Unable to read constant " + owner.getName() + "." + field);
+				ex.initCause(e);
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * A handle to a {@link Program} of the application.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class ProgramRef implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int program;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param program the position of the program in the application
+		 */
+		ProgramRef(
+				int program) {
+			this.program = program;
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			Program p = index.program(program);
+			if (p == null)
+				throw new InvalidObjectException("No program at position " + program);
+			return p;
+		}
+	}
+
+	/**
+	 * A handle to a {@link it.unive.lisa.program.Unit} of the application.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class UnitRef implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int program;
+
+		private final String name;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param program the position of the program defining the unit
+		 * @param name    the name of the unit
+		 */
+		UnitRef(
+				int program,
+				String name) {
+			this.program = program;
+			this.name = name;
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			Program p = index.program(program);
+			Object unit = p == null ? null : p.getUnit(name);
+			if (unit == null)
+				throw new InvalidObjectException("No unit named " + name);
+			return unit;
+		}
+	}
+
+	/**
+	 * A handle to a {@link it.unive.lisa.type.Type} registered in the type
+	 * system of a program of the application.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class TypeRef implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int program;
+
+		private final String name;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param program the position of the program whose type system
+		 *                    contains the type
+		 * @param name    the name of the type
+		 */
+		TypeRef(
+				int program,
+				String name) {
+			this.program = program;
+			this.name = name;
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			Program p = index.program(program);
+			Object type = p == null ? null : p.getTypes().getType(name);
+			if (type == null)
+				throw new InvalidObjectException("No type named " + name);
+			return type;
+		}
+	}
+
+	/**
+	 * A handle to a {@link CodeMember} of the application.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class MemberRef implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String member;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param member the key of the code member
+		 */
+		MemberRef(
+				String member) {
+			this.member = member;
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			return member(index, member);
+		}
+	}
+
+	/**
+	 * A handle to a {@link Statement} of a {@link CFG} of the application.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class StatementRef implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String cfg;
+
+		private final int position;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param cfg      the key of the cfg containing the statement
+		 * @param position the position of the statement in the cfg
+		 */
+		StatementRef(
+				String cfg,
+				int position) {
+			this.cfg = cfg;
+			this.position = position;
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			return statement(index, cfg, position);
+		}
+	}
+
+	/**
+	 * A handle to a {@link CFGCall} produced during the analysis by resolving
+	 * an {@link UnresolvedCall} of a {@link CFG} of the application.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	final class ResolvedCallRef implements Handle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String cfg;
+
+		private final int source;
+
+		private final String[] targets;
+
+		/**
+		 * Builds the handle.
+		 * 
+		 * @param cfg     the key of the cfg containing the unresolved call
+		 * @param source  the position of the unresolved call in the cfg
+		 * @param targets the keys of the targets of the call
+		 */
+		ResolvedCallRef(
+				String cfg,
+				int source,
+				String[] targets) {
+			this.cfg = cfg;
+			this.source = source;
+			this.targets = targets;
+		}
+
+		@Override
+		public Object resolve(
+				ProgramIndex index)
+				throws InvalidObjectException {
+			Statement st = statement(index, cfg, source);
+			if (!(st instanceof UnresolvedCall))
+				throw new InvalidObjectException(st + " is not an unresolved call");
+			Collection<CFG> resolved = new ArrayList<>(targets.length);
+			for (String target : targets) {
+				CodeMember cm = member(index, target);
+				if (!(cm instanceof CFG))
+					throw new InvalidObjectException(target + " is not a cfg");
+				resolved.add((CFG) cm);
+			}
+			CFGCall call = new CFGCall((UnresolvedCall) st, resolved);
+			call.setSource((UnresolvedCall) st);
+			return call;
+		}
+	}
+
+	private static CodeMember member(
+			ProgramIndex index,
+			String key)
+			throws InvalidObjectException {
+		CodeMember cm = index.member(key);
+		if (cm == null)
+			throw new InvalidObjectException("No code member identified by " + key);
+		return cm;
+	}
+
+	private static Statement statement(
+			ProgramIndex index,
+			String cfg,
+			int position)
+			throws InvalidObjectException {
+		CodeMember cm = member(index, cfg);
+		Statement st = cm instanceof CFG ? index.statement((CFG) cm, position) : null;
+		if (st == null)
+			throw new InvalidObjectException("No statement at position " + position + " of " + cfg);
+		return st;
+	}
+}
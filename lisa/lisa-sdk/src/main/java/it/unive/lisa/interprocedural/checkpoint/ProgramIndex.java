@@ -0,0 +1,243 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.datastructures.graph.GraphVisitor;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An index over the elements of an {@link Application} that can be referenced
+ * by the objects stored in a {@link Checkpoint}. Elements are identified by
+ * keys that do not depend on the identity of the objects, so that a checkpoint
+ * written while analyzing an application can be read back while analyzing
+ * another instance of the same application (e.g., the one obtained by parsing
+ * the same sources in a new process).
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+final class ProgramIndex {
+
+	private final Application app;
+
+	private final Map<String, CodeMember> members;
+
+	private final Map<CFG, List<Statement>> statements;
+
+	private final Map<CFG, Map<Statement, Integer>> positions;
+
+	private final Map<CFG, String> fingerprints;
+
+	/**
+	 * Builds the index.
+	 * 
+	 * @param app the application to index
+	 */
+	ProgramIndex(
+			Application app) {
+		this.app = app;
+		this.members = new HashMap<>();
+		this.statements = new IdentityHashMap<>();
+		this.positions = new IdentityHashMap<>();
+		this.fingerprints = new IdentityHashMap<>();
+		for (CodeMember cm : app.getAllCodeCodeMembers())
+			members.put(key(cm), cm);
+	}
+
+	/**
+	 * Yields the key identifying the given code member.
+	 * 
+	 * @param cm the code member
+	 * 
+	 * @return the key
+	 */
+	static String key(
+			CodeMember cm) {
+		return cm.getDescriptor().getLocation() + ":" + cm.getDescriptor().getFullSignatureWithParNames();
+	}
+
+	/**
+	 * Yields the code member identified by the given key.
+	 * 
+	 * @param key the key
+	 * 
+	 * @return the code member, or {@code null} if no code member of the
+	 *             application is identified by {@code key}
+	 */
+	CodeMember member(
+			String key) {
+		return members.get(key);
+	}
+
+	/**
+	 * Yields the position of the given program among the ones of the
+	 * application.
+	 * 
+	 * @param program the program
+	 * 
+	 * @return the position, or {@code -1} if the program is not part of the
+	 *             application
+	 */
+	int indexOf(
+			Program program) {
+		Program[] programs = app.getPrograms();
+		for (int i = 0; i < programs.length; i++)
+			if (programs[i] == program)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Yields the program at the given position among the ones of the
+	 * application.
+	 * 
+	 * @param index the position
+	 * 
+	 * @return the program, or {@code null} if {@code index} is out of bounds
+	 */
+	Program program(
+			int index) {
+		Program[] programs = app.getPrograms();
+		return index < 0 || index >= programs.length ? null : programs[index];
+	}
+
+	/**
+	 * Yields the position of the given statement among the ones of its cfg,
+	 * including the ones nested into other statements.
+	 * 
+	 * @param st the statement
+	 * 
+	 * @return the position, or {@code -1} if the statement is not part of its
+	 *             cfg (e.g., because it was created during the analysis)
+	 */
+	synchronized int indexOf(
+			Statement st) {
+		if (!members.containsKey(key(st.getCFG())))
+			return -1;
+		index(st.getCFG());
+		return positions.get(st.getCFG()).getOrDefault(st, -1);
+	}
+
+	/**
+	 * Yields the statement at the given position among the ones of the given
+	 * cfg, including the ones nested into other statements.
+	 * 
+	 * @param cfg   the cfg
+	 * @param index the position
+	 * 
+	 * @return the statement, or {@code null} if {@code index} is out of bounds
+	 */
+	synchronized Statement statement(
+			CFG cfg,
+			int index) {
+		List<Statement> sts = index(cfg);
+		return index < 0 || index >= sts.size() ? null : sts.get(index);
+	}
+
+	/**
+	 * Yields the application indexed by this object.
+	 * 
+	 * @return the application
+	 */
+	Application getApplication() {
+		return app;
+	}
+
+	/**
+	 * Yields a hash of the body of the given cfg, that only depends on its
+	 * key, on its statements (including the ones nested into other statements)
+	 * and on its edges. Cfgs of different applications having the same
+	 * fingerprint are thus structurally identical, and statements at the same
+	 * position in both refer to the same code.
+	 * 
+	 * @param cfg the cfg
+	 * 
+	 * @return the fingerprint, as an hexadecimal string
+	 */
+	synchronized String fingerprint(
+			CFG cfg) {
+		String fingerprint = fingerprints.get(cfg);
+		if (fingerprint != null)
+			return fingerprint;
+
+		List<Statement> sts = index(cfg);
+		Map<Statement, Integer> pos = positions.get(cfg);
+		StringBuilder body = new StringBuilder(key(cfg));
+		for (Statement st : sts)
+			body.append('\n').append(st.getClass().getName())
+					.append('@').append(st.getLocation())
+					.append(':').append(st);
+		Collection<String> edges = new TreeSet<>();
+		for (Edge edge : cfg.getEdges())
+			edges.add(pos.get(edge.getSource()) + edge.getClass().getName() + pos.get(edge.getDestination()));
+		for (String edge : edges)
+			body.append('\n').append(edge);
+
+		fingerprint = hash(body.toString().getBytes(StandardCharsets.UTF_8));
+		fingerprints.put(cfg, fingerprint);
+		return fingerprint;
+	}
+
+	/**
+	 * Yields the SHA-256 hash of the given bytes.
+	 * 
+	 * @param bytes the bytes
+	 * 
+	 * @return the hash, as an hexadecimal string
+	 */
+	static String hash(
+			byte[] bytes) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+			return String.format("%064x", new BigInteger(1, digest));
+		} catch (NoSuchAlgorithmException e) {
+			// every java platform is required to support SHA-256
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private List<Statement> index(
+			CFG cfg) {
+		List<Statement> sts = statements.get(cfg);
+		if (sts != null)
+			return sts;
+
+		// statements are sorted by their natural ordering, that only depends
+		// on their location and structure
+		Collection<Statement> all = new TreeSet<>();
+		GraphVisitor<CFG, Statement, Edge, Collection<Statement>> collector = new GraphVisitor<>() {
+
+			@Override
+			public boolean visit(
+					Collection<Statement> tool,
+					CFG graph,
+					Statement node) {
+				tool.add(node);
+				return true;
+			}
+		};
+		for (Statement node : cfg.getNodes())
+			node.accept(collector, all);
+
+		sts = new ArrayList<>(all);
+		Map<Statement, Integer> pos = new HashMap<>(sts.size());
+		for (int i = 0; i < sts.size(); i++)
+			pos.put(sts.get(i), i);
+		statements.put(cfg, sts);
+		positions.put(cfg, pos);
+		return sts;
+	}
+}
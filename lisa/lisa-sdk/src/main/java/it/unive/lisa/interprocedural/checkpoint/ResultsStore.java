@@ -0,0 +1,474 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.OptimizedAnalyzedCFG;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.interprocedural.CFGResults;
+import it.unive.lisa.interprocedural.InterproceduralAnalysis;
+import it.unive.lisa.interprocedural.ScopeId;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.cfg.CFG;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A memory-bounded store for the results computed by an
+ * {@link InterproceduralAnalysis}. The store builds the functions from
+ * {@link ScopeId}s to {@link AnalyzedCFG}s held by the {@link CFGResults} of
+ * each cfg: a function is either resident, if its results are in memory, or
+ * spilled, if they have been written to a file. The size of a function is the
+ * number of abstract states held by its results. Whenever the size of the
+ * resident functions exceeds the bound of the store, the least recently used
+ * ones are spilled until the bound is met again, and spilled functions are
+ * transparently reloaded when they are accessed. Functions that did not
+ * change since they have been reloaded are spilled without being written
+ * again.<br>
+ * <br>
+ * Results are written through {@link CheckpointOutputStream}s, one record
+ * after the other, in a temporary file that is deleted when the store is
+ * closed. Functions containing abstract states that are not
+ * {@link java.io.Serializable} are never spilled. All functions built by the
+ * store share its lock, and the store is thus safe to use from concurrent
+ * analyses.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class ResultsStore implements Closeable {
+
+	private static final Logger LOG = LogManager.getLogger(ResultsStore.class);
+
+	private final long bound;
+
+	/**
+	 * The resident functions, indexed by their identifier and sorted from the
+	 * least to the most recently used.
+	 */
+	private final Map<Long, SpillableFunction<?>> resident = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long residentSize;
+
+	private long nextId;
+
+	private Path path;
+
+	private FileChannel file;
+
+	private long end;
+
+	private boolean closed;
+
+	private long spills;
+
+	private long reloads;
+
+	private Application app;
+
+	private ProgramIndex index;
+
+	private InterproceduralAnalysis<?> interprocedural;
+
+	/**
+	 * Builds the store.
+	 * 
+	 * @param bound the maximum number of abstract states that resident
+	 *                  functions can hold
+	 */
+	public ResultsStore(
+			long bound) {
+		this.bound = bound;
+	}
+
+	/**
+	 * Binds this store to the analysis whose results it will hold. Spilled
+	 * results can only be reloaded if the store is bound to the same
+	 * application that was analyzed when they have been spilled.
+	 * 
+	 * @param app             the application under analysis
+	 * @param interprocedural the analysis that the results will be given to,
+	 *                            used to unwind the results of optimized
+	 *                            analyses
+	 */
+	public synchronized void bind(
+			Application app,
+			InterproceduralAnalysis<?> interprocedural) {
+		if (this.app != app) {
+			this.app = app;
+			this.index = null;
+		}
+		this.interprocedural = interprocedural;
+	}
+
+	/**
+	 * Builds a new, empty function from {@link ScopeId}s to the results of the
+	 * given cfg, whose memory is managed by this store.
+	 * 
+	 * @param <A> the type of {@link AbstractState} contained in the results
+	 * @param cfg the cfg whose results will be stored in the function
+	 * 
+	 * @return the function
+	 */
+	public <A extends AbstractState<A>> Map<ScopeId, AnalyzedCFG<A>> newFunction(
+			CFG cfg) {
+		return new SpillableFunction<>(cfg);
+	}
+
+	/**
+	 * Stops tracking the given function, whose results are no longer needed.
+	 * Does nothing if {@code function} has not been built by this store.
+	 * 
+	 * @param function the function
+	 */
+	public synchronized void discard(
+			Map<?, ?> function) {
+		if (function instanceof SpillableFunction)
+			untrack((SpillableFunction<?>) function);
+	}
+
+	/**
+	 * Yields the number of times that the results of a cfg have been spilled.
+	 * 
+	 * @return the number of spills
+	 */
+	public synchronized long getSpills() {
+		return spills;
+	}
+
+	/**
+	 * Yields the number of times that the spilled results of a cfg have been
+	 * reloaded.
+	 * 
+	 * @return the number of reloads
+	 */
+	public synchronized long getReloads() {
+		return reloads;
+	}
+
+	/**
+	 * Yields the number of bytes written to the file of this store.
+	 * 
+	 * @return the number of bytes
+	 */
+	public synchronized long getWrittenBytes() {
+		return end;
+	}
+
+	/**
+	 * Closes this store, deleting its file. Results that are spilled when the
+	 * store is closed can no longer be reloaded.
+	 * 
+	 * @throws IOException if something goes wrong while closing the file
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		closed = true;
+		resident.clear();
+		residentSize = 0;
+		if (file != null)
+			file.close();
+		file = null;
+	}
+
+	private ProgramIndex index() throws IOException {
+		if (app == null)
+			throw new IOException("The store is not bound to any application");
+		if (index == null)
+			index = new ProgramIndex(app);
+		return index;
+	}
+
+	private FileChannel file() throws IOException {
+		if (closed)
+			throw new IOException("The store has been closed");
+		if (file == null) {
+			path = Files.createTempFile("lisa-results", ".bin");
+			file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+		}
+		return file;
+	}
+
+	private void track(
+			SpillableFunction<?> function) {
+		if (resident.put(function.id, function) == null)
+			residentSize += function.size;
+	}
+
+	private void untrack(
+			SpillableFunction<?> function) {
+		if (resident.remove(function.id) != null)
+			residentSize -= function.size;
+	}
+
+	private void resize(
+			SpillableFunction<?> function,
+			long size) {
+		if (resident.containsKey(function.id))
+			residentSize += size - function.size;
+		function.size = size;
+	}
+
+	/**
+	 * Spills the least recently used functions, except for {@code used},
+	 * until the size of the resident ones is within the bound of this store.
+	 * 
+	 * @param used the function being used
+	 */
+	private void evict(
+			SpillableFunction<?> used) {
+		Iterator<SpillableFunction<?>> it = resident.values().iterator();
+		while (residentSize > bound && it.hasNext()) {
+			SpillableFunction<?> function = it.next();
+			if (function != used && function.spill()) {
+				it.remove();
+				residentSize -= function.size;
+			}
+		}
+	}
+
+	/**
+	 * A function from {@link ScopeId}s to {@link AnalyzedCFG}s whose results
+	 * might be spilled to the file of the store.
+	 * 
+	 * @param <A> the type of {@link AbstractState} contained in the results
+	 */
+	private class SpillableFunction<A extends AbstractState<A>> extends AbstractMap<ScopeId, AnalyzedCFG<A>> {
+
+		private final long id;
+
+		private final CFG cfg;
+
+		/**
+		 * The results, or {@code null} if they are spilled.
+		 */
+		private Map<ScopeId, AnalyzedCFG<A>> delegate;
+
+		private long size;
+
+		/**
+		 * Whether or not the results changed since they were last written.
+		 */
+		private boolean dirty;
+
+		/**
+		 * Whether or not the results cannot be spilled.
+		 */
+		private boolean pinned;
+
+		/**
+		 * The identifiers of the results that have been written, in the order
+		 * they have been written. These are kept in memory, as identifiers
+		 * might be compared by identity.
+		 */
+		private List<ScopeId> ids;
+
+		private long position;
+
+		private int length;
+
+		private SpillableFunction(
+				CFG cfg) {
+			synchronized (ResultsStore.this) {
+				this.id = nextId++;
+			}
+			this.cfg = cfg;
+			this.delegate = new HashMap<>();
+		}
+
+		/**
+		 * Yields the results, reloading them if they are spilled, and marks
+		 * them as the most recently used.
+		 * 
+		 * @return the results
+		 */
+		private Map<ScopeId, AnalyzedCFG<A>> load() {
+			if (delegate == null) {
+				reload();
+				reloads++;
+			}
+			if (!delegate.isEmpty()) {
+				track(this);
+				evict(this);
+			}
+			return delegate;
+		}
+
+		private void changed() {
+			dirty = true;
+			long size = 0;
+			for (AnalyzedCFG<A> graph : delegate.values())
+				size += 1 + graph.getEntryStates().getKeys().size() + graph.getResults().getKeys().size();
+			resize(this, size);
+			if (delegate.isEmpty())
+				untrack(this);
+			else {
+				track(this);
+				evict(this);
+			}
+		}
+
+		/**
+		 * Spills the results, writing them to the file of the store if needed.
+		 * 
+		 * @return whether or not the results have been spilled
+		 */
+		private boolean spill() {
+			if (delegate == null)
+				return true;
+			if (pinned)
+				return false;
+			if (dirty)
+				try {
+					write();
+				} catch (IOException e) {
+					LOG.warn("Unable to spill the results of " + cfg + ", they will be kept in memory", e);
+					pinned = true;
+					return false;
+				}
+			delegate = null;
+			spills++;
+			return true;
+		}
+
+		private void write() throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (CheckpointOutputStream out = new CheckpointOutputStream(bytes, index())) {
+				ids = new ArrayList<>(delegate.keySet());
+				for (ScopeId id : ids) {
+					AnalyzedCFG<A> graph = delegate.get(id);
+					out.writeBoolean(graph instanceof OptimizedAnalyzedCFG);
+					out.writeBoolean(graph.isDegraded());
+					out.writeObject(graph.getEntryStates());
+					out.writeObject(graph.getResults());
+				}
+			}
+
+			FileChannel channel = file();
+			ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+			long start = end;
+			while (buffer.hasRemaining())
+				end += channel.write(buffer, end);
+			position = start;
+			length = bytes.size();
+			dirty = false;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void reload() {
+			Map<ScopeId, AnalyzedCFG<A>> results = new HashMap<>();
+			try {
+				FileChannel channel = file();
+				ByteBuffer buffer = ByteBuffer.allocate(length);
+				while (buffer.hasRemaining())
+					if (channel.read(buffer, position + buffer.position()) < 0)
+						throw new IOException("Unexpected end of file");
+
+				try (CheckpointInputStream in = new CheckpointInputStream(
+						new ByteArrayInputStream(buffer.array()), index())) {
+					for (ScopeId id : ids) {
+						boolean optimized = in.readBoolean();
+						boolean degraded = in.readBoolean();
+						StatementStore<A> entryStates = (StatementStore<A>) in.readObject();
+						StatementStore<A> states = (StatementStore<A>) in.readObject();
+						AnalyzedCFG<A> graph = optimized
+								? new OptimizedAnalyzedCFG<>(cfg, id, entryStates, states,
+										(InterproceduralAnalysis<A>) interprocedural)
+								: new AnalyzedCFG<>(cfg, id, entryStates, states);
+						if (degraded)
+							graph.markDegraded();
+						results.put(id, graph);
+					}
+				}
+			} catch (IOException | ClassNotFoundException | ClassCastException e) {
+				throw new IllegalStateException("Unable to reload the results of " + cfg + " from " + path, e);
+			}
+			delegate = results;
+		}
+
+		@Override
+		public int size() {
+			synchronized (ResultsStore.this) {
+				return load().size();
+			}
+		}
+
+		@Override
+		public boolean isEmpty() {
+			synchronized (ResultsStore.this) {
+				return load().isEmpty();
+			}
+		}
+
+		@Override
+		public boolean containsKey(
+				Object key) {
+			synchronized (ResultsStore.this) {
+				return load().containsKey(key);
+			}
+		}
+
+		@Override
+		public AnalyzedCFG<A> get(
+				Object key) {
+			synchronized (ResultsStore.this) {
+				return load().get(key);
+			}
+		}
+
+		@Override
+		public AnalyzedCFG<A> put(
+				ScopeId key,
+				AnalyzedCFG<A> value) {
+			synchronized (ResultsStore.this) {
+				AnalyzedCFG<A> previous = load().put(key, value);
+				changed();
+				return previous;
+			}
+		}
+
+		@Override
+		public AnalyzedCFG<A> remove(
+				Object key) {
+			synchronized (ResultsStore.this) {
+				AnalyzedCFG<A> previous = load().remove(key);
+				changed();
+				return previous;
+			}
+		}
+
+		@Override
+		public void clear() {
+			synchronized (ResultsStore.this) {
+				load().clear();
+				changed();
+			}
+		}
+
+		@Override
+		public Set<Entry<ScopeId, AnalyzedCFG<A>>> entrySet() {
+			synchronized (ResultsStore.this) {
+				// the results are not modifiable through the view, as
+				// changes could not be tracked
+				return Collections.unmodifiableMap(load()).entrySet();
+			}
+		}
+	}
+}
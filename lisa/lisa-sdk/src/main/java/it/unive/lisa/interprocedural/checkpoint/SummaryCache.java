@@ -0,0 +1,415 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.OptimizedAnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.interprocedural.InterproceduralAnalysis;
+import it.unive.lisa.interprocedural.ScopeId;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A cache of the results of fixpoints over {@link CFG}s, stored in a directory
+ * so that they can be reused across analysis runs, also of different
+ * applications sharing some code (e.g., the same libraries). Each result is
+ * stored in its own file, named after a key that is the hash of:
+ * <ul>
+ * <li>the fingerprint of the cfg, that depends on its signature, on its
+ * statements and on its edges;</li>
+ * <li>a string describing the configuration of the analysis, provided by
+ * the {@link InterproceduralAnalysis} using the cache;</li>
+ * <li>the entry state the result has been computed from, written through a
+ * {@link CheckpointOutputStream} (thus also capturing the classes of the
+ * domains composing the abstract state).</li>
+ * </ul>
+ * Together with the result, each file contains the fingerprints of all the
+ * code members that the cfg calls, directly or transitively: a stored result
+ * is used only if all such code members are part of the application under
+ * analysis and are unchanged. Files are written in the same compressed binary
+ * format of {@link Checkpoint}s, preceded by a format version: files with a
+ * different version, or that cannot be read, are deleted when found.<br>
+ * <br>
+ * The cache holds at most a fixed number of results: {@link #evict()} removes
+ * the least recently used ones, where results are used whenever they are
+ * stored or found by {@link #lookup}. The cache also counts its hits and
+ * misses, and it is safe to use from concurrent analyses.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class SummaryCache {
+
+	/**
+	 * The extension of the files where results are stored.
+	 */
+	public static final String FILE_EXTENSION = ".summary";
+
+	private static final int FORMAT_VERSION = 1;
+
+	private final Path directory;
+
+	private final int capacity;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong stored = new AtomicLong();
+
+	private final AtomicLong evicted = new AtomicLong();
+
+	/**
+	 * The dependencies of the results found by {@link #lookup}, that must be
+	 * inherited by the results of their callers as the cfgs they call have not
+	 * been analyzed.
+	 */
+	private final Map<CFG, Map<String, String>> restored = new ConcurrentHashMap<>();
+
+	private ProgramIndex index;
+
+	/**
+	 * Builds the cache.
+	 * 
+	 * @param directory the directory where results are stored
+	 * @param capacity  the maximum number of results kept in the directory
+	 *                      by {@link #evict()} (0 or less means no limit)
+	 */
+	public SummaryCache(
+			Path directory,
+			int capacity) {
+		this.directory = directory;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Yields the directory where results are stored.
+	 * 
+	 * @return the directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	private synchronized ProgramIndex index(
+			Application app) {
+		if (index == null || index.getApplication() != app) {
+			index = new ProgramIndex(app);
+			restored.clear();
+		}
+		return index;
+	}
+
+	private static String fingerprint(
+			ProgramIndex index,
+			CodeMember cm) {
+		if (cm instanceof CFG)
+			return index.fingerprint((CFG) cm);
+		// other code members do not have a body that we can inspect
+		String descriptor = cm.getClass().getName() + ":" + ProgramIndex.key(cm);
+		return ProgramIndex.hash(descriptor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Path file(
+			ProgramIndex index,
+			CFG cfg,
+			AnalysisState<?> entryState,
+			String configuration)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CheckpointOutputStream out = new CheckpointOutputStream(bytes, index)) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(index.fingerprint(cfg));
+			out.writeUTF(configuration);
+			out.writeObject(entryState);
+		}
+		return directory.resolve(ProgramIndex.hash(bytes.toByteArray()) + FILE_EXTENSION);
+	}
+
+	/**
+	 * Looks for a stored result of {@code cfg} computed from
+	 * {@code entryState} with the given configuration.
+	 * 
+	 * @param <A>             the type of {@link AbstractState} contained in
+	 *                            the result
+	 * @param cfg             the cfg
+	 * @param id              the {@link ScopeId} to assign to the result
+	 * @param entryState      the entry state of the cfg
+	 * @param configuration   the configuration of the analysis
+	 * @param interprocedural the analysis that the result will be given to,
+	 *                            used to unwind the results of optimized
+	 *                            analyses
+	 * @param app             the application under analysis
+	 * 
+	 * @return the result, or {@code null} if no valid result is stored for
+	 *             the given parameters
+	 */
+	@SuppressWarnings("unchecked")
+	public <A extends AbstractState<A>> AnalyzedCFG<A> lookup(
+			CFG cfg,
+			ScopeId id,
+			AnalysisState<A> entryState,
+			String configuration,
+			InterproceduralAnalysis<A> interprocedural,
+			Application app) {
+		ProgramIndex index = index(app);
+		Path file;
+		try {
+			file = file(index, cfg, entryState, configuration);
+		} catch (IOException e) {
+			// the entry state cannot be stored
+			misses.incrementAndGet();
+			return null;
+		}
+
+		if (!Files.exists(file)) {
+			misses.incrementAndGet();
+			return null;
+		}
+
+		try (CheckpointInputStream in = new CheckpointInputStream(
+				new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))), index)) {
+			if (in.readInt() != FORMAT_VERSION)
+				throw new StreamCorruptedException("Unsupported summary format");
+			boolean optimized = in.readBoolean();
+			Map<String, String> dependencies = (Map<String, String>) in.readObject();
+			for (Entry<String, String> dep : dependencies.entrySet()) {
+				CodeMember cm = index.member(dep.getKey());
+				if (cm == null || !fingerprint(index, cm).equals(dep.getValue())) {
+					// the result might be valid for other applications
+					misses.incrementAndGet();
+					return null;
+				}
+			}
+
+			StatementStore<A> entryStates = (StatementStore<A>) in.readObject();
+			StatementStore<A> states = (StatementStore<A>) in.readObject();
+			AnalyzedCFG<A> result = optimized
+					? new OptimizedAnalyzedCFG<>(cfg, id, entryStates, states, interprocedural)
+					: new AnalyzedCFG<>(cfg, id, entryStates, states);
+			if (!entryState.lessOrEqual(result.getEntryState())) {
+				misses.incrementAndGet();
+				return null;
+			}
+
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+			restored.put(cfg, dependencies);
+			hits.incrementAndGet();
+			return result;
+		} catch (InvalidObjectException e) {
+			// some elements of the result are not part of this application
+			misses.incrementAndGet();
+			return null;
+		} catch (IOException | ClassNotFoundException | ClassCastException | SemanticException e) {
+			// outdated or corrupted file
+			delete(file);
+			misses.incrementAndGet();
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the given result of {@code cfg}, indexed by the entry state it
+	 * has been computed from. Degraded results are not stored. If a result is
+	 * already stored for the same cfg and entry state, it is kept and marked
+	 * as used.
+	 * 
+	 * @param <A>           the type of {@link AbstractState} contained in the
+	 *                          result
+	 * @param cfg           the cfg
+	 * @param result        the result to store
+	 * @param callees       the code members called by {@code cfg}, directly
+	 *                          or transitively
+	 * @param configuration the configuration of the analysis
+	 * @param app           the application under analysis
+	 * 
+	 * @return {@code true} if the result has been stored
+	 * 
+	 * @throws SemanticException if the entry state of the result cannot be
+	 *                               computed
+	 */
+	public <A extends AbstractState<A>> boolean store(
+			CFG cfg,
+			AnalyzedCFG<A> result,
+			Collection<? extends CodeMember> callees,
+			String configuration,
+			Application app)
+			throws SemanticException {
+		if (result.isDegraded())
+			return false;
+
+		ProgramIndex index = index(app);
+		Path file;
+		try {
+			file = file(index, cfg, result.getEntryState(), configuration);
+			if (Files.exists(file)) {
+				Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+				return false;
+			}
+		} catch (IOException e) {
+			// the entry state cannot be stored
+			return false;
+		}
+
+		Map<String, String> dependencies = new HashMap<>();
+		for (CodeMember callee : callees) {
+			dependencies.put(ProgramIndex.key(callee), fingerprint(index, callee));
+			Map<String, String> inherited = restored.get(callee);
+			if (inherited != null)
+				dependencies.putAll(inherited);
+		}
+
+		Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+		try {
+			Files.createDirectories(directory);
+			try (CheckpointOutputStream out = new CheckpointOutputStream(
+					new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp))), index)) {
+				out.writeInt(FORMAT_VERSION);
+				out.writeBoolean(result instanceof OptimizedAnalyzedCFG);
+				out.writeObject(dependencies);
+				out.writeObject(result.getEntryStates());
+				out.writeObject(result.getResults());
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// the result cannot be stored
+			delete(tmp);
+			return false;
+		}
+
+		stored.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Removes the least recently used results from the directory of this
+	 * cache, until at most {@code capacity} results are left.
+	 * 
+	 * @return the number of removed results
+	 * 
+	 * @throws IOException if the directory cannot be read
+	 */
+	public synchronized int evict() throws IOException {
+		if (capacity <= 0 || !Files.isDirectory(directory))
+			return 0;
+
+		List<Path> files;
+		try (Stream<Path> content = Files.list(directory)) {
+			files = content.filter(p -> p.getFileName().toString().endsWith(FILE_EXTENSION))
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+		if (files.size() <= capacity)
+			return 0;
+
+		Map<Path, FileTime> times = new HashMap<>();
+		for (Path file : files)
+			times.put(file, Files.getLastModifiedTime(file));
+		files.sort(Comparator.comparing(times::get));
+
+		int count = files.size() - capacity;
+		for (int i = 0; i < count; i++)
+			delete(files.get(i));
+		evicted.addAndGet(count);
+		return count;
+	}
+
+	private static void delete(
+			Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// the file will be overwritten or evicted later
+		}
+	}
+
+	/**
+	 * Yields the number of lookups that found a valid result.
+	 * 
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Yields the number of lookups that did not find a valid result.
+	 * 
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Yields the fraction of lookups that found a valid result.
+	 * 
+	 * @return the hit rate, between 0 and 1 (0 if no lookup happened)
+	 */
+	public double getHitRate() {
+		long h = hits.get();
+		long total = h + misses.get();
+		return total == 0 ? 0 : (double) h / total;
+	}
+
+	/**
+	 * Yields the number of results stored in this cache.
+	 * 
+	 * @return the number of stored results
+	 */
+	public long getStored() {
+		return stored.get();
+	}
+
+	/**
+	 * Yields the number of results removed from this cache by
+	 * {@link #evict()}.
+	 * 
+	 * @return the number of evicted results
+	 */
+	public long getEvicted() {
+		return evicted.get();
+	}
+
+	/**
+	 * Yields the statistics of this cache in the form of a property bag.
+	 * 
+	 * @return the statistics
+	 */
+	public Map<String, String> toPropertyBag() {
+		Map<String, String> bag = new TreeMap<>();
+		bag.put("hits", String.valueOf(getHits()));
+		bag.put("misses", String.valueOf(getMisses()));
+		bag.put("hitRate", String.format(Locale.ROOT, "%.4f", getHitRate()));
+		bag.put("stored", String.valueOf(getStored()));
+		bag.put("evicted", String.valueOf(getEvicted()));
+		return bag;
+	}
+}
@@ -480,7 +480,8 @@ public class JsonReportComparer {
 				key -> false);
 	}
 
-	private static final Set<String> INFO_BLACKLIST = Set.of("duration", "start", "end", "version");
+	private static final Set<String> INFO_BLACKLIST = Set.of("duration", "start", "end", "version", "spilledResults",
+			"reloadedResults");
 
 	private static boolean compareInfos(
 			JsonReport first,
@@ -496,9 +497,9 @@ public class JsonReportComparer {
 						fvalue,
 						svalue) -> diff.infoDiff(key, fvalue, svalue),
 				// we are really only interested in code metrics here,
-				// information like timestamps and version are not useful - we
-				// still use a blacklist approach to ensure that new fields are
-				// tested by default
+				// information like timestamps, version and memory usage are
+				// not useful - we still use a blacklist approach to ensure
+				// that new fields are tested by default
 				key -> INFO_BLACKLIST.contains(key));
 	}
 
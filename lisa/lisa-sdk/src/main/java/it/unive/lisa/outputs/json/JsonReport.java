@@ -1,11 +1,16 @@
 package it.unive.lisa.outputs.json;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import it.unive.lisa.LiSAReport;
 import it.unive.lisa.LiSARunInfo;
 import it.unive.lisa.checks.warnings.Warning;
 import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.checkpoint.SummaryCache;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget;
+import it.unive.lisa.program.cfg.fixpoints.FixpointTelemetry;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
@@ -31,11 +36,27 @@ public class JsonReport {
 
 	private final Map<String, String> configuration;
 
+	@JsonInclude(Include.NON_EMPTY)
+	private final Map<String, Map<String, String>> cfgTelemetry;
+
+	@JsonInclude(Include.NON_EMPTY)
+	private final Map<String, Map<String, String>> statementTelemetry;
+
+	@JsonInclude(Include.NON_EMPTY)
+	private final Set<String> degradedCfgs;
+
+	@JsonInclude(Include.NON_EMPTY)
+	private final Map<String, String> summaryCache;
+
+	@JsonInclude(Include.NON_EMPTY)
+	private final Map<String, String> interproceduralStatistics;
+
 	/**
 	 * Builds an empty report.
 	 */
 	public JsonReport() {
-		this(Collections.emptyList(), Collections.emptyList(), Map.of(), Map.of());
+		this(Collections.emptyList(), Collections.emptyList(), Map.of(), Map.of(), Map.of(), Map.of(), Set.of(),
+				Map.of(), Map.of());
 	}
 
 	/**
@@ -46,17 +67,32 @@ public class JsonReport {
 	public JsonReport(
 			LiSAReport report) {
 		this(report.getWarnings(), report.getCreatedFiles(), report.getInfo().toPropertyBag(),
-				report.getConfiguration().toPropertyBag());
+				report.getConfiguration().toPropertyBag(),
+				report.getTelemetry() == null ? Map.of() : report.getTelemetry().cfgsToPropertyBag(),
+				report.getTelemetry() == null ? Map.of() : report.getTelemetry().statementsToPropertyBag(),
+				report.getBudget() == null ? Set.of() : report.getBudget().getDegradedSignatures(),
+				report.getSummaryCache() == null ? Map.of() : report.getSummaryCache().toPropertyBag(),
+				report.getInterproceduralStatistics() == null ? Map.of() : report.getInterproceduralStatistics());
 	}
 
 	private JsonReport(
 			Collection<Warning> warnings,
 			Collection<String> files,
 			Map<String, String> info,
-			Map<String, String> configuration) {
+			Map<String, String> configuration,
+			Map<String, Map<String, String>> cfgTelemetry,
+			Map<String, Map<String, String>> statementTelemetry,
+			Set<String> degradedCfgs,
+			Map<String, String> summaryCache,
+			Map<String, String> interproceduralStatistics) {
 		this.files = new TreeSet<>(files);
 		this.info = info;
 		this.configuration = configuration;
+		this.cfgTelemetry = cfgTelemetry;
+		this.statementTelemetry = statementTelemetry;
+		this.degradedCfgs = degradedCfgs;
+		this.summaryCache = summaryCache;
+		this.interproceduralStatistics = interproceduralStatistics;
 		this.warnings = new TreeSet<>();
 		for (Warning warn : warnings)
 			this.warnings.add(new JsonWarning(warn));
@@ -106,6 +142,68 @@ public class JsonReport {
 		return info;
 	}
 
+	/**
+	 * Yields the statistics about the fixpoints executed over each cfg, in the
+	 * form of a property bag for each cfg, indexed by the signature of the cfg.
+	 * This corresponds to the object returned by
+	 * {@link FixpointTelemetry#cfgsToPropertyBag()}, and it is empty if the
+	 * telemetry was not collected.
+	 * 
+	 * @return the statistics of each cfg
+	 */
+	public Map<String, Map<String, String>> getCfgTelemetry() {
+		return cfgTelemetry;
+	}
+
+	/**
+	 * Yields the statistics about the fixpoints executed over each statement,
+	 * in the form of a property bag for each statement. This corresponds to
+	 * the object returned by
+	 * {@link FixpointTelemetry#statementsToPropertyBag()}, and it is empty if
+	 * the telemetry was not collected.
+	 * 
+	 * @return the statistics of each statement
+	 */
+	public Map<String, Map<String, String>> getStatementTelemetry() {
+		return statementTelemetry;
+	}
+
+	/**
+	 * Yields the signatures of the cfgs whose results have been degraded since
+	 * a fixpoint over them exceeded its budget. This corresponds to the object
+	 * returned by {@link FixpointBudget#getDegradedSignatures()}, and it is
+	 * empty if no result has been degraded.
+	 * 
+	 * @return the signatures of the degraded cfgs
+	 */
+	public Set<String> getDegradedCfgs() {
+		return degradedCfgs;
+	}
+
+	/**
+	 * Yields the statistics of the cache used to reuse results across
+	 * analysis runs, in the form of a property bag. This corresponds to the
+	 * object returned by {@link SummaryCache#toPropertyBag()}, and it is empty
+	 * if no cache was used.
+	 * 
+	 * @return the statistics of the cache
+	 */
+	public Map<String, String> getSummaryCache() {
+		return summaryCache;
+	}
+
+	/**
+	 * Yields the statistics of the interprocedural analysis, in the form of a
+	 * property bag. This corresponds to the object returned by
+	 * {@link LiSAReport#getInterproceduralStatistics()}, and it is empty if the
+	 * interprocedural analysis did not provide any.
+	 * 
+	 * @return the statistics of the interprocedural analysis
+	 */
+	public Map<String, String> getInterproceduralStatistics() {
+		return interproceduralStatistics;
+	}
+
 	/**
 	 * Dumps this report to the given {@link Writer} instance, serializing it as
 	 * a json object.
@@ -148,6 +246,12 @@ public class JsonReport {
 		result = prime * result + ((warnings == null) ? 0 : warnings.hashCode());
 		result = prime * result + ((info == null) ? 0 : info.hashCode());
 		result = prime * result + ((configuration == null) ? 0 : configuration.hashCode());
+		result = prime * result + ((cfgTelemetry == null) ? 0 : cfgTelemetry.hashCode());
+		result = prime * result + ((statementTelemetry == null) ? 0 : statementTelemetry.hashCode());
+		result = prime * result + ((degradedCfgs == null) ? 0 : degradedCfgs.hashCode());
+		result = prime * result + ((summaryCache == null) ? 0 : summaryCache.hashCode());
+		result = prime * result
+				+ ((interproceduralStatistics == null) ? 0 : interproceduralStatistics.hashCode());
 		return result;
 	}
 
@@ -181,13 +285,40 @@ public class JsonReport {
 				return false;
 		} else if (!configuration.equals(other.configuration))
 			return false;
+		if (cfgTelemetry == null) {
+			if (other.cfgTelemetry != null)
+				return false;
+		} else if (!cfgTelemetry.equals(other.cfgTelemetry))
+			return false;
+		if (statementTelemetry == null) {
+			if (other.statementTelemetry != null)
+				return false;
+		} else if (!statementTelemetry.equals(other.statementTelemetry))
+			return false;
+		if (degradedCfgs == null) {
+			if (other.degradedCfgs != null)
+				return false;
+		} else if (!degradedCfgs.equals(other.degradedCfgs))
+			return false;
+		if (summaryCache == null) {
+			if (other.summaryCache != null)
+				return false;
+		} else if (!summaryCache.equals(other.summaryCache))
+			return false;
+		if (interproceduralStatistics == null) {
+			if (other.interproceduralStatistics != null)
+				return false;
+		} else if (!interproceduralStatistics.equals(other.interproceduralStatistics))
+			return false;
 		return true;
 	}
 
 	@Override
 	public String toString() {
 		return "JsonReport [warnings=" + warnings + ", files=" + files + ", info=" + info + ", configuration="
-				+ configuration + "]";
+				+ configuration + ", cfgTelemetry=" + cfgTelemetry + ", statementTelemetry=" + statementTelemetry
+				+ ", degradedCfgs=" + degradedCfgs + ", summaryCache=" + summaryCache + ", interproceduralStatistics="
+				+ interproceduralStatistics + "]";
 	}
 
 	/**
@@ -2,8 +2,12 @@ package it.unive.lisa.program;
 
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 /**
  * An complete application, collecting several {@link Program}s that need to be
@@ -18,6 +22,8 @@ public class Application {
 
 	private Collection<CodeMember> members;
 
+	private Map<String, Collection<CodeMember>> membersByName;
+
 	private Collection<CFG> cfgs;
 
 	private Collection<CFG> entrypoints;
@@ -91,4 +97,25 @@ public class Application {
 
 		return members;
 	}
+
+	/**
+	 * Yields the {@link CodeMember}s defined in all {@link Program}s of this
+	 * application that have the given name
+	 * ({@link CodeMemberDescriptor#getName()}). Code members are grouped by
+	 * name the first time this method is invoked.
+	 * 
+	 * @param name the name of the code members
+	 * 
+	 * @return the code members with the given name
+	 */
+	public Collection<CodeMember> getCodeMembersByName(
+			String name) {
+		if (membersByName == null) {
+			membersByName = new HashMap<>();
+			for (CodeMember cm : getAllCodeCodeMembers())
+				membersByName.computeIfAbsent(cm.getDescriptor().getName(), k -> new HashSet<>()).add(cm);
+		}
+
+		return membersByName.getOrDefault(name, Collections.emptySet());
+	}
 }
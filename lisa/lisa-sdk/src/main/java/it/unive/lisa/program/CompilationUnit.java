@@ -10,9 +10,11 @@ import it.unive.lisa.program.cfg.CodeMemberDescriptor;
 import it.unive.lisa.program.cfg.NativeCFG;
 import it.unive.lisa.program.language.validation.ProgramValidationLogic;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Predicate;
 
@@ -35,6 +37,23 @@ public abstract class CompilationUnit extends ProgramUnit {
 	 */
 	private final Map<String, CodeMember> instanceCodeMembers;
 
+	/**
+	 * The instance code members defined in this unit, grouped by
+	 * {@link CodeMemberDescriptor#getName()}, or {@code null} if the dispatch
+	 * table of this unit has not been built (see
+	 * {@link #buildDispatchTable()}).
+	 */
+	private Map<String, Collection<CodeMember>> ownTable;
+
+	/**
+	 * The instance code members visible from this unit, that is, the ones
+	 * defined in this unit and the ones inherited from superunits that are
+	 * not overridden, grouped by {@link CodeMemberDescriptor#getName()}, or
+	 * {@code null} if the dispatch table of this unit has not been built (see
+	 * {@link #buildDispatchTable()}).
+	 */
+	private Map<String, Collection<CodeMember>> dispatchTable;
+
 	/**
 	 * The lazily computed collection of instances of this unit, that is, the
 	 * collection of compilation units that directly or indirectly inherit from
@@ -293,6 +312,13 @@ public abstract class CompilationUnit extends ProgramUnit {
 			Predicate<CodeMember> filter,
 			boolean traverseHierarchy) {
 		Collection<T> result = new HashSet<>();
+		if (traverseHierarchy && dispatchTable != null) {
+			for (Collection<CodeMember> members : dispatchTable.values())
+				for (CodeMember member : members)
+					if (filter.test(member))
+						result.add((T) member);
+			return result;
+		}
 
 		for (CodeMember member : instanceCodeMembers.values())
 			if (filter.test(member))
@@ -377,6 +403,13 @@ public abstract class CompilationUnit extends ProgramUnit {
 	public boolean addInstanceCodeMember(
 			CodeMember cm) {
 		CodeMember c = instanceCodeMembers.putIfAbsent(cm.getDescriptor().getSignature(), cm);
+		if (c == null) {
+			// the new member might be visible from all instances
+			dropDispatchTable();
+			for (Unit instance : instances)
+				if (instance instanceof CompilationUnit)
+					((CompilationUnit) instance).dropDispatchTable();
+		}
 		if (sealed)
 			if (c == null)
 				cm.getDescriptor().setOverridable(false);
@@ -439,9 +472,56 @@ public abstract class CompilationUnit extends ProgramUnit {
 	public Collection<CodeMember> getInstanceCodeMembersByName(
 			String name,
 			boolean traverseHierarchy) {
+		Map<String, Collection<CodeMember>> table = traverseHierarchy ? dispatchTable : ownTable;
+		if (table != null)
+			return new HashSet<>(table.getOrDefault(name, Collections.emptySet()));
 		return searchCodeMembers(cm -> cm.getDescriptor().getName().equals(name), traverseHierarchy);
 	}
 
+	/**
+	 * Builds the dispatch table of this unit, that indexes by name both the
+	 * instance code members defined in this unit and the ones visible from
+	 * it, including inherited members that are not overridden (according to
+	 * {@link CodeMemberDescriptor#overriddenBy()}). Once built, the table
+	 * answers {@link #getInstanceCodeMembersByName(String, boolean)} and
+	 * {@link #searchCodeMembers(Predicate, boolean)} without visiting the
+	 * hierarchy. This is invoked by
+	 * {@link ProgramValidationLogic#validateAndFinalize(Program)} after the
+	 * overriding chains have been computed, and it uses the tables of the
+	 * superunits if these have already been built. Adding an instance code
+	 * member to this unit discards the tables of this unit and of all its
+	 * instances, while changes to the ancestors of this unit require the
+	 * table to be rebuilt.
+	 */
+	public void buildDispatchTable() {
+		Map<String, Collection<CodeMember>> own = new HashMap<>();
+		Map<String, Collection<CodeMember>> visible = new HashMap<>();
+		// the members that are overridden by the visible ones
+		Set<CodeMember> hidden = new HashSet<>();
+		for (CodeMember member : instanceCodeMembers.values()) {
+			String name = member.getDescriptor().getName();
+			own.computeIfAbsent(name, k -> new HashSet<>()).add(member);
+			visible.computeIfAbsent(name, k -> new HashSet<>()).add(member);
+			hidden.addAll(member.getDescriptor().overrides());
+		}
+
+		for (CompilationUnit cu : getImmediateAncestors())
+			for (CodeMember sup : cu.searchCodeMembers(cm -> true, true))
+				if (!hidden.contains(sup)
+						&& visible.computeIfAbsent(sup.getDescriptor().getName(), k -> new HashSet<>()).add(sup))
+					// members overridden by the ones that are already visible
+					// are "hidden" from the point of view of this unit
+					hidden.addAll(sup.getDescriptor().overrides());
+
+		ownTable = own;
+		dispatchTable = visible;
+	}
+
+	private void dropDispatchTable() {
+		ownTable = null;
+		dispatchTable = null;
+	}
+
 	/**
 	 * Finds all the instance code members whose signature matches the one of
 	 * the given {@link CodeMemberDescriptor}, according to
@@ -14,6 +14,8 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class SourceCodeLocation implements CodeLocation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The source file where this code element happens. If it is unknown, this
 	 * field might contain {@code null}.
@@ -9,6 +9,8 @@ import it.unive.lisa.program.cfg.CodeLocation;
  */
 public class SyntheticLocation implements CodeLocation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Singleton instance of the synthetic location.
 	 */
@@ -1,6 +1,7 @@
 package it.unive.lisa.program.annotations;
 
 import it.unive.lisa.util.collections.CollectionsDiffBuilder;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -9,7 +10,9 @@ import java.util.List;
  * 
  * @author <a href="mailto:vincenzo.arceri@unive.it">Vincenzo Arceri</a>
  */
-public class Annotation implements Comparable<Annotation> {
+public class Annotation implements Comparable<Annotation>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final String annotationName;
 
@@ -1,13 +1,16 @@
 package it.unive.lisa.program.annotations;
 
 import it.unive.lisa.program.annotations.values.AnnotationValue;
+import java.io.Serializable;
 
 /**
  * A member of an annotation.
  * 
  * @author <a href="mailto:vincenzo.arceri@unive.it">Vincenzo Arceri</a>
  */
-public class AnnotationMember implements Comparable<AnnotationMember> {
+public class AnnotationMember implements Comparable<AnnotationMember>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final String id;
 
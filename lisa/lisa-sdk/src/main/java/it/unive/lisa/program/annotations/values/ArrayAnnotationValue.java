@@ -12,6 +12,8 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class ArrayAnnotationValue implements AnnotationValue {
 
+	private static final long serialVersionUID = 1L;
+
 	private final BasicAnnotationValue[] arr;
 
 	/**
@@ -7,6 +7,8 @@ package it.unive.lisa.program.annotations.values;
  */
 public class CompilationUnitAnnotationValue implements BasicAnnotationValue {
 
+	private static final long serialVersionUID = 1L;
+
 	private final String unitName;
 
 	/**
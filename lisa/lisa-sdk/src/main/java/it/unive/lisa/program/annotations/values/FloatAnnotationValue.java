@@ -7,6 +7,8 @@ package it.unive.lisa.program.annotations.values;
  */
 public class FloatAnnotationValue implements BasicAnnotationValue {
 
+	private static final long serialVersionUID = 1L;
+
 	private final float f;
 
 	/**
@@ -24,10 +24,15 @@ import it.unive.lisa.program.cfg.edge.SequentialEdge;
 import it.unive.lisa.program.cfg.fixpoints.AscendingFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.BackwardAscendingFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.fixpoints.BudgetedFixpoint;
+import it.unive.lisa.program.cfg.fixpoints.DefUseChains;
 import it.unive.lisa.program.cfg.fixpoints.DescendingGLBFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.DescendingNarrowingFixpoint;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget.Tracker;
+import it.unive.lisa.program.cfg.fixpoints.InstrumentedFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.OptimizedBackwardFixpoint;
 import it.unive.lisa.program.cfg.fixpoints.OptimizedFixpoint;
+import it.unive.lisa.program.cfg.fixpoints.SparseFixpoint;
 import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.program.cfg.statement.NoOp;
 import it.unive.lisa.program.cfg.statement.Statement;
@@ -36,9 +41,14 @@ import it.unive.lisa.util.collections.workset.VisitOnceFIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.VisitOnceWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix;
+import it.unive.lisa.util.datastructures.graph.GraphVisitor;
 import it.unive.lisa.util.datastructures.graph.algorithms.BackwardFixpoint;
 import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import it.unive.lisa.util.datastructures.graph.algorithms.IndexedGraph;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Component;
 import it.unive.lisa.util.datastructures.graph.code.CodeGraph;
 import it.unive.lisa.util.datastructures.graph.code.NodeList;
 import java.util.Collection;
@@ -85,6 +95,33 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 	 */
 	private Map<Statement, Statement[]> basicBlocks;
 
+	/**
+	 * The lazily computed weak topological ordering of the statements of this
+	 * cfg, available only after {@link #getWeakTopologicalOrder()} has been
+	 * invoked.
+	 */
+	private List<Component<Statement>> wto;
+
+	/**
+	 * The lazily computed weak topological ordering of the basic blocks of
+	 * this cfg, available only after
+	 * {@link #getBasicBlocksWeakTopologicalOrder()} has been invoked.
+	 */
+	private List<Component<Statement>> basicBlocksWto;
+
+	/**
+	 * The lazily computed indexed view of this cfg, available only after
+	 * {@link #getIndexedView()} has been invoked.
+	 */
+	private IndexedGraph<CFG, Statement, Edge> indexed;
+
+	/**
+	 * The lazily computed def-use chains of the variables of this cfg,
+	 * available only after {@link #getDefUseChains(Collection)} has been
+	 * invoked.
+	 */
+	private DefUseChains defUseChains;
+
 	/**
 	 * Builds the control flow graph.
 	 * 
@@ -126,6 +163,10 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 		this.descriptor = other.descriptor;
 		this.cfStructs = other.cfStructs;
 		this.basicBlocks = other.basicBlocks;
+		this.wto = other.wto;
+		this.basicBlocksWto = other.basicBlocksWto;
+		this.indexed = other.indexed;
+		this.defUseChains = other.defUseChains;
 	}
 
 	/**
@@ -379,30 +420,77 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 		// glbs/narrowings from a post-fixpoint
 		boolean isOptimized = conf.optimize && conf.descendingPhaseType == DescendingPhaseType.NONE;
 		Fixpoint<CFG, Statement, Edge, CompoundState<A>> fix = isOptimized
-				? new OptimizedFixpoint<>(this, false, conf.hotspots)
-				: new Fixpoint<>(this, false);
-		AscendingFixpoint<A> asc = new AscendingFixpoint<>(this, interprocedural, conf);
+				? new OptimizedFixpoint<>(this, false, conf.hotspots, conf.useIncrementalEntryStates,
+						conf.blockTransferCacheSize)
+				: new Fixpoint<>(this, false, conf.useIncrementalEntryStates);
+		Tracker tracker = conf.getBudget() == null ? null : conf.getBudget().track(this);
+		FixpointImplementation<Statement, Edge, CompoundState<A>> asc = ascending(conf, tracker,
+				new AscendingFixpoint<>(this, interprocedural, conf));
 
 		Map<Statement, CompoundState<A>> starting = new HashMap<>();
 		StatementStore<A> bot = new StatementStore<>(singleton.bottom());
 		startingPoints.forEach((
 				st,
 				state) -> starting.put(st, CompoundState.of(state, bot)));
-		Map<Statement, CompoundState<A>> ascending = fix.fixpoint(starting, ws, asc);
-
-		if (conf.descendingPhaseType == DescendingPhaseType.NONE)
-			return flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending);
-
-		fix = conf.optimize ? new OptimizedFixpoint<>(this, true, conf.hotspots) : new Fixpoint<>(this, true);
+		Map<Statement, CompoundState<A>> ascending = null;
+		if (conf.useSparseFixpoint
+				&& conf.descendingPhaseType == DescendingPhaseType.NONE
+				&& singleton.getState().isNonRelational())
+			// null if the sparse iteration is not applicable, we fall back
+			// to a dense one
+			ascending = new SparseFixpoint<A>(this, getDefUseChains(starting.keySet()), isOptimized, conf.hotspots)
+					.fixpoint(starting, ws, asc);
+
+		if (ascending != null)
+			return degrade(tracker, flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending));
+
+		if (conf.fixpointParallelism > 1 || conf.useWeakTopologicalOrder) {
+			List<Component<Statement>> order = weakTopologicalOrder(isOptimized, starting.keySet());
+			// results are joined only on the heads of the ordering, that are
+			// thus the only places where widening can ensure termination:
+			// these are not always cycle entries (e.g., in irreducible loops)
+			if (conf.useWideningPoints)
+				asc = ascending(conf, tracker,
+						new AscendingFixpoint<>(this, interprocedural, conf, wideningPoints(isOptimized, order)));
+			if (conf.fixpointParallelism > 1)
+				ascending = fix.fixpoint(
+						starting,
+						order,
+						asc,
+						null,
+						conf.getFixpointPool(),
+						isOptimized ? this::blockContainsCalls : CFG::containsCalls);
+			else
+				ascending = fix.fixpoint(starting, order, asc, null);
+		} else if (conf.useIndexedFixpoint)
+			ascending = fix.fixpoint(starting, getIndexedView(), asc, null);
+		else
+			ascending = fix.fixpoint(starting, ws, asc);
+
+		// degraded results are not refined: the descending phase could take
+		// as long as the ascending one
+		if (conf.descendingPhaseType == DescendingPhaseType.NONE || (tracker != null && tracker.isDegraded()))
+			return degrade(tracker, flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending));
+
+		fix = conf.optimize
+				? new OptimizedFixpoint<>(this, true, conf.hotspots, conf.useIncrementalEntryStates,
+						conf.blockTransferCacheSize)
+				: new Fixpoint<>(this, true, conf.useIncrementalEntryStates);
 		Map<Statement, CompoundState<A>> descending;
 		switch (conf.descendingPhaseType) {
 		case GLB:
-			DescendingGLBFixpoint<A> dg = new DescendingGLBFixpoint<>(this, interprocedural, conf);
-			descending = fix.fixpoint(starting, ws, dg, ascending);
+			FixpointImplementation<Statement, Edge, CompoundState<A>> dg = InstrumentedFixpoint.instrument(this,
+					new DescendingGLBFixpoint<>(this, interprocedural, conf), conf);
+			descending = conf.useIndexedFixpoint
+					? fix.fixpoint(starting, getIndexedView(), dg, ascending)
+					: fix.fixpoint(starting, ws, dg, ascending);
 			break;
 		case NARROWING:
-			DescendingNarrowingFixpoint<A> dn = new DescendingNarrowingFixpoint<>(this, interprocedural, conf);
-			descending = fix.fixpoint(starting, ws, dn, ascending);
+			FixpointImplementation<Statement, Edge, CompoundState<A>> dn = InstrumentedFixpoint.instrument(this,
+					new DescendingNarrowingFixpoint<>(this, interprocedural, conf), conf);
+			descending = conf.useIndexedFixpoint
+					? fix.fixpoint(starting, getIndexedView(), dn, ascending)
+					: fix.fixpoint(starting, ws, dn, ascending);
 			break;
 		case NONE:
 		default:
@@ -414,6 +502,353 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 		return flatten(conf.optimize, singleton, startingPoints, interprocedural, id, descending);
 	}
 
+	/**
+	 * Incrementally recomputes a fixpoint over this control flow graph after
+	 * some of its statements have been edited, reusing the results of a
+	 * previous fixpoint computation for all the statements that cannot be
+	 * affected by the edits. The affected statements are the ones that are
+	 * (transitively) reachable from {@code changed}: their approximations are
+	 * discarded and computed from scratch, starting from the ones of their
+	 * unaffected predecessors, while the approximations of all other
+	 * statements are taken from {@code previous} and never recomputed. Since
+	 * affected loops are analyzed from scratch, widenings are applied to them
+	 * as in a full fixpoint computation, while unaffected loops keep their
+	 * stabilized approximation.<br>
+	 * <br>
+	 * {@code changed} should contain the statements whose semantics changed,
+	 * the ones that were added, and the ones whose predecessors changed
+	 * (e.g., the followers of removed statements): statements that are no
+	 * longer part of this cfg are ignored. Structures derived from this cfg
+	 * (e.g., basic blocks and weak topological orderings) are recomputed by
+	 * this method. The recomputation always uses {@code ws} to process
+	 * statements, ignoring the iteration strategies selected in
+	 * {@code conf}. If a descending phase is required by {@code conf}, or if
+	 * {@code previous} is {@code null}, a full fixpoint computation is
+	 * executed instead. If {@code previous} is an
+	 * {@link OptimizedAnalyzedCFG}, its results must have been unwinded
+	 * through {@link OptimizedAnalyzedCFG#unwind(FixpointConfiguration)}
+	 * before editing this cfg: unwinding happens on the graph underlying
+	 * {@code previous}, that shares the structure with this cfg, and would
+	 * thus propagate the approximations through the edited statements.
+	 * 
+	 * @param <A>             the type of {@link AbstractState} contained into
+	 *                            the analysis state
+	 * @param previous        the results of the fixpoint computation executed
+	 *                            before the edits
+	 * @param changed         the statements affected by the edits
+	 * @param entryState      the entry states to apply to each
+	 *                            {@link Statement} returned by
+	 *                            {@link #getEntrypoints()}
+	 * @param interprocedural the interprocedural analysis that can be queried
+	 *                            when a call towards an other cfg is
+	 *                            encountered
+	 * @param ws              the {@link WorkingSet} instance to use for this
+	 *                            computation
+	 * @param conf            the {@link FixpointConfiguration} containing the
+	 *                            parameters tuning fixpoint behavior
+	 * @param id              a {@link ScopeId} meant to identify this specific
+	 *                            result based on how it has been produced, that
+	 *                            will be embedded in the returned cfg
+	 * 
+	 * @return a {@link AnalyzedCFG} instance that is equivalent to this control
+	 *             flow graph, and that stores for each {@link Statement} the
+	 *             result of the fixpoint computation
+	 * 
+	 * @throws FixpointException       if an error occurs during the semantic
+	 *                                      computation of a statement, or if
+	 *                                      some unknown/invalid statement ends
+	 *                                      up in the working set
+	 * @throws IllegalArgumentException if {@code previous} is an
+	 *                                      {@link OptimizedAnalyzedCFG} whose
+	 *                                      results have not been unwinded
+	 */
+	public <A extends AbstractState<A>> AnalyzedCFG<A> fixpoint(
+			AnalyzedCFG<A> previous,
+			Collection<Statement> changed,
+			AnalysisState<A> entryState,
+			InterproceduralAnalysis<A> interprocedural,
+			WorkingSet<Statement> ws,
+			FixpointConfiguration conf,
+			ScopeId id)
+			throws FixpointException {
+		if (previous instanceof OptimizedAnalyzedCFG && !((OptimizedAnalyzedCFG<A>) previous).isUnwinded())
+			throw new IllegalArgumentException("The results of " + previous
+					+ " must be unwinded before editing the cfg");
+
+		// the structure of the cfg changed: derived data must be recomputed
+		invalidateDerivedData();
+		if (conf.optimize)
+			computeBasicBlocks();
+
+		Map<Statement, AnalysisState<A>> start = new HashMap<>();
+		entrypoints.forEach(e -> start.put(e, entryState));
+		if (previous == null || conf.descendingPhaseType != DescendingPhaseType.NONE)
+			return fixpoint(entryState, start, interprocedural, ws, conf, id);
+
+		// in optimized fixpoints, whole basic blocks are recomputed
+		Collection<Statement> roots = new HashSet<>();
+		if (conf.optimize) {
+			for (Statement[] bb : basicBlocks.values())
+				for (Statement st : bb)
+					if (changed.contains(st))
+						roots.add(bb[0]);
+		} else
+			for (Statement st : changed)
+				if (containsNode(st))
+					roots.add(st);
+
+		Collection<Statement> affected = new HashSet<>();
+		WorkingSet<Statement> cone = VisitOnceFIFOWorkingSet.mk();
+		roots.forEach(cone::push);
+		while (!cone.isEmpty()) {
+			Statement current = cone.pop();
+			affected.add(current);
+			followersOf(current).forEach(cone::push);
+		}
+
+		AnalysisState<A> bottom = entryState.bottom();
+		StatementStore<A> bot = new StatementStore<>(bottom);
+		Map<Statement, CompoundState<A>> reused = new HashMap<>();
+		for (Statement st : getNodes()) {
+			if (affected.contains(st))
+				continue;
+			AnalysisState<A> post = previousState(previous, st, conf);
+			StatementStore<A> intermediate = bot.bottom();
+			for (Statement sub : subExpressions(st))
+				intermediate.put(sub, previousState(previous, sub, conf));
+			reused.put(st, CompoundState.of(post, intermediate));
+		}
+
+		// the computation restarts from the affected statements that are
+		// either entrypoints or reachable from an unaffected statement
+		Map<Statement, CompoundState<A>> starting = new HashMap<>();
+		for (Statement st : affected)
+			if (start.containsKey(st))
+				starting.put(st, CompoundState.of(start.get(st), bot));
+			else if (predecessorsOf(st).stream().anyMatch(reused::containsKey))
+				ws.push(st);
+
+		Fixpoint<CFG, Statement, Edge, CompoundState<A>> fix = conf.optimize
+				? new OptimizedFixpoint<>(this, false, conf.hotspots, conf.useIncrementalEntryStates,
+						conf.blockTransferCacheSize)
+				: new Fixpoint<>(this, false, conf.useIncrementalEntryStates);
+		Tracker tracker = conf.getBudget() == null ? null : conf.getBudget().track(this);
+		FixpointImplementation<Statement, Edge, CompoundState<A>> asc = ascending(conf, tracker,
+				new AscendingFixpoint<>(this, interprocedural, conf));
+		Map<Statement, CompoundState<A>> results = fix.fixpoint(starting, ws, asc, reused);
+		return degrade(tracker, flatten(conf.optimize, entryState, start, interprocedural, id, results));
+	}
+
+	private static <A extends AbstractState<A>> AnalysisState<A> previousState(
+			AnalyzedCFG<A> previous,
+			Statement st,
+			FixpointConfiguration conf) {
+		if (previous instanceof OptimizedAnalyzedCFG)
+			// results have been already unwinded: this never runs a fixpoint
+			return ((OptimizedAnalyzedCFG<A>) previous).getUnwindedAnalysisStateAfter(st, conf);
+		return previous.getAnalysisStateAfter(st);
+	}
+
+	/**
+	 * Yields the sub-expressions of the given statement, that is, all the
+	 * statements (transitively) nested into it, excluding the statement
+	 * itself.
+	 * 
+	 * @param st the statement
+	 * 
+	 * @return the sub-expressions
+	 */
+	public static Collection<Statement> subExpressions(
+			Statement st) {
+		Collection<Statement> subs = new LinkedList<>();
+		st.accept(new GraphVisitor<CFG, Statement, Edge, Collection<Statement>>() {
+
+			@Override
+			public boolean visit(
+					Collection<Statement> tool,
+					CFG graph,
+					Statement node) {
+				if (node != st)
+					tool.add(node);
+				return true;
+			}
+		}, subs);
+		return subs;
+	}
+
+	private <A extends AbstractState<A>> FixpointImplementation<Statement, Edge, CompoundState<A>> ascending(
+			FixpointConfiguration conf,
+			Tracker tracker,
+			AscendingFixpoint<A> implementation) {
+		return InstrumentedFixpoint.instrument(this,
+				BudgetedFixpoint.limit(this, implementation, tracker, conf.getTelemetry()),
+				conf);
+	}
+
+	private Collection<Statement> wideningPoints(
+			boolean basicBlocks,
+			List<Component<Statement>> order) {
+		Collection<Statement> heads = WeakTopologicalOrder.headsOf(order);
+		if (!basicBlocks)
+			return heads;
+		// the results of a basic block are held by its last statement
+		Collection<Statement> holders = new HashSet<>();
+		for (Statement leader : heads) {
+			Statement[] bb = getBasicBlocks().get(leader);
+			holders.add(bb[bb.length - 1]);
+		}
+		return holders;
+	}
+
+	private List<Component<Statement>> weakTopologicalOrder(
+			boolean basicBlocks,
+			Collection<Statement> roots) {
+		if (entrypoints.containsAll(roots))
+			// nodes not reachable from the roots will just be skipped
+			return basicBlocks ? getBasicBlocksWeakTopologicalOrder() : getWeakTopologicalOrder();
+		WeakTopologicalOrder<CFG, Statement, Edge> order = new WeakTopologicalOrder<>();
+		return basicBlocks ? order.build(roots, this::blockFollowers) : order.build(roots, this::followersOf);
+	}
+
+	/**
+	 * Yields whether or not the basic block starting at the given leader
+	 * contains a {@link Call}, either as a statement or as a sub-expression.
+	 * Basic blocks are available only after {@link #computeBasicBlocks()} has
+	 * been invoked.
+	 * 
+	 * @param leader the leader of the basic block
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean blockContainsCalls(
+			Statement leader) {
+		for (Statement st : getBasicBlocks().get(leader))
+			if (containsCalls(st))
+				return true;
+		return false;
+	}
+
+	private static boolean containsCalls(
+			Statement st) {
+		boolean[] found = new boolean[] { false };
+		st.accept(new GraphVisitor<CFG, Statement, Edge, boolean[]>() {
+
+			@Override
+			public boolean visit(
+					boolean[] tool,
+					CFG graph,
+					Statement node) {
+				if (node instanceof Call)
+					tool[0] = true;
+				return !tool[0];
+			}
+		}, found);
+		return found[0];
+	}
+
+	private Collection<Statement> blockFollowers(
+			Statement leader) {
+		Statement[] bb = getBasicBlocks().get(leader);
+		return followersOf(bb[bb.length - 1]);
+	}
+
+	/**
+	 * Forgets all the data lazily computed from the structure of this cfg
+	 * (weak topological orders, indexed view and def-use chains), so that it
+	 * is recomputed the next time it is requested. This is synchronized with
+	 * the getters computing such data.
+	 */
+	private synchronized void invalidateDerivedData() {
+		wto = null;
+		basicBlocksWto = null;
+		indexed = null;
+		defUseChains = null;
+	}
+
+	/**
+	 * Yields the weak topological ordering of the statements of this cfg that
+	 * are reachable from its entrypoints, computing it on the first
+	 * invocation. The heads of the non-trivial components of the ordering are
+	 * the only statements where forward fixpoints that follow the ordering
+	 * (enabled through {@link FixpointConfiguration#useWeakTopologicalOrder})
+	 * join results.
+	 * 
+	 * @return the ordering, as a list of top-level components
+	 */
+	public synchronized List<Component<Statement>> getWeakTopologicalOrder() {
+		if (wto == null)
+			wto = new WeakTopologicalOrder<CFG, Statement, Edge>().build(this);
+		return wto;
+	}
+
+	/**
+	 * Yields the weak topological ordering of the basic blocks of this cfg
+	 * that are reachable from its entrypoints, computing it on the first
+	 * invocation. Each basic block is represented by its leader, and it is
+	 * connected to the leaders that follow its last statement. This is
+	 * available only after {@link #computeBasicBlocks()} has been invoked.
+	 * 
+	 * @return the ordering, as a list of top-level components
+	 * 
+	 * @throws IllegalStateException if {@link #computeBasicBlocks()} has not
+	 *                                   been invoked first
+	 */
+	public synchronized List<Component<Statement>> getBasicBlocksWeakTopologicalOrder() {
+		if (basicBlocksWto == null)
+			basicBlocksWto = new WeakTopologicalOrder<CFG, Statement, Edge>().build(entrypoints, this::blockFollowers);
+		return basicBlocksWto;
+	}
+
+	/**
+	 * Yields the indexed view of this cfg, computing it on the first
+	 * invocation. The view is used by forward fixpoints when
+	 * {@link FixpointConfiguration#useIndexedFixpoint} is set, and it does not
+	 * reflect modifications made to this cfg after its creation.
+	 * 
+	 * @return the indexed view
+	 */
+	public synchronized IndexedGraph<CFG, Statement, Edge> getIndexedView() {
+		if (indexed == null)
+			indexed = new IndexedGraph<>(this);
+		return indexed;
+	}
+
+	/**
+	 * Yields the def-use chains of the variables of this cfg, as computed when
+	 * fixpoints start at the given statements. The chains are cached and
+	 * recomputed only if they were built for different entrypoints. They are
+	 * used by forward fixpoints when
+	 * {@link FixpointConfiguration#useSparseFixpoint} is set, and they do not
+	 * reflect modifications made to this cfg after their creation.
+	 * 
+	 * @param entrypoints the statements where fixpoints start
+	 * 
+	 * @return the def-use chains
+	 */
+	public synchronized DefUseChains getDefUseChains(
+			Collection<Statement> entrypoints) {
+		DefUseChains chains = defUseChains;
+		if (chains == null || !chains.getEntrypoints().equals(new HashSet<>(entrypoints)))
+			defUseChains = chains = new DefUseChains(this, entrypoints);
+		return chains;
+	}
+
+	private static <A extends AbstractState<A>> AnalyzedCFG<A> degrade(
+			Tracker tracker,
+			AnalyzedCFG<A> result) {
+		if (tracker != null && tracker.isDegraded())
+			result.markDegraded();
+		return result;
+	}
+
+	private static <A extends AbstractState<A>> BackwardAnalyzedCFG<A> degrade(
+			Tracker tracker,
+			BackwardAnalyzedCFG<A> result) {
+		if (tracker != null && tracker.isDegraded())
+			result.markDegraded();
+		return result;
+	}
+
 	private <A extends AbstractState<A>> AnalyzedCFG<A> flatten(
 			boolean isOptimized,
 			AnalysisState<A> singleton,
@@ -592,7 +1027,11 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 		BackwardFixpoint<CFG, Statement, Edge, CompoundState<A>> fix = isOptimized
 				? new OptimizedBackwardFixpoint<>(this, false, conf.hotspots)
 				: new BackwardFixpoint<>(this, false);
-		BackwardAscendingFixpoint<A> asc = new BackwardAscendingFixpoint<>(this, interprocedural, conf);
+		Tracker tracker = conf.getBudget() == null ? null : conf.getBudget().track(this);
+		FixpointImplementation<Statement, Edge, CompoundState<A>> asc = InstrumentedFixpoint.instrument(this,
+				BudgetedFixpoint.limit(this, new BackwardAscendingFixpoint<>(this, interprocedural, conf), tracker,
+						conf.getTelemetry()),
+				conf);
 
 		Map<Statement, CompoundState<A>> starting = new HashMap<>();
 		StatementStore<A> bot = new StatementStore<>(singleton.bottom());
@@ -601,19 +1040,23 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 				state) -> starting.put(st, CompoundState.of(state, bot)));
 		Map<Statement, CompoundState<A>> ascending = fix.fixpoint(starting, ws, asc);
 
-		if (conf.descendingPhaseType == DescendingPhaseType.NONE)
-			return flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending);
+		// degraded results are not refined: the descending phase could take
+		// as long as the ascending one
+		if (conf.descendingPhaseType == DescendingPhaseType.NONE || (tracker != null && tracker.isDegraded()))
+			return degrade(tracker, flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending));
 
 		fix = conf.optimize ? new OptimizedBackwardFixpoint<>(this, true, conf.hotspots)
 				: new BackwardFixpoint<>(this, true);
 		Map<Statement, CompoundState<A>> descending;
 		switch (conf.descendingPhaseType) {
 		case GLB:
-			DescendingGLBFixpoint<A> dg = new DescendingGLBFixpoint<>(this, interprocedural, conf);
+			FixpointImplementation<Statement, Edge, CompoundState<A>> dg = InstrumentedFixpoint.instrument(this,
+					new DescendingGLBFixpoint<>(this, interprocedural, conf), conf);
 			descending = fix.fixpoint(starting, ws, dg, ascending);
 			break;
 		case NARROWING:
-			DescendingNarrowingFixpoint<A> dn = new DescendingNarrowingFixpoint<>(this, interprocedural, conf);
+			FixpointImplementation<Statement, Edge, CompoundState<A>> dn = InstrumentedFixpoint.instrument(this,
+					new DescendingNarrowingFixpoint<>(this, interprocedural, conf), conf);
 			descending = fix.fixpoint(starting, ws, dn, ascending);
 			break;
 		case NONE:
@@ -1083,6 +1526,10 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 	 * invoked after constructing the cfg.
 	 */
 	public void computeBasicBlocks() {
+		synchronized (this) {
+			// the order of the blocks depends on the blocks themselves
+			basicBlocksWto = null;
+		}
 		Collection<Statement> leaders = new HashSet<>();
 		leaders.addAll(entrypoints);
 		for (ControlFlowStructure struct : cfStructs)
@@ -1,12 +1,14 @@
 package it.unive.lisa.program.cfg;
 
+import java.io.Serializable;
+
 /**
  * A generic interface for representing the location of an element in the source
  * code (e.g., source/line/column, source/offset, ...).
  * 
  * @author <a href="mailto:vincenzo.arceri@unive.it">VincenzoArceri</a>
  */
-public interface CodeLocation extends Comparable<CodeLocation> {
+public interface CodeLocation extends Comparable<CodeLocation>, Serializable {
 
 	/**
 	 * Yields the string code location representation.
@@ -9,8 +9,8 @@ import it.unive.lisa.interprocedural.InterproceduralAnalysis;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.statement.Statement;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link CFGFixpoint} that traverses ascending chains using lubs and
@@ -41,10 +41,32 @@ public class AscendingFixpoint<A extends AbstractState<A>>
 			CFG target,
 			InterproceduralAnalysis<A> interprocedural,
 			FixpointConfiguration config) {
+		this(target, interprocedural, config, config.useWideningPoints ? target.getCycleEntries() : null);
+	}
+
+	/**
+	 * Builds the fixpoint implementation, applying widenings on the given
+	 * widening points instead of the cycle entries of {@code target} when
+	 * {@link FixpointConfiguration#useWideningPoints} is {@code true}. This is
+	 * useful when the iteration strategy joins results on nodes different from
+	 * the cycle entries (e.g., the heads of a weak topological ordering, that
+	 * include nodes of irreducible loops).
+	 * 
+	 * @param target          the target of the implementation
+	 * @param interprocedural the {@link InterproceduralAnalysis} to use for
+	 *                            semantics computations
+	 * @param config          the {@link FixpointConfiguration} to use
+	 * @param wideningPoints  the nodes where widenings can be applied
+	 */
+	public AscendingFixpoint(
+			CFG target,
+			InterproceduralAnalysis<A> interprocedural,
+			FixpointConfiguration config,
+			Collection<Statement> wideningPoints) {
 		super(target, interprocedural);
 		this.config = config;
-		this.wideningPoints = config.useWideningPoints ? target.getCycleEntries() : null;
-		this.lubs = new HashMap<>(config.useWideningPoints ? wideningPoints.size() : target.getNodesCount());
+		this.wideningPoints = config.useWideningPoints ? wideningPoints : null;
+		this.lubs = new ConcurrentHashMap<>(config.useWideningPoints ? wideningPoints.size() : target.getNodesCount());
 	}
 
 	@Override
@@ -64,6 +86,8 @@ public class AscendingFixpoint<A extends AbstractState<A>>
 
 		int lub = lubs.computeIfAbsent(node, st -> config.wideningThreshold);
 		if (lub == 0) {
+			if (config.getTelemetry() != null)
+				config.getTelemetry().widening(node);
 			AnalysisState<A> post = old.postState.widening(approx.postState);
 			StatementStore<A> intermediate;
 			if (config.useWideningPoints)
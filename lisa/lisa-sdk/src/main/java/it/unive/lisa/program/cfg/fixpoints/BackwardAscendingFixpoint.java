@@ -65,6 +65,8 @@ public class BackwardAscendingFixpoint<A extends AbstractState<A>>
 
 		int lub = lubs.computeIfAbsent(node, st -> config.wideningThreshold);
 		if (lub == 0) {
+			if (config.getTelemetry() != null)
+				config.getTelemetry().widening(node);
 			AnalysisState<A> post = old.postState.widening(approx.postState);
 			StatementStore<A> intermediate;
 			if (config.useWideningPoints)
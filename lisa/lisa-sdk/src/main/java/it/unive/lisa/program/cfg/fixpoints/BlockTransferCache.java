@@ -0,0 +1,186 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded cache of the transfer functions of basic blocks, used by
+ * {@link OptimizedFixpoint} to avoid re-executing the statements of a block
+ * when it is reached again with an entry state equal to a previous one. The
+ * cache is keyed by the leader of the block and by its entry state, and
+ * evicts the least recently used entries once its capacity is exceeded. It is
+ * safe to use from concurrent fixpoints.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the type of {@link AbstractState} contained into the analysis
+ *                state
+ */
+class BlockTransferCache<A extends AbstractState<A>> {
+
+	private final Map<Key<A>, Transfer<A>> entries;
+
+	private long hits;
+
+	private long misses;
+
+	/**
+	 * Builds the cache.
+	 * 
+	 * @param capacity the maximum number of transfers to keep
+	 */
+	BlockTransferCache(
+			int capacity) {
+		// access order for lru eviction
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Key<A>, Transfer<A>> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Yields the transfer of the block starting at {@code leader} computed
+	 * from {@code entrystate}, if it has been cached.
+	 * 
+	 * @param leader     the leader of the block
+	 * @param entrystate the entry state of the block
+	 * 
+	 * @return the transfer, or {@code null} if it is not cached
+	 */
+	synchronized Transfer<A> get(
+			Statement leader,
+			CompoundState<A> entrystate) {
+		Transfer<A> transfer = entries.get(new Key<>(leader, entrystate));
+		if (transfer == null)
+			misses++;
+		else
+			hits++;
+		return transfer;
+	}
+
+	/**
+	 * Caches the transfer of the block starting at {@code leader} computed
+	 * from {@code entrystate}.
+	 * 
+	 * @param leader     the leader of the block
+	 * @param entrystate the entry state of the block
+	 * @param transfer   the transfer
+	 */
+	synchronized void put(
+			Statement leader,
+			CompoundState<A> entrystate,
+			Transfer<A> transfer) {
+		entries.put(new Key<>(leader, entrystate), transfer);
+	}
+
+	/**
+	 * Removes all cached transfers.
+	 */
+	synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Yields the number of transfers currently cached.
+	 * 
+	 * @return the number of transfers
+	 */
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Yields the number of lookups that found a cached transfer.
+	 * 
+	 * @return the number of hits
+	 */
+	synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Yields the number of lookups that did not find a cached transfer.
+	 * 
+	 * @return the number of misses
+	 */
+	synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * The result of executing a basic block: its post-state, together with
+	 * the approximations of stopping statements and hotspots that the
+	 * execution stored in the fixpoint results.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 * 
+	 * @param <A> the type of {@link AbstractState} contained into the analysis
+	 *                state
+	 */
+	static final class Transfer<A extends AbstractState<A>> {
+
+		/**
+		 * The post-state of the block.
+		 */
+		final CompoundState<A> post;
+
+		/**
+		 * The approximations stored in the fixpoint results.
+		 */
+		final Map<Statement, CompoundState<A>> stored;
+
+		/**
+		 * Builds the transfer.
+		 * 
+		 * @param post   the post-state of the block
+		 * @param stored the approximations stored in the fixpoint results
+		 */
+		Transfer(
+				CompoundState<A> post,
+				Map<Statement, CompoundState<A>> stored) {
+			this.post = post;
+			this.stored = stored.isEmpty() ? Collections.emptyMap() : stored;
+		}
+	}
+
+	private static final class Key<A extends AbstractState<A>> {
+
+		private final Statement leader;
+
+		private final CompoundState<A> entrystate;
+
+		private Key(
+				Statement leader,
+				CompoundState<A> entrystate) {
+			this.leader = leader;
+			this.entrystate = entrystate;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(leader, entrystate);
+		}
+
+		@Override
+		public boolean equals(
+				Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Key<?> other = (Key<?>) obj;
+			return leader == other.leader && entrystate.equals(other.entrystate);
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget.Stage;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget.Tracker;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link FixpointImplementation} for ascending fixpoints that delegates all
+ * of its callbacks to another implementation, degrading its results once the
+ * fixpoint exceeds one of the budgets of a {@link FixpointBudget}. When the
+ * {@link Tracker} of the fixpoint reaches {@link Stage#WIDENING}, widenings
+ * are applied at all cycle entries of the graph, regardless of the widening
+ * threshold. When it reaches {@link Stage#TOP}, the semantics of the visited
+ * statements is no longer computed, and their post-states (as well as the
+ * ones of their sub-expressions) are set to top.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the type of {@link AbstractState} contained into the analysis
+ *                state
+ */
+public class BudgetedFixpoint<A extends AbstractState<A>>
+		implements
+		FixpointImplementation<Statement, Edge, CompoundState<A>> {
+
+	private final FixpointImplementation<Statement, Edge, CompoundState<A>> delegate;
+
+	private final Tracker tracker;
+
+	private final Collection<Statement> wideningPoints;
+
+	private final FixpointTelemetry telemetry;
+
+	private final Map<Statement, Collection<Statement>> subExpressions;
+
+	/**
+	 * Builds the implementation.
+	 * 
+	 * @param graph     the graph targeted by the fixpoint
+	 * @param delegate  the implementation to delegate to
+	 * @param tracker   the tracker of the budgets consumed by the fixpoint
+	 * @param telemetry the telemetry where widenings are recorded (might be
+	 *                      {@code null})
+	 */
+	public BudgetedFixpoint(
+			CFG graph,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> delegate,
+			Tracker tracker,
+			FixpointTelemetry telemetry) {
+		this.delegate = delegate;
+		this.tracker = tracker;
+		this.telemetry = telemetry;
+		this.wideningPoints = graph.getCycleEntries();
+		this.subExpressions = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Limits the given implementation, that is about to be used for an
+	 * ascending fixpoint, with the given tracker.
+	 * 
+	 * @param <A>            the type of {@link AbstractState} contained into
+	 *                           the analysis state
+	 * @param graph          the graph targeted by the fixpoint
+	 * @param implementation the implementation to limit
+	 * @param tracker        the tracker of the budgets consumed by the
+	 *                           fixpoint (might be {@code null})
+	 * @param telemetry      the telemetry where widenings are recorded (might
+	 *                           be {@code null})
+	 * 
+	 * @return the limited implementation, or {@code implementation} itself if
+	 *             {@code tracker} is {@code null}
+	 */
+	public static <A extends AbstractState<A>> FixpointImplementation<Statement, Edge, CompoundState<A>> limit(
+			CFG graph,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			Tracker tracker,
+			FixpointTelemetry telemetry) {
+		if (tracker == null)
+			return implementation;
+		return new BudgetedFixpoint<>(graph, implementation, tracker, telemetry);
+	}
+
+	@Override
+	public CompoundState<A> semantics(
+			Statement node,
+			CompoundState<A> entrystate)
+			throws Exception {
+		if (tracker.visit() != Stage.TOP)
+			return delegate.semantics(node, entrystate);
+
+		AnalysisState<A> top = entrystate.postState.top();
+		StatementStore<A> intermediate = entrystate.intermediateStates.bottom();
+		for (Statement sub : subExpressions.computeIfAbsent(node, CFG::subExpressions))
+			intermediate.put(sub, top);
+		return CompoundState.of(top, intermediate);
+	}
+
+	@Override
+	public CompoundState<A> traverse(
+			Edge edge,
+			CompoundState<A> entrystate)
+			throws Exception {
+		return delegate.traverse(edge, entrystate);
+	}
+
+	@Override
+	public CompoundState<A> union(
+			Statement node,
+			CompoundState<A> left,
+			CompoundState<A> right)
+			throws Exception {
+		return delegate.union(node, left, right);
+	}
+
+	@Override
+	public CompoundState<A> operation(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws Exception {
+		if (tracker.getStage() == Stage.NONE || !wideningPoints.contains(node))
+			return delegate.operation(node, approx, old);
+
+		if (telemetry != null)
+			telemetry.widening(node);
+		return old.widening(approx);
+	}
+
+	@Override
+	public boolean equality(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws Exception {
+		return delegate.equality(node, approx, old);
+	}
+
+	@Override
+	public boolean covers(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws Exception {
+		return delegate.covers(node, approx, old);
+	}
+}
@@ -106,6 +106,15 @@ public abstract class CFGFixpoint<A extends AbstractState<A>>
 		return left.lub(right);
 	}
 
+	@Override
+	public boolean covers(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws SemanticException {
+		return old.lessOrEqual(approx);
+	}
+
 	/**
 	 * A compound state for a {@link Statement}, holding the post-state of the
 	 * whole statement as well as the ones of the inner expressions.
@@ -117,6 +126,8 @@ public abstract class CFGFixpoint<A extends AbstractState<A>>
 	 */
 	public static final class CompoundState<A extends AbstractState<A>> implements Lattice<CompoundState<A>> {
 
+		private static final long serialVersionUID = 1L;
+
 		/**
 		 * Builds a compound state from the given post-states.
 		 * 
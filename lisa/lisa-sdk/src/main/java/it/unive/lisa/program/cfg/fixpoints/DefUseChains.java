@@ -0,0 +1,706 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.VariableTableEntry;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.symbolic.value.Identifier;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.util.datastructures.graph.GraphVisitor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The def-use chains of the local variables of a {@link CFG}, in a form
+ * similar to static single assignment. Variables are identified by their
+ * name, and are the ones declared in the descriptor of the cfg together with
+ * the ones referred to by its {@link VariableRef}s. Each variable is defined
+ * at the following {@link Site}s:
+ * <ul>
+ * <li>the entry state of each entrypoint of the computation, where all
+ * variables take the value provided by the caller (if any);</li>
+ * <li>the post-state of each statement that refers to the variable, either
+ * reading or writing it;</li>
+ * <li>the state obtained by traversing a conditional edge whose source refers
+ * to the variable, as the condition might refine its value;</li>
+ * <li>the state obtained by traversing an edge whose source ends the scope of
+ * the variable, as the variable is removed;</li>
+ * <li>the post-state of each statement reached by more than one of the above
+ * definitions, where all of them are joined (akin to phi-nodes).</li>
+ * </ul>
+ * The last kind ensures that each statement referring to a variable is
+ * reached by a single definition, unless it joins more definitions itself,
+ * and that each cycle of the cfg along which a variable is defined passes
+ * through a statement holding the value of that variable.<br>
+ * <br>
+ * Instances of this class also index the edges of the cfg by statement, as
+ * they were when the chains were built, since the cfg itself looks them up
+ * in linear time.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class DefUseChains {
+
+	private final CFG graph;
+
+	private final Set<Statement> entrypoints;
+
+	private final Set<String> variables;
+
+	private final Map<Statement, Set<String>> inputs;
+
+	private final Map<Edge, Set<String>> edgeDefinitions;
+
+	private final Map<Statement, Map<String, Set<Site>>> reaching;
+
+	private final Map<Site, Map<String, Set<Statement>>> readers;
+
+	private final Map<Statement, Collection<Edge>> ingoing;
+
+	private final Map<Statement, Collection<Edge>> outgoing;
+
+	/**
+	 * Builds the def-use chains of the given cfg.
+	 * 
+	 * @param graph       the cfg
+	 * @param entrypoints the statements where computations over the cfg
+	 *                        start
+	 */
+	public DefUseChains(
+			CFG graph,
+			Collection<Statement> entrypoints) {
+		this.graph = graph;
+		this.entrypoints = new HashSet<>(entrypoints);
+		this.variables = new HashSet<>();
+		this.inputs = new HashMap<>();
+		this.edgeDefinitions = new HashMap<>();
+		this.reaching = new HashMap<>();
+		this.readers = new HashMap<>();
+		this.ingoing = new HashMap<>();
+		this.outgoing = new HashMap<>();
+
+		for (Statement node : graph.getNodes()) {
+			ingoing.put(node, new ArrayList<>());
+			outgoing.put(node, new ArrayList<>());
+		}
+		for (Edge edge : graph.getEdges()) {
+			ingoing.get(edge.getDestination()).add(edge);
+			outgoing.get(edge.getSource()).add(edge);
+		}
+
+		for (VariableTableEntry entry : graph.getDescriptor().getVariables())
+			variables.add(entry.getName());
+
+		GraphVisitor<CFG, Statement, Edge, Set<String>> collector = new GraphVisitor<>() {
+
+			@Override
+			public boolean visit(
+					Set<String> tool,
+					CFG graph,
+					Statement node) {
+				if (node instanceof VariableRef)
+					tool.add(((VariableRef) node).getName());
+				return true;
+			}
+		};
+		Set<String> referenced = new HashSet<>();
+		for (Statement node : graph.getNodes()) {
+			Set<String> refs = new HashSet<>();
+			node.accept(collector, refs);
+			inputs.put(node, refs);
+			referenced.addAll(refs);
+		}
+		variables.addAll(referenced);
+
+		for (Edge edge : graph.getEdges()) {
+			Set<String> defs = new HashSet<>();
+			if (!edge.isUnconditional())
+				defs.addAll(inputs.get(edge.getSource()));
+			for (VariableTableEntry entry : graph.getDescriptor().getVariables())
+				if (entry.getScopeEnd() == edge.getSource())
+					defs.add(entry.getName());
+			if (!defs.isEmpty())
+				edgeDefinitions.put(edge, defs);
+		}
+
+		// joins are placed at the iterated dominance frontiers of the
+		// definitions, and the chains are then computed with a single visit
+		// of the dominator tree, as in the classic construction of static
+		// single assignment forms: this avoids propagating each variable
+		// through the whole cfg
+		Points points = new Points(referenced);
+		points.placeJoins(referenced);
+		points.buildChains();
+	}
+
+	private void addChain(
+			Statement node,
+			String variable,
+			Set<Site> defs) {
+		reaching.computeIfAbsent(node, st -> new HashMap<>()).put(variable, defs);
+		for (Site site : defs)
+			readers.computeIfAbsent(site, s -> new HashMap<>())
+					.computeIfAbsent(variable, v -> new HashSet<>())
+					.add(node);
+	}
+
+	private Map<Statement, Set<Site>> propagate(
+			String variable,
+			boolean join) {
+		Map<Statement, Set<Site>> in = new HashMap<>();
+		Map<Statement, Set<Site>> out = new HashMap<>();
+		Deque<Statement> ws = new ArrayDeque<>(entrypoints);
+		Set<Statement> queued = new HashSet<>(entrypoints);
+		while (!ws.isEmpty()) {
+			Statement node = ws.pop();
+			queued.remove(node);
+
+			Set<Site> current = new HashSet<>();
+			if (entrypoints.contains(node))
+				current.add(Site.entry(node));
+			for (Edge edge : ingoing.get(node)) {
+				Set<Site> prev = out.get(edge.getSource());
+				if (prev == null)
+					// the source has not been reached yet
+					continue;
+				if (getEdgeDefinitions(edge).contains(variable))
+					current.add(Site.after(edge));
+				else
+					current.addAll(prev);
+			}
+			in.put(node, current);
+
+			if (join && current.size() > 1)
+				inputs.get(node).add(variable);
+			Set<Site> post = inputs.get(node).contains(variable) ? Collections.singleton(Site.after(node)) : current;
+			if (!post.equals(out.put(node, post)))
+				for (Edge edge : outgoing.get(node))
+					if (queued.add(edge.getDestination()))
+						ws.addLast(edge.getDestination());
+		}
+		return in;
+	}
+
+	/**
+	 * Yields the statements where computations over the cfg start, that were
+	 * used to build these chains.
+	 * 
+	 * @return the entrypoints
+	 */
+	public Set<Statement> getEntrypoints() {
+		return Collections.unmodifiableSet(entrypoints);
+	}
+
+	/**
+	 * Yields whether or not the given statement was part of the cfg when
+	 * these chains were built.
+	 * 
+	 * @param node the statement
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean containsNode(
+			Statement node) {
+		return ingoing.containsKey(node);
+	}
+
+	/**
+	 * Yields the edges of the cfg ending in the given statement, as they were
+	 * when these chains were built.
+	 * 
+	 * @param node the statement
+	 * 
+	 * @return the ingoing edges (possibly empty)
+	 */
+	public Collection<Edge> getIngoingEdges(
+			Statement node) {
+		return Collections.unmodifiableCollection(ingoing.getOrDefault(node, Collections.emptyList()));
+	}
+
+	/**
+	 * Yields the edges of the cfg starting from the given statement, as they
+	 * were when these chains were built.
+	 * 
+	 * @param node the statement
+	 * 
+	 * @return the outgoing edges (possibly empty)
+	 */
+	public Collection<Edge> getOutgoingEdges(
+			Statement node) {
+		return Collections.unmodifiableCollection(outgoing.getOrDefault(node, Collections.emptyList()));
+	}
+
+	/**
+	 * Yields the names of the local variables of the cfg.
+	 * 
+	 * @return the names of the variables
+	 */
+	public Set<String> getVariables() {
+		return Collections.unmodifiableSet(variables);
+	}
+
+	/**
+	 * Yields whether or not the given identifier is one of the local variables
+	 * of the cfg.
+	 * 
+	 * @param id the identifier
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isVariable(
+			Identifier id) {
+		return id instanceof Variable && variables.contains(id.getName());
+	}
+
+	/**
+	 * Yields the names of the variables whose values are needed to compute
+	 * the semantics of the given statement, that are also the ones whose
+	 * values are defined by the post-state of the statement. These are the
+	 * variables referred to by the statement, together with the ones whose
+	 * definitions are joined at the statement.
+	 * 
+	 * @param node the statement
+	 * 
+	 * @return the names of the variables (possibly empty)
+	 */
+	public Set<String> getInputs(
+			Statement node) {
+		Set<String> result = inputs.get(node);
+		return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * Yields the names of the variables that are defined by traversing the
+	 * given edge.
+	 * 
+	 * @param edge the edge
+	 * 
+	 * @return the names of the variables (possibly empty)
+	 */
+	public Set<String> getEdgeDefinitions(
+			Edge edge) {
+		return edgeDefinitions.getOrDefault(edge, Collections.emptySet());
+	}
+
+	/**
+	 * Yields the definitions of the given variable that reach the given
+	 * statement. This is only available for the variables returned by
+	 * {@link #getInputs(Statement)}.
+	 * 
+	 * @param node     the statement
+	 * @param variable the name of the variable
+	 * 
+	 * @return the reaching definitions (possibly empty)
+	 */
+	public Set<Site> getReachingDefinitions(
+			Statement node,
+			String variable) {
+		Map<String, Set<Site>> defs = reaching.get(node);
+		if (defs == null)
+			return Collections.emptySet();
+		return defs.getOrDefault(variable, Collections.emptySet());
+	}
+
+	/**
+	 * Yields the statements that read the value of the given variable defined
+	 * at the given site.
+	 * 
+	 * @param site     the definition site
+	 * @param variable the name of the variable
+	 * 
+	 * @return the statements (possibly empty)
+	 */
+	public Set<Statement> getReaders(
+			Site site,
+			String variable) {
+		Map<String, Set<Statement>> vars = readers.get(site);
+		if (vars == null)
+			return Collections.emptySet();
+		return vars.getOrDefault(variable, Collections.emptySet());
+	}
+
+	/**
+	 * Computes the definitions of the given variable that reach each statement
+	 * of the cfg, regardless of whether or not the statement needs the value
+	 * of the variable. Differently from
+	 * {@link #getReachingDefinitions(Statement, String)}, the result of this
+	 * method is not cached.
+	 * 
+	 * @param variable the name of the variable
+	 * 
+	 * @return a mapping from each statement reached by at least one
+	 *             definition to the definitions reaching it
+	 */
+	public Map<Statement, Set<Site>> computeReachingDefinitions(
+			String variable) {
+		return propagate(variable, false);
+	}
+
+	/**
+	 * The graph used to build the chains. Its points are the sites where
+	 * variables might be defined, together with a root preceding the entry
+	 * states of all entrypoints, while its edges follow the ones of the cfg.
+	 * Points are identified by their index, with the root being {@code 0},
+	 * and only edges defining some variable have a point of their own.
+	 *
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	private class Points {
+
+		private final List<Site> sites = new ArrayList<>();
+
+		/**
+		 * The statement of each point built for the post-state of a
+		 * statement, {@code null} for all other points.
+		 */
+		private final List<Statement> nodes = new ArrayList<>();
+
+		/**
+		 * The variables defined at each point.
+		 */
+		private final List<Set<String>> defs = new ArrayList<>();
+
+		/**
+		 * The variables whose definitions are joined at each point.
+		 */
+		private final List<Set<String>> joins = new ArrayList<>();
+
+		private final List<List<Integer>> predecessors = new ArrayList<>();
+
+		private final List<List<Integer>> successors = new ArrayList<>();
+
+		/**
+		 * The reachable points, in reverse postorder.
+		 */
+		private final List<Integer> order = new ArrayList<>();
+
+		/**
+		 * The position of each point in {@link #order}, {@code -1} if the
+		 * point is not reachable.
+		 */
+		private int[] position;
+
+		/**
+		 * The immediate dominator of each point, {@code -1} if the point is
+		 * not reachable.
+		 */
+		private int[] dominators;
+
+		private Points(
+				Set<String> referenced) {
+			add(null, null, Collections.emptySet());
+			Map<Statement, Integer> indexes = new HashMap<>();
+			for (Statement node : graph.getNodes())
+				indexes.put(node, add(Site.after(node), node, inputs.get(node)));
+			for (Statement entry : entrypoints)
+				if (indexes.containsKey(entry)) {
+					int point = add(Site.entry(entry), null, referenced);
+					link(0, point);
+					link(point, indexes.get(entry));
+				}
+			for (Edge edge : graph.getEdges()) {
+				int source = indexes.get(edge.getSource());
+				int destination = indexes.get(edge.getDestination());
+				Set<String> edgeDefs = getEdgeDefinitions(edge);
+				if (edgeDefs.isEmpty())
+					link(source, destination);
+				else {
+					int point = add(Site.after(edge), null, edgeDefs);
+					link(source, point);
+					link(point, destination);
+				}
+			}
+			computeOrder();
+			computeDominators();
+		}
+
+		private int add(
+				Site site,
+				Statement node,
+				Set<String> variables) {
+			sites.add(site);
+			nodes.add(node);
+			defs.add(variables);
+			joins.add(new HashSet<>());
+			predecessors.add(new ArrayList<>());
+			successors.add(new ArrayList<>());
+			return sites.size() - 1;
+		}
+
+		private void link(
+				int source,
+				int destination) {
+			successors.get(source).add(destination);
+			predecessors.get(destination).add(source);
+		}
+
+		private void computeOrder() {
+			position = new int[sites.size()];
+			Arrays.fill(position, -1);
+			boolean[] seen = new boolean[sites.size()];
+			Deque<int[]> stack = new ArrayDeque<>();
+			List<Integer> post = new ArrayList<>();
+			seen[0] = true;
+			stack.push(new int[] { 0, 0 });
+			while (!stack.isEmpty()) {
+				int[] top = stack.peek();
+				List<Integer> succs = successors.get(top[0]);
+				if (top[1] < succs.size()) {
+					int next = succs.get(top[1]++);
+					if (!seen[next]) {
+						seen[next] = true;
+						stack.push(new int[] { next, 0 });
+					}
+				} else {
+					stack.pop();
+					post.add(top[0]);
+				}
+			}
+			for (int i = post.size() - 1; i >= 0; i--) {
+				position[post.get(i)] = order.size();
+				order.add(post.get(i));
+			}
+		}
+
+		private void computeDominators() {
+			// K. D. Cooper, T. J. Harvey, and K. Kennedy, "A Simple, Fast
+			// Dominance Algorithm"
+			dominators = new int[sites.size()];
+			Arrays.fill(dominators, -1);
+			dominators[0] = 0;
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (int i = 1; i < order.size(); i++) {
+					int point = order.get(i);
+					int dom = -1;
+					for (int pred : predecessors.get(point))
+						if (dominators[pred] != -1)
+							dom = dom == -1 ? pred : intersect(pred, dom);
+					if (dominators[point] != dom) {
+						dominators[point] = dom;
+						changed = true;
+					}
+				}
+			}
+		}
+
+		private int intersect(
+				int first,
+				int second) {
+			while (first != second) {
+				while (position[first] > position[second])
+					first = dominators[first];
+				while (position[second] > position[first])
+					second = dominators[second];
+			}
+			return first;
+		}
+
+		private void placeJoins(
+				Set<String> referenced) {
+			List<Set<Integer>> frontiers = new ArrayList<>();
+			for (int i = 0; i < sites.size(); i++)
+				frontiers.add(new HashSet<>());
+			for (int point : order)
+				for (int pred : predecessors.get(point))
+					if (position[pred] != -1)
+						for (int runner = pred; runner != dominators[point]; runner = dominators[runner])
+							frontiers.get(runner).add(point);
+
+			Map<String, List<Integer>> definitions = new HashMap<>();
+			for (int point : order)
+				for (String variable : defs.get(point))
+					definitions.computeIfAbsent(variable, v -> new ArrayList<>()).add(point);
+
+			for (String variable : referenced) {
+				Deque<Integer> ws = new ArrayDeque<>(definitions.getOrDefault(variable, Collections.emptyList()));
+				while (!ws.isEmpty())
+					for (int point : frontiers.get(ws.pop()))
+						// only points of statements have more than one
+						// predecessor, and thus can be part of a frontier
+						if (joins.get(point).add(variable) && inputs.get(nodes.get(point)).add(variable))
+							ws.push(point);
+			}
+		}
+
+		private void buildChains() {
+			List<List<Integer>> children = new ArrayList<>();
+			for (int i = 0; i < sites.size(); i++)
+				children.add(new ArrayList<>());
+			for (int point : order)
+				if (point != 0)
+					children.get(dominators[point]).add(point);
+
+			// the definitions reaching the points through each of their
+			// predecessors, for the variables joined at them
+			Map<Integer, Map<String, Set<Site>>> operands = new HashMap<>();
+			Map<String, Deque<Site>> current = new HashMap<>();
+			Deque<int[]> stack = new ArrayDeque<>();
+			stack.push(new int[] { 0, 0 });
+			while (!stack.isEmpty()) {
+				int[] top = stack.peek();
+				int point = top[0];
+				if (top[1] == 1) {
+					stack.pop();
+					for (String variable : defs.get(point))
+						current.get(variable).pop();
+					continue;
+				}
+
+				top[1] = 1;
+				Statement node = nodes.get(point);
+				if (node != null)
+					for (String variable : inputs.get(node))
+						if (!joins.get(point).contains(variable)) {
+							Deque<Site> reached = current.get(variable);
+							if (reached != null && !reached.isEmpty())
+								addChain(node, variable, Collections.singleton(reached.peek()));
+						}
+				for (String variable : defs.get(point))
+					current.computeIfAbsent(variable, v -> new ArrayDeque<>()).push(sites.get(point));
+				for (int succ : successors.get(point))
+					for (String variable : joins.get(succ)) {
+						Deque<Site> reached = current.get(variable);
+						if (reached != null && !reached.isEmpty())
+							operands.computeIfAbsent(succ, p -> new HashMap<>())
+									.computeIfAbsent(variable, v -> new HashSet<>())
+									.add(reached.peek());
+					}
+				for (int child : children.get(point))
+					stack.push(new int[] { child, 0 });
+			}
+
+			for (Map.Entry<Integer, Map<String, Set<Site>>> entry : operands.entrySet())
+				for (Map.Entry<String, Set<Site>> chain : entry.getValue().entrySet())
+					addChain(nodes.get(entry.getKey()), chain.getKey(), chain.getValue());
+		}
+	}
+
+	/**
+	 * A place where variables are defined: either the entry state of an
+	 * entrypoint, the post-state of a statement, or the state obtained by
+	 * traversing an edge.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	public static final class Site {
+
+		private final Statement node;
+
+		private final Edge edge;
+
+		private final boolean entry;
+
+		private Site(
+				Statement node,
+				Edge edge,
+				boolean entry) {
+			this.node = node;
+			this.edge = edge;
+			this.entry = entry;
+		}
+
+		/**
+		 * Builds the site corresponding to the entry state of an entrypoint.
+		 * 
+		 * @param node the entrypoint
+		 * 
+		 * @return the site
+		 */
+		public static Site entry(
+				Statement node) {
+			return new Site(Objects.requireNonNull(node), null, true);
+		}
+
+		/**
+		 * Builds the site corresponding to the post-state of a statement.
+		 * 
+		 * @param node the statement
+		 * 
+		 * @return the site
+		 */
+		public static Site after(
+				Statement node) {
+			return new Site(Objects.requireNonNull(node), null, false);
+		}
+
+		/**
+		 * Builds the site corresponding to the state obtained by traversing
+		 * an edge.
+		 * 
+		 * @param edge the edge
+		 * 
+		 * @return the site
+		 */
+		public static Site after(
+				Edge edge) {
+			return new Site(null, Objects.requireNonNull(edge), false);
+		}
+
+		/**
+		 * Yields whether or not this site is the entry state of an
+		 * entrypoint.
+		 * 
+		 * @return {@code true} if that condition holds
+		 */
+		public boolean isEntry() {
+			return entry;
+		}
+
+		/**
+		 * Yields the statement of this site, that is either an entrypoint or
+		 * the statement producing the post-state. This is {@code null} for
+		 * sites built on edges.
+		 * 
+		 * @return the statement
+		 */
+		public Statement getStatement() {
+			return node;
+		}
+
+		/**
+		 * Yields the edge of this site. This is {@code null} for sites built
+		 * on statements.
+		 * 
+		 * @return the edge
+		 */
+		public Edge getEdge() {
+			return edge;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(node, edge, entry);
+		}
+
+		@Override
+		public boolean equals(
+				Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Site other = (Site) obj;
+			return entry == other.entry && Objects.equals(node, other.node) && Objects.equals(edge, other.edge);
+		}
+
+		@Override
+		public String toString() {
+			if (edge != null)
+				return "after " + edge;
+			return (entry ? "before " : "after ") + node;
+		}
+	}
+}
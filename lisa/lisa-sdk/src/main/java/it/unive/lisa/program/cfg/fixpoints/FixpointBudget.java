@@ -0,0 +1,214 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The budgets limiting the time spent and the number of statements visited by
+ * fixpoint computations over {@link CFG}s, both for each single fixpoint and
+ * for the whole analysis. Budgets are set through
+ * {@link LiSAConfiguration#fixpointTimeBudget},
+ * {@link LiSAConfiguration#fixpointVisitBudget},
+ * {@link LiSAConfiguration#globalFixpointTimeBudget} and
+ * {@link LiSAConfiguration#globalFixpointVisitBudget}. Each fixpoint
+ * computation tracks its consumption through a {@link Tracker}, that yields
+ * the {@link Stage} of degradation that the fixpoint should adopt: once the
+ * first budget is exceeded, fixpoints start widening at all cycle entries, and
+ * once twice the budget has been consumed, they give up computing semantics
+ * and use top states for all remaining statements. Both stages guarantee
+ * termination of the fixpoint while preserving soundness. The cfgs whose
+ * results have been degraded are recorded here. Budgets are safe to use from
+ * concurrent fixpoints.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class FixpointBudget {
+
+	/**
+	 * The degradation stages of a fixpoint computation.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	public enum Stage {
+		/**
+		 * No budget has been exceeded.
+		 */
+		NONE,
+
+		/**
+		 * A budget has been exceeded: widenings should be applied at all
+		 * cycle entries, regardless of the widening threshold.
+		 */
+		WIDENING,
+
+		/**
+		 * Twice a budget has been exceeded: all remaining statements should
+		 * be approximated with top states.
+		 */
+		TOP;
+	}
+
+	private final long timeBudget;
+
+	private final long visitBudget;
+
+	private final long globalTimeBudget;
+
+	private final long globalVisitBudget;
+
+	private final long start;
+
+	private final AtomicLong visits = new AtomicLong();
+
+	private final Set<CodeMemberDescriptor> degraded = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Builds the budgets. Each budget that is 0 or less is disabled. The time
+	 * of the global budget starts running at construction.
+	 * 
+	 * @param timeBudget        the maximum time, in milliseconds, that each
+	 *                              fixpoint computation can take
+	 * @param visitBudget       the maximum number of statements that each
+	 *                              fixpoint computation can visit
+	 * @param globalTimeBudget  the maximum time, in milliseconds, that all
+	 *                              fixpoint computations can take
+	 * @param globalVisitBudget the maximum number of statements that all
+	 *                              fixpoint computations can visit
+	 */
+	public FixpointBudget(
+			long timeBudget,
+			long visitBudget,
+			long globalTimeBudget,
+			long globalVisitBudget) {
+		this.timeBudget = TimeUnit.MILLISECONDS.toNanos(timeBudget);
+		this.visitBudget = visitBudget;
+		this.globalTimeBudget = TimeUnit.MILLISECONDS.toNanos(globalTimeBudget);
+		this.globalVisitBudget = globalVisitBudget;
+		this.start = System.nanoTime();
+	}
+
+	/**
+	 * Starts tracking a new fixpoint computation over the given cfg.
+	 * 
+	 * @param graph the cfg
+	 * 
+	 * @return the tracker for the fixpoint
+	 */
+	public Tracker track(
+			CFG graph) {
+		return new Tracker(graph);
+	}
+
+	/**
+	 * Yields the cfgs whose results have been degraded since a fixpoint
+	 * computation over them exceeded a budget.
+	 * 
+	 * @return the descriptors of the degraded cfgs
+	 */
+	public Set<CodeMemberDescriptor> getDegraded() {
+		return Collections.unmodifiableSet(degraded);
+	}
+
+	/**
+	 * Yields the full signatures of the cfgs whose results have been degraded
+	 * since a fixpoint computation over them exceeded a budget, sorted
+	 * lexicographically.
+	 * 
+	 * @return the signatures of the degraded cfgs
+	 */
+	public Set<String> getDegradedSignatures() {
+		Set<String> result = new TreeSet<>();
+		for (CodeMemberDescriptor descr : degraded)
+			result.add(descr.getFullSignatureWithParNames());
+		return result;
+	}
+
+	private static Stage stage(
+			long consumed,
+			long budget) {
+		if (budget <= 0 || consumed < budget)
+			return Stage.NONE;
+		return consumed < 2 * budget ? Stage.WIDENING : Stage.TOP;
+	}
+
+	private static Stage max(
+			Stage first,
+			Stage second) {
+		return first.compareTo(second) >= 0 ? first : second;
+	}
+
+	/**
+	 * The consumption of the budgets by a single fixpoint computation.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	public final class Tracker {
+
+		private final CFG graph;
+
+		private final long start;
+
+		private final AtomicLong visits;
+
+		private volatile Stage stage;
+
+		private Tracker(
+				CFG graph) {
+			this.graph = graph;
+			this.start = System.nanoTime();
+			this.visits = new AtomicLong();
+			this.stage = Stage.NONE;
+		}
+
+		/**
+		 * Records the visit of a statement, yielding the degradation stage
+		 * that the fixpoint should adopt for it. Stages never decrease.
+		 * 
+		 * @return the stage
+		 */
+		public Stage visit() {
+			long count = visits.incrementAndGet();
+			long global = FixpointBudget.this.visits.incrementAndGet();
+			long now = System.nanoTime();
+			Stage current = max(stage(count, visitBudget), stage(now - start, timeBudget));
+			current = max(current, stage(global, globalVisitBudget));
+			current = max(current, stage(now - FixpointBudget.this.start, globalTimeBudget));
+			return raise(current);
+		}
+
+		private synchronized Stage raise(
+				Stage current) {
+			if (current.compareTo(stage) > 0) {
+				stage = current;
+				degraded.add(graph.getDescriptor());
+			}
+			return stage;
+		}
+
+		/**
+		 * Yields the current degradation stage of the fixpoint.
+		 * 
+		 * @return the stage
+		 */
+		public Stage getStage() {
+			return stage;
+		}
+
+		/**
+		 * Yields whether or not the fixpoint exceeded a budget, and its
+		 * results have thus been degraded.
+		 * 
+		 * @return {@code true} if that condition holds
+		 */
+		public boolean isDegraded() {
+			return stage != Stage.NONE;
+		}
+	}
+}
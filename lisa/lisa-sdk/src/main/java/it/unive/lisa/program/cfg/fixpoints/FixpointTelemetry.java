@@ -0,0 +1,270 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A collector of statistics about the fixpoint computations executed over
+ * {@link CFG}s. For each {@link Statement} that is processed by a fixpoint,
+ * the telemetry records how many times its semantics has been computed, how
+ * many times the fixpoint invoked
+ * {@link InstrumentedFixpoint#union(Statement, CFGFixpoint.CompoundState, CFGFixpoint.CompoundState)},
+ * {@link InstrumentedFixpoint#operation(Statement, CFGFixpoint.CompoundState, CFGFixpoint.CompoundState)}
+ * and
+ * {@link InstrumentedFixpoint#equality(Statement, CFGFixpoint.CompoundState, CFGFixpoint.CompoundState)}
+ * on it, how many of the operations resulted in a widening, and how much time
+ * has been spent computing its semantics. Statistics for a whole {@link CFG}
+ * are obtained by summing the ones of its statements. Telemetry is collected
+ * only if {@link LiSAConfiguration#collectFixpointTelemetry} is set, and it is
+ * safe to use from concurrent fixpoints.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class FixpointTelemetry {
+
+	private final Map<Statement, Counters> statements = new ConcurrentHashMap<>();
+
+	private final Map<CodeMemberDescriptor, LongAdder> fixpoints = new ConcurrentHashMap<>();
+
+	/**
+	 * Yields the {@link Counters} of the given statement, creating them if
+	 * needed.
+	 * 
+	 * @param st the statement
+	 * 
+	 * @return the counters of the statement
+	 */
+	Counters of(
+			Statement st) {
+		return statements.computeIfAbsent(st, s -> new Counters());
+	}
+
+	/**
+	 * Records that a fixpoint computation has been started over the given
+	 * cfg. Fixpoints are counted by descriptor, so that the ones executed
+	 * over the results of an analysis (e.g., when unwinding optimized
+	 * results) are attributed to the original cfg.
+	 * 
+	 * @param cfg the cfg
+	 */
+	void fixpointStarted(
+			CFG cfg) {
+		fixpoints.computeIfAbsent(cfg.getDescriptor(), d -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Records that a widening has been applied at the given statement.
+	 * 
+	 * @param st the statement
+	 */
+	void widening(
+			Statement st) {
+		of(st).widenings.increment();
+	}
+
+	/**
+	 * Yields whether or not no data has been collected yet.
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isEmpty() {
+		return statements.isEmpty() && fixpoints.isEmpty();
+	}
+
+	/**
+	 * Yields the statistics collected for each statement.
+	 * 
+	 * @return a read-only view of the statistics of each statement
+	 */
+	public Map<Statement, Counters> getStatementCounters() {
+		return Collections.unmodifiableMap(statements);
+	}
+
+	/**
+	 * Yields the statistics collected for each cfg, obtained by summing the
+	 * ones of its statements.
+	 * 
+	 * @return the statistics of each cfg
+	 */
+	public Map<CFG, Counters> getCFGCounters() {
+		Map<CFG, Counters> result = new HashMap<>();
+		for (Entry<Statement, Counters> entry : statements.entrySet())
+			result.computeIfAbsent(entry.getKey().getCFG(), g -> new Counters()).add(entry.getValue());
+		return result;
+	}
+
+	/**
+	 * Yields the number of fixpoint computations (ascending, descending or
+	 * unwinding of optimized results) that have been executed over the given
+	 * cfg.
+	 * 
+	 * @param cfg the cfg
+	 * 
+	 * @return the number of fixpoint computations
+	 */
+	public long getFixpoints(
+			CFG cfg) {
+		LongAdder count = fixpoints.get(cfg.getDescriptor());
+		return count == null ? 0 : count.sum();
+	}
+
+	/**
+	 * Yields the statistics of each statement in the form of property bags,
+	 * indexed by the signature of the containing cfg followed by the location
+	 * and the textual representation of the statement.
+	 * 
+	 * @return the statistics of each statement
+	 */
+	public Map<String, Map<String, String>> statementsToPropertyBag() {
+		Map<String, Map<String, String>> result = new TreeMap<>();
+		for (Entry<Statement, Counters> entry : statements.entrySet()) {
+			Statement st = entry.getKey();
+			String key = st.getCFG().getDescriptor().getFullSignatureWithParNames() + " @ " + st.getLocation()
+					+ ": " + st;
+			result.put(key, entry.getValue().toPropertyBag());
+		}
+		return result;
+	}
+
+	/**
+	 * Yields the statistics of each cfg in the form of property bags, indexed
+	 * by the signature of the cfg. Each bag also contains the number of
+	 * fixpoint computations executed on the cfg.
+	 * 
+	 * @return the statistics of each cfg
+	 */
+	public Map<String, Map<String, String>> cfgsToPropertyBag() {
+		Map<String, Map<String, String>> result = new TreeMap<>();
+		for (Entry<CFG, Counters> entry : getCFGCounters().entrySet()) {
+			Map<String, String> bag = entry.getValue().toPropertyBag();
+			bag.put("fixpoints", String.valueOf(getFixpoints(entry.getKey())));
+			result.put(entry.getKey().getDescriptor().getFullSignatureWithParNames(), bag);
+		}
+		return result;
+	}
+
+	/**
+	 * The statistics collected for a single statement, or for a whole cfg.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	public static final class Counters {
+
+		final LongAdder visits = new LongAdder();
+
+		final LongAdder unions = new LongAdder();
+
+		final LongAdder operations = new LongAdder();
+
+		final LongAdder widenings = new LongAdder();
+
+		final LongAdder equalities = new LongAdder();
+
+		final LongAdder semanticsNanos = new LongAdder();
+
+		private Counters() {
+		}
+
+		private void add(
+				Counters other) {
+			visits.add(other.visits.sum());
+			unions.add(other.unions.sum());
+			operations.add(other.operations.sum());
+			widenings.add(other.widenings.sum());
+			equalities.add(other.equalities.sum());
+			semanticsNanos.add(other.semanticsNanos.sum());
+		}
+
+		/**
+		 * Yields the number of times the semantics has been computed.
+		 * 
+		 * @return the number of visits
+		 */
+		public long getVisits() {
+			return visits.sum();
+		}
+
+		/**
+		 * Yields the number of unions (i.e., lubs of the states of
+		 * predecessors) that have been computed.
+		 * 
+		 * @return the number of unions
+		 */
+		public long getUnions() {
+			return unions.sum();
+		}
+
+		/**
+		 * Yields the number of operations (i.e., lubs, widenings, glbs or
+		 * narrowings between the previous and the current approximations)
+		 * that have been computed.
+		 * 
+		 * @return the number of operations
+		 */
+		public long getOperations() {
+			return operations.sum();
+		}
+
+		/**
+		 * Yields the number of operations that resulted in a widening.
+		 * 
+		 * @return the number of widenings
+		 */
+		public long getWidenings() {
+			return widenings.sum();
+		}
+
+		/**
+		 * Yields the number of equality checks between the previous and the
+		 * current approximations.
+		 * 
+		 * @return the number of equality checks
+		 */
+		public long getEqualities() {
+			return equalities.sum();
+		}
+
+		/**
+		 * Yields the cumulative time spent computing the semantics, in
+		 * nanoseconds. Since the semantics of calls might trigger the analysis
+		 * of their targets, this time includes the one spent analyzing the
+		 * callees.
+		 * 
+		 * @return the time spent computing the semantics
+		 */
+		public long getSemanticsNanos() {
+			return semanticsNanos.sum();
+		}
+
+		/**
+		 * Yields these statistics in the form of a property bag.
+		 * 
+		 * @return a (modifiable) map from the name of each counter to its
+		 *             value
+		 */
+		public Map<String, String> toPropertyBag() {
+			Map<String, String> bag = new TreeMap<>();
+			bag.put("visits", String.valueOf(getVisits()));
+			bag.put("unions", String.valueOf(getUnions()));
+			bag.put("operations", String.valueOf(getOperations()));
+			bag.put("widenings", String.valueOf(getWidenings()));
+			bag.put("equalities", String.valueOf(getEqualities()));
+			bag.put("semanticsNanos", String.valueOf(getSemanticsNanos()));
+			return bag;
+		}
+
+		@Override
+		public String toString() {
+			return toPropertyBag().toString();
+		}
+	}
+}
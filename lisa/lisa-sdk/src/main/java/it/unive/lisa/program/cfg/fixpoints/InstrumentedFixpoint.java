@@ -0,0 +1,128 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+
+/**
+ * A {@link FixpointImplementation} that delegates all of its callbacks to
+ * another implementation, recording statistics about them in a
+ * {@link FixpointTelemetry}.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the type of {@link AbstractState} contained into the analysis
+ *                state
+ */
+public class InstrumentedFixpoint<A extends AbstractState<A>>
+		implements
+		FixpointImplementation<Statement, Edge, CompoundState<A>> {
+
+	private final FixpointImplementation<Statement, Edge, CompoundState<A>> delegate;
+
+	private final FixpointTelemetry telemetry;
+
+	/**
+	 * Builds the implementation.
+	 * 
+	 * @param delegate  the implementation to delegate to
+	 * @param telemetry the telemetry where statistics are recorded
+	 */
+	public InstrumentedFixpoint(
+			FixpointImplementation<Statement, Edge, CompoundState<A>> delegate,
+			FixpointTelemetry telemetry) {
+		this.delegate = delegate;
+		this.telemetry = telemetry;
+	}
+
+	/**
+	 * Instruments the given implementation, that is about to be used for a
+	 * fixpoint over {@code graph}, if the given configuration has a
+	 * {@link FixpointTelemetry}.
+	 * 
+	 * @param <A>            the type of {@link AbstractState} contained into
+	 *                           the analysis state
+	 * @param graph          the graph targeted by the fixpoint
+	 * @param implementation the implementation to instrument
+	 * @param conf           the configuration of the fixpoint
+	 * 
+	 * @return the instrumented implementation, or {@code implementation}
+	 *             itself if no telemetry has to be collected
+	 */
+	public static <A extends AbstractState<A>> FixpointImplementation<Statement, Edge, CompoundState<A>> instrument(
+			CFG graph,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			FixpointConfiguration conf) {
+		FixpointTelemetry telemetry = conf.getTelemetry();
+		if (telemetry == null)
+			return implementation;
+		telemetry.fixpointStarted(graph);
+		return new InstrumentedFixpoint<>(implementation, telemetry);
+	}
+
+	@Override
+	public CompoundState<A> semantics(
+			Statement node,
+			CompoundState<A> entrystate)
+			throws Exception {
+		FixpointTelemetry.Counters counters = telemetry.of(node);
+		counters.visits.increment();
+		long start = System.nanoTime();
+		try {
+			return delegate.semantics(node, entrystate);
+		} finally {
+			counters.semanticsNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public CompoundState<A> traverse(
+			Edge edge,
+			CompoundState<A> entrystate)
+			throws Exception {
+		return delegate.traverse(edge, entrystate);
+	}
+
+	@Override
+	public CompoundState<A> union(
+			Statement node,
+			CompoundState<A> left,
+			CompoundState<A> right)
+			throws Exception {
+		telemetry.of(node).unions.increment();
+		return delegate.union(node, left, right);
+	}
+
+	@Override
+	public CompoundState<A> operation(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws Exception {
+		telemetry.of(node).operations.increment();
+		return delegate.operation(node, approx, old);
+	}
+
+	@Override
+	public boolean equality(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws Exception {
+		telemetry.of(node).equalities.increment();
+		return delegate.equality(node, approx, old);
+	}
+
+	@Override
+	public boolean covers(
+			Statement node,
+			CompoundState<A> approx,
+			CompoundState<A> old)
+			throws Exception {
+		return delegate.covers(node, approx, old);
+	}
+}
@@ -13,12 +13,17 @@ import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.Graph;
 import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import it.unive.lisa.util.datastructures.graph.algorithms.IndexedGraph;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Component;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 /**
@@ -40,6 +45,12 @@ public class OptimizedFixpoint<A extends AbstractState<A>>
 
 	private final Predicate<Statement> hotspots;
 
+	private final BlockTransferCache<A> cache;
+
+	private final Map<Statement, Boolean> cacheable;
+
+	private FixpointImplementation<Statement, Edge, CompoundState<A>> cachedFor;
+
 	/**
 	 * Builds an optimized fixpoint for the given {@link Graph}.
 	 * 
@@ -55,8 +66,68 @@ public class OptimizedFixpoint<A extends AbstractState<A>>
 			CFG graph,
 			boolean forceFullEvaluation,
 			Predicate<Statement> hotspots) {
-		super(graph, forceFullEvaluation);
+		this(graph, forceFullEvaluation, hotspots, false);
+	}
+
+	/**
+	 * Builds an optimized fixpoint for the given {@link Graph}.
+	 * 
+	 * @param graph                  the source graph
+	 * @param forceFullEvaluation    whether or not the fixpoint should
+	 *                                   evaluate all nodes independently of
+	 *                                   the fixpoint implementation
+	 * @param hotspots               the predicate to identify additional
+	 *                                   statements whose approximation must
+	 *                                   be preserved in the results
+	 * @param incrementalEntryStates whether or not entry states of basic
+	 *                                   blocks should be computed
+	 *                                   incrementally
+	 */
+	public OptimizedFixpoint(
+			CFG graph,
+			boolean forceFullEvaluation,
+			Predicate<Statement> hotspots,
+			boolean incrementalEntryStates) {
+		this(graph, forceFullEvaluation, hotspots, incrementalEntryStates, 0);
+	}
+
+	/**
+	 * Builds an optimized fixpoint for the given {@link Graph}.
+	 * 
+	 * @param graph                  the source graph
+	 * @param forceFullEvaluation    whether or not the fixpoint should
+	 *                                   evaluate all nodes independently of
+	 *                                   the fixpoint implementation
+	 * @param hotspots               the predicate to identify additional
+	 *                                   statements whose approximation must
+	 *                                   be preserved in the results
+	 * @param incrementalEntryStates whether or not entry states of basic
+	 *                                   blocks should be computed
+	 *                                   incrementally
+	 * @param cacheSize              the maximum number of transfers of basic
+	 *                                   blocks to cache, keyed by the entry
+	 *                                   state of the block (use 0 or less to
+	 *                                   disable caching)
+	 */
+	public OptimizedFixpoint(
+			CFG graph,
+			boolean forceFullEvaluation,
+			Predicate<Statement> hotspots,
+			boolean incrementalEntryStates,
+			int cacheSize) {
+		super(graph, forceFullEvaluation, incrementalEntryStates);
 		this.hotspots = hotspots;
+		this.cache = cacheSize > 0 ? new BlockTransferCache<>(cacheSize) : null;
+		this.cacheable = cacheSize > 0 ? new ConcurrentHashMap<>() : null;
+	}
+
+	/**
+	 * Yields the cache of the transfers of basic blocks used by this fixpoint.
+	 * 
+	 * @return the cache, or {@code null} if caching is disabled
+	 */
+	BlockTransferCache<A> getCache() {
+		return cache;
 	}
 
 	@Override
@@ -126,6 +197,70 @@ public class OptimizedFixpoint<A extends AbstractState<A>>
 			}
 		}
 
+		return cleanup(result);
+	}
+
+	@Override
+	public Map<Statement, CompoundState<A>> fixpoint(
+			Map<Statement, CompoundState<A>> startingPoints,
+			List<Component<Statement>> order,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			Map<Statement, CompoundState<A>> initialResult)
+			throws FixpointException {
+		return cleanup(super.fixpoint(startingPoints, order, implementation, initialResult));
+	}
+
+	@Override
+	public Map<Statement, CompoundState<A>> fixpoint(
+			Map<Statement, CompoundState<A>> startingPoints,
+			List<Component<Statement>> order,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			Map<Statement, CompoundState<A>> initialResult,
+			ForkJoinPool pool,
+			Predicate<Statement> sequential)
+			throws FixpointException {
+		return cleanup(super.fixpoint(startingPoints, order, implementation, initialResult, pool, sequential));
+	}
+
+	@Override
+	public Map<Statement, CompoundState<A>> fixpoint(
+			Map<Statement, CompoundState<A>> startingPoints,
+			IndexedGraph<CFG, Statement, Edge> view,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			Map<Statement, CompoundState<A>> initialResult)
+			throws FixpointException {
+		return cleanup(super.fixpoint(startingPoints, view, implementation, initialResult));
+	}
+
+	@Override
+	protected CompoundState<A> computeApproximation(
+			Statement node,
+			CompoundState<A> entrystate,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			Map<Statement, CompoundState<A>> result)
+			throws FixpointException {
+		return analyze(result, implementation, entrystate, block(node));
+	}
+
+	@Override
+	protected Statement resultHolder(
+			Statement node)
+			throws FixpointException {
+		Statement[] bb = block(node);
+		return bb[bb.length - 1];
+	}
+
+	private Statement[] block(
+			Statement leader)
+			throws FixpointException {
+		Statement[] bb = graph.getBasicBlocks().get(leader);
+		if (bb == null)
+			throw new FixpointException("'" + leader + "' is not the leader of a basic block of '" + graph + "'");
+		return bb;
+	}
+
+	private Map<Statement, CompoundState<A>> cleanup(
+			Map<Statement, CompoundState<A>> result) {
 		// cleanup: theoretically, we can reconstruct the full results by
 		// storing only the pre-states of the entrypoints and the post-states of
 		// the widening-points. we additionally store the post-states of
@@ -148,6 +283,38 @@ public class OptimizedFixpoint<A extends AbstractState<A>>
 			CompoundState<A> entrystate,
 			Statement[] bb)
 			throws FixpointException {
+		// the results of calls might change while the fixpoint is running
+		// (e.g., when solving recursions), so blocks containing calls are
+		// always executed
+		if (cache == null || !cacheable.computeIfAbsent(bb[0], leader -> !graph.blockContainsCalls(leader)))
+			return analyze(result, implementation, entrystate, bb, result);
+
+		synchronized (cache) {
+			if (cachedFor != implementation) {
+				cache.clear();
+				cachedFor = implementation;
+			}
+		}
+
+		BlockTransferCache.Transfer<A> transfer = cache.get(bb[0], entrystate);
+		if (transfer == null) {
+			Map<Statement, CompoundState<A>> stored = new HashMap<>();
+			CompoundState<A> post = analyze(result, implementation, entrystate, bb, stored);
+			transfer = new BlockTransferCache.Transfer<>(post, stored);
+			cache.put(bb[0], entrystate, transfer);
+		}
+
+		result.putAll(transfer.stored);
+		return transfer.post;
+	}
+
+	private CompoundState<A> analyze(
+			Map<Statement, CompoundState<A>> result,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			CompoundState<A> entrystate,
+			Statement[] bb,
+			Map<Statement, CompoundState<A>> stored)
+			throws FixpointException {
 		StatementStore<A> emptyIntermediate = entrystate.intermediateStates.bottom();
 		CompoundState<A> newApprox = CompoundState.of(
 				entrystate.postState.bottom(),
@@ -163,10 +330,10 @@ public class OptimizedFixpoint<A extends AbstractState<A>>
 				for (Entry<Statement, AnalysisState<A>> intermediate : newApprox.intermediateStates)
 					if (intermediate.getKey().stopsExecution()
 							|| (hotspots != null && hotspots.test(intermediate.getKey())))
-						result.put(intermediate.getKey(), CompoundState.of(intermediate.getValue(), emptyIntermediate));
+						stored.put(intermediate.getKey(), CompoundState.of(intermediate.getValue(), emptyIntermediate));
 				if (cursor != bb[bb.length - 1] && (cursor.stopsExecution()
 						|| (hotspots != null && hotspots.test(cursor))))
-					result.put(cursor, CompoundState.of(newApprox.postState, emptyIntermediate));
+					stored.put(cursor, CompoundState.of(newApprox.postState, emptyIntermediate));
 
 				entry = newApprox;
 			} catch (Exception e) {
@@ -0,0 +1,497 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import static java.lang.String.format;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.SemanticDomain;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.fixpoints.DefUseChains.Site;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.symbolic.value.Identifier;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.type.Untyped;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A sparse fixpoint algorithm over a {@link CFG}, for abstract states that are
+ * non-relational (see {@link SemanticDomain#isNonRelational()}). Using the
+ * {@link DefUseChains} of the cfg, the abstract value of each local variable
+ * is propagated from the {@link Site}s defining it directly to the statements
+ * using it. Edges only carry the information that is not bound to local
+ * variables (e.g., the one about heap locations), and the entry state of each
+ * statement is built by lubbing such information from its predecessors and
+ * then adding the values of the variables it refers to (see
+ * {@link DefUseChains#getInputs(Statement)}), that are the lubs of the values
+ * at their reaching definitions (see
+ * {@link SemanticDomain#replaceIdentifiersIf(SemanticDomain, Predicate)}).
+ * The approximation of each statement thus only holds the values of the
+ * variables it refers to, and joins at merge points do not involve the values
+ * of other variables. Whenever the approximation of a statement changes, its
+ * followers are re-evaluated only if the information that is not bound to
+ * local variables changed, while the statements reading one of the variables
+ * it defines are re-evaluated only if the value of that variable changed.
+ * Complete approximations are reconstructed once the fixpoint converges, only
+ * for the statements that are part of the results.<br>
+ * <br>
+ * The algorithm assumes that statements only access the variables they refer
+ * to through {@link it.unive.lisa.program.cfg.statement.VariableRef}s. If the
+ * semantics of a statement produces information about a variable that it does
+ * not refer to, or if it loses all the information of its entry state (i.e.,
+ * it yields the top state), the computation is aborted and
+ * {@link #fixpoint(Map, WorkingSet, FixpointImplementation)} returns
+ * {@code null}, so that the caller can fall back to a dense fixpoint.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the type of {@link AbstractState} contained into the analysis
+ *                state
+ */
+public class SparseFixpoint<A extends AbstractState<A>> {
+
+	private static final String ERROR = "Exception while %s of '%s' in '%s'";
+
+	private final CFG graph;
+
+	private final DefUseChains chains;
+
+	private final boolean optimized;
+
+	private final Predicate<Statement> hotspots;
+
+	private final Map<String, Variable> probes;
+
+	/**
+	 * The variables whose definitions at each site reach a statement, among
+	 * the ones the statement refers to, computed lazily.
+	 */
+	private final Map<Statement, Map<Site, Set<String>>> definitions;
+
+	/**
+	 * Builds a sparse fixpoint for the given {@link CFG}.
+	 * 
+	 * @param graph     the source graph
+	 * @param chains    the def-use chains of {@code graph}
+	 * @param optimized whether or not the results should be optimized, that
+	 *                      is, if only the approximations of widening points,
+	 *                      stopping statements and hotspots should be
+	 *                      returned (as in {@link OptimizedFixpoint})
+	 * @param hotspots  the predicate to identify additional statements whose
+	 *                      approximation must be preserved in optimized
+	 *                      results
+	 */
+	public SparseFixpoint(
+			CFG graph,
+			DefUseChains chains,
+			boolean optimized,
+			Predicate<Statement> hotspots) {
+		this.graph = graph;
+		this.chains = chains;
+		this.optimized = optimized;
+		this.hotspots = hotspots;
+		this.probes = new HashMap<>();
+		this.definitions = new HashMap<>();
+		// identifiers are compared by name, so these can be used to query any
+		// state for the presence of variables
+		for (String name : chains.getVariables())
+			probes.put(name, new Variable(Untyped.INSTANCE, name, graph.getDescriptor().getLocation()));
+	}
+
+	/**
+	 * Runs the fixpoint. Statements are processed in the order dictated by
+	 * {@code ws}, starting from the ones in {@code startingPoints}.
+	 * 
+	 * @param startingPoints a map containing all the nodes to start the
+	 *                           fixpoint at, each mapped to its entry state
+	 * @param ws             the instance of {@link WorkingSet} to use for the
+	 *                           fixpoint
+	 * @param implementation the {@link FixpointImplementation} to use for
+	 *                           running the fixpoint
+	 * 
+	 * @return a mapping from each (reachable) node of the graph to its
+	 *             approximation, or {@code null} if the sparse propagation
+	 *             cannot be applied to the statements of the graph
+	 * 
+	 * @throws FixpointException if an error occurs during the fixpoint
+	 */
+	public Map<Statement, CompoundState<A>> fixpoint(
+			Map<Statement, CompoundState<A>> startingPoints,
+			WorkingSet<Statement> ws,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation)
+			throws FixpointException {
+		Map<Statement, CompoundState<A>> posts = new HashMap<>(graph.getNodesCount());
+		// the information that is not bound to variables in the states
+		// obtained by traversing each edge
+		Map<Edge, CompoundState<A>> rest = new HashMap<>();
+		// the states obtained by traversing the edges defining variables
+		Map<Edge, CompoundState<A>> edges = new HashMap<>();
+		// the information that is not bound to variables at starting points:
+		// their variables are read from their entry sites
+		Map<Statement, CompoundState<A>> starts = new HashMap<>();
+		// statements are evaluated with the latest values when popped, so
+		// the ones that are already waiting are not pushed again
+		Set<Statement> waiting = new HashSet<>();
+		Consumer<Statement> push = st -> {
+			if (waiting.add(st))
+				ws.push(st);
+		};
+		for (Entry<Statement, CompoundState<A>> start : startingPoints.entrySet())
+			try {
+				AnalysisState<A> state = start.getValue().postState.forgetIdentifiersIf(chains::isVariable);
+				starts.put(start.getKey(), CompoundState.of(state, start.getValue().intermediateStates));
+				push.accept(start.getKey());
+			} catch (SemanticException e) {
+				throw new FixpointException(format(ERROR, "creating entry state", start.getKey(), graph), e);
+			}
+
+		while (!ws.isEmpty()) {
+			Statement current = ws.pop();
+			waiting.remove(current);
+
+			if (current == null)
+				throw new FixpointException("null node encountered during fixpoint in '" + graph + "'");
+			if (!chains.containsNode(current))
+				throw new FixpointException("'" + current + "' is not part of '" + graph + "'");
+
+			CompoundState<A> entrystate = getEntryState(current, startingPoints, starts, implementation, posts, rest,
+					edges);
+			if (entrystate == null)
+				// no predecessor has been computed yet: this will be processed
+				// once the first one is
+				continue;
+
+			CompoundState<A> newApprox;
+			try {
+				newApprox = implementation.semantics(current, entrystate);
+			} catch (Exception e) {
+				throw new FixpointException(format(ERROR, "computing semantics", current, graph), e);
+			}
+
+			try {
+				if (!isSparse(current, entrystate.postState, newApprox.postState))
+					return null;
+			} catch (SemanticException e) {
+				throw new FixpointException(format(ERROR, "computing semantics", current, graph), e);
+			}
+
+			CompoundState<A> oldApprox = posts.get(current);
+			try {
+				if (oldApprox != null) {
+					newApprox = implementation.operation(current, newApprox, oldApprox);
+					if (implementation.equality(current, newApprox, oldApprox))
+						continue;
+				}
+			} catch (Exception e) {
+				throw new FixpointException(format(ERROR, "updating result", current, graph), e);
+			}
+
+			posts.put(current, newApprox);
+			try {
+				for (String variable : chains.getInputs(current))
+					if (changed(oldApprox, newApprox, variable))
+						chains.getReaders(Site.after(current), variable).forEach(push);
+			} catch (SemanticException e) {
+				throw new FixpointException(format(ERROR, "updating result", current, graph), e);
+			}
+
+			for (Edge edge : chains.getOutgoingEdges(current))
+				try {
+					CompoundState<A> out = implementation.traverse(edge, newApprox);
+					Set<String> definitions = chains.getEdgeDefinitions(edge);
+					if (!definitions.isEmpty()) {
+						CompoundState<A> prev = edges.put(edge, out);
+						for (String variable : definitions)
+							if (changed(prev, out, variable))
+								chains.getReaders(Site.after(edge), variable).forEach(push);
+					}
+
+					CompoundState<A> nonVariables = CompoundState.of(
+							out.postState.forgetIdentifiersIf(chains::isVariable),
+							out.intermediateStates);
+					CompoundState<A> prev = rest.put(edge, nonVariables);
+					if (prev == null || !nonVariables.postState.equals(prev.postState))
+						push.accept(edge.getDestination());
+				} catch (Exception e) {
+					throw new FixpointException(format(ERROR, "computing edge semantics", edge, graph), e);
+				}
+		}
+
+		return reconstruct(startingPoints, posts, rest, edges);
+	}
+
+	private CompoundState<A> getEntryState(
+			Statement node,
+			Map<Statement, CompoundState<A>> startingPoints,
+			Map<Statement, CompoundState<A>> starts,
+			FixpointImplementation<Statement, Edge, CompoundState<A>> implementation,
+			Map<Statement, CompoundState<A>> posts,
+			Map<Edge, CompoundState<A>> rest,
+			Map<Edge, CompoundState<A>> edges)
+			throws FixpointException {
+		try {
+			CompoundState<A> entrystate = starts.get(node);
+			for (Edge edge : chains.getIngoingEdges(node)) {
+				CompoundState<A> state = rest.get(edge);
+				if (state == null)
+					// this might not have been computed yet
+					continue;
+				if (entrystate == null)
+					entrystate = state;
+				else
+					entrystate = implementation.union(node, entrystate, state);
+			}
+
+			if (entrystate == null || entrystate.postState.getState().isBottom())
+				// definitions reaching the node through unfeasible paths must
+				// not be considered
+				return entrystate;
+
+			AnalysisState<A> result = entrystate.postState;
+			A values = reachingValues(node, startingPoints, posts, edges);
+			if (values != null) {
+				Set<String> inputs = chains.getInputs(node);
+				result = result.replaceIdentifiersIf(values,
+						id -> chains.isVariable(id) && inputs.contains(id.getName()));
+			}
+
+			return CompoundState.of(result, entrystate.intermediateStates);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "creating entry state", node, graph), e);
+		}
+	}
+
+	private boolean isSparse(
+			Statement node,
+			AnalysisState<A> entry,
+			AnalysisState<A> post)
+			throws SemanticException {
+		A state = post.getState();
+		if (state.isTop())
+			// the values of the variables that the statement does not refer
+			// to would be lost as well
+			return entry.getState().isTop();
+		// the entry state only knows the variables that the statement refers
+		// to, so the post-state must not know any other one
+		Set<String> inputs = chains.getInputs(node);
+		return state.forgetIdentifiersIf(id -> chains.isVariable(id) && !inputs.contains(id.getName())).equals(state);
+	}
+
+	private boolean changed(
+			CompoundState<A> previous,
+			CompoundState<A> current,
+			String variable)
+			throws SemanticException {
+		if (previous == null)
+			return true;
+		A old = previous.postState.getState();
+		return !old.replaceIdentifiersIf(current.postState.getState(), matching(variable)).equals(old);
+	}
+
+	private Predicate<Identifier> matching(
+			String variable) {
+		return id -> chains.isVariable(id) && id.getName().equals(variable);
+	}
+
+	private A reachingValues(
+			Statement node,
+			Map<Statement, CompoundState<A>> startingPoints,
+			Map<Statement, CompoundState<A>> posts,
+			Map<Edge, CompoundState<A>> edges)
+			throws SemanticException {
+		Map<Site, Set<String>> sites = definitions.computeIfAbsent(node, st -> {
+			Map<Site, Set<String>> result = new HashMap<>();
+			for (String variable : chains.getInputs(st))
+				for (Site site : chains.getReachingDefinitions(st, variable))
+					result.computeIfAbsent(site, s -> new HashSet<>()).add(variable);
+			return result;
+		});
+
+		// each site only contributes the values of the variables it defines
+		// for the node, so that lubs only involve those
+		A result = null;
+		for (Entry<Site, Set<String>> entry : sites.entrySet()) {
+			Site site = entry.getKey();
+			CompoundState<A> state;
+			if (site.getEdge() != null)
+				state = edges.get(site.getEdge());
+			else if (site.isEntry())
+				state = startingPoints.get(site.getStatement());
+			else
+				state = posts.get(site.getStatement());
+
+			if (state == null)
+				// definitions that have not been computed yet will cause the
+				// re-evaluation of their readers once they are
+				continue;
+
+			A value = state.postState.getState();
+			Set<String> known = new HashSet<>();
+			for (String variable : entry.getValue())
+				// as in lubs of environments, definitions that do not know
+				// a variable do not contribute to its value: note that this
+				// also holds for top states
+				if (value.knowsIdentifier(probes.get(variable)))
+					known.add(variable);
+			if (known.isEmpty())
+				continue;
+
+			value = value.forgetIdentifiersIf(id -> !chains.isVariable(id) || !known.contains(id.getName()));
+			result = result == null ? value : result.lub(value);
+		}
+		return result;
+	}
+
+	private boolean keep(
+			Statement st,
+			Collection<Statement> wideningPoints) {
+		return wideningPoints.contains(st) || st.stopsExecution() || (hotspots != null && hotspots.test(st));
+	}
+
+
+	private Map<Statement, CompoundState<A>> reconstruct(
+			Map<Statement, CompoundState<A>> startingPoints,
+			Map<Statement, CompoundState<A>> posts,
+			Map<Edge, CompoundState<A>> rest,
+			Map<Edge, CompoundState<A>> edges)
+			throws FixpointException {
+		Collection<Statement> wideningPoints = graph.getCycleEntries();
+		List<Statement> order = order(startingPoints.keySet(), posts.keySet());
+		Map<Statement, Integer> index = new HashMap<>(order.size());
+		for (Statement node : order)
+			index.put(node, index.size());
+		// complete states are needed until all the followers of their
+		// statements have been reconstructed
+		Map<Statement, Integer> uses = new HashMap<>(order.size());
+		for (Statement node : order)
+			for (Edge edge : chains.getOutgoingEdges(node))
+				if (index.getOrDefault(edge.getDestination(), -1) > index.get(node))
+					uses.merge(node, 1, Integer::sum);
+
+		// each variable that a statement does not refer to is reached by a
+		// single definition, since all variables are defined at the
+		// entrypoints and definitions are joined wherever more than one
+		// reaches a statement: its value is thus the same after each
+		// predecessor, that has been reconstructed before the statement
+		// unless the edge from it closes a cycle
+		Map<Statement, AnalysisState<A>> complete = new HashMap<>();
+		Map<Statement, CompoundState<A>> result = new HashMap<>();
+		for (Statement node : order)
+			try {
+				AnalysisState<A> others = startingPoints.containsKey(node)
+						? startingPoints.get(node).postState
+						: null;
+				for (Edge edge : chains.getIngoingEdges(node)) {
+					Statement source = edge.getSource();
+					if (index.getOrDefault(source, order.size()) >= index.get(node))
+						continue;
+					AnalysisState<A> state = complete.get(source);
+					if (uses.merge(source, -1, Integer::sum) == 0)
+						complete.remove(source);
+					if (rest.get(edge).postState.getState().isBottom())
+						// unfeasible paths do not contribute
+						continue;
+					Set<String> definitions = chains.getEdgeDefinitions(edge);
+					if (!definitions.isEmpty())
+						state = state.replaceIdentifiersIf(edges.get(edge).postState.getState(),
+								id -> chains.isVariable(id) && definitions.contains(id.getName()));
+					others = others == null ? state : others.lub(state);
+				}
+
+				CompoundState<A> post = posts.get(node);
+				Set<String> inputs = chains.getInputs(node);
+				Predicate<Identifier> missing = id -> chains.isVariable(id) && !inputs.contains(id.getName());
+				if (others != null && !post.postState.getState().isBottom())
+					post = refresh(post, others.getState(), missing, wideningPoints);
+				if (uses.containsKey(node))
+					complete.put(node, post.postState);
+
+				if (!optimized)
+					result.put(node, post);
+				else {
+					StatementStore<A> emptyIntermediate = post.intermediateStates.bottom();
+					for (Entry<Statement, AnalysisState<A>> inner : post.intermediateStates)
+						if (keep(inner.getKey(), wideningPoints))
+							result.put(inner.getKey(), CompoundState.of(inner.getValue(), emptyIntermediate));
+					if (keep(node, wideningPoints))
+						result.put(node, CompoundState.of(post.postState, emptyIntermediate));
+				}
+			} catch (SemanticException e) {
+				throw new FixpointException(format(ERROR, "reconstructing the result", node, graph), e);
+			}
+
+		return result;
+	}
+
+	private CompoundState<A> refresh(
+			CompoundState<A> post,
+			A others,
+			Predicate<Identifier> missing,
+			Collection<Statement> wideningPoints)
+			throws SemanticException {
+		AnalysisState<A> state = post.postState.replaceIdentifiersIf(others, missing);
+		StatementStore<A> intermediate = post.intermediateStates.bottom();
+		for (Entry<Statement, AnalysisState<A>> inner : post.intermediateStates)
+			if (optimized && !keep(inner.getKey(), wideningPoints))
+				// this will not be part of the results
+				intermediate.put(inner.getKey(), inner.getValue());
+			else if (inner.getValue().getState().isBottom())
+				intermediate.put(inner.getKey(), inner.getValue());
+			else
+				intermediate.put(inner.getKey(), inner.getValue().replaceIdentifiersIf(others, missing));
+		return CompoundState.of(state, intermediate);
+	}
+
+	private List<Statement> order(
+			Collection<Statement> entrypoints,
+			Set<Statement> reached) {
+		// reverse postorder of the reached statements, so that each one
+		// follows all of its predecessors except the ones closing cycles
+		List<Statement> postorder = new ArrayList<>(reached.size());
+		Set<Statement> visited = new HashSet<>();
+		Deque<Statement> nodes = new ArrayDeque<>();
+		Deque<Iterator<Edge>> followers = new ArrayDeque<>();
+		for (Statement entry : entrypoints)
+			if (reached.contains(entry) && visited.add(entry)) {
+				nodes.push(entry);
+				followers.push(chains.getOutgoingEdges(entry).iterator());
+				while (!nodes.isEmpty()) {
+					Iterator<Edge> it = followers.peek();
+					Statement next = null;
+					while (next == null && it.hasNext()) {
+						Statement candidate = it.next().getDestination();
+						if (reached.contains(candidate) && visited.add(candidate))
+							next = candidate;
+					}
+					if (next != null) {
+						nodes.push(next);
+						followers.push(chains.getOutgoingEdges(next).iterator());
+					} else {
+						postorder.add(nodes.pop());
+						followers.pop();
+					}
+				}
+			}
+		Collections.reverse(postorder);
+		return postorder;
+	}
+}
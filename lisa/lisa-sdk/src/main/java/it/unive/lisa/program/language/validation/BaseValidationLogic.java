@@ -309,7 +309,8 @@ public class BaseValidationLogic implements ProgramValidationLogic {
 	 * {@link CodeMemberDescriptor#overrides()} and raising errors if
 	 * {@link AbstractCodeMember}s do not have an implementation in instantiable
 	 * ({@link CompilationUnit#canBeInstantiated()}) units. Lastly, annotations
-	 * are propagated along the inheritance hierarchy.
+	 * are propagated along the inheritance hierarchy, and the dispatch table
+	 * of the unit is built ({@link CompilationUnit#buildDispatchTable()}).
 	 * 
 	 * @param unit the unit to validate
 	 * 
@@ -389,6 +390,8 @@ public class BaseValidationLogic implements ProgramValidationLogic {
 								args[i].addAnnotation(parAnn);
 				}
 
+		// calls are resolved against the overriding chains computed above
+		unit.buildDispatchTable();
 		processedUnits.add(unit.getName());
 	}
 
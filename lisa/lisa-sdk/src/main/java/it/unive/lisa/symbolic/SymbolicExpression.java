@@ -11,6 +11,7 @@ import it.unive.lisa.symbolic.value.OutOfScopeIdentifier;
 import it.unive.lisa.symbolic.value.ValueExpression;
 import it.unive.lisa.symbolic.value.Variable;
 import it.unive.lisa.type.Type;
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
@@ -18,7 +19,9 @@ import java.util.Objects;
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
-public abstract class SymbolicExpression implements ScopedObject<SymbolicExpression> {
+public abstract class SymbolicExpression implements ScopedObject<SymbolicExpression>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * The code location of the statement that has generated this symbolic
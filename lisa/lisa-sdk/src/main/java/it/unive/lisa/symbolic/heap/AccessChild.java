@@ -14,6 +14,8 @@ import it.unive.lisa.type.Type;
  */
 public class AccessChild extends HeapExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The expression representing the parent memory location
 	 */
@@ -13,6 +13,8 @@ import it.unive.lisa.type.Type;
  */
 public class HeapDereference extends HeapExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The symbolic expression to be dereferenced.
 	 */
@@ -18,6 +18,8 @@ import it.unive.lisa.type.Type;
  */
 public abstract class HeapExpression extends SymbolicExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the heap expression.
 	 * 
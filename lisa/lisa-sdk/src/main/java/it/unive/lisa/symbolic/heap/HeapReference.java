@@ -13,6 +13,8 @@ import it.unive.lisa.type.Type;
  */
 public class HeapReference extends HeapExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The expression referred by this expression
 	 */
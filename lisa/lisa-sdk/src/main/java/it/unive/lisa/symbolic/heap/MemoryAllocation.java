@@ -14,6 +14,8 @@ import java.util.Objects;
  */
 public class MemoryAllocation extends HeapExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * If this allocation is allocated in the stack.
 	 */
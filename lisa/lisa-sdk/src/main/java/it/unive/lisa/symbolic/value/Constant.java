@@ -14,6 +14,8 @@ import it.unive.lisa.type.Type;
  */
 public class Constant extends ValueExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The constant
 	 */
@@ -16,6 +16,8 @@ import it.unive.lisa.type.Type;
  */
 public class HeapLocation extends Identifier {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the heap location.
 	 * 
@@ -16,6 +16,8 @@ import it.unive.lisa.type.Type;
  */
 public abstract class Identifier extends ValueExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The name of the identifier
 	 */
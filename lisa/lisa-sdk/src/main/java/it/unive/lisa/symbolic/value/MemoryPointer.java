@@ -15,6 +15,8 @@ import it.unive.lisa.type.Type;
  */
 public class MemoryPointer extends Identifier {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The heap location memory pointed by this pointer.
 	 */
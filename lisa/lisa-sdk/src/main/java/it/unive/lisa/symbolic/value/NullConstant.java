@@ -10,6 +10,8 @@ import it.unive.lisa.type.NullType;
  */
 public class NullConstant extends Constant {
 
+	private static final long serialVersionUID = 1L;
+
 	private static final Object NULL_CONST = new Object();
 
 	/**
@@ -15,6 +15,8 @@ import it.unive.lisa.symbolic.SymbolicExpression;
  */
 public class OutOfScopeIdentifier extends Identifier {
 
+	private static final long serialVersionUID = 1L;
+
 	private final ScopeToken scope;
 
 	private final Identifier id;
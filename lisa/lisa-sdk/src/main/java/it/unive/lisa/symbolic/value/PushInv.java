@@ -15,6 +15,8 @@ import it.unive.lisa.type.Type;
  */
 public class PushInv extends ValueExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the push invalid.
 	 * 
@@ -14,6 +14,8 @@ import it.unive.lisa.type.VoidType;
  */
 public class Skip extends ValueExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the skip.
 	 * 
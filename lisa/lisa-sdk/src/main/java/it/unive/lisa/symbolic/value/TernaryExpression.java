@@ -16,6 +16,8 @@ import it.unive.lisa.type.Type;
  */
 public class TernaryExpression extends ValueExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The left-hand side operand of this expression
 	 */
@@ -19,6 +19,8 @@ import it.unive.lisa.type.Type;
  */
 public class UnaryExpression extends ValueExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The inner expression
 	 */
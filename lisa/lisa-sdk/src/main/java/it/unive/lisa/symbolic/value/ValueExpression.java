@@ -17,6 +17,8 @@ import it.unive.lisa.type.Type;
  */
 public abstract class ValueExpression extends SymbolicExpression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Builds the heap expression.
 	 * 
@@ -18,6 +18,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class ComparisonLt extends NumericComparison {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -21,6 +21,8 @@ import java.util.Set;
  */
 public class ComparisonNe implements ComparisonOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -17,6 +17,8 @@ import it.unive.lisa.type.BooleanType;
  */
 public class LogicalAnd extends LogicalOperation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -18,6 +18,8 @@ import java.util.Set;
  */
 public abstract class LogicalOperation implements LogicalOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public Set<Type> typeInference(
 			TypeSystem types,
@@ -20,6 +20,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class Numeric16BitMod extends NumericOperation implements ModuloOperator, OverflowingOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -22,6 +22,8 @@ public class Numeric16BitSub extends NumericOperation
 		SubtractionOperator,
 		OverflowingOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -21,6 +21,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class Numeric32BitRem extends NumericOperation implements RemainderOperator, OverflowingOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
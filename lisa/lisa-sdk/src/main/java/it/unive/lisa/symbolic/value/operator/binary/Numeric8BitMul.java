@@ -22,6 +22,8 @@ public class Numeric8BitMul extends NumericOperation
 		MultiplicationOperator,
 		OverflowingOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -23,6 +23,8 @@ public class Numeric8BitSub extends NumericOperation
 		OverflowingOperator,
 		BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -19,6 +19,8 @@ import java.util.Set;
  */
 public abstract class NumericComparison implements ComparisonOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public Set<Type> typeInference(
 			TypeSystem types,
@@ -17,6 +17,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class NumericNonOverflowingAdd extends NumericOperation implements AdditionOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -17,6 +17,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class NumericNonOverflowingDiv extends NumericOperation implements DivisionOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -18,6 +18,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class NumericNonOverflowingMod extends NumericOperation implements ModuloOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
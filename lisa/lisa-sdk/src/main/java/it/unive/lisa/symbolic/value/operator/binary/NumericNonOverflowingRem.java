@@ -19,6 +19,8 @@ import it.unive.lisa.type.NumericType;
  */
 public class NumericNonOverflowingRem extends NumericOperation implements RemainderOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -16,6 +16,8 @@ import java.util.Set;
  */
 public abstract class NumericOperation implements BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public Set<Type> typeInference(
 			TypeSystem types,
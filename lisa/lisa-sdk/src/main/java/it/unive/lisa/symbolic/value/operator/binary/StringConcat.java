@@ -18,6 +18,8 @@ import it.unive.lisa.type.TypeSystem;
  */
 public class StringConcat extends StringOperation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -20,6 +20,8 @@ import it.unive.lisa.type.TypeSystem;
  */
 public class StringEquals extends StringOperation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
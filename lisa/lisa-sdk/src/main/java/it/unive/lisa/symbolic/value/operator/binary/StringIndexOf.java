@@ -21,6 +21,8 @@ import it.unive.lisa.type.TypeSystem;
  */
 public class StringIndexOf extends StringOperation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
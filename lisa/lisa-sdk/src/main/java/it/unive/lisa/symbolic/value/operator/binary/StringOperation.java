@@ -18,6 +18,8 @@ import java.util.Set;
  */
 public abstract class StringOperation implements StringOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public Set<Type> typeInference(
 			TypeSystem types,
@@ -19,6 +19,8 @@ import it.unive.lisa.type.TypeSystem;
  */
 public class StringStartsWith extends StringOperation {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -29,6 +29,8 @@ import java.util.Set;
  */
 public class TypeCast implements TypeOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
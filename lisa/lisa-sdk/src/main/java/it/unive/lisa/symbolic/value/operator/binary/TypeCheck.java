@@ -23,6 +23,8 @@ import java.util.Set;
  */
 public class TypeCheck implements TypeOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
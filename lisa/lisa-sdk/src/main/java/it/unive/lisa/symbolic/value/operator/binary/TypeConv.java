@@ -27,6 +27,8 @@ import java.util.Set;
  */
 public class TypeConv implements TypeOperator, BinaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
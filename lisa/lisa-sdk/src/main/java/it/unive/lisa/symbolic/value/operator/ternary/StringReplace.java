@@ -33,6 +33,8 @@ import java.util.Set;
  */
 public class StringReplace implements StringOperator, TernaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
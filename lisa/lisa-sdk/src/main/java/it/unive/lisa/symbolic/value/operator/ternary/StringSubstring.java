@@ -34,6 +34,8 @@ import java.util.Set;
  */
 public class StringSubstring implements StringOperator, TernaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -21,6 +21,8 @@ import java.util.stream.Collectors;
  */
 public class BitwiseNegation implements BitwiseOperator, UnaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
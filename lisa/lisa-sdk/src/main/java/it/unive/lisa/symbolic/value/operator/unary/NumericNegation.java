@@ -22,6 +22,8 @@ import java.util.stream.Collectors;
  */
 public class NumericNegation implements ArithmeticOperator, UnaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
@@ -21,6 +21,8 @@ import java.util.Set;
  */
 public class TypeOf implements TypeOperator, UnaryOperator {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The singleton instance of this class.
 	 */
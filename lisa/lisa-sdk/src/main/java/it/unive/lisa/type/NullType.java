@@ -15,6 +15,8 @@ import java.util.Set;
  */
 public class NullType implements InMemoryType {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Unique instance of {@link NullType}.
 	 */
@@ -14,6 +14,8 @@ import java.util.Set;
  */
 public class ReferenceType implements PointerType {
 
+	private static final long serialVersionUID = 1L;
+
 	private final Type innerType;
 
 	/**
@@ -6,6 +6,7 @@ import it.unive.lisa.program.cfg.CodeLocation;
 import it.unive.lisa.program.cfg.statement.DefaultParamInitialization;
 import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.symbolic.SymbolicExpression;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Set;
 
@@ -16,7 +17,7 @@ import java.util.Set;
  * 
  * @author <a href="mailto:vincenzo.arceri@unive.it">Vincenzo Arceri</a>
  */
-public interface Type {
+public interface Type extends Serializable {
 
 	/**
 	 * Yields {@code true} if and only if this type is an instance of
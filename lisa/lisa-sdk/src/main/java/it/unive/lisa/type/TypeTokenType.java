@@ -11,6 +11,8 @@ import java.util.TreeSet;
  */
 public class TypeTokenType implements Type {
 
+	private static final long serialVersionUID = 1L;
+
 	private final Set<Type> types;
 
 	/**
@@ -13,6 +13,8 @@ import java.util.Set;
  */
 public class Untyped implements Type {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Unique instance of Untyped type.
 	 */
@@ -12,6 +12,8 @@ import java.util.Set;
  */
 public class VoidType implements Type {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Unique instance of {@link VoidType}.
 	 */
@@ -6,13 +6,22 @@ import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.Edge;
 import it.unive.lisa.util.datastructures.graph.Graph;
 import it.unive.lisa.util.datastructures.graph.Node;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Component;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Predicate;
 
 /**
  * A fixpoint algorithm for a {@link Graph}, parametric to the
@@ -42,6 +51,24 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 	 */
 	protected final boolean forceFullEvaluation;
 
+	/**
+	 * Whether or not entry states should be computed incrementally, reusing
+	 * the contributions of predecessors whose approximation did not change
+	 * since the last visit.
+	 */
+	protected final boolean incrementalEntryStates;
+
+	/**
+	 * The entry states cached during the current run, if
+	 * {@link #incrementalEntryStates} is {@code true}.
+	 */
+	private Map<N, CachedEntryState<T>> entryStates;
+
+	/**
+	 * The results of the run that {@link #entryStates} refer to.
+	 */
+	private Map<N, T> entryStatesOwner;
+
 	/**
 	 * Builds a fixpoint for the given {@link Graph}.
 	 * 
@@ -53,8 +80,27 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 	public Fixpoint(
 			G graph,
 			boolean forceFullEvaluation) {
+		this(graph, forceFullEvaluation, false);
+	}
+
+	/**
+	 * Builds a fixpoint for the given {@link Graph}.
+	 * 
+	 * @param graph                  the source graph
+	 * @param forceFullEvaluation    whether or not the fixpoint should
+	 *                                   evaluate all nodes independently of
+	 *                                   the fixpoint implementation
+	 * @param incrementalEntryStates whether or not entry states should be
+	 *                                   computed incrementally (see
+	 *                                   {@link #getEntryState(Node, Object, FixpointImplementation, Map)})
+	 */
+	public Fixpoint(
+			G graph,
+			boolean forceFullEvaluation,
+			boolean incrementalEntryStates) {
 		this.graph = graph;
 		this.forceFullEvaluation = forceFullEvaluation;
+		this.incrementalEntryStates = incrementalEntryStates;
 	}
 
 	/**
@@ -180,6 +226,37 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 				T approx,
 				T old)
 				throws Exception;
+
+		/**
+		 * Given a node and two states, yields whether or not {@code approx}
+		 * covers {@code old}, that is, if {@code old} is less or equal than
+		 * {@code approx}. When this holds, the union of any state with both
+		 * {@code old} and {@code approx} is the union of that state with
+		 * {@code approx} alone.<br>
+		 * <br>
+		 * This callback is invoked when entry states are computed
+		 * incrementally, after the contribution of a predecessor of
+		 * {@code node} changed from {@code old} to {@code approx}: if this
+		 * method returns {@code true}, the new contribution is joined with the
+		 * cached entry state through {@link #union(Object, Object, Object)},
+		 * instead of joining the contributions of all predecessors again. The
+		 * default implementation always returns {@code false}.
+		 * 
+		 * @param node   the node whose entry state is being computed
+		 * @param approx the most recent state
+		 * @param old    the older state
+		 * 
+		 * @return {@code true} if {@code approx} covers {@code old}
+		 * 
+		 * @throws Exception if something goes wrong during the computation
+		 */
+		default boolean covers(
+				N node,
+				T approx,
+				T old)
+				throws Exception {
+			return false;
+		}
 	}
 
 	/**
@@ -233,7 +310,20 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 			FixpointImplementation<N, E, T> implementation,
 			Map<N, T> initialResult)
 			throws FixpointException {
-		Map<N, T> result = initialResult == null ? new HashMap<>(graph.getNodesCount()) : new HashMap<>(initialResult);
+		try {
+			return drain(startingPoints, ws, implementation,
+					initialResult == null ? new HashMap<>(graph.getNodesCount()) : new HashMap<>(initialResult));
+		} finally {
+			discardEntryStates();
+		}
+	}
+
+	private Map<N, T> drain(
+			Map<N, T> startingPoints,
+			WorkingSet<N> ws,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result)
+			throws FixpointException {
 		startingPoints.keySet().forEach(ws::push);
 
 		Set<N> toProcess = null;
@@ -287,7 +377,569 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 	}
 
 	/**
-	 * Yields the entry state for the given node.
+	 * Runs the fixpoint over the given {@link IndexedGraph}, that must be a
+	 * view of the graph targeted by this fixpoint. Invoking this method
+	 * effectively recomputes the result: no caching on previous runs is
+	 * executed. Approximations are stored in arrays indexed by the identifiers
+	 * of the view, and the nodes to process are tracked by a bitset instead of
+	 * a {@link WorkingSet}: at each iteration, the pending node with the
+	 * lowest identifier (that is, the first one in reverse postorder) is
+	 * processed. This avoids hashing nodes and edges on every iteration, and
+	 * yields results that are equivalent to the ones of
+	 * {@link #fixpoint(Map, WorkingSet, FixpointImplementation, Map)} up to
+	 * the order in which nodes are processed. Approximations computed for
+	 * nodes that are not part of the view (e.g., ones stored by
+	 * {@link #computeApproximation(Node, Object, FixpointImplementation, Map)})
+	 * are kept in a separate map, and are merged in the returned result.
+	 * 
+	 * @param startingPoints a map containing all the nodes to start the
+	 *                           fixpoint at, each mapped to its entry state.
+	 * @param view           the indexed view of the graph to use for the
+	 *                           fixpoint
+	 * @param implementation the {@link FixpointImplementation} to use for
+	 *                           running the fixpoint
+	 * @param initialResult  the map of initial result to use for running the
+	 *                           fixpoint
+	 * 
+	 * @return a mapping from each (reachable) node of the source graph to the
+	 *             fixpoint result computed at that node
+	 * 
+	 * @throws FixpointException if something goes wrong during the fixpoint
+	 *                               execution
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<N, T> fixpoint(
+			Map<N, T> startingPoints,
+			IndexedGraph<G, N, E> view,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> initialResult)
+			throws FixpointException {
+		int size = view.size();
+		Object[] result = new Object[size];
+		Map<N, T> others = new HashMap<>();
+		if (initialResult != null)
+			for (Entry<N, T> entry : initialResult.entrySet()) {
+				int id = view.indexOf(entry.getKey());
+				if (id < 0)
+					others.put(entry.getKey(), entry.getValue());
+				else
+					result[id] = entry.getValue();
+			}
+
+		Object[] starting = new Object[size];
+		BitSet ws = new BitSet(size);
+		for (Entry<N, T> entry : startingPoints.entrySet()) {
+			int id = view.indexOf(entry.getKey());
+			if (id < 0)
+				throw new FixpointException("'" + entry.getKey() + "' is not part of '" + graph + "'");
+			starting[id] = entry.getValue();
+			ws.set(id);
+		}
+
+		BitSet toProcess = null;
+		if (forceFullEvaluation) {
+			toProcess = new BitSet(size);
+			toProcess.set(0, size);
+		}
+
+		CachedEntryState<T>[] cache = incrementalEntryStates ? new CachedEntryState[size] : null;
+
+		int current;
+		while ((current = ws.nextSetBit(0)) >= 0) {
+			ws.clear(current);
+			N node = view.node(current);
+
+			T entrystate = getEntryState(current, (T) starting[current], view, implementation, result, cache);
+			if (entrystate == null)
+				throw new FixpointException("'" + node + "' does not have an entry state");
+
+			T newApprox = computeApproximation(node, entrystate, implementation, others);
+			N holder = resultHolder(node);
+			int closing = holder == node ? current : view.indexOf(holder);
+			T oldApprox = (T) result[closing];
+			if (oldApprox != null)
+				try {
+					newApprox = implementation.operation(holder, newApprox, oldApprox);
+				} catch (Exception e) {
+					throw new FixpointException(format(ERROR, "joining states", holder, graph), e);
+				}
+
+			try {
+				// we go on if we were asked to analyze all nodes at least once
+				if ((forceFullEvaluation && toProcess.get(current))
+						// or if this is the first time we analyze this node
+						|| oldApprox == null
+						// or if we got a result that should not be considered
+						// equal
+						|| !implementation.equality(holder, newApprox, oldApprox)) {
+					if (forceFullEvaluation)
+						toProcess.clear(current);
+					result[closing] = newApprox;
+					for (int follower : view.successors(closing))
+						ws.set(follower);
+				}
+			} catch (Exception e) {
+				throw new FixpointException(format(ERROR, "updating result", holder, graph), e);
+			}
+		}
+
+		Map<N, T> res = new HashMap<>(others);
+		for (int i = 0; i < size; i++)
+			if (result[i] != null)
+				res.put(view.node(i), (T) result[i]);
+		return res;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getEntryState(
+			int node,
+			T startstate,
+			IndexedGraph<G, N, E> view,
+			FixpointImplementation<N, E, T> implementation,
+			Object[] result,
+			CachedEntryState<T>[] cache)
+			throws FixpointException {
+		int[] preds = view.predecessors(node);
+		if (cache != null) {
+			if (cache[node] == null)
+				cache[node] = new CachedEntryState<>(preds.length);
+			CachedEntryState<T> cached = cache[node];
+			N current = view.node(node);
+			// null if all contributions have to be joined again
+			T entry = cached.start != startstate ? null : cached.entry;
+			boolean changed = entry == null;
+			for (int i = 0; i < preds.length; i++) {
+				T approx = (T) result[preds[i]];
+				if (cached.inputs[i] == approx)
+					continue;
+				T contribution = approx == null ? null : traverse(view.ingoing(node, i), approx, implementation);
+				entry = accumulate(current, entry, (T) cached.contributions[i], contribution, implementation);
+				changed = true;
+				cached.inputs[i] = approx;
+				cached.contributions[i] = contribution;
+			}
+
+			if (changed)
+				cached.update(startstate,
+						entry == null ? join(current, startstate, cached.contributions, implementation) : entry);
+			return cached.entry;
+		}
+
+		T entrystate = startstate;
+		for (int i = 0; i < preds.length; i++) {
+			T approx = (T) result[preds[i]];
+			if (approx == null)
+				// this might not have been computed yet
+				continue;
+
+			T state = traverse(view.ingoing(node, i), approx, implementation);
+			try {
+				entrystate = entrystate == null ? state : implementation.union(view.node(node), entrystate, state);
+			} catch (Exception e) {
+				throw new FixpointException(format(ERROR, "creating entry state", view.node(node), graph), e);
+			}
+		}
+
+		return entrystate;
+	}
+
+	/**
+	 * Runs the fixpoint following the given weak topological ordering (see
+	 * {@link WeakTopologicalOrder}) instead of a {@link WorkingSet}. Invoking
+	 * this method effectively recomputes the result: no caching on previous
+	 * runs is executed. Each component of the ordering is stabilized before
+	 * moving to the next element: the body of a component is iterated until
+	 * the approximation of its head does not change anymore. As every cycle
+	 * of the graph passes through the head of a component,
+	 * {@link FixpointImplementation#operation(Object, Object, Object)} and
+	 * {@link FixpointImplementation#equality(Object, Object, Object)} are
+	 * invoked only on heads, while the approximations of all other nodes are
+	 * simply replaced by the newly computed ones. Nodes that are not part of
+	 * the ordering, or that are not reachable from {@code startingPoints},
+	 * will not be part of the result.
+	 * 
+	 * @param startingPoints a map containing all the nodes to start the
+	 *                           fixpoint at, each mapped to its entry state.
+	 * @param order          the weak topological ordering of the nodes of the
+	 *                           graph, whose heads are the only nodes where
+	 *                           results are joined
+	 * @param implementation the {@link FixpointImplementation} to use for
+	 *                           running the fixpoint
+	 * @param initialResult  the map of initial result to use for running the
+	 *                           fixpoint
+	 * 
+	 * @return a mapping from each (reachable) node of the source graph to the
+	 *             fixpoint result computed at that node
+	 * 
+	 * @throws FixpointException if something goes wrong during the fixpoint
+	 *                               execution
+	 */
+	public Map<N, T> fixpoint(
+			Map<N, T> startingPoints,
+			List<Component<N>> order,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> initialResult)
+			throws FixpointException {
+		Map<N, T> result = initialResult == null ? new HashMap<>(graph.getNodesCount()) : new HashMap<>(initialResult);
+		try {
+			for (Component<N> comp : order)
+				stabilize(comp, startingPoints, implementation, result);
+		} finally {
+			discardEntryStates();
+		}
+		return result;
+	}
+
+	/**
+	 * Runs the fixpoint following the given weak topological ordering (see
+	 * {@link WeakTopologicalOrder}), stabilizing independent top-level
+	 * components concurrently on the given {@link ForkJoinPool}. Top-level
+	 * components of a weak topological ordering are the strongly connected
+	 * components of the graph, listed in topological order: each of them is
+	 * stabilized (as in
+	 * {@link #fixpoint(Map, List, FixpointImplementation, Map)}) as soon as
+	 * all the components containing its predecessors have been stabilized.
+	 * Components containing at least one node satisfying {@code sequential}
+	 * are additionally stabilized one at a time, following the ordering: this
+	 * enables {@link FixpointImplementation}s to have side effects (e.g.,
+	 * interprocedural ones) on such nodes, as those will happen in the same
+	 * order as in the sequential iteration. Since each component only reads
+	 * the final approximations of the ones it depends on, the returned
+	 * results are identical to the ones of the sequential iteration.<br>
+	 * <br>
+	 * The given {@link FixpointImplementation} must support concurrent
+	 * invocations on nodes belonging to different components that do not
+	 * satisfy {@code sequential}.
+	 * 
+	 * @param startingPoints a map containing all the nodes to start the
+	 *                           fixpoint at, each mapped to its entry state.
+	 * @param order          the weak topological ordering of the nodes of the
+	 *                           graph, whose heads are the only nodes where
+	 *                           results are joined
+	 * @param implementation the {@link FixpointImplementation} to use for
+	 *                           running the fixpoint
+	 * @param initialResult  the map of initial result to use for running the
+	 *                           fixpoint
+	 * @param pool           the pool where components are stabilized
+	 * @param sequential     the predicate identifying the nodes whose
+	 *                           components must be stabilized sequentially
+	 * 
+	 * @return a mapping from each (reachable) node of the source graph to the
+	 *             fixpoint result computed at that node
+	 * 
+	 * @throws FixpointException if something goes wrong during the fixpoint
+	 *                               execution
+	 */
+	public Map<N, T> fixpoint(
+			Map<N, T> startingPoints,
+			List<Component<N>> order,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> initialResult,
+			ForkJoinPool pool,
+			Predicate<N> sequential)
+			throws FixpointException {
+		int size = order.size();
+		Map<N, Integer> regions = new HashMap<>();
+		List<List<N>> members = new ArrayList<>(size);
+		boolean[] exclusive = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			members.add(new ArrayList<>());
+			exclusive[i] = index(order.get(i), i, regions, members.get(i), sequential);
+		}
+
+		// region i depends on j if one of its nodes has a predecessor in j,
+		// or if both are exclusive and j is the closest exclusive region
+		// before i
+		List<Set<Integer>> dependents = new ArrayList<>(size);
+		AtomicIntegerArray pending = new AtomicIntegerArray(size);
+		for (int i = 0; i < size; i++)
+			dependents.add(new HashSet<>());
+		int lastExclusive = -1;
+		for (int i = 0; i < size; i++) {
+			Set<Integer> deps = new HashSet<>();
+			for (N node : members.get(i))
+				for (N pred : graph.predecessorsOf(node)) {
+					Integer j = regions.get(pred);
+					if (j != null && j != i)
+						deps.add(j);
+				}
+			if (exclusive[i]) {
+				if (lastExclusive >= 0)
+					deps.add(lastExclusive);
+				lastExclusive = i;
+			}
+			for (int j : deps)
+				dependents.get(j).add(i);
+			pending.set(i, deps.size());
+		}
+
+		Map<N, T> result = initialResult == null
+				? new ConcurrentHashMap<>(graph.getNodesCount())
+				: new ConcurrentHashMap<>(initialResult);
+		if (incrementalEntryStates) {
+			entryStates = new ConcurrentHashMap<>();
+			entryStatesOwner = result;
+		}
+
+		List<Integer> ready = new ArrayList<>();
+		for (int i = 0; i < size; i++)
+			if (pending.get(i) == 0)
+				ready.add(i);
+		// the root completes once all regions have been stabilized: each of
+		// them forks the dependents that become ready instead of invoking
+		// them, so that long chains of regions do not grow the stack
+		CountedCompleter<Void> root = new CountedCompleter<Void>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void compute() {
+				for (int i : ready)
+					new RegionTask(this, i, order, dependents, pending, startingPoints, implementation, result).fork();
+				tryComplete();
+			}
+		};
+		root.setPendingCount(size);
+
+		try {
+			if (ForkJoinTask.inForkJoinPool())
+				// nested fixpoint: we are already running on a pool
+				root.invoke();
+			else
+				pool.invoke(root);
+		} catch (RegionFailure e) {
+			throw e.getCause();
+		} finally {
+			discardEntryStates();
+		}
+
+		return new HashMap<>(result);
+	}
+
+	private boolean index(
+			Component<N> comp,
+			int region,
+			Map<N, Integer> regions,
+			List<N> members,
+			Predicate<N> sequential)
+			throws FixpointException {
+		N head = comp.getHead();
+		members.add(head);
+		regions.put(head, region);
+		regions.put(resultHolder(head), region);
+		boolean exclusive = sequential.test(head);
+		for (Component<N> inner : comp.getBody())
+			exclusive |= index(inner, region, regions, members, sequential);
+		return exclusive;
+	}
+
+	/**
+	 * A task stabilizing a top-level component of a weak topological ordering,
+	 * and then forking the tasks stabilizing the components that depend on it
+	 * once they have no pending dependencies. Tasks complete their root as
+	 * soon as they end, without waiting for the ones they forked.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	private final class RegionTask extends CountedCompleter<Void> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int region;
+
+		private final transient List<Component<N>> order;
+
+		private final transient List<Set<Integer>> dependents;
+
+		private final AtomicIntegerArray pending;
+
+		private final transient Map<N, T> startingPoints;
+
+		private final transient FixpointImplementation<N, E, T> implementation;
+
+		private final transient Map<N, T> result;
+
+		private RegionTask(
+				CountedCompleter<?> root,
+				int region,
+				List<Component<N>> order,
+				List<Set<Integer>> dependents,
+				AtomicIntegerArray pending,
+				Map<N, T> startingPoints,
+				FixpointImplementation<N, E, T> implementation,
+				Map<N, T> result) {
+			super(root);
+			this.region = region;
+			this.order = order;
+			this.dependents = dependents;
+			this.pending = pending;
+			this.startingPoints = startingPoints;
+			this.implementation = implementation;
+			this.result = result;
+		}
+
+		@Override
+		public void compute() {
+			try {
+				stabilize(order.get(region), startingPoints, implementation, result);
+			} catch (FixpointException e) {
+				throw new RegionFailure(e);
+			}
+
+			for (int dep : dependents.get(region))
+				if (pending.decrementAndGet(dep) == 0)
+					new RegionTask(getCompleter(), dep, order, dependents, pending, startingPoints, implementation,
+							result).fork();
+			tryComplete();
+		}
+	}
+
+	/**
+	 * Unchecked wrapper for {@link FixpointException}s raised while
+	 * stabilizing a component in parallel.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	private static final class RegionFailure extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private RegionFailure(
+				FixpointException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized FixpointException getCause() {
+			return (FixpointException) super.getCause();
+		}
+	}
+
+	private void stabilize(
+			Component<N> comp,
+			Map<N, T> startingPoints,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result)
+			throws FixpointException {
+		if (comp.isVertex()) {
+			update(comp.getHead(), false, startingPoints, implementation, result);
+			return;
+		}
+
+		// the body has to be visited at least once, even if the head does not
+		// change: some of its nodes might have predecessors outside of the
+		// component that have changed
+		update(comp.getHead(), true, startingPoints, implementation, result);
+		do
+			for (Component<N> inner : comp.getBody())
+				stabilize(inner, startingPoints, implementation, result);
+		while (update(comp.getHead(), true, startingPoints, implementation, result));
+	}
+
+	private boolean update(
+			N current,
+			boolean head,
+			Map<N, T> startingPoints,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result)
+			throws FixpointException {
+		if (current == null)
+			throw new FixpointException("null node encountered during fixpoint in '" + graph + "'");
+		if (!graph.containsNode(current))
+			throw new FixpointException("'" + current + "' is not part of '" + graph + "'");
+
+		T entrystate = getEntryState(current, startingPoints.get(current), implementation, result);
+		if (entrystate == null)
+			// not reachable (yet) from the starting points
+			return false;
+
+		T newApprox = computeApproximation(current, entrystate, implementation, result);
+		N holder = resultHolder(current);
+		T oldApprox = result.get(holder);
+		if (!head || oldApprox == null) {
+			result.put(holder, newApprox);
+			return true;
+		}
+
+		try {
+			newApprox = implementation.operation(holder, newApprox, oldApprox);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "joining states", holder, graph), e);
+		}
+
+		try {
+			if (implementation.equality(holder, newApprox, oldApprox))
+				return false;
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "updating result", holder, graph), e);
+		}
+
+		result.put(holder, newApprox);
+		return true;
+	}
+
+	/**
+	 * Computes the approximation of the given node, starting from its entry
+	 * state, when iterating over a weak topological ordering or over an
+	 * {@link IndexedGraph}. The default implementation simply invokes
+	 * {@link FixpointImplementation#semantics(Object, Object)}.
+	 * 
+	 * @param node           the node under evaluation
+	 * @param entrystate     the entry state of the node
+	 * @param implementation the fixpoint implementation to use
+	 * @param result         the current approximations for each node (when
+	 *                           iterating over an {@link IndexedGraph}, only
+	 *                           the ones of nodes not part of the view)
+	 * 
+	 * @return the computed approximation
+	 * 
+	 * @throws FixpointException if something goes wrong during the computation
+	 */
+	protected T computeApproximation(
+			N node,
+			T entrystate,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result)
+			throws FixpointException {
+		try {
+			return implementation.semantics(node, entrystate);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "computing semantics", node, graph), e);
+		}
+	}
+
+	/**
+	 * Yields the node whose entry in the result holds the approximation
+	 * computed by {@link #computeApproximation(Node, Object,
+	 * FixpointImplementation, Map)} for the given node, when iterating over a
+	 * weak topological ordering or over an {@link IndexedGraph}. The default
+	 * implementation returns {@code node} itself.
+	 * 
+	 * @param node the node under evaluation
+	 * 
+	 * @return the node holding its approximation
+	 * 
+	 * @throws FixpointException if no such node exists
+	 */
+	protected N resultHolder(
+			N node)
+			throws FixpointException {
+		return node;
+	}
+
+	/**
+	 * Yields the entry state for the given node. If
+	 * {@link #incrementalEntryStates} is {@code true}, the contribution of
+	 * each predecessor (that is, its approximation after traversing the edge
+	 * connecting it to {@code node}) and the overall entry state are cached
+	 * throughout the run, and contributions are recomputed only for
+	 * predecessors whose approximation changed since the last visit of
+	 * {@code node}. Approximations are compared by identity, as results that
+	 * do not change are never replaced. If no contribution changed, the
+	 * cached entry state is returned without joining the contributions again,
+	 * and if all the changed contributions cover the previous ones (see
+	 * {@link FixpointImplementation#covers(Object, Object, Object)}), only
+	 * those are joined into the cached entry state.
 	 * 
 	 * @param node           the node under evaluation
 	 * @param startstate     a predefined starting state that must be taken into
@@ -307,6 +959,9 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 			Map<N, T> result)
 			throws FixpointException {
 		Collection<N> preds = graph.predecessorsOf(node);
+		if (incrementalEntryStates)
+			return getIncrementalEntryState(node, startstate, preds, implementation, result);
+
 		List<T> states = new ArrayList<>(preds.size());
 
 		for (N pred : preds)
@@ -333,4 +988,157 @@ public class Fixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E exten
 
 		return entrystate;
 	}
+
+	@SuppressWarnings("unchecked")
+	private T getIncrementalEntryState(
+			N node,
+			T startstate,
+			Collection<N> preds,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result)
+			throws FixpointException {
+		if (entryStatesOwner != result) {
+			// a new run started: cached states are bound to the results
+			// of a single run
+			entryStates = new HashMap<>();
+			entryStatesOwner = result;
+		}
+
+		CachedEntryState<T> cached = entryStates.get(node);
+		if (cached == null || cached.inputs.length != preds.size()) {
+			cached = new CachedEntryState<>(preds.size());
+			entryStates.put(node, cached);
+		}
+
+		// null if all contributions have to be joined again
+		T entry = cached.start != startstate ? null : cached.entry;
+		boolean changed = entry == null;
+		int i = 0;
+		for (N pred : preds) {
+			T approx = result.get(pred);
+			if (cached.preds[i] != pred || cached.inputs[i] != approx) {
+				T contribution = approx == null
+						? null
+						: traverse(graph.getEdgeConnecting(pred, node), approx, implementation);
+				if (cached.preds[i] != pred)
+					entry = null;
+				else
+					entry = accumulate(node, entry, (T) cached.contributions[i], contribution, implementation);
+				changed = true;
+				cached.preds[i] = pred;
+				cached.inputs[i] = approx;
+				cached.contributions[i] = contribution;
+			}
+			i++;
+		}
+
+		if (changed)
+			cached.update(startstate,
+					entry == null ? join(node, startstate, cached.contributions, implementation) : entry);
+		return cached.entry;
+	}
+
+	/**
+	 * Joins the new contribution of a predecessor of {@code node} into its
+	 * entry state, if the old contribution of the same predecessor is covered
+	 * by the new one (see
+	 * {@link FixpointImplementation#covers(Object, Object, Object)}): as
+	 * contributions grow monotonically during ascending phases, this avoids
+	 * joining the contributions of all predecessors whenever one of them
+	 * changes.
+	 * 
+	 * @return the new entry state, or {@code null} if the contributions of all
+	 *             predecessors have to be joined again
+	 */
+	private T accumulate(
+			N node,
+			T entry,
+			T old,
+			T contribution,
+			FixpointImplementation<N, E, T> implementation)
+			throws FixpointException {
+		if (entry == null || contribution == null)
+			return null;
+		try {
+			if (old != null && !implementation.covers(node, contribution, old))
+				return null;
+			return implementation.union(node, entry, contribution);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "creating entry state", node, graph), e);
+		}
+	}
+
+	/**
+	 * Discards the entry states cached during the last run when
+	 * {@link #incrementalEntryStates} is {@code true}, so that the results of
+	 * the run are not kept reachable once the fixpoint terminates. Subclasses
+	 * running fixpoints that rely on
+	 * {@link #getEntryState(Node, Object, FixpointImplementation, Map)} must
+	 * invoke this method when they terminate.
+	 */
+	protected void discardEntryStates() {
+		entryStates = null;
+		entryStatesOwner = null;
+	}
+
+	private T traverse(
+			E edge,
+			T approx,
+			FixpointImplementation<N, E, T> implementation)
+			throws FixpointException {
+		try {
+			return implementation.traverse(edge, approx);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "computing edge semantics", edge, graph), e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T join(
+			N node,
+			T startstate,
+			Object[] contributions,
+			FixpointImplementation<N, E, T> implementation)
+			throws FixpointException {
+		T entrystate = startstate;
+		try {
+			for (Object s : contributions)
+				if (s == null)
+					continue;
+				else if (entrystate == null)
+					entrystate = (T) s;
+				else
+					entrystate = implementation.union(node, entrystate, (T) s);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "creating entry state", node, graph), e);
+		}
+		return entrystate;
+	}
+
+	private static final class CachedEntryState<T> {
+
+		private final Object[] preds;
+
+		private final Object[] inputs;
+
+		private final Object[] contributions;
+
+		private T start;
+
+		private T entry;
+
+		private CachedEntryState(
+				int size) {
+			this.preds = new Object[size];
+			this.inputs = new Object[size];
+			this.contributions = new Object[size];
+		}
+
+		private void update(
+				T start,
+				T entry) {
+			this.start = start;
+			this.entry = entry;
+		}
+	}
 }
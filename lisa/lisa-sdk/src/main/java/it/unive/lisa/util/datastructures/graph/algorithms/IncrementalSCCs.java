@@ -0,0 +1,281 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import it.unive.lisa.util.datastructures.graph.Edge;
+import it.unive.lisa.util.datastructures.graph.Graph;
+import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The strongly connected components of a graph, kept up-to-date while edges
+ * are added to it. Differently from {@link SCCs}, that computes all
+ * components from scratch, instances of this class must be notified of each
+ * edge added to the graph through {@link #edgeAdded(Graph, Edge)}: an edge
+ * can only merge existing components, and only if it closes a cycle, that is,
+ * if its destination reaches its source. In that case, the components of all
+ * the nodes that are reachable from the destination and that reach the
+ * source are merged. Edges whose endpoints are already in the same component
+ * are processed in constant time.<br>
+ * <br>
+ * To avoid visiting the whole graph for each edge, a topological order of the
+ * components is maintained following Pearce and Kelly's dynamic topological
+ * sort: each node has an index, equal for all the nodes of a component, such
+ * that edges between different components always go from a lower index to a
+ * higher one. An edge that respects the order cannot close a cycle, and it is
+ * processed in constant time. Otherwise, only the nodes whose indexes lie
+ * between the ones of the endpoints are visited, searching for a cycle and
+ * then shuffling their indexes to restore the order.<br>
+ * <br>
+ * Only non-trivial components (i.e., with more than one node) are stored:
+ * nodes with no component are trivial components, and they are recursive only
+ * if they have a self loop. Removing edges or nodes from the graph is not
+ * supported: {@link #clear()} must be invoked, and all edges of the graph
+ * notified again.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the target {@link Graph}s
+ * @param <N> the type of {@link Node}s in the target graphs
+ * @param <E> the type of {@link Edge}s in the target graphs
+ */
+public class IncrementalSCCs<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends Edge<G, N, E>> {
+
+	/**
+	 * The component containing each node. Nodes that are not part of a
+	 * component with more than one element are not in this map.
+	 */
+	private final Map<N, Set<N>> components = new HashMap<>();
+
+	/**
+	 * The nodes having an edge to themselves.
+	 */
+	private final Set<N> selfLoops = new HashSet<>();
+
+	/**
+	 * The index of each node in the topological order of the components.
+	 * Nodes that have not been the endpoint of an edge yet are not in this
+	 * map.
+	 */
+	private final Map<N, Integer> order = new HashMap<>();
+
+	/**
+	 * The lowest index in {@link #order}, used to place nodes that only have
+	 * outgoing edges.
+	 */
+	private int lowest = 0;
+
+	/**
+	 * The highest index in {@link #order}, used to place nodes that only have
+	 * incoming edges.
+	 */
+	private int highest = 0;
+
+	/**
+	 * Forgets all the components.
+	 */
+	public void clear() {
+		components.clear();
+		selfLoops.clear();
+		order.clear();
+		lowest = 0;
+		highest = 0;
+	}
+
+	/**
+	 * Updates the components after {@code edge} has been added to
+	 * {@code graph}.
+	 * 
+	 * @param graph the graph, already containing the edge
+	 * @param edge  the edge that has been added
+	 */
+	public void edgeAdded(
+			G graph,
+			E edge) {
+		N source = edge.getSource();
+		N destination = edge.getDestination();
+		if (source.equals(destination)) {
+			selfLoops.add(source);
+			return;
+		}
+
+		if (sameComponent(source, destination))
+			return;
+
+		// since all edges are notified, a node that is seen for the first
+		// time has no other edges: it can be placed first if it is the
+		// source, or last if it is the destination
+		if (!order.containsKey(source))
+			order.put(source, order.isEmpty() ? lowest : --lowest);
+		if (!order.containsKey(destination))
+			order.put(destination, ++highest);
+		int lower = order.get(destination);
+		int upper = order.get(source);
+		if (upper < lower)
+			// the edge respects the order
+			return;
+
+		// the edge closes a cycle only if the destination reaches the source:
+		// since edges between components respect the order, only nodes with
+		// an index not greater than the one of the source need to be visited
+		Set<N> forward = new HashSet<>();
+		Deque<N> ws = new ArrayDeque<>();
+		forward.add(destination);
+		ws.push(destination);
+		while (!ws.isEmpty())
+			for (N follower : graph.followersOf(ws.pop()))
+				if (order.get(follower) <= upper && forward.add(follower))
+					ws.push(follower);
+
+		// symmetrically, only nodes with an index not lower than the one of
+		// the destination can reach the source
+		Set<N> backward = new HashSet<>();
+		backward.add(source);
+		ws.push(source);
+		while (!ws.isEmpty())
+			for (N predecessor : graph.predecessorsOf(ws.pop()))
+				if (order.get(predecessor) >= lower && backward.add(predecessor))
+					ws.push(predecessor);
+
+		// all nodes that are reachable from the destination and that reach
+		// the source are merged in a single component
+		Set<N> merged = new HashSet<>();
+		if (forward.contains(source)) {
+			for (N node : forward)
+				if (backward.contains(node))
+					merged.add(node);
+			for (N node : merged)
+				components.put(node, merged);
+		}
+
+		reorder(forward, backward, merged);
+	}
+
+	/**
+	 * Restores the topological order after an edge that does not respect it
+	 * has been added. The nodes reaching the source of the edge are moved
+	 * before the ones reachable from its destination, with the nodes of the
+	 * merged component (if any) in between, reusing the indexes of all these
+	 * nodes: nodes reaching the source are assigned the lowest indexes,
+	 * keeping their relative order, while nodes reachable from the
+	 * destination are assigned the highest ones.
+	 * 
+	 * @param forward  the nodes reachable from the destination of the edge,
+	 *                     with an index not greater than the one of its source
+	 * @param backward the nodes reaching the source of the edge, with an index
+	 *                     not lower than the one of its destination
+	 * @param merged   the nodes of the merged component, empty if the edge did
+	 *                     not close a cycle
+	 */
+	private void reorder(
+			Set<N> forward,
+			Set<N> backward,
+			Set<N> merged) {
+		// nodes are grouped by index, as nodes of the same component share it
+		TreeMap<Integer, List<N>> before = new TreeMap<>();
+		TreeMap<Integer, List<N>> after = new TreeMap<>();
+		TreeSet<Integer> indexes = new TreeSet<>();
+		for (N node : backward) {
+			indexes.add(order.get(node));
+			if (!merged.contains(node))
+				before.computeIfAbsent(order.get(node), i -> new ArrayList<>()).add(node);
+		}
+		for (N node : forward) {
+			indexes.add(order.get(node));
+			if (!merged.contains(node))
+				after.computeIfAbsent(order.get(node), i -> new ArrayList<>()).add(node);
+		}
+
+		Iterator<Integer> ascending = indexes.iterator();
+		for (List<N> group : before.values()) {
+			int index = ascending.next();
+			for (N node : group)
+				order.put(node, index);
+		}
+		Iterator<Integer> descending = indexes.descendingIterator();
+		for (List<N> group : after.descendingMap().values()) {
+			int index = descending.next();
+			for (N node : group)
+				order.put(node, index);
+		}
+		if (!merged.isEmpty()) {
+			int index = ascending.next();
+			for (N node : merged)
+				order.put(node, index);
+		}
+	}
+
+	/**
+	 * Yields whether or not the given nodes are part of the same component. A
+	 * node is always part of the same component as itself.
+	 * 
+	 * @param n1 the first node
+	 * @param n2 the second node
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean sameComponent(
+			N n1,
+			N n2) {
+		if (n1.equals(n2))
+			return true;
+		Set<N> component = components.get(n1);
+		return component != null && component.contains(n2);
+	}
+
+	/**
+	 * Yields the component containing the given node, if it has more than one
+	 * element. The returned set must not be modified.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the component, or {@code null} if the node is a trivial
+	 *             component
+	 */
+	public Set<N> getComponent(
+			N node) {
+		return components.get(node);
+	}
+
+	/**
+	 * Yields whether or not the given node has an edge to itself.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean hasSelfLoop(
+			N node) {
+		return selfLoops.contains(node);
+	}
+
+	/**
+	 * Yields the non-trivial components, that is, the ones with more than one
+	 * node or whose only node has a self loop, as {@link SCCs#buildNonTrivial}
+	 * would compute. Each component is a fresh collection.
+	 * 
+	 * @return the non-trivial components
+	 */
+	public Collection<Collection<N>> getNonTrivial() {
+		Collection<Collection<N>> result = new ArrayList<>();
+		Set<Set<N>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Set<N> component : components.values())
+			if (seen.add(component))
+				result.add(new HashSet<>(component));
+		for (N node : selfLoops)
+			if (!components.containsKey(node))
+				result.add(new HashSet<>(Collections.singleton(node)));
+		return result;
+	}
+}
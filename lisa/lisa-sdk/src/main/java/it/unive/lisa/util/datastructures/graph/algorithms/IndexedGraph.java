@@ -0,0 +1,215 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import it.unive.lisa.util.datastructures.graph.Edge;
+import it.unive.lisa.util.datastructures.graph.Graph;
+import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A frozen, indexed view of a {@link Graph}. Each node of the graph is
+ * assigned a dense integer identifier in {@code [0, size())}, and the
+ * predecessors, successors and ingoing edges of each node are materialized as
+ * arrays indexed by such identifiers. This enables algorithms that iterate
+ * over the graph many times (e.g., {@link Fixpoint}s) to avoid hashing nodes
+ * and edges at every step.<br>
+ * <br>
+ * Identifiers are assigned following a reverse postorder of the nodes
+ * reachable from the entrypoints of the graph, so that (back edges apart)
+ * each node has a greater identifier than all of its predecessors. Nodes that
+ * are not reachable from the entrypoints are numbered last. The view is
+ * computed once at construction time: modifications to the graph that happen
+ * afterwards will not be reflected in the view.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the source {@link Graph}
+ * @param <N> the type of {@link Node}s in the source graph
+ * @param <E> the type of {@link Edge}s in the source graph
+ */
+public class IndexedGraph<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends Edge<G, N, E>> {
+
+	private final G graph;
+
+	private final Object[] nodes;
+
+	private final Map<N, Integer> ids;
+
+	private final int[][] predecessors;
+
+	private final int[][] successors;
+
+	private final Object[][] ingoing;
+
+	/**
+	 * Builds the indexed view of the given graph.
+	 * 
+	 * @param graph the graph to index
+	 */
+	public IndexedGraph(
+			G graph) {
+		this.graph = graph;
+		int size = graph.getNodesCount();
+		this.nodes = new Object[size];
+		this.ids = new HashMap<>(size);
+
+		Set<N> visited = new HashSet<>(size);
+		List<N> order = reversePostorder(graph, visited);
+		for (N node : graph.getNodes())
+			if (!visited.contains(node))
+				order.add(node);
+		int i = 0;
+		for (N node : order) {
+			ids.put(node, i);
+			nodes[i++] = node;
+		}
+
+		this.predecessors = new int[size][];
+		this.successors = new int[size][];
+		this.ingoing = new Object[size][];
+		for (i = 0; i < size; i++) {
+			N node = node(i);
+			Collection<N> preds = graph.predecessorsOf(node);
+			predecessors[i] = new int[preds.size()];
+			ingoing[i] = new Object[preds.size()];
+			int j = 0;
+			for (N pred : preds) {
+				predecessors[i][j] = ids.get(pred);
+				ingoing[i][j++] = graph.getEdgeConnecting(pred, node);
+			}
+
+			Collection<N> follows = graph.followersOf(node);
+			successors[i] = new int[follows.size()];
+			j = 0;
+			for (N follow : follows)
+				successors[i][j++] = ids.get(follow);
+		}
+	}
+
+	private List<N> reversePostorder(
+			G graph,
+			Set<N> visited) {
+		LinkedList<N> order = new LinkedList<>();
+		LinkedList<N> stack = new LinkedList<>();
+		LinkedList<Iterator<N>> iterators = new LinkedList<>();
+		for (N entry : graph.getEntrypoints()) {
+			if (!visited.add(entry))
+				continue;
+			stack.push(entry);
+			iterators.push(graph.followersOf(entry).iterator());
+			while (!stack.isEmpty()) {
+				Iterator<N> it = iterators.peek();
+				if (it.hasNext()) {
+					N next = it.next();
+					if (visited.add(next)) {
+						stack.push(next);
+						iterators.push(graph.followersOf(next).iterator());
+					}
+				} else {
+					order.addFirst(stack.pop());
+					iterators.pop();
+				}
+			}
+		}
+
+		return new ArrayList<>(order);
+	}
+
+	/**
+	 * Yields the graph indexed by this view.
+	 * 
+	 * @return the graph
+	 */
+	public G getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Yields the number of nodes in this view.
+	 * 
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * Yields the identifier of the given node.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the identifier of the node, or {@code -1} if the node is not
+	 *             part of this view
+	 */
+	public int indexOf(
+			N node) {
+		Integer id = ids.get(node);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Yields the node with the given identifier.
+	 * 
+	 * @param id the identifier
+	 * 
+	 * @return the node
+	 */
+	@SuppressWarnings("unchecked")
+	public N node(
+			int id) {
+		return (N) nodes[id];
+	}
+
+	/**
+	 * Yields the identifiers of the predecessors of the node with the given
+	 * identifier. The returned array must not be modified.
+	 * 
+	 * @param id the identifier
+	 * 
+	 * @return the identifiers of the predecessors, in the same order as
+	 *             {@link Graph#predecessorsOf(Node)}
+	 */
+	public int[] predecessors(
+			int id) {
+		return predecessors[id];
+	}
+
+	/**
+	 * Yields the identifiers of the successors of the node with the given
+	 * identifier. The returned array must not be modified.
+	 * 
+	 * @param id the identifier
+	 * 
+	 * @return the identifiers of the successors, in the same order as
+	 *             {@link Graph#followersOf(Node)}
+	 */
+	public int[] successors(
+			int id) {
+		return successors[id];
+	}
+
+	/**
+	 * Yields the edge connecting the {@code i}-th predecessor (as returned by
+	 * {@link #predecessors(int)}) of the node with the given identifier to the
+	 * node itself.
+	 * 
+	 * @param id the identifier of the destination node
+	 * @param i  the position of the source node among the predecessors of the
+	 *               destination
+	 * 
+	 * @return the edge
+	 */
+	@SuppressWarnings("unchecked")
+	public E ingoing(
+			int id,
+			int i) {
+		return (E) ingoing[id][i];
+	}
+}
@@ -1,10 +1,9 @@
 package it.unive.lisa.util.datastructures.graph.algorithms;
 
-import it.unive.lisa.util.collections.workset.LIFOWorkingSet;
-import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.Edge;
 import it.unive.lisa.util.datastructures.graph.Graph;
 import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -17,7 +16,9 @@ import java.util.Set;
  * connected, that is, where there exist a path in both directions between any
  * two nodes of the set. This is implemented Tarjan's algorithm, computing
  * maximal non-trivial SCCs (i.e., containing at least one edge and such that no
- * other node could be added without breaking strong connectivity).
+ * other node could be added without breaking strong connectivity). Use
+ * {@link IncrementalSCCs} to keep the components of a graph up-to-date while
+ * edges are added to it.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -84,56 +85,97 @@ public class SCCs<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends E
 	 * returned value can also be accessed later through {@link #getSCCs()}.
 	 * Note that the returned value contains <b>all</b> components, including
 	 * trivial single-node ones. This also holds for the value returned by
-	 * {@link #getSCCs()}.
+	 * {@link #getSCCs()}.<br>
+	 * <br>
+	 * The algorithm is implemented iteratively, with explicit stacks, so that
+	 * the depth of the graph is not limited by the size of the thread's stack.
+	 * Nodes are numbered once, and all bookkeeping happens on arrays indexed
+	 * by such numbers.
 	 * 
 	 * @param graph the graph whose sccs are to be computed
 	 * 
 	 * @return the set of all sccs
 	 */
+	@SuppressWarnings("unchecked")
 	public Collection<Collection<N>> build(
 			G graph) {
 		sccs.clear();
 
+		Collection<N> all = graph.getNodes();
+		int size = all.size();
+		Object[] nodes = new Object[size];
+		Map<N, Integer> ids = new HashMap<>(size * 2);
+		int i = 0;
+		for (N n : all) {
+			ids.put(n, i);
+			nodes[i++] = n;
+		}
+		int[][] followers = new int[size][];
+		for (i = 0; i < size; i++) {
+			Collection<N> follows = graph.followersOf((N) nodes[i]);
+			followers[i] = new int[follows.size()];
+			int j = 0;
+			for (N follow : follows)
+				followers[i][j++] = ids.get(follow);
+		}
+
 		int index = 0;
-		Map<N, Integer> indexes = new HashMap<>();
-		Map<N, Integer> lowlinks = new HashMap<>();
-		WorkingSet<N> ws = LIFOWorkingSet.mk();
-		for (N n : graph.getNodes())
-			if (!indexes.containsKey(n))
-				index = strongconnect(graph, indexes, lowlinks, index, ws, n);
+		int[] indexes = new int[size];
+		Arrays.fill(indexes, -1);
+		int[] lowlinks = new int[size];
+		// the nodes of the components that are still open
+		int[] stack = new int[size];
+		boolean[] onStack = new boolean[size];
+		int top = 0;
+		// the nodes being visited, replacing the recursive calls, together
+		// with the next follower to process for each of them
+		int[] visiting = new int[size];
+		int[] next = new int[size];
+		int depth = 0;
 
-		return sccs;
-	}
+		for (int root = 0; root < size; root++) {
+			if (indexes[root] != -1)
+				continue;
 
-	private int strongconnect(
-			G graph,
-			Map<N, Integer> indexes,
-			Map<N, Integer> lowlinks,
-			int index,
-			WorkingSet<N> ws,
-			N v) {
-		indexes.put(v, index);
-		lowlinks.put(v, index);
-		index++;
-		ws.push(v);
+			indexes[root] = lowlinks[root] = index++;
+			stack[top++] = root;
+			onStack[root] = true;
+			visiting[depth] = root;
+			next[depth++] = 0;
 
-		for (N w : graph.followersOf(v))
-			if (!indexes.containsKey(w)) {
-				index = strongconnect(graph, indexes, lowlinks, index, ws, w);
-				lowlinks.put(v, Math.min(lowlinks.get(v), lowlinks.get(w)));
-			} else if (ws.getContents().contains(w))
-				lowlinks.put(v, Math.min(lowlinks.get(v), indexes.get(w)));
+			while (depth > 0) {
+				int v = visiting[depth - 1];
+				if (next[depth - 1] < followers[v].length) {
+					int w = followers[v][next[depth - 1]++];
+					if (indexes[w] == -1) {
+						indexes[w] = lowlinks[w] = index++;
+						stack[top++] = w;
+						onStack[w] = true;
+						visiting[depth] = w;
+						next[depth++] = 0;
+					} else if (onStack[w])
+						lowlinks[v] = Math.min(lowlinks[v], indexes[w]);
+					continue;
+				}
 
-		if (lowlinks.get(v) == indexes.get(v)) {
-			Set<N> scc = new HashSet<>();
-			N w = null;
-			do {
-				w = ws.pop();
-				scc.add(w);
-			} while (w != v);
-			sccs.add(scc);
+				depth--;
+				if (lowlinks[v] == indexes[v]) {
+					Set<N> scc = new HashSet<>();
+					int w;
+					do {
+						w = stack[--top];
+						onStack[w] = false;
+						scc.add((N) nodes[w]);
+					} while (w != v);
+					sccs.add(scc);
+				}
+				if (depth > 0) {
+					int u = visiting[depth - 1];
+					lowlinks[u] = Math.min(lowlinks[u], lowlinks[v]);
+				}
+			}
 		}
 
-		return index;
+		return sccs;
 	}
 }
@@ -0,0 +1,330 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import it.unive.lisa.util.collections.workset.LIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.datastructures.graph.Edge;
+import it.unive.lisa.util.datastructures.graph.Graph;
+import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An algorithm that computes a weak topological ordering of a graph, following
+ * Bourdoncle's hierarchical decomposition. A weak topological ordering is a
+ * well-parenthesized permutation of the nodes of the graph, where each
+ * parenthesized sequence is a {@link Component} whose first element (the
+ * <i>head</i>) is the only entry point of every cycle of the component that
+ * contains the head itself. Iterating over the ordering recursively, that is,
+ * stabilizing each component before moving to the next element, yields a
+ * fixpoint strategy that visits each node only after all of its
+ * non-back-edge predecessors have been visited, and that needs widening only
+ * at the heads of the components.<br>
+ * <br>
+ * For graphs whose cycles are only reachable through their entries (e.g.,
+ * structured loops, where {@link Graph#getCycleEntries()} are the loop
+ * guards), the heads of the components coincide with the cycle entries
+ * reachable from the roots of the ordering.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the target {@link Graph}s
+ * @param <N> the type of {@link Node}s in the target graphs
+ * @param <E> the type of {@link Edge}s in the target graphs
+ * 
+ * @see <a href="https://doi.org/10.1007/BFb0039704">F. Bourdoncle, Efficient
+ *          chaotic iteration strategies with widenings</a>
+ */
+public class WeakTopologicalOrder<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends Edge<G, N, E>> {
+
+	private final List<Component<N>> order;
+
+	private final Collection<N> heads;
+
+	/**
+	 * Builds the ordering. To run the algorithm, use {@link #build(Graph)}.
+	 */
+	public WeakTopologicalOrder() {
+		order = new LinkedList<>();
+		heads = new HashSet<>();
+	}
+
+	/**
+	 * Yields the last computed ordering through {@link #build(Graph)}.
+	 * 
+	 * @return the ordering, as a list of top-level components
+	 */
+	public List<Component<N>> getOrder() {
+		return order;
+	}
+
+	/**
+	 * Yields the heads of the (non-trivial) components of the last computed
+	 * ordering through {@link #build(Graph)}.
+	 * 
+	 * @return the heads of the components
+	 */
+	public Collection<N> getHeads() {
+		return heads;
+	}
+
+	/**
+	 * Builds the weak topological ordering of the given graph, starting from
+	 * its entrypoints. The returned value can also be accessed later through
+	 * {@link #getOrder()}. Nodes that are not reachable from the entrypoints
+	 * are not part of the ordering.
+	 * 
+	 * @param graph the graph whose ordering is to be computed
+	 * 
+	 * @return the ordering, as a list of top-level components
+	 */
+	public List<Component<N>> build(
+			G graph) {
+		return build(graph.getEntrypoints(), graph::followersOf);
+	}
+
+	/**
+	 * Builds the weak topological ordering of the graph that is reachable from
+	 * {@code roots} through {@code successors}. The returned value can also be
+	 * accessed later through {@link #getOrder()}. This is useful for computing
+	 * orderings of graphs derived from a {@link Graph}, such as the one induced
+	 * by its basic blocks.
+	 * 
+	 * @param roots      the nodes where the ordering starts
+	 * @param successors the function yielding the successors of each node
+	 * 
+	 * @return the ordering, as a list of top-level components
+	 */
+	public List<Component<N>> build(
+			Collection<N> roots,
+			Function<N, Collection<N>> successors) {
+		order.clear();
+		heads.clear();
+
+		Map<N, Integer> dfn = new HashMap<>();
+		int[] num = new int[] { 0 };
+		WorkingSet<N> stack = LIFOWorkingSet.mk();
+		for (N root : roots)
+			if (!dfn.containsKey(root))
+				visit(successors, dfn, num, stack, root, order);
+
+		return order;
+	}
+
+	/**
+	 * Yields the heads of the non-trivial components of the given ordering,
+	 * including the ones of nested components.
+	 * 
+	 * @param <N>   the type of nodes in the ordering
+	 * @param order the ordering
+	 * 
+	 * @return the heads of the components
+	 */
+	public static <N> Collection<N> headsOf(
+			List<Component<N>> order) {
+		Collection<N> result = new HashSet<>();
+		Deque<Component<N>> ws = new ArrayDeque<>(order);
+		while (!ws.isEmpty()) {
+			Component<N> comp = ws.pop();
+			if (!comp.isVertex()) {
+				result.add(comp.getHead());
+				ws.addAll(comp.getBody());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Bourdoncle's visit, starting at {@code root}. The recursive formulation
+	 * of the algorithm is simulated with an explicit stack of {@link Frame}s,
+	 * as its depth is proportional to the length of the paths in the graph.
+	 */
+	private void visit(
+			Function<N, Collection<N>> successors,
+			Map<N, Integer> dfn,
+			int[] num,
+			WorkingSet<N> stack,
+			N root,
+			List<Component<N>> partition) {
+		Deque<Frame<N>> frames = new ArrayDeque<>();
+		frames.push(enter(successors, dfn, num, stack, root, partition));
+		// the value returned by the last frame that completed, if any
+		int returned = 0;
+		while (!frames.isEmpty()) {
+			Frame<N> frame = frames.peek();
+			if (returned != 0) {
+				// components ignore the values returned by their visits
+				if (!frame.component && returned <= frame.head) {
+					frame.head = returned;
+					frame.loop = true;
+				}
+				returned = 0;
+			}
+
+			if (frame.successors.hasNext()) {
+				N succ = frame.successors.next();
+				int d = dfn.getOrDefault(succ, 0);
+				if (d == 0)
+					frames.push(enter(successors, dfn, num, stack, succ,
+							frame.component ? frame.body : frame.partition));
+				else if (!frame.component && d <= frame.head) {
+					frame.head = d;
+					frame.loop = true;
+				}
+				continue;
+			}
+
+			frames.pop();
+			if (frame.component)
+				frame.partition.add(0, new Component<>(frame.vertex, frame.body));
+			else if (frame.head == dfn.get(frame.vertex)) {
+				dfn.put(frame.vertex, Integer.MAX_VALUE);
+				N element = stack.pop();
+				if (frame.loop) {
+					while (element != frame.vertex) {
+						dfn.put(element, 0);
+						element = stack.pop();
+					}
+					// the component is built after the loop, visiting again
+					// the successors of its head, and the value of this visit
+					// is returned once the component is complete
+					heads.add(frame.vertex);
+					Frame<N> comp = new Frame<>(frame.vertex, successors.apply(frame.vertex).iterator(),
+							frame.partition, true, frame.head);
+					comp.body = new LinkedList<>();
+					frames.push(comp);
+					continue;
+				}
+				frame.partition.add(0, new Component<>(frame.vertex, null));
+			}
+			returned = frame.head;
+		}
+	}
+
+	private Frame<N> enter(
+			Function<N, Collection<N>> successors,
+			Map<N, Integer> dfn,
+			int[] num,
+			WorkingSet<N> stack,
+			N vertex,
+			List<Component<N>> partition) {
+		stack.push(vertex);
+		int head = ++num[0];
+		dfn.put(vertex, head);
+		return new Frame<>(vertex, successors.apply(vertex).iterator(), partition, false, head);
+	}
+
+	/**
+	 * A pending invocation of the visit of a vertex, or of the construction of
+	 * the component starting at a vertex.
+	 * 
+	 * @param <N> the type of nodes in the graph
+	 */
+	private static final class Frame<N> {
+
+		private final N vertex;
+
+		private final Iterator<N> successors;
+
+		/**
+		 * The ordering where the result of this frame is added.
+		 */
+		private final List<Component<N>> partition;
+
+		private final boolean component;
+
+		private int head;
+
+		private boolean loop;
+
+		/**
+		 * The body of the component, if {@link #component} is {@code true}.
+		 */
+		private List<Component<N>> body;
+
+		private Frame(
+				N vertex,
+				Iterator<N> successors,
+				List<Component<N>> partition,
+				boolean component,
+				int head) {
+			this.vertex = vertex;
+			this.successors = successors;
+			this.partition = partition;
+			this.component = component;
+			this.head = head;
+		}
+	}
+
+	/**
+	 * An element of a weak topological ordering. This is either a single node
+	 * (a trivial component, for which {@link #isVertex()} holds) or a
+	 * non-trivial component, that is, a head followed by a nested ordering of
+	 * the nodes that are part of the cycles starting at the head.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 * 
+	 * @param <N> the type of nodes in the component
+	 */
+	public static final class Component<N> {
+
+		private final N head;
+
+		private final List<Component<N>> body;
+
+		private Component(
+				N head,
+				List<Component<N>> body) {
+			this.head = head;
+			this.body = body;
+		}
+
+		/**
+		 * Yields the head of this component. For trivial components, this is
+		 * the only node of the component.
+		 * 
+		 * @return the head
+		 */
+		public N getHead() {
+			return head;
+		}
+
+		/**
+		 * Yields the nested ordering of the nodes of this component, excluding
+		 * its head. For trivial components, this is an empty list.
+		 * 
+		 * @return the body of this component
+		 */
+		public List<Component<N>> getBody() {
+			return body == null ? Collections.emptyList() : body;
+		}
+
+		/**
+		 * Yields whether or not this component is trivial, that is, if it is
+		 * made of a single node that is not part of a cycle.
+		 * 
+		 * @return {@code true} if that condition holds
+		 */
+		public boolean isVertex() {
+			return body == null;
+		}
+
+		@Override
+		public String toString() {
+			if (body == null)
+				return String.valueOf(head);
+			StringBuilder res = new StringBuilder("(").append(head);
+			for (Component<N> comp : body)
+				res.append(" ").append(comp);
+			return res.append(")").toString();
+		}
+	}
+}
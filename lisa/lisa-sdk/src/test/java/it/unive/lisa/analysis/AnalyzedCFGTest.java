@@ -7,12 +7,16 @@ import it.unive.lisa.TestInterproceduralAnalysis;
 import it.unive.lisa.TestLanguageFeatures;
 import it.unive.lisa.TestTypeSystem;
 import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
 import it.unive.lisa.interprocedural.UniqueScope;
 import it.unive.lisa.program.ClassUnit;
 import it.unive.lisa.program.Program;
 import it.unive.lisa.program.SourceCodeLocation;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Assignment;
 import it.unive.lisa.program.cfg.statement.Return;
 import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.program.cfg.statement.VariableRef;
@@ -137,4 +141,51 @@ public class AnalyzedCFGTest {
 		assertEquals(state, res.getAnalysisStateAfter(x));
 		assertEquals(state, res.getAnalysisStateBefore(x));
 	}
+
+	@Test
+	public void testLazyUnwinding() throws SemanticException {
+		SourceCodeLocation unknown = new SourceCodeLocation("unknown", 0, 0);
+		CFG cfg = new CFG(new CodeMemberDescriptor(unknown, unit, false, "lazy"));
+		VariableRef x = new VariableRef(cfg, unknown, "x");
+		Assignment a = new Assignment(cfg, unknown, x, new VariableRef(cfg, unknown, "z"));
+		VariableRef x2 = new VariableRef(cfg, unknown, "x");
+		Return y = new Return(cfg, unknown, x2);
+		cfg.addNode(a, true);
+		cfg.addNode(y);
+		cfg.addEdge(new SequentialEdge(a, y));
+		cfg.computeBasicBlocks();
+
+		AnalysisState<TestAbstractState> state = new AnalysisState<>(
+				new TestAbstractState(),
+				new ExpressionSet());
+
+		// only the exit statement is stored
+		Map<Statement, AnalysisState<TestAbstractState>> entries = Map.of(a, state);
+		Map<Statement, AnalysisState<TestAbstractState>> results = Map.of(y, state);
+
+		LiSAConfiguration conf = new LiSAConfiguration();
+		OptimizedAnalyzedCFG<TestAbstractState> full = new OptimizedAnalyzedCFG<>(
+				cfg,
+				new UniqueScope(),
+				state,
+				entries,
+				results,
+				new TestInterproceduralAnalysis<>());
+		FixpointConfiguration eager = new FixpointConfiguration(conf);
+
+		conf.unwindLazily = true;
+		OptimizedAnalyzedCFG<TestAbstractState> lazy = new OptimizedAnalyzedCFG<>(
+				cfg,
+				new UniqueScope(),
+				state,
+				entries,
+				results,
+				new TestInterproceduralAnalysis<>());
+		FixpointConfiguration lazily = new FixpointConfiguration(conf);
+
+		assertEquals(full.getUnwindedAnalysisStateAfter(a, eager), lazy.getUnwindedAnalysisStateAfter(a, lazily));
+		assertEquals(full.getUnwindedAnalysisStateAfter(x, eager), lazy.getUnwindedAnalysisStateAfter(x, lazily));
+		assertEquals(full.getUnwindedAnalysisStateAfter(x2, eager), lazy.getUnwindedAnalysisStateAfter(x2, lazily));
+		assertEquals(state, lazy.getUnwindedAnalysisStateAfter(y, lazily));
+	}
 }
@@ -1,6 +1,7 @@
 package it.unive.lisa.interprocedural.callgraph;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -28,9 +29,15 @@ import it.unive.lisa.type.StringType;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.Untyped;
+import it.unive.lisa.util.datastructures.graph.algorithms.SCCs;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.Test;
 
 public class BaseCallGraphTest {
@@ -168,4 +175,141 @@ public class BaseCallGraphTest {
 		assertEquals(1, callees.size());
 		assertSame(cfg2_2, callees.iterator().next());
 	}
+
+	private static CFG cfg(
+			Program p,
+			String name) {
+		CFG cfg = new CFG(new CodeMemberDescriptor(new SourceCodeLocation(name, 0, 0), p, false, name));
+		cfg.addNode(new Ret(cfg, new SourceCodeLocation(name, 1, 0)), true);
+		p.addCodeMember(cfg);
+		return cfg;
+	}
+
+	private static void call(
+			CallGraph cg,
+			CFG caller,
+			CFG callee) {
+		CFGCall call = new CFGCall(caller, new SourceCodeLocation(caller.getDescriptor().getName(), 2, 0),
+				CallType.STATIC, "", callee.getDescriptor().getName(), List.of(callee));
+		cg.registerCallSite(call, callee);
+	}
+
+	private static Set<Set<CodeMember>> recursions(
+			CallGraph cg) {
+		return cg.getRecursions().stream().map(HashSet::new).collect(Collectors.toSet());
+	}
+
+	private static Set<Set<CodeMember>> rebuilt(
+			CallGraph cg) {
+		return new SCCs<CallGraph, CallGraphNode, CallGraphEdge>().buildNonTrivial(cg).stream()
+				.map(nodes -> nodes.stream().map(CallGraphNode::getCodeMember).collect(Collectors.toSet()))
+				.collect(Collectors.toSet());
+	}
+
+	@Test
+	public void testIncrementalComponents() throws CallGraphConstructionException {
+		CallGraph cg = new TestCallGraph();
+		Program p = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CFG a = cfg(p, "a");
+		CFG b = cfg(p, "b");
+		CFG c = cfg(p, "c");
+		CFG d = cfg(p, "d");
+		CFG e = cfg(p, "e");
+		cg.init(new Application(p));
+
+		call(cg, a, b);
+		call(cg, b, c);
+		call(cg, c, d);
+		assertTrue(cg.getRecursions().isEmpty());
+		assertFalse(cg.sameComponent(a, c));
+
+		// closes the cycle a -> b -> c -> a, leaving d out
+		call(cg, c, a);
+		assertTrue(cg.sameComponent(a, c));
+		assertTrue(cg.sameComponent(b, a));
+		assertFalse(cg.sameComponent(a, d));
+		assertEquals(rebuilt(cg), recursions(cg));
+
+		// self recursion, and a second cycle merged with the first one
+		call(cg, e, e);
+		call(cg, d, e);
+		assertEquals(rebuilt(cg), recursions(cg));
+		call(cg, e, b);
+		assertTrue(cg.sameComponent(a, e));
+		assertEquals(rebuilt(cg), recursions(cg));
+		assertEquals(1, cg.getRecursionsContaining(d).size());
+		assertEquals(5, cg.getComponents().iterator().next().size());
+	}
+
+	@Test
+	public void testIncrementalComponentsManyCalls() throws CallGraphConstructionException {
+		CallGraph cg = new TestCallGraph();
+		Program p = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		List<CFG> cfgs = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+			cfgs.add(cfg(p, "cfg" + i));
+		cg.init(new Application(p));
+
+		// calls are registered in an order that keeps invalidating the
+		// topological order of the components
+		Random random = new Random(42);
+		for (int i = 0; i < 300; i++) {
+			CFG caller = cfgs.get(random.nextInt(cfgs.size()));
+			CFG callee = cfgs.get(random.nextInt(cfgs.size()));
+			call(cg, caller, callee);
+			assertEquals("Wrong components after " + caller + " -> " + callee, rebuilt(cg), recursions(cg));
+		}
+
+		// members of the same component reach the same code members, also
+		// when queries are answered by the snapshot
+		CompactCallGraph compact = cg.freeze();
+		for (CFG first : cfgs)
+			for (CFG second : cfgs)
+				if (cg.sameComponent(first, second))
+					assertEquals(new HashSet<>(compact.getCalleesTransitively(List.of(first))),
+							new HashSet<>(compact.getCalleesTransitively(List.of(second))));
+	}
+
+	@Test
+	public void testCompactQueries() throws CallGraphConstructionException {
+		CallGraph cg = new TestCallGraph();
+		Program p = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CFG a = cfg(p, "a");
+		CFG b = cfg(p, "b");
+		CFG c = cfg(p, "c");
+		CFG d = cfg(p, "d");
+		CFG e = cfg(p, "e");
+		CFG f = cfg(p, "f");
+		cg.init(new Application(p));
+
+		call(cg, f, a);
+		call(cg, a, b);
+		call(cg, b, c);
+		call(cg, c, a);
+		call(cg, c, d);
+		call(cg, e, e);
+
+		// the first query visits the graph, the second one takes the
+		// snapshot, and the following ones use the memoized results
+		for (int i = 0; i < 4; i++) {
+			assertEquals(Set.of(a, b, c, d), new HashSet<>(cg.getCalleesTransitively(a)));
+			assertEquals(Set.of(a, b, c, d), new HashSet<>(cg.getCalleesTransitively(f)));
+			assertEquals(Set.of(a, b, c, f), new HashSet<>(cg.getCallersTransitively(d)));
+			assertEquals(Set.of(e), new HashSet<>(cg.getCallersTransitively(e)));
+			assertTrue(cg.getCallersTransitively(f).isEmpty());
+			assertEquals(Set.of(a, b, c, d, e), new HashSet<>(cg.getCalleesTransitively(List.of(b, e))));
+			assertEquals(Set.of(c), new HashSet<>(cg.getCallers(d)));
+		}
+
+		CompactCallGraph compact = cg.freeze();
+		assertSame(compact, cg.freeze());
+		assertEquals(6, compact.getMembersCount());
+		assertEquals(6, compact.getEdgesCount());
+
+		// changes invalidate the snapshot
+		call(cg, d, e);
+		assertTrue(compact != cg.freeze());
+		assertEquals(Set.of(a, b, c, d, e), new HashSet<>(cg.getCalleesTransitively(f)));
+		assertEquals(Set.of(a, b, c, d, e, f), new HashSet<>(cg.getCallersTransitively(e)));
+	}
 }
@@ -0,0 +1,197 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestCallGraph;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.CFGResults;
+import it.unive.lisa.interprocedural.FixpointResults;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.interprocedural.callgraph.CallGraphConstructionException;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.program.cfg.statement.call.Call.CallType;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class CheckpointTest {
+
+	private static final AnalysisState<TestAbstractState> STATE = new AnalysisState<>(
+			new TestAbstractState(),
+			new ExpressionSet());
+
+	private static Application app;
+
+	private static CFG foo;
+
+	private static CFG bar;
+
+	private static CFGCall call;
+
+	private static void program() {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		program.addUnit(unit);
+		foo = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("foo", 1, 0), unit, false, "foo"));
+		Statement first = new VariableRef(foo, new SourceCodeLocation("foo", 2, 0), "x");
+		Statement end = new Ret(foo, new SourceCodeLocation("foo", 3, 0));
+		foo.addNode(first, true);
+		foo.addNode(end);
+		foo.addEdge(new SequentialEdge(first, end));
+		unit.addCodeMember(foo);
+
+		bar = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("bar", 1, 0), unit, false, "bar"));
+		call = new CFGCall(bar, new SourceCodeLocation("bar", 2, 0), CallType.STATIC, "unit", "foo",
+				Set.of(foo));
+		Statement ret = new Ret(bar, new SourceCodeLocation("bar", 3, 0));
+		bar.addNode(call, true);
+		bar.addNode(ret);
+		bar.addEdge(new SequentialEdge(call, ret));
+		unit.addCodeMember(bar);
+		program.addEntryPoint(bar);
+		app = new Application(program);
+	}
+
+	private static FixpointResults<TestAbstractState> results(
+			boolean degraded)
+			throws FixpointException,
+			SemanticException {
+		FixpointConfiguration conf = new FixpointConfiguration(new LiSAConfiguration());
+		AnalyzedCFG<TestAbstractState> result = foo.fixpoint(STATE, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), conf, new UniqueScope());
+		if (degraded)
+			result.markDegraded();
+		FixpointResults<TestAbstractState> results = new FixpointResults<>(new CFGResults<>(result).top());
+		results.putResult(foo, result.getId(), result);
+		return results;
+	}
+
+	@Test
+	public void testRoundTrip()
+			throws FixpointException,
+			IOException,
+			CallGraphConstructionException,
+			SemanticException {
+		program();
+		TestCallGraph callgraph = new TestCallGraph();
+		callgraph.init(app);
+		callgraph.registerCall(call);
+
+		FixpointResults<TestAbstractState> results = results(true);
+		AnalyzedCFG<TestAbstractState> result = results.get(foo).getAll().iterator().next();
+
+		Path file = Files.createTempFile("lisa", ".bin");
+		try {
+			new Checkpoint<>("conf", 2, List.of(foo), results, callgraph, app).write(file, app);
+			Checkpoint<TestAbstractState> read = Checkpoint.read(file, app,
+					new TestInterproceduralAnalysis<TestAbstractState>(), "conf", null);
+
+			assertEquals("Wrong iteration", 2, read.getIteration());
+			assertEquals("Wrong triggers", 1, read.getTriggers().size());
+			assertSame("Triggers have not been resolved", foo, read.getTriggers().iterator().next());
+
+			assertNotNull("Results have not been restored", read.getResults());
+			assertTrue("Results have not been restored", read.getResults().contains(foo));
+			AnalyzedCFG<TestAbstractState> restored = read.getResults().get(foo).getAll().iterator().next();
+			// the test domain uses identity as equality, so we can only
+			// compare the representations of the restored states
+			assertEquals("Wrong entry states", result.getEntryStates().getKeys(),
+					restored.getEntryStates().getKeys());
+			assertEquals("Wrong entry states", result.getEntryStates().representation(),
+					restored.getEntryStates().representation());
+			assertEquals("Wrong post-states", result.getResults().getKeys(), restored.getResults().getKeys());
+			assertEquals("Wrong post-states", result.getResults().representation(),
+					restored.getResults().representation());
+			assertTrue("The restored result is not degraded", restored.isDegraded());
+
+			TestCallGraph fresh = new TestCallGraph();
+			fresh.init(app);
+			read.restoreCallSites(fresh);
+			assertEquals("Wrong call sites", callgraph.getCallSites(foo), fresh.getCallSites(foo));
+			assertEquals("Wrong callers", Set.of(bar), Set.copyOf(fresh.getCallers(foo)));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testMismatchedConfigurationIsRejected()
+			throws FixpointException,
+			IOException,
+			CallGraphConstructionException,
+			SemanticException {
+		program();
+		TestCallGraph callgraph = new TestCallGraph();
+		callgraph.init(app);
+
+		Path file = Files.createTempFile("lisa", ".bin");
+		try {
+			new Checkpoint<>("conf", 1, List.of(foo), results(false), callgraph, app).write(file, app);
+			try {
+				Checkpoint.read(file, app, new TestInterproceduralAnalysis<TestAbstractState>(), "other", null);
+				fail("A checkpoint of a different configuration has been read");
+			} catch (InvalidObjectException e) {
+				// expected
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testClassesOutsideTheAllowlistAreRejected()
+			throws IOException,
+			ClassNotFoundException {
+		program();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CheckpointOutputStream out = new CheckpointOutputStream(bytes, app)) {
+			out.writeObject(List.of(1, "x"));
+			out.writeObject(new URL("http://localhost"));
+		}
+
+		try (CheckpointInputStream in = new CheckpointInputStream(new ByteArrayInputStream(bytes.toByteArray()),
+				app)) {
+			assertEquals("Allowed classes have not been read", List.of(1, "x"), in.readObject());
+			try {
+				in.readObject();
+				fail("A class outside the allowlist has been read");
+			} catch (InvalidClassException e) {
+				// expected
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.CFGResults;
+import it.unive.lisa.interprocedural.FixpointResults;
+import it.unive.lisa.interprocedural.ScopeId;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.io.IOException;
+import org.junit.Test;
+
+public class ResultsStoreTest {
+
+	private static final AnalysisState<TestAbstractState> STATE = new AnalysisState<>(
+			new TestAbstractState(),
+			new ExpressionSet());
+
+	private static final ScopeId ID = new UniqueScope();
+
+	private static CFG cfg(
+			CodeUnit unit,
+			String name) {
+		CFG cfg = new CFG(new CodeMemberDescriptor(new SourceCodeLocation(name, 1, 0), unit, false, name));
+		Statement read = new VariableRef(cfg, new SourceCodeLocation(name, 2, 0), "x");
+		Statement ret = new Ret(cfg, new SourceCodeLocation(name, 3, 0));
+		cfg.addNode(read, true);
+		cfg.addNode(ret);
+		cfg.addEdge(new SequentialEdge(read, ret));
+		unit.addCodeMember(cfg);
+		return cfg;
+	}
+
+	private static AnalyzedCFG<TestAbstractState> analyze(
+			CFG cfg)
+			throws FixpointException {
+		return cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(),
+				new FixpointConfiguration(new LiSAConfiguration()), ID);
+	}
+
+	@Test
+	public void testSpillAndReload() throws FixpointException, SemanticException, IOException {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		program.addUnit(unit);
+		CFG foo = cfg(unit, "foo");
+		CFG bar = cfg(unit, "bar");
+
+		// each result holds more than one state: only one can be resident
+		try (ResultsStore store = new ResultsStore(3)) {
+			store.bind(new Application(program), new TestInterproceduralAnalysis<>());
+			AnalyzedCFG<TestAbstractState> fooResult = analyze(foo);
+			AnalyzedCFG<TestAbstractState> barResult = analyze(bar);
+			FixpointResults<TestAbstractState> results = new FixpointResults<>(
+					new CFGResults<>(fooResult).top(),
+					store);
+			results.putResult(foo, ID, fooResult);
+			assertEquals("Results have been spilled while within the bound", 0, store.getSpills());
+			results.putResult(bar, ID, barResult);
+			assertEquals("Wrong spills", 1, store.getSpills());
+			assertTrue("Spilled results have not been written", store.getWrittenBytes() > 0);
+
+			AnalyzedCFG<TestAbstractState> reloaded = results.get(foo).get(ID);
+			assertTrue("The results of foo have not been spilled", fooResult != reloaded);
+			// the test domain uses identity as equality, so we can only
+			// compare the representations of the reloaded states
+			assertEquals("Wrong post-states", fooResult.getResults().representation(),
+					reloaded.getResults().representation());
+			assertEquals("Wrong reloads", 1, store.getReloads());
+			assertEquals("Wrong spills", 2, store.getSpills());
+
+			// foo did not change, so spilling it again does not write it
+			long written = store.getWrittenBytes();
+			results.get(bar).get(ID);
+			assertEquals("Unchanged results have been written again", written, store.getWrittenBytes());
+			assertEquals("Wrong reloads", 2, store.getReloads());
+			assertEquals("Wrong spills", 3, store.getSpills());
+
+			// resident results are not reloaded
+			AnalyzedCFG<TestAbstractState> resident = results.get(bar).get(ID);
+			assertSame("Resident results have been reloaded", resident, results.get(bar).get(ID));
+			assertEquals("Wrong reloads", 2, store.getReloads());
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package it.unive.lisa.interprocedural.checkpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SummaryCacheTest {
+
+	private static final AnalysisState<TestAbstractState> STATE = new AnalysisState<>(
+			new TestAbstractState(),
+			new ExpressionSet());
+
+	private Path dir;
+
+	@Before
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("lisa-summaries");
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+
+	// bar reads the given variable, and it is used as callee of foo
+	private static Application app(
+			String variable) {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		program.addUnit(unit);
+
+		CFG bar = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("bar", 1, 0), unit, false, "bar"));
+		Statement first = new VariableRef(bar, new SourceCodeLocation("bar", 2, 0), variable);
+		Statement end = new Ret(bar, new SourceCodeLocation("bar", 3, 0));
+		bar.addNode(first, true);
+		bar.addNode(end);
+		bar.addEdge(new SequentialEdge(first, end));
+		unit.addCodeMember(bar);
+
+		CFG foo = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("foo", 1, 0), unit, false, "foo"));
+		Statement read = new VariableRef(foo, new SourceCodeLocation("foo", 2, 0), "z");
+		Statement ret = new Ret(foo, new SourceCodeLocation("foo", 3, 0));
+		foo.addNode(read, true);
+		foo.addNode(ret);
+		foo.addEdge(new SequentialEdge(read, ret));
+		unit.addCodeMember(foo);
+		program.addEntryPoint(foo);
+
+		return new Application(program);
+	}
+
+	private static CFG cfg(
+			Application app,
+			String name) {
+		return app.getAllCFGs().stream().filter(cfg -> cfg.getDescriptor().getName().equals(name)).findFirst()
+				.get();
+	}
+
+	private static List<CodeMember> callees(
+			Application app) {
+		return List.of(cfg(app, "bar"));
+	}
+
+	private static AnalyzedCFG<TestAbstractState> analyze(
+			CFG cfg)
+			throws FixpointException {
+		return cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(),
+				new FixpointConfiguration(new LiSAConfiguration()), new UniqueScope());
+	}
+
+	private static AnalyzedCFG<TestAbstractState> lookup(
+			SummaryCache cache,
+			Application app,
+			String configuration) {
+		return cache.lookup(cfg(app, "foo"), new UniqueScope(), STATE, configuration,
+				new TestInterproceduralAnalysis<>(), app);
+	}
+
+	@Test
+	public void testReuseAcrossRuns() throws FixpointException, SemanticException {
+		SummaryCache cache = new SummaryCache(dir, 10);
+		Application app = app("x");
+		AnalyzedCFG<TestAbstractState> result = analyze(cfg(app, "foo"));
+		assertTrue("The result has not been stored",
+				cache.store(cfg(app, "foo"), result, callees(app), "conf", app));
+		assertFalse("The result has been stored twice",
+				cache.store(cfg(app, "foo"), result, callees(app), "conf", app));
+
+		// a new run, over an identical copy of the application
+		SummaryCache other = new SummaryCache(dir, 10);
+		Application copy = app("x");
+		AnalyzedCFG<TestAbstractState> restored = lookup(other, copy, "conf");
+		assertNotNull("The stored result has not been found", restored);
+		// the test domain uses identity as equality, so we can only
+		// compare the representations of the restored states
+		assertEquals("Wrong post-states", result.getResults().representation(),
+				restored.getResults().representation());
+		assertEquals("Wrong hits", 1, other.getHits());
+		assertEquals("Wrong misses", 0, other.getMisses());
+		assertEquals("Wrong hit rate", "1.0000", other.toPropertyBag().get("hitRate"));
+	}
+
+	@Test
+	public void testInvalidation() throws FixpointException, SemanticException {
+		SummaryCache cache = new SummaryCache(dir, 10);
+		Application app = app("x");
+		cache.store(cfg(app, "foo"), analyze(cfg(app, "foo")), callees(app), "conf", app);
+
+		assertNull("Results should depend on the configuration", lookup(cache, app("x"), "other"));
+		assertNull("Results should depend on the cfgs they call", lookup(cache, app("y"), "conf"));
+		assertEquals("Wrong hits", 0, cache.getHits());
+		assertEquals("Wrong misses", 2, cache.getMisses());
+	}
+
+	@Test
+	public void testEviction() throws FixpointException, SemanticException, IOException {
+		SummaryCache cache = new SummaryCache(dir, 1);
+		Application app = app("x");
+		cache.store(cfg(app, "foo"), analyze(cfg(app, "foo")), callees(app), "conf", app);
+		cache.store(cfg(app, "bar"), analyze(cfg(app, "bar")), List.of(), "conf", app);
+		Set<Path> files = summaries();
+		assertEquals("Wrong number of stored results", 2, files.size());
+
+		// foo becomes the most recently used result
+		for (Path file : files)
+			Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+		assertNotNull("The stored result has not been found", lookup(cache, app, "conf"));
+
+		assertEquals("Wrong number of evicted results", 1, cache.evict());
+		assertEquals("Wrong number of stored results", 1, summaries().size());
+		assertNotNull("The most recently used result has been evicted", lookup(cache, app, "conf"));
+		assertEquals("Wrong number of evicted results", "1", cache.toPropertyBag().get("evicted"));
+	}
+
+	private Set<Path> summaries() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(file -> file.toString().endsWith(SummaryCache.FILE_EXTENSION))
+					.collect(Collectors.toSet());
+		}
+	}
+}
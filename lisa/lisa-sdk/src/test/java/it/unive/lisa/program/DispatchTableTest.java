@@ -0,0 +1,56 @@
+package it.unive.lisa.program;
+
+import static org.junit.Assert.assertEquals;
+
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.Parameter;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.language.validation.BaseValidationLogic;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+public class DispatchTableTest {
+
+	private static CFG method(
+			ClassUnit unit,
+			String name) {
+		SourceCodeLocation loc = new SourceCodeLocation(unit.getName(), 0, 0);
+		CFG cfg = new CFG(new CodeMemberDescriptor(loc, unit, true, name, new Parameter(loc, "this")));
+		cfg.addNode(new Ret(cfg, loc), true);
+		unit.addInstanceCodeMember(cfg);
+		return cfg;
+	}
+
+	@Test
+	public void testInheritedMembers() throws ProgramValidationException {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		ClassUnit a = new ClassUnit(SyntheticLocation.INSTANCE, program, "A", false);
+		ClassUnit b = new ClassUnit(SyntheticLocation.INSTANCE, program, "B", false);
+		ClassUnit c = new ClassUnit(SyntheticLocation.INSTANCE, program, "C", false);
+		b.addAncestor(a);
+		c.addAncestor(b);
+		program.addUnit(a);
+		program.addUnit(b);
+		program.addUnit(c);
+		CFG aFoo = method(a, "foo");
+		CFG aBar = method(a, "bar");
+		CFG bFoo = method(b, "foo");
+		new BaseValidationLogic().validateAndFinalize(program);
+
+		assertEquals(Set.of(aFoo), new HashSet<>(a.getInstanceCodeMembersByName("foo", true)));
+		assertEquals(Set.of(bFoo), new HashSet<>(b.getInstanceCodeMembersByName("foo", true)));
+		assertEquals(Set.of(bFoo), new HashSet<>(c.getInstanceCodeMembersByName("foo", true)));
+		assertEquals(Set.of(aBar), new HashSet<>(c.getInstanceCodeMembersByName("bar", true)));
+		assertEquals(Set.of(), new HashSet<>(c.getInstanceCodeMembersByName("foo", false)));
+		assertEquals(Set.of(bFoo, aBar), new HashSet<>(c.getInstanceCodeMembers(true)));
+
+		// new members are visible from the instances of their unit
+		CFG aBaz = method(a, "baz");
+		assertEquals(Set.of(aBaz), new HashSet<>(c.getInstanceCodeMembersByName("baz", true)));
+		assertEquals(Set.of(aFoo, aBar, aBaz), new HashSet<>(a.getInstanceCodeMembers(false)));
+	}
+}
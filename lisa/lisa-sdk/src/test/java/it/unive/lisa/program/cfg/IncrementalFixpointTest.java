@@ -0,0 +1,155 @@
+package it.unive.lisa.program.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.OptimizedAnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.SemanticOracle;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.controlFlow.ControlFlowExtractor;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.symbolic.SymbolicExpression;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class IncrementalFixpointTest {
+
+	/**
+	 * A state counting the transfers executed at each program point.
+	 */
+	private static class CountingState extends TestAbstractState {
+
+		private final Map<ProgramPoint, Integer> transfers = new HashMap<>();
+
+		@Override
+		public TestAbstractState smallStepSemantics(
+				SymbolicExpression expression,
+				ProgramPoint pp,
+				SemanticOracle oracle)
+				throws SemanticException {
+			transfers.merge(pp, 1, Integer::sum);
+			return super.smallStepSemantics(expression, pp, oracle);
+		}
+	}
+
+	private static void check(
+			boolean optimize)
+			throws FixpointException {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "foo");
+		CFG cfg = new CFG(new CodeMemberDescriptor(SyntheticLocation.INSTANCE, unit, false, "foo"));
+		Statement first = new VariableRef(cfg, new SourceCodeLocation("foo", 1, 0), "x");
+		Statement left = new VariableRef(cfg, new SourceCodeLocation("foo", 2, 0), "y");
+		Statement right = new VariableRef(cfg, new SourceCodeLocation("foo", 3, 0), "z");
+		Statement end = new Ret(cfg, new SourceCodeLocation("foo", 5, 0));
+		cfg.addNode(first, true);
+		cfg.addNode(left);
+		cfg.addNode(right);
+		cfg.addNode(end);
+		cfg.addEdge(new TrueEdge(first, left));
+		cfg.addEdge(new FalseEdge(first, right));
+		cfg.addEdge(new SequentialEdge(left, end));
+		cfg.addEdge(new SequentialEdge(right, end));
+		cfg.extractControlFlowStructures(new ControlFlowExtractor());
+
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.optimize = optimize;
+		FixpointConfiguration conf = new FixpointConfiguration(base);
+		if (optimize)
+			cfg.computeBasicBlocks();
+		UniqueScope id = new UniqueScope();
+		CountingState counter = new CountingState();
+		AnalysisState<TestAbstractState> entry = new AnalysisState<>(counter, new ExpressionSet());
+		AnalyzedCFG<TestAbstractState> previous = cfg.fixpoint(entry, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), conf, id);
+		if (optimize)
+			// unwinding must happen before the edit
+			((OptimizedAnalyzedCFG<TestAbstractState>) previous).unwind(conf);
+
+		// edit: a new statement is added at the end of the right branch
+		Statement added = new VariableRef(cfg, new SourceCodeLocation("foo", 4, 0), "w");
+		cfg.getNodeList().removeEdge(cfg.getEdgeConnecting(right, end));
+		cfg.addNode(added);
+		cfg.addEdge(new SequentialEdge(right, added));
+		cfg.addEdge(new SequentialEdge(added, end));
+
+		counter.transfers.clear();
+		AnalyzedCFG<TestAbstractState> incremental = cfg.fixpoint(previous, Set.of(added), entry,
+				new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(), conf, id);
+		Map<ProgramPoint, Integer> transfers = new HashMap<>(counter.transfers);
+		AnalyzedCFG<TestAbstractState> full = cfg.fixpoint(entry, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), conf, id);
+
+		assertEquals("Incremental fixpoint returned wrong result", full, incremental);
+		assertTrue("Added statement has not been analyzed", incremental.getNodes().contains(added));
+		assertEquals("Wrong result for added statement", full.getAnalysisStateAfter(added),
+				incremental.getAnalysisStateAfter(added));
+
+		// statements that cannot reach the edit are never recomputed
+		assertEquals("Unaffected statement has been recomputed", null, transfers.get(first));
+		assertEquals("Unaffected statement has been recomputed", null, transfers.get(left));
+		assertEquals("Added statement has not been computed once", Integer.valueOf(1), transfers.get(added));
+		if (optimize)
+			// the whole basic block of the added statement is recomputed
+			assertEquals("Edited block has not been computed once", Integer.valueOf(1), transfers.get(right));
+		else
+			assertEquals("Unaffected statement has been recomputed", null, transfers.get(right));
+	}
+
+	@Test
+	public void testIncrementalFixpoint() throws FixpointException {
+		check(false);
+	}
+
+	@Test
+	public void testIncrementalOptimizedFixpoint() throws FixpointException {
+		check(true);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIncrementalOptimizedFixpointRequiresUnwinding() throws FixpointException {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "foo");
+		CFG cfg = new CFG(new CodeMemberDescriptor(SyntheticLocation.INSTANCE, unit, false, "foo"));
+		Statement first = new VariableRef(cfg, new SourceCodeLocation("foo", 1, 0), "x");
+		Statement end = new Ret(cfg, new SourceCodeLocation("foo", 2, 0));
+		cfg.addNode(first, true);
+		cfg.addNode(end);
+		cfg.addEdge(new SequentialEdge(first, end));
+		cfg.extractControlFlowStructures(new ControlFlowExtractor());
+
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.optimize = true;
+		FixpointConfiguration conf = new FixpointConfiguration(base);
+		cfg.computeBasicBlocks();
+		UniqueScope id = new UniqueScope();
+		AnalysisState<TestAbstractState> entry = new AnalysisState<>(new TestAbstractState(), new ExpressionSet());
+		AnalyzedCFG<TestAbstractState> previous = cfg.fixpoint(entry, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), conf, id);
+		cfg.fixpoint(previous, Set.of(end), entry, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(), conf,
+				id);
+	}
+}
@@ -0,0 +1,124 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.controlFlow.Loop;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.fixpoints.BlockTransferCache.Transfer;
+import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class BlockTransferCacheTest {
+
+	private static final AnalysisState<TestAbstractState> STATE = new AnalysisState<>(
+			new TestAbstractState(),
+			new ExpressionSet());
+
+	private static final CompoundState<TestAbstractState> ENTRY = CompoundState.of(STATE,
+			new StatementStore<>(STATE.bottom()));
+
+	private final Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+
+	private final CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+
+	private final CFG cfg = new CFG(
+			new CodeMemberDescriptor(new SourceCodeLocation("foo", 1, 0), unit, false, "foo"));
+
+	private final Statement init = new VariableRef(cfg, new SourceCodeLocation("foo", 2, 0), "x");
+
+	private final Statement cond = new VariableRef(cfg, new SourceCodeLocation("foo", 3, 0), "y");
+
+	private final Statement body = new VariableRef(cfg, new SourceCodeLocation("foo", 4, 0), "z");
+
+	private final Statement end = new Ret(cfg, new SourceCodeLocation("foo", 5, 0));
+
+	private void loop() {
+		cfg.addNode(init, true);
+		cfg.addNode(cond);
+		cfg.addNode(body);
+		cfg.addNode(end);
+		cfg.addEdge(new SequentialEdge(init, cond));
+		cfg.addEdge(new TrueEdge(cond, body));
+		cfg.addEdge(new SequentialEdge(body, cond));
+		cfg.addEdge(new FalseEdge(cond, end));
+		cfg.addControlFlowStructure(new Loop(cfg.getNodeList(), cond, end, List.of(body)));
+		cfg.computeBasicBlocks();
+	}
+
+	@Test
+	public void testEviction() {
+		BlockTransferCache<TestAbstractState> cache = new BlockTransferCache<>(2);
+		Transfer<TestAbstractState> transfer = new Transfer<>(ENTRY, Map.of());
+		cache.put(init, ENTRY, transfer);
+		cache.put(cond, ENTRY, transfer);
+		// init becomes the most recently used
+		assertSame("Wrong cached transfer", transfer, cache.get(init, ENTRY));
+		cache.put(body, ENTRY, transfer);
+
+		assertEquals("Wrong cache size", 2, cache.size());
+		assertNull("The least recently used transfer should be evicted", cache.get(cond, ENTRY));
+		assertNotNull("Transfer wrongly evicted", cache.get(init, ENTRY));
+		assertNotNull("Transfer wrongly evicted", cache.get(body, ENTRY));
+		assertEquals("Wrong number of hits", 3, cache.getHits());
+		assertEquals("Wrong number of misses", 1, cache.getMisses());
+	}
+
+	private Map<Statement, CompoundState<TestAbstractState>> fixpoint(
+			OptimizedFixpoint<TestAbstractState> fix)
+			throws FixpointException {
+		LiSAConfiguration conf = new LiSAConfiguration();
+		conf.optimize = true;
+		return fix.fixpoint(
+				Map.of(init, ENTRY),
+				FIFOWorkingSet.mk(),
+				new AscendingFixpoint<TestAbstractState>(cfg, new TestInterproceduralAnalysis<>(),
+						new FixpointConfiguration(conf)));
+	}
+
+	@Test
+	public void testCachedFixpoint() throws FixpointException {
+		loop();
+		OptimizedFixpoint<TestAbstractState> plain = new OptimizedFixpoint<>(cfg, false, null, false);
+		OptimizedFixpoint<TestAbstractState> cached = new OptimizedFixpoint<>(cfg, false, null, false, 10);
+		assertNull("Caching should be disabled", plain.getCache());
+
+		Map<Statement, CompoundState<TestAbstractState>> expected = fixpoint(plain);
+		Map<Statement, CompoundState<TestAbstractState>> actual = fixpoint(cached);
+		assertEquals("Caching changed the results", expected.keySet(), actual.keySet());
+		for (Statement st : expected.keySet())
+			assertEquals("Caching changed the results", expected.get(st).postState.representation(),
+					actual.get(st).postState.representation());
+
+		BlockTransferCache<TestAbstractState> cache = cached.getCache();
+		assertTrue("Blocks re-entered with the same state should be cached", cache.getHits() > 0);
+		assertTrue("The cache exceeded its capacity", cache.size() <= 10);
+	}
+}
@@ -0,0 +1,128 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.fixpoints.DefUseChains.Site;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.type.Untyped;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.Set;
+import org.junit.Test;
+
+public class DefUseChainsTest {
+
+	private final Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+
+	private final CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+
+	private final CFG cfg = new CFG(
+			new CodeMemberDescriptor(new SourceCodeLocation("foo", 1, 0), unit, false, "foo"));
+
+	private final Statement init = new VariableRef(cfg, new SourceCodeLocation("foo", 2, 0), "x");
+
+	private final Statement cond = new VariableRef(cfg, new SourceCodeLocation("foo", 3, 0), "y");
+
+	private final Statement body = new VariableRef(cfg, new SourceCodeLocation("foo", 4, 0), "x");
+
+	private final Statement end = new Ret(cfg, new SourceCodeLocation("foo", 5, 0));
+
+	private final Edge back = new SequentialEdge(body, cond);
+
+	private final Edge enter = new TrueEdge(cond, body);
+
+	private DefUseChains loop() {
+		cfg.addNode(init, true);
+		cfg.addNode(cond);
+		cfg.addNode(body);
+		cfg.addNode(end);
+		cfg.addEdge(new SequentialEdge(init, cond));
+		cfg.addEdge(enter);
+		cfg.addEdge(back);
+		cfg.addEdge(new FalseEdge(cond, end));
+		return new DefUseChains(cfg, cfg.getEntrypoints());
+	}
+
+	@Test
+	public void testVariables() {
+		DefUseChains chains = loop();
+		assertEquals("Wrong variables", Set.of("x", "y"), chains.getVariables());
+		assertTrue("x is a variable",
+				chains.isVariable(new Variable(Untyped.INSTANCE, "x", SyntheticLocation.INSTANCE)));
+		assertFalse("z is not a variable",
+				chains.isVariable(new Variable(Untyped.INSTANCE, "z", SyntheticLocation.INSTANCE)));
+	}
+
+	@Test
+	public void testJoinAtLoopHead() {
+		DefUseChains chains = loop();
+		assertEquals("The loop head should join x", Set.of("x", "y"), chains.getInputs(cond));
+		assertEquals("Wrong inputs", Set.of("x"), chains.getInputs(body));
+		assertTrue("The return has no inputs", chains.getInputs(end).isEmpty());
+		assertEquals("Wrong definitions reaching the loop head", Set.of(Site.after(init), Site.after(body)),
+				chains.getReachingDefinitions(cond, "x"));
+		assertEquals("Wrong definitions reaching the loop head", Set.of(Site.entry(init), Site.after(enter)),
+				chains.getReachingDefinitions(cond, "y"));
+	}
+
+	@Test
+	public void testChains() {
+		DefUseChains chains = loop();
+		assertEquals("Wrong edge definitions", Set.of("y"), chains.getEdgeDefinitions(enter));
+		assertTrue("Wrong edge definitions", chains.getEdgeDefinitions(back).isEmpty());
+		assertEquals("Wrong reaching definitions", Set.of(Site.after(cond)),
+				chains.getReachingDefinitions(body, "x"));
+		assertEquals("Wrong readers", Set.of(cond), chains.getReaders(Site.after(init), "x"));
+		assertEquals("Wrong readers", Set.of(body), chains.getReaders(Site.after(cond), "x"));
+		assertTrue("Wrong readers", chains.getReaders(Site.after(cond), "y").isEmpty());
+		assertEquals("Wrong readers", Set.of(cond), chains.getReaders(Site.after(enter), "y"));
+		assertEquals("The return should be reached by the loop head", Set.of(Site.after(cond)),
+				chains.computeReachingDefinitions("x").get(end));
+	}
+
+	private AnalyzedCFG<TestAbstractState> fixpoint(
+			boolean sparse)
+			throws FixpointException {
+		LiSAConfiguration conf = new LiSAConfiguration();
+		conf.useSparseFixpoint = sparse;
+		AnalysisState<TestAbstractState> state = new AnalysisState<>(new TestAbstractState(), new ExpressionSet());
+		return cfg.fixpoint(state, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(),
+				new FixpointConfiguration(conf), new UniqueScope());
+	}
+
+	@Test
+	public void testRelationalFallback() throws FixpointException {
+		loop();
+		// the test state is not known to be non-relational
+		AnalyzedCFG<TestAbstractState> dense = fixpoint(false);
+		AnalyzedCFG<TestAbstractState> sparse = fixpoint(true);
+		for (Statement st : cfg.getNodes())
+			assertEquals("Sparse fixpoints should fall back to dense ones", dense.getAnalysisStateAfter(st).representation(),
+					sparse.getAnalysisStateAfter(st).representation());
+	}
+}
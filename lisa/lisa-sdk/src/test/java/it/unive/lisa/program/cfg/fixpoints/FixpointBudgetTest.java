@@ -0,0 +1,147 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.LiSAReport;
+import it.unive.lisa.LiSARunInfo;
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration.DescendingPhaseType;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.outputs.json.JsonReport;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget.Stage;
+import it.unive.lisa.program.cfg.fixpoints.FixpointBudget.Tracker;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class FixpointBudgetTest {
+
+	private static final AnalysisState<TestAbstractState> STATE = new AnalysisState<>(
+			new TestAbstractState(),
+			new ExpressionSet());
+
+	private static CFG loop() {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		CFG cfg = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("foo", 1, 0), unit, false, "foo"));
+		Statement init = new VariableRef(cfg, new SourceCodeLocation("foo", 2, 0), "x");
+		Statement cond = new VariableRef(cfg, new SourceCodeLocation("foo", 3, 0), "y");
+		Statement body = new VariableRef(cfg, new SourceCodeLocation("foo", 4, 0), "z");
+		Statement end = new Ret(cfg, new SourceCodeLocation("foo", 5, 0));
+		cfg.addNode(init, true);
+		cfg.addNode(cond);
+		cfg.addNode(body);
+		cfg.addNode(end);
+		cfg.addEdge(new SequentialEdge(init, cond));
+		cfg.addEdge(new TrueEdge(cond, body));
+		cfg.addEdge(new SequentialEdge(body, cond));
+		cfg.addEdge(new FalseEdge(cond, end));
+		return cfg;
+	}
+
+	@Test
+	public void testStages() {
+		FixpointBudget budget = new FixpointBudget(0, 2, 0, 0);
+		Tracker tracker = budget.track(loop());
+		assertEquals("Wrong stage", Stage.NONE, tracker.visit());
+		assertFalse("The fixpoint should not be degraded", tracker.isDegraded());
+		assertEquals("Wrong stage", Stage.WIDENING, tracker.visit());
+		assertEquals("Wrong stage", Stage.WIDENING, tracker.visit());
+		assertEquals("Wrong stage", Stage.TOP, tracker.visit());
+		assertTrue("The fixpoint should be degraded", tracker.isDegraded());
+		assertEquals("Wrong degraded cfgs", 1, budget.getDegraded().size());
+	}
+
+	@Test
+	public void testGlobalBudget() {
+		FixpointBudget budget = new FixpointBudget(0, 0, 0, 2);
+		CFG cfg = loop();
+		assertEquals("Wrong stage", Stage.NONE, budget.track(cfg).visit());
+		Tracker other = budget.track(cfg);
+		assertEquals("The global budget should be shared", Stage.WIDENING, other.visit());
+	}
+
+	@Test
+	public void testNoBudget() throws FixpointException {
+		FixpointConfiguration conf = new FixpointConfiguration(new LiSAConfiguration());
+		assertNull("No budget should be created", conf.getBudget());
+		AnalyzedCFG<TestAbstractState> result = loop().fixpoint(STATE, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), conf, new UniqueScope());
+		assertFalse("Results should not be degraded", result.isDegraded());
+	}
+
+	@Test
+	public void testDegradedFixpoint() throws FixpointException, IOException {
+		LiSAConfiguration lisaconf = new LiSAConfiguration();
+		lisaconf.fixpointVisitBudget = 1;
+		lisaconf.descendingPhaseType = DescendingPhaseType.GLB;
+		FixpointConfiguration conf = new FixpointConfiguration(lisaconf);
+		CFG cfg = loop();
+		AnalyzedCFG<TestAbstractState> result = cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), conf, new UniqueScope());
+
+		assertTrue("Results should be degraded", result.isDegraded());
+		for (Statement st : cfg.getNodes())
+			assertNotNull("Degraded results should cover all statements", result.getAnalysisStateAfter(st));
+		FixpointBudget budget = conf.getBudget();
+		assertEquals("Wrong degraded cfgs", Set.of(cfg.getDescriptor()), budget.getDegraded());
+
+		LiSAReport report = new LiSAReport(lisaconf,
+				new LiSARunInfo(List.of(), List.of(), new Application(cfg.getDescriptor().getUnit().getProgram()),
+						new DateTime(), new DateTime()),
+				List.of(), List.of(), null, budget);
+		JsonReport json = new JsonReport(report);
+		assertEquals("Wrong degraded cfgs", Set.of(cfg.getDescriptor().getFullSignatureWithParNames()),
+				json.getDegradedCfgs());
+
+		StringWriter writer = new StringWriter();
+		json.dump(writer);
+		JsonReport read = JsonReport.read(new StringReader(writer.toString()));
+		assertEquals("Degraded cfgs have not been serialized", json.getDegradedCfgs(), read.getDegradedCfgs());
+	}
+
+	@Test
+	public void testDegradationIsPropagated() throws Exception {
+		LiSAConfiguration lisaconf = new LiSAConfiguration();
+		lisaconf.fixpointVisitBudget = 1;
+		CFG cfg = loop();
+		UniqueScope scope = new UniqueScope();
+		AnalyzedCFG<TestAbstractState> degraded = cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), new FixpointConfiguration(lisaconf), scope);
+		AnalyzedCFG<TestAbstractState> precise = cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(),
+				FIFOWorkingSet.mk(), new FixpointConfiguration(new LiSAConfiguration()), scope);
+		assertTrue("Lubs of degraded results should be degraded", precise.lub(degraded).isDegraded());
+		assertTrue("Lubs of degraded results should be degraded", degraded.lub(precise).isDegraded());
+	}
+}
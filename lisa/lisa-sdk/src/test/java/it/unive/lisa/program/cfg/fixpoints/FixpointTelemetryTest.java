@@ -0,0 +1,143 @@
+package it.unive.lisa.program.cfg.fixpoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.LiSAReport;
+import it.unive.lisa.LiSARunInfo;
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestInterproceduralAnalysis;
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.UniqueScope;
+import it.unive.lisa.outputs.json.JsonReport;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CodeUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.fixpoints.FixpointTelemetry.Counters;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class FixpointTelemetryTest {
+
+	private static final AnalysisState<TestAbstractState> STATE = new AnalysisState<>(
+			new TestAbstractState(),
+			new ExpressionSet());
+
+	private static CFG loop() {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "unit");
+		CFG cfg = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("foo", 1, 0), unit, false, "foo"));
+		Statement init = new VariableRef(cfg, new SourceCodeLocation("foo", 2, 0), "x");
+		Statement cond = new VariableRef(cfg, new SourceCodeLocation("foo", 3, 0), "y");
+		Statement body = new VariableRef(cfg, new SourceCodeLocation("foo", 4, 0), "z");
+		Statement end = new Ret(cfg, new SourceCodeLocation("foo", 5, 0));
+		cfg.addNode(init, true);
+		cfg.addNode(cond);
+		cfg.addNode(body);
+		cfg.addNode(end);
+		cfg.addEdge(new SequentialEdge(init, cond));
+		cfg.addEdge(new TrueEdge(cond, body));
+		cfg.addEdge(new SequentialEdge(body, cond));
+		cfg.addEdge(new FalseEdge(cond, end));
+		return cfg;
+	}
+
+	private static FixpointConfiguration conf(
+			boolean telemetry) {
+		LiSAConfiguration conf = new LiSAConfiguration();
+		conf.collectFixpointTelemetry = telemetry;
+		// widen as soon as possible: the test cfg has no control flow
+		// structures, and thus no widening points
+		conf.wideningThreshold = 0;
+		conf.useWideningPoints = false;
+		return new FixpointConfiguration(conf);
+	}
+
+	@Test
+	public void testDisabledByDefault() throws FixpointException {
+		FixpointConfiguration conf = conf(false);
+		loop().fixpoint(STATE, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(), conf, new UniqueScope());
+		assertNull("Telemetry should not be collected", conf.getTelemetry());
+	}
+
+	@Test
+	public void testCounters() throws FixpointException {
+		CFG cfg = loop();
+		FixpointConfiguration conf = conf(true);
+		cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(), conf, new UniqueScope());
+
+		FixpointTelemetry telemetry = conf.getTelemetry();
+		assertNotNull("Telemetry has not been collected", telemetry);
+		assertFalse("Telemetry has not been collected", telemetry.isEmpty());
+		assertEquals("Wrong number of fixpoints", 1, telemetry.getFixpoints(cfg));
+
+		Map<Statement, Counters> statements = telemetry.getStatementCounters();
+		assertEquals("Not all statements have been recorded", cfg.getNodes().size(), statements.size());
+		Statement cond = cfg.getNodes().stream()
+				.filter(st -> st.getLocation().equals(new SourceCodeLocation("foo", 3, 0))).findFirst().get();
+		Counters head = statements.get(cond);
+		assertTrue("The loop head should be visited more than once", head.getVisits() > 1);
+		assertTrue("The loop head should be joined", head.getUnions() > 0);
+		assertTrue("The loop head should be widened", head.getWidenings() > 0);
+		assertTrue("The loop head should be compared", head.getEqualities() > 0);
+		assertTrue("Widenings should be operations", head.getOperations() >= head.getWidenings());
+
+		long visits = statements.values().stream().mapToLong(Counters::getVisits).sum();
+		long widenings = statements.values().stream().mapToLong(Counters::getWidenings).sum();
+		Counters total = telemetry.getCFGCounters().get(cfg);
+		assertNotNull("Cfg counters are missing", total);
+		assertEquals("Cfg counters should sum statement ones", visits, total.getVisits());
+		assertEquals("Cfg counters should sum statement ones", widenings, total.getWidenings());
+	}
+
+	@Test
+	public void testJsonReport() throws FixpointException, IOException {
+		LiSAConfiguration lisaconf = new LiSAConfiguration();
+		lisaconf.collectFixpointTelemetry = true;
+		FixpointConfiguration conf = new FixpointConfiguration(lisaconf);
+		CFG cfg = loop();
+		cfg.fixpoint(STATE, new TestInterproceduralAnalysis<>(), FIFOWorkingSet.mk(), conf, new UniqueScope());
+
+		LiSAReport report = new LiSAReport(lisaconf,
+				new LiSARunInfo(List.of(), List.of(), new Application(cfg.getDescriptor().getUnit().getProgram()), new DateTime(),
+						new DateTime()),
+				List.of(), List.of(), conf.getTelemetry());
+		JsonReport json = new JsonReport(report);
+		assertEquals("Wrong number of cfgs", 1, json.getCfgTelemetry().size());
+		assertEquals("Wrong number of statements", 4, json.getStatementTelemetry().size());
+		assertEquals("Wrong number of fixpoints", "1",
+				json.getCfgTelemetry().values().iterator().next().get("fixpoints"));
+
+		StringWriter writer = new StringWriter();
+		json.dump(writer);
+		JsonReport read = JsonReport.read(new StringReader(writer.toString()));
+		assertEquals("Telemetry has not been serialized", json.getCfgTelemetry(), read.getCfgTelemetry());
+		assertEquals("Telemetry has not been serialized", json.getStatementTelemetry(),
+				read.getStatementTelemetry());
+	}
+}
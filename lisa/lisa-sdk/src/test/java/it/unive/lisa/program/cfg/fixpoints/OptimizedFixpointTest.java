@@ -221,4 +221,104 @@ public class OptimizedFixpointTest {
 						end, comp),
 				res);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testCyclicGraphWithWeakTopologicalOrder() {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "foo");
+		CodeMemberDescriptor desc = new CodeMemberDescriptor(SyntheticLocation.INSTANCE, unit, false, "foo");
+		CFG graph = new CFG(desc);
+		Statement source = new VariableRef(graph, SyntheticLocation.INSTANCE, "x");
+		Statement left = new OpenCall(graph, SyntheticLocation.INSTANCE, CallType.STATIC, "foo", "bar");
+		Statement right = new VariableRef(graph, SyntheticLocation.INSTANCE, "y");
+		Statement join = new VariableRef(graph, SyntheticLocation.INSTANCE, "z");
+		Statement end = new Ret(graph, SyntheticLocation.INSTANCE);
+		graph.addNode(source, true);
+		graph.addNode(left);
+		graph.addNode(right);
+		graph.addNode(join);
+		graph.addNode(end);
+		graph.addEdge(new SequentialEdge(source, join));
+		graph.addEdge(new TrueEdge(join, left));
+		graph.addEdge(new SequentialEdge(left, right));
+		graph.addEdge(new SequentialEdge(right, join));
+		graph.addEdge(new FalseEdge(join, end));
+		graph.extractControlFlowStructures(new ControlFlowExtractor());
+		graph.computeBasicBlocks();
+
+		Map<Statement,
+				CompoundState<TestAbstractState>> res = null;
+		AnalysisState<TestAbstractState> state = new AnalysisState<>(
+				new TestAbstractState(),
+				new ExpressionSet());
+		CompoundState<TestAbstractState> comp = CompoundState.of(state.bottom(), new StatementStore<>(state.bottom()));
+		try {
+			res = new OptimizedFixpoint<TestAbstractState>(graph,
+					false, st -> st instanceof Call).fixpoint(
+							Map.of(source, comp),
+							graph.getBasicBlocksWeakTopologicalOrder(),
+							new FixpointTester2(),
+							null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertNotNull("Fixpoint failed", res);
+		assertEquals("Fixpoint returned wrong result",
+				Map.of(join, comp,
+						left, comp,
+						end, comp),
+				res);
+	}
+
+	@Test
+	public void testCyclicGraphWithIndexedGraph() {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		CodeUnit unit = new CodeUnit(SyntheticLocation.INSTANCE, program, "foo");
+		CodeMemberDescriptor desc = new CodeMemberDescriptor(SyntheticLocation.INSTANCE, unit, false, "foo");
+		CFG graph = new CFG(desc);
+		Statement source = new VariableRef(graph, SyntheticLocation.INSTANCE, "x");
+		Statement left = new OpenCall(graph, SyntheticLocation.INSTANCE, CallType.STATIC, "foo", "bar");
+		Statement right = new VariableRef(graph, SyntheticLocation.INSTANCE, "y");
+		Statement join = new VariableRef(graph, SyntheticLocation.INSTANCE, "z");
+		Statement end = new Ret(graph, SyntheticLocation.INSTANCE);
+		graph.addNode(source, true);
+		graph.addNode(left);
+		graph.addNode(right);
+		graph.addNode(join);
+		graph.addNode(end);
+		graph.addEdge(new SequentialEdge(source, join));
+		graph.addEdge(new TrueEdge(join, left));
+		graph.addEdge(new SequentialEdge(left, right));
+		graph.addEdge(new SequentialEdge(right, join));
+		graph.addEdge(new FalseEdge(join, end));
+		graph.extractControlFlowStructures(new ControlFlowExtractor());
+		graph.computeBasicBlocks();
+
+		Map<Statement,
+				CompoundState<TestAbstractState>> res = null;
+		AnalysisState<TestAbstractState> state = new AnalysisState<>(
+				new TestAbstractState(),
+				new ExpressionSet());
+		CompoundState<TestAbstractState> comp = CompoundState.of(state.bottom(), new StatementStore<>(state.bottom()));
+		try {
+			res = new OptimizedFixpoint<TestAbstractState>(graph,
+					false, st -> st instanceof Call).fixpoint(
+							Map.of(source, comp),
+							graph.getIndexedView(),
+							new FixpointTester2(),
+							null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertNotNull("Fixpoint failed", res);
+		assertEquals("Fixpoint returned wrong result",
+				Map.of(join, comp,
+						left, comp,
+						end, comp),
+				res);
+	}
+}
@@ -7,14 +7,18 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.LIFOWorkingSet;
 import it.unive.lisa.util.datastructures.graph.TestGraph;
 import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
 import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
 import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Component;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.commons.collections4.SetUtils;
 import org.junit.Test;
 
@@ -66,6 +70,15 @@ public class FixpointTest {
 				throws Exception {
 			return old.containsAll(approx);
 		}
+
+		@Override
+		public boolean covers(
+				TestNode node,
+				Set<TestNode> approx,
+				Set<TestNode> old)
+				throws Exception {
+			return approx.containsAll(old);
+		}
 	}
 
 	@Test
@@ -196,6 +209,436 @@ public class FixpointTest {
 				res);
 	}
 
+	@Test
+	public void testCyclicGraphWithWeakTopologicalOrder() {
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(1);
+		TestNode first = new TestNode(2);
+		TestNode second = new TestNode(3);
+		TestNode join = new TestNode(4);
+		TestNode end = new TestNode(5);
+		graph.addNode(source, true);
+		graph.addNode(first);
+		graph.addNode(second);
+		graph.addNode(join);
+		graph.addNode(end);
+		graph.addEdge(new TestEdge(source, join));
+		graph.addEdge(new TestEdge(join, first));
+		graph.addEdge(new TestEdge(first, second));
+		graph.addEdge(new TestEdge(second, join));
+		graph.addEdge(new TestEdge(join, end));
+
+		Map<TestNode, Set<TestNode>> res = null;
+		try {
+			res = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					new WeakTopologicalOrder<TestGraph, TestNode, TestEdge>().build(graph),
+					new FixpointTester(),
+					null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertNotNull("Fixpoint failed", res);
+		assertEquals("Fixpoint returned wrong result",
+				Map.of(source, Set.of(source),
+						join, Set.of(source, join, first, second),
+						first, Set.of(source, join, first, second),
+						second, Set.of(source, join, first, second),
+						end, Set.of(source, join, first, second, end)),
+				res);
+	}
+
+	@Test
+	public void testCyclicGraphWithIndexedGraph() {
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(1);
+		TestNode first = new TestNode(2);
+		TestNode second = new TestNode(3);
+		TestNode join = new TestNode(4);
+		TestNode end = new TestNode(5);
+		graph.addNode(source, true);
+		graph.addNode(first);
+		graph.addNode(second);
+		graph.addNode(join);
+		graph.addNode(end);
+		graph.addEdge(new TestEdge(source, join));
+		graph.addEdge(new TestEdge(join, first));
+		graph.addEdge(new TestEdge(first, second));
+		graph.addEdge(new TestEdge(second, join));
+		graph.addEdge(new TestEdge(join, end));
+
+		Map<TestNode, Set<TestNode>> res = null;
+		try {
+			res = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					new IndexedGraph<>(graph),
+					new FixpointTester(),
+					null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertNotNull("Fixpoint failed", res);
+		assertEquals("Fixpoint returned wrong result",
+				Map.of(source, Set.of(source),
+						join, Set.of(source, join, first, second),
+						first, Set.of(source, join, first, second),
+						second, Set.of(source, join, first, second),
+						end, Set.of(source, join, first, second, end)),
+				res);
+	}
+
+	@Test
+	public void testCyclicGraphWithIncrementalEntryStates() {
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(1);
+		TestNode first = new TestNode(2);
+		TestNode second = new TestNode(3);
+		TestNode join = new TestNode(4);
+		TestNode end = new TestNode(5);
+		graph.addNode(source, true);
+		graph.addNode(first);
+		graph.addNode(second);
+		graph.addNode(join);
+		graph.addNode(end);
+		graph.addEdge(new TestEdge(source, join));
+		graph.addEdge(new TestEdge(join, first));
+		graph.addEdge(new TestEdge(first, second));
+		graph.addEdge(new TestEdge(second, join));
+		graph.addEdge(new TestEdge(join, end));
+
+		Map<TestNode, Set<TestNode>> res = null;
+		try {
+			res = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false, true).fixpoint(
+					Map.of(source, Set.of()),
+					FIFOWorkingSet.mk(),
+					new FixpointTester(),
+					null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertNotNull("Fixpoint failed", res);
+		assertEquals("Fixpoint returned wrong result",
+				Map.of(source, Set.of(source),
+						join, Set.of(source, join, first, second),
+						first, Set.of(source, join, first, second),
+						second, Set.of(source, join, first, second),
+						end, Set.of(source, join, first, second, end)),
+				res);
+	}
+
+	@Test
+	public void testIncrementalEntryStatesReuseContributions() {
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(1);
+		TestNode first = new TestNode(2);
+		TestNode second = new TestNode(3);
+		TestNode join = new TestNode(4);
+		TestNode end = new TestNode(5);
+		graph.addNode(source, true);
+		graph.addNode(first);
+		graph.addNode(second);
+		graph.addNode(join);
+		graph.addNode(end);
+		graph.addEdge(new TestEdge(source, join));
+		graph.addEdge(new TestEdge(join, first));
+		graph.addEdge(new TestEdge(first, second));
+		graph.addEdge(new TestEdge(second, join));
+		graph.addEdge(new TestEdge(join, end));
+
+		int[] counters = new int[2];
+		Map<TestNode, Set<TestNode>> full = null, incremental = null, indexed = null;
+		try {
+			full = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					FIFOWorkingSet.mk(),
+					new CountingTester(counters, 0));
+			incremental = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false, true).fixpoint(
+					Map.of(source, Set.of()),
+					FIFOWorkingSet.mk(),
+					new CountingTester(counters, 1));
+			indexed = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false, true).fixpoint(
+					Map.of(source, Set.of()),
+					new IndexedGraph<>(graph),
+					new FixpointTester(),
+					null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertEquals("Incremental fixpoint returned wrong result", full, incremental);
+		assertEquals("Incremental indexed fixpoint returned wrong result", full, indexed);
+		assertTrue("Incremental fixpoint did not reuse edge contributions", counters[1] < counters[0]);
+	}
+
+	@Test
+	public void testIncrementalEntryStatesJoinChangedContributions() {
+		// with a lifo working set, the join is visited after each of its
+		// predecessors, and only one contribution changes at each visit: in
+		// the second iteration of the loop, each contribution grows
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(0);
+		TestNode join = new TestNode(1);
+		graph.addNode(source, true);
+		graph.addNode(join);
+		graph.addEdge(new TestEdge(join, source));
+		int branches = 50;
+		for (int i = 0; i < branches; i++) {
+			TestNode branch = new TestNode(i + 2);
+			graph.addNode(branch);
+			graph.addEdge(new TestEdge(source, branch));
+			graph.addEdge(new TestEdge(branch, join));
+		}
+
+		// unions and visits of the join, without and with covering
+		int[] unions = new int[4];
+		Map<TestNode, Set<TestNode>> full = null, incremental = null;
+		try {
+			full = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false, true).fixpoint(
+					Map.of(source, Set.of()),
+					LIFOWorkingSet.mk(),
+					new UnionCountingTester(unions, 0, join, false));
+			incremental = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false, true).fixpoint(
+					Map.of(source, Set.of()),
+					LIFOWorkingSet.mk(),
+					new UnionCountingTester(unions, 1, join, true));
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertEquals("Incremental fixpoint returned wrong result", full, incremental);
+		assertEquals("Wrong result of the join", branches + 2, incremental.get(join).size());
+		// each visit of the join adds the only contribution that changed
+		assertTrue("Contributions were joined again", unions[1] <= unions[3]);
+		assertTrue("Contributions were not joined again", unions[0] > unions[2] * (branches / 2));
+	}
+
+	private static class UnionCountingTester extends FixpointTester {
+
+		private final int[] counters;
+
+		private final int index;
+
+		private final TestNode target;
+
+		private final boolean covering;
+
+		private UnionCountingTester(
+				int[] counters,
+				int index,
+				TestNode target,
+				boolean covering) {
+			this.counters = counters;
+			this.index = index;
+			this.target = target;
+			this.covering = covering;
+		}
+
+		@Override
+		public Set<TestNode> union(
+				TestNode node,
+				Set<TestNode> left,
+				Set<TestNode> right)
+				throws Exception {
+			if (node == target)
+				counters[index]++;
+			return super.union(node, left, right);
+		}
+
+		@Override
+		public Set<TestNode> semantics(
+				TestNode node,
+				Set<TestNode> entrystate)
+				throws Exception {
+			if (node == target)
+				counters[index + 2]++;
+			return super.semantics(node, entrystate);
+		}
+
+		@Override
+		public boolean covers(
+				TestNode node,
+				Set<TestNode> approx,
+				Set<TestNode> old)
+				throws Exception {
+			return covering && super.covers(node, approx, old);
+		}
+	}
+
+	private static class CountingTester extends FixpointTester {
+
+		private final int[] counters;
+
+		private final int index;
+
+		private CountingTester(
+				int[] counters,
+				int index) {
+			this.counters = counters;
+			this.index = index;
+		}
+
+		@Override
+		public Set<TestNode> traverse(
+				TestEdge edge,
+				Set<TestNode> entrystate)
+				throws Exception {
+			counters[index]++;
+			return super.traverse(edge, entrystate);
+		}
+	}
+
+	@Test
+	public void testParallelFixpointMatchesWeakTopologicalOrder() {
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(1);
+		TestNode left = new TestNode(2);
+		TestNode leftBody = new TestNode(3);
+		TestNode right = new TestNode(4);
+		TestNode rightBody = new TestNode(5);
+		TestNode join = new TestNode(6);
+		graph.addNode(source, true);
+		graph.addNode(left);
+		graph.addNode(leftBody);
+		graph.addNode(right);
+		graph.addNode(rightBody);
+		graph.addNode(join);
+		// two independent loops, merged at the end
+		graph.addEdge(new TestEdge(source, left));
+		graph.addEdge(new TestEdge(left, leftBody));
+		graph.addEdge(new TestEdge(leftBody, left));
+		graph.addEdge(new TestEdge(source, right));
+		graph.addEdge(new TestEdge(right, rightBody));
+		graph.addEdge(new TestEdge(rightBody, right));
+		graph.addEdge(new TestEdge(left, join));
+		graph.addEdge(new TestEdge(right, join));
+
+		List<Component<TestNode>> order = new WeakTopologicalOrder<TestGraph, TestNode, TestEdge>().build(graph);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		Map<TestNode, Set<TestNode>> sequential = null, parallel = null, ordered = null;
+		try {
+			sequential = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					order,
+					new FixpointTester(),
+					null);
+			parallel = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					order,
+					new FixpointTester(),
+					null,
+					pool,
+					n -> false);
+			ordered = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					order,
+					new FixpointTester(),
+					null,
+					pool,
+					n -> n == leftBody || n == rightBody);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		} finally {
+			pool.shutdown();
+		}
+
+		assertNotNull("Fixpoint failed", sequential);
+		assertEquals("Parallel fixpoint returned wrong result", sequential, parallel);
+		assertEquals("Parallel fixpoint with sequential nodes returned wrong result", sequential, ordered);
+		assertEquals("Fixpoint returned wrong result",
+				Set.of(source, left, leftBody, right, rightBody, join),
+				parallel.get(join));
+	}
+
+	@Test
+	public void testParallelFixpointOnLongChain() {
+		// each node is a top-level component depending on the previous one:
+		// stabilizing each component from the previous one would overflow
+		// the stack
+		TestGraph graph = new TestGraph();
+		int size = 20000;
+		TestNode[] nodes = new TestNode[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new TestNode(i);
+			graph.addNode(nodes[i], i == 0);
+		}
+		for (int i = 1; i < size; i++)
+			graph.addEdge(new TestEdge(nodes[i - 1], nodes[i]));
+
+		List<Component<TestNode>> order = new WeakTopologicalOrder<TestGraph, TestNode, TestEdge>().build(graph);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		Map<TestNode, Set<TestNode>> result = null;
+		try {
+			result = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(nodes[0], Set.of()),
+					order,
+					new FixpointTester() {
+
+						@Override
+						public Set<TestNode> semantics(
+								TestNode node,
+								Set<TestNode> entrystate)
+								throws Exception {
+							// only the last node is kept, to have constant
+							// size results
+							return Set.of(node);
+						}
+					},
+					null,
+					pool,
+					n -> false);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		} finally {
+			pool.shutdown();
+		}
+
+		assertNotNull("Fixpoint failed", result);
+		assertEquals("Fixpoint returned wrong result", size, result.size());
+		for (int i = 0; i < size; i++)
+			assertEquals("Fixpoint returned wrong result", Set.of(nodes[i]), result.get(nodes[i]));
+	}
+
+	@Test
+	public void testUnreachableNodesWithWeakTopologicalOrder() {
+		TestGraph graph = new TestGraph();
+		TestNode source = new TestNode(1);
+		TestNode other = new TestNode(2);
+		TestNode end = new TestNode(3);
+		graph.addNode(source, true);
+		graph.addNode(other, true);
+		graph.addNode(end);
+		graph.addEdge(new TestEdge(source, end));
+		graph.addEdge(new TestEdge(other, end));
+
+		Map<TestNode, Set<TestNode>> res = null;
+		try {
+			res = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false).fixpoint(
+					Map.of(source, Set.of()),
+					new WeakTopologicalOrder<TestGraph, TestNode, TestEdge>().build(graph),
+					new FixpointTester(),
+					null);
+		} catch (FixpointException e) {
+			e.printStackTrace(System.err);
+			fail("The fixpoint computation has thrown an exception");
+		}
+
+		assertNotNull("Fixpoint failed", res);
+		assertEquals("Fixpoint returned wrong result",
+				Map.of(source, Set.of(source),
+						end, Set.of(source, end)),
+				res);
+	}
+
 	private static class ExceptionalTester implements FixpointImplementation<TestNode, TestEdge, Set<TestNode>> {
 
 		private final int type;
@@ -0,0 +1,68 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import it.unive.lisa.util.datastructures.graph.TestGraph;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
+import org.junit.Test;
+
+public class IndexedGraphTest {
+
+	@Test
+	public void testReversePostorder() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		TestNode unreachable = new TestNode(5);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		graph.addNode(unreachable);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(one, three));
+		graph.addEdge(new TestEdge(two, four));
+		graph.addEdge(new TestEdge(three, four));
+		graph.addEdge(new TestEdge(four, one));
+		graph.addEdge(new TestEdge(unreachable, four));
+
+		IndexedGraph<TestGraph, TestNode, TestEdge> view = new IndexedGraph<>(graph);
+		assertEquals("Wrong size", 5, view.size());
+		assertEquals("Entrypoint is not first", 0, view.indexOf(one));
+		assertEquals("Unreachable node is not last", 4, view.indexOf(unreachable));
+		assertEquals("Join is not after its forward predecessors", 3, view.indexOf(four));
+		assertEquals("Unknown node has an index", -1, view.indexOf(new TestNode(6)));
+		for (int i = 0; i < view.size(); i++)
+			assertEquals("Wrong node for index " + i, i, view.indexOf(view.node(i)));
+	}
+
+	@Test
+	public void testAdjacency() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestEdge first = new TestEdge(one, three);
+		TestEdge second = new TestEdge(two, three);
+		graph.addNode(one, true);
+		graph.addNode(two, true);
+		graph.addNode(three);
+		graph.addEdge(first);
+		graph.addEdge(second);
+
+		IndexedGraph<TestGraph, TestNode, TestEdge> view = new IndexedGraph<>(graph);
+		int id = view.indexOf(three);
+		int[] preds = view.predecessors(id);
+		assertEquals("Wrong number of predecessors", 2, preds.length);
+		for (int i = 0; i < preds.length; i++)
+			assertSame("Wrong ingoing edge", graph.getEdgeConnecting(view.node(preds[i]), three),
+					view.ingoing(id, i));
+		assertArrayEquals("Wrong successors", new int[] { id }, view.successors(view.indexOf(one)));
+		assertArrayEquals("Wrong successors", new int[0], view.successors(id));
+	}
+}
@@ -0,0 +1,177 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.util.datastructures.graph.TestGraph;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class SCCsTest {
+
+	/**
+	 * A graph counting how many times the neighbours of its nodes are queried.
+	 */
+	private static class CountingGraph extends TestGraph {
+
+		private int visits = 0;
+
+		@Override
+		public Collection<TestNode> followersOf(
+				TestNode node) {
+			visits++;
+			return super.followersOf(node);
+		}
+
+		@Override
+		public Collection<TestNode> predecessorsOf(
+				TestNode node) {
+			visits++;
+			return super.predecessorsOf(node);
+		}
+	}
+
+	private static Set<Set<TestNode>> normalize(
+			Collection<Collection<TestNode>> sccs) {
+		return sccs.stream().map(HashSet::new).collect(Collectors.toSet());
+	}
+
+	@Test
+	public void testGraph() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		TestNode five = new TestNode(5);
+		TestNode six = new TestNode(6);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		graph.addNode(five);
+		graph.addNode(six);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(three, one));
+		graph.addEdge(new TestEdge(three, four));
+		graph.addEdge(new TestEdge(four, five));
+		graph.addEdge(new TestEdge(five, five));
+
+		assertEquals(Set.of(Set.of(one, two, three), Set.of(four), Set.of(five), Set.of(six)),
+				normalize(new SCCs<TestGraph, TestNode, TestEdge>().build(graph)));
+		assertEquals(Set.of(Set.of(one, two, three), Set.of(five)),
+				normalize(new SCCs<TestGraph, TestNode, TestEdge>().buildNonTrivial(graph)));
+	}
+
+	@Test
+	public void testDeepGraph() {
+		// a recursive visit of this chain would overflow the stack
+		TestGraph graph = new TestGraph();
+		int size = 200000;
+		TestNode[] nodes = new TestNode[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new TestNode(i);
+			graph.addNode(nodes[i], i == 0);
+		}
+		for (int i = 1; i < size; i++)
+			graph.addEdge(new TestEdge(nodes[i - 1], nodes[i]));
+		graph.addEdge(new TestEdge(nodes[size - 1], nodes[size / 2]));
+
+		Collection<Collection<TestNode>> sccs = new SCCs<TestGraph, TestNode, TestEdge>().buildNonTrivial(graph);
+		assertEquals(1, sccs.size());
+		assertEquals(size - size / 2, sccs.iterator().next().size());
+	}
+
+	@Test
+	public void testIncremental() {
+		Random random = new Random(42);
+		TestGraph graph = new TestGraph();
+		List<TestNode> nodes = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			nodes.add(new TestNode(i));
+			graph.addNode(nodes.get(i), i == 0);
+		}
+
+		IncrementalSCCs<TestGraph, TestNode, TestEdge> incremental = new IncrementalSCCs<>();
+		for (int i = 0; i < 120; i++) {
+			TestEdge edge = new TestEdge(nodes.get(random.nextInt(60)), nodes.get(random.nextInt(60)));
+			if (graph.containsEdge(edge))
+				continue;
+			graph.addEdge(edge);
+			incremental.edgeAdded(graph, edge);
+			assertEquals("Wrong components after adding " + edge,
+					normalize(new SCCs<TestGraph, TestNode, TestEdge>().buildNonTrivial(graph)),
+					normalize(incremental.getNonTrivial()));
+		}
+
+		for (Collection<TestNode> scc : new SCCs<TestGraph, TestNode, TestEdge>().build(graph))
+			for (TestNode node : scc) {
+				assertTrue(incremental.sameComponent(node, scc.iterator().next()));
+				if (scc.size() == 1)
+					assertNull(incremental.getComponent(node));
+			}
+	}
+
+	@Test
+	public void testIncrementalManyEdges() {
+		CountingGraph graph = new CountingGraph();
+		int size = 20000;
+		TestNode[] nodes = new TestNode[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new TestNode(i);
+			graph.addNode(nodes[i], i == 0);
+		}
+
+		// a chain built backwards: each edge reaches the whole suffix, but
+		// it respects the topological order and must not be visited
+		IncrementalSCCs<TestGraph, TestNode, TestEdge> incremental = new IncrementalSCCs<>();
+		for (int i = size - 1; i > 0; i--) {
+			TestEdge edge = new TestEdge(nodes[i - 1], nodes[i]);
+			graph.addEdge(edge);
+			incremental.edgeAdded(graph, edge);
+		}
+		assertEquals("Edges respecting the order have been visited", 0, graph.visits);
+		assertTrue(incremental.getNonTrivial().isEmpty());
+
+		// back edges with a short span only visit the components they skip,
+		// while an unbounded visit would reach the whole suffix of the chain
+		Random random = new Random(42);
+		int visits = 0;
+		for (int i = 0; i < 2 * size; i++) {
+			int source = random.nextInt(size);
+			int destination = Math.max(0, source - random.nextInt(5));
+			TestEdge edge = new TestEdge(nodes[source], nodes[destination]);
+			if (graph.containsEdge(edge))
+				continue;
+			graph.visits = 0;
+			graph.addEdge(edge);
+			incremental.edgeAdded(graph, edge);
+			visits += graph.visits;
+		}
+		assertTrue("Too many nodes visited: " + visits, visits < 20 * size);
+		assertEquals("Wrong components after adding back edges",
+				normalize(new SCCs<TestGraph, TestNode, TestEdge>().buildNonTrivial(graph)),
+				normalize(incremental.getNonTrivial()));
+
+		// a single edge closing the chain merges everything
+		TestEdge edge = new TestEdge(nodes[size - 1], nodes[0]);
+		if (!graph.containsEdge(edge)) {
+			graph.addEdge(edge);
+			incremental.edgeAdded(graph, edge);
+		}
+		assertEquals(1, incremental.getNonTrivial().size());
+		assertEquals(size, incremental.getComponent(nodes[0]).size());
+		for (TestNode node : nodes)
+			assertTrue(incremental.sameComponent(nodes[0], node));
+	}
+}
@@ -0,0 +1,139 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.util.datastructures.graph.TestGraph;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Component;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class WeakTopologicalOrderTest {
+
+	@Test
+	public void testLinearGraph() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, three));
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>();
+		assertEquals("Wrong ordering", "[1, 2, 3]", wto.build(graph).toString());
+		assertEquals("Wrong heads", Set.of(), wto.getHeads());
+	}
+
+	@Test
+	public void testNestedLoops() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		TestNode five = new TestNode(5);
+		TestNode six = new TestNode(6);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		graph.addNode(five);
+		graph.addNode(six);
+		// outer loop guarded by 2, inner loop guarded by 3
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(three, four));
+		graph.addEdge(new TestEdge(four, three));
+		graph.addEdge(new TestEdge(three, five));
+		graph.addEdge(new TestEdge(five, two));
+		graph.addEdge(new TestEdge(two, six));
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>();
+		assertEquals("Wrong ordering", "[1, (2 (3 4) 5), 6]", wto.build(graph).toString());
+		assertEquals("Wrong heads", Set.of(two, three), wto.getHeads());
+		assertEquals("Heads are not the cycle entries", graph.getCycleEntries(), wto.getHeads());
+	}
+
+	@Test
+	public void testSelfLoop() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, two));
+		graph.addEdge(new TestEdge(two, three));
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>();
+		assertEquals("Wrong ordering", "[1, (2), 3]", wto.build(graph).toString());
+		assertEquals("Wrong heads", Set.of(two), wto.getHeads());
+	}
+
+	@Test
+	public void testIrreducibleLoop() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		// the loop between 2 and 3 can be entered from both
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(one, three));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(three, two));
+		graph.addEdge(new TestEdge(three, four));
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>();
+		List<Component<TestNode>> order = wto.build(graph);
+		assertEquals("Wrong ordering", "[1, (2 3), 4]", order.toString());
+		assertEquals("Wrong heads", Set.of(two), wto.getHeads());
+		assertEquals("Wrong heads", wto.getHeads(), WeakTopologicalOrder.headsOf(order));
+		assertTrue("Irreducible loops have no cycle entries", graph.getCycleEntries().isEmpty());
+	}
+
+	@Test
+	public void testDeepGraph() {
+		// a recursive visit of this graph would overflow the stack
+		TestGraph graph = new TestGraph();
+		int size = 100000;
+		TestNode[] nodes = new TestNode[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new TestNode(i);
+			graph.addNode(nodes[i], i == 0);
+		}
+		for (int i = 1; i < size; i++)
+			graph.addEdge(new TestEdge(nodes[i - 1], nodes[i]));
+		// two nested loops over the second half of the chain
+		graph.addEdge(new TestEdge(nodes[size - 1], nodes[size / 2]));
+		graph.addEdge(new TestEdge(nodes[size - 2], nodes[size / 2 + 1]));
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>();
+		List<Component<TestNode>> order = wto.build(graph);
+		assertEquals("Wrong heads", Set.of(nodes[size / 2], nodes[size / 2 + 1]), wto.getHeads());
+		assertEquals("Wrong number of top-level components", size / 2 + 1, order.size());
+		Component<TestNode> outer = order.get(size / 2);
+		assertEquals(nodes[size / 2], outer.getHead());
+		assertEquals("Wrong outer body", 2, outer.getBody().size());
+		Component<TestNode> inner = outer.getBody().get(0);
+		assertEquals(nodes[size / 2 + 1], inner.getHead());
+		assertEquals("Wrong inner body", size / 2 - 3, inner.getBody().size());
+		Set<TestNode> visited = new HashSet<>();
+		for (Component<TestNode> comp : inner.getBody())
+			visited.add(comp.getHead());
+		assertEquals("Wrong inner body", size / 2 - 3, visited.size());
+	}
+}